@@ -0,0 +1,330 @@
+package Controller;
+
+import Indice.CatalogoIndices;
+import Indice.Digitacao;
+import Indice.MapaBits;
+import Indice.TrieSugestoes;
+import Model.Filme;
+import Model.Livro;
+import Model.Midia;
+import Persistencia.ServicoPersistencia.Colecao;
+import Service.Servicos;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Consulta composta sobre livros, filmes e séries, que combina texto, gênero, intervalo de
+ * anos, tipo de mídia, consumo, intervalo de nota e ordenação. Usada tanto pelas telas do
+ * console quanto pela interface JavaFX.
+ *
+ * <p>Os critérios que possuem índice (texto, gênero e ano) são estimados antes de montar
+ * qualquer conjunto: o mais seletivo gera os candidatos e os demais são intersectados em
+ * seguida, do menor para o maior. Quando restam poucos candidatos, os critérios seguintes
+ * deixam de consultar o índice e passam a ser conferidos mídia a mídia, junto dos que não
+ * possuem índice (consumo e nota), dos mais baratos para os mais caros. Com ordenação
+ * por nota, os candidatos já são lidos do índice de notas na ordem certa, sem ordenar o
+ * resultado.</p>
+ *
+ * <p>Sobre uma lista que não pertence a um controlador, todos os critérios são conferidos
+ * mídia a mídia, mantendo a ordem da lista, e a ordenação seleciona as mídias pela nota
+ * extraída uma única vez de cada uma. O texto é comparado com o título e os nomes de
+ * pessoas da própria mídia, que pode não estar em nenhum índice.</p>
+ *
+ * <p>Os critérios não informados (ou definidos como {@code null}) não restringem o resultado.</p>
+ */
+public class ConsultaMidias {
+
+    /**
+     * Ordenações disponíveis para o resultado de uma consulta.
+     */
+    public enum Ordenacao {
+        /** Da maior para a menor nota */
+        BEM_AVALIADOS,
+        /** Da menor para a maior nota */
+        MAL_AVALIADOS
+    }
+
+    /** Abaixo desta quantidade de candidatos, conferir cada mídia sai mais barato que consultar outro índice */
+    private static final int LIMITE_CONFERENCIA = 256;
+
+    /** Custo relativo de conferir cada critério em uma mídia, usado para ordenar as conferências */
+    private static final int CUSTO_TIPO = 0;
+    private static final int CUSTO_CONSUMO = 1;
+    private static final int CUSTO_ANO = 2;
+    private static final int CUSTO_GENERO = 3;
+    private static final int CUSTO_NOTA = 4;
+    private static final int CUSTO_TEXTO = 5;
+
+    /**
+     * Critério da consulta. Os que possuem índice informam uma estimativa da quantidade de
+     * mídias e o conjunto de identificadores; todos sabem conferir uma mídia isolada.
+     */
+    private record Criterio(int custo, IntSupplier estimativa, Function<Colecao[], MapaBits> indice, Predicate<Midia> teste) {
+        boolean isIndexado() {
+            return indice != null;
+        }
+    }
+
+    private final List<? extends Midia> midiaLista;
+
+    private String texto;
+    private Digitacao digitacao;
+    private String genero;
+    private Integer anoInicio;
+    private Integer anoFim;
+    private final Set<Colecao> tipos = EnumSet.allOf(Colecao.class);
+    private Boolean jaConsumiu;
+    private Float notaMinima;
+    private Float notaMaxima;
+    private Ordenacao ordenacao;
+
+    /**
+     * Cria uma consulta sobre todas as mídias dos controladores.
+     */
+    public ConsultaMidias() {
+        this(null);
+    }
+
+    /**
+     * Cria uma consulta sobre uma lista de mídias. Se a lista for a de um dos controladores,
+     * a consulta usa os índices ({@link CatalogoIndices}) restritos à sua coleção.
+     *
+     * @param midiaLista lista de mídias consultada ({@code null} para todas as coleções)
+     */
+    public ConsultaMidias(List<? extends Midia> midiaLista) {
+        this.midiaLista = midiaLista;
+    }
+
+    /**
+     * Define o texto buscado no início do título, de algum nome de pessoa (ou de uma de suas
+     * palavras) ou do ISBN.
+     *
+     * @param texto texto buscado
+     */
+    public void setTexto(String texto) { this.texto = texto; }
+
+    /**
+     * Define a sessão de digitação da caixa de busca, para aproveitar a busca de texto anterior.
+     *
+     * @param digitacao sessão obtida por {@link CatalogoIndices#novaDigitacao()}
+     */
+    public void setDigitacao(Digitacao digitacao) { this.digitacao = digitacao; }
+
+    /**
+     * Define o gênero exigido (ignorando maiúsculas, acentos e espaços).
+     *
+     * @param genero gênero exigido
+     */
+    public void setGenero(String genero) { this.genero = genero; }
+
+    /**
+     * Define o intervalo de anos de lançamento, inclusive. Um limite {@code null} deixa o
+     * intervalo aberto daquele lado.
+     *
+     * @param inicio primeiro ano aceito
+     * @param fim último ano aceito
+     */
+    public void setIntervaloAnos(Integer inicio, Integer fim) { this.anoInicio = inicio; this.anoFim = fim; }
+
+    /**
+     * Restringe a consulta a alguns tipos de mídia.
+     *
+     * @param colecoes coleções aceitas (todas, se nenhuma for informada)
+     */
+    public void setTipos(Colecao... colecoes) {
+        tipos.clear();
+        tipos.addAll(colecoes.length == 0 ? EnumSet.allOf(Colecao.class) : Arrays.asList(colecoes));
+    }
+
+    /**
+     * Define se apenas mídias já consumidas ({@code true}) ou ainda não consumidas
+     * ({@code false}) são aceitas.
+     *
+     * @param jaConsumiu situação exigida
+     */
+    public void setJaConsumiu(Boolean jaConsumiu) { this.jaConsumiu = jaConsumiu; }
+
+    /**
+     * Define o intervalo da nota mais recente, inclusive. Um limite {@code null} deixa o
+     * intervalo aberto daquele lado.
+     *
+     * @param minima menor nota aceita
+     * @param maxima maior nota aceita
+     */
+    public void setIntervaloNota(Float minima, Float maxima) { this.notaMinima = minima; this.notaMaxima = maxima; }
+
+    /**
+     * Define a ordenação do resultado. Sem ordenação, as mídias ficam na ordem de cadastro
+     * (ou na ordem da lista consultada).
+     *
+     * @param ordenacao ordenação desejada
+     */
+    public void setOrdenacao(Ordenacao ordenacao) { this.ordenacao = ordenacao; }
+
+    /**
+     * Executa a consulta.
+     *
+     * @return mídias que atendem a todos os critérios, na ordenação definida
+     */
+    public List<Midia> executar() {
+        Colecao colecaoDaLista = midiaLista == null ? null : CatalogoIndices.colecaoDe(midiaLista);
+
+        List<Midia> encontradas;
+        if (midiaLista != null && colecaoDaLista == null) {
+            List<Criterio> criterios = criterios(Colecao.values(), false);
+            criterios.add(new Criterio(CUSTO_TIPO, null, null, midia -> tipos.contains(colecaoDa(midia))));
+            encontradas = ordenar(conferir(new ArrayList<>(midiaLista), criterios));
+        } else {
+            Colecao[] colecoes = tipos.stream()
+                    .filter(colecao -> colecaoDaLista == null || colecao == colecaoDaLista)
+                    .toArray(Colecao[]::new);
+            encontradas = colecoes.length == 0 ? new ArrayList<>() : executarPeloIndice(colecoes);
+        }
+        return encontradas;
+    }
+
+    /**
+     * Escolhe os candidatos pelos índices, do critério mais seletivo para o menos, e confere
+     * os critérios restantes em cada candidato.
+     */
+    private List<Midia> executarPeloIndice(Colecao[] colecoes) {
+        List<Criterio> conferidos = new ArrayList<>();
+        List<Criterio> indexados = new ArrayList<>();
+        Map<Criterio, Integer> estimativas = new IdentityHashMap<>();
+        for (Criterio criterio : criterios(colecoes, true)) {
+            if (criterio.isIndexado()) {
+                indexados.add(criterio);
+                estimativas.put(criterio, criterio.estimativa().getAsInt());
+            } else {
+                conferidos.add(criterio);
+            }
+        }
+        indexados.sort(Comparator.comparingInt(estimativas::get));
+
+        MapaBits candidatos = null;
+        for (Criterio criterio : indexados) {
+            if (candidatos == null) {
+                candidatos = criterio.indice().apply(colecoes);
+            } else if (candidatos.quantidade() <= LIMITE_CONFERENCIA) {
+                conferidos.add(criterio);
+            } else {
+                candidatos = candidatos.e(criterio.indice().apply(colecoes));
+            }
+            if (candidatos.isVazio()) {
+                return new ArrayList<>();
+            }
+        }
+
+        if (candidatos == null) {
+            candidatos = CatalogoIndices.idsColecoes(colecoes);
+        }
+        List<Midia> midias = ordenacao == null
+                ? CatalogoIndices.midias(candidatos, colecoes)
+                : CatalogoIndices.midiasPorNota(candidatos, ordenacao == Ordenacao.BEM_AVALIADOS, colecoes);
+        return conferir(midias, conferidos);
+    }
+
+    /**
+     * Monta os critérios ativos da consulta.
+     *
+     * @param colecoes coleções consultadas
+     * @param pelosIndices {@code false} se as mídias consultadas podem não estar indexadas,
+     *                     caso em que o texto é conferido em cada mídia sem consultar o índice
+     */
+    private List<Criterio> criterios(Colecao[] colecoes, boolean pelosIndices) {
+        List<Criterio> criterios = new ArrayList<>();
+
+        if (jaConsumiu != null) {
+            boolean consumiu = jaConsumiu;
+            criterios.add(new Criterio(CUSTO_CONSUMO, null, null, midia -> midia.getJa_Consumiu() == consumiu));
+        }
+
+        if (anoInicio != null || anoFim != null) {
+            int inicio = anoInicio == null ? Integer.MIN_VALUE : anoInicio;
+            int fim = anoFim == null ? Integer.MAX_VALUE : anoFim;
+            criterios.add(new Criterio(CUSTO_ANO,
+                    () -> CatalogoIndices.contarAnos(inicio, fim),
+                    consultadas -> CatalogoIndices.idsAnos(inicio, fim, consultadas),
+                    midia -> midia.getAnoLancamento() >= inicio && midia.getAnoLancamento() <= fim));
+        }
+
+        if (genero != null && !genero.isBlank()) {
+            String generoBusca = Servicos.normalizarTitulo(genero);
+            criterios.add(new Criterio(CUSTO_GENERO,
+                    () -> CatalogoIndices.contarGenero(genero),
+                    consultadas -> CatalogoIndices.idsGenero(genero, consultadas),
+                    midia -> midia.getGenerosNormalizados().stream().anyMatch(g -> g.equalsIgnoreCase(generoBusca))));
+        }
+
+        if (notaMinima != null || notaMaxima != null) {
+            float minima = notaMinima == null ? Float.NEGATIVE_INFINITY : notaMinima;
+            float maxima = notaMaxima == null ? Float.POSITIVE_INFINITY : notaMaxima;
+            criterios.add(new Criterio(CUSTO_NOTA, null, null, midia -> {
+                float nota = midia.getNotaAtual();
+                return nota >= minima && nota <= maxima;
+            }));
+        }
+
+        String termo = texto == null ? "" : Servicos.normalizarTitulo(texto);
+        if (!termo.isEmpty() && !pelosIndices) {
+            boolean isbn = Character.isDigit(termo.charAt(0));
+            criterios.add(new Criterio(CUSTO_TEXTO, null, null,
+                    midia -> TrieSugestoes.possuiPrefixo(midia, termo)
+                            || isbn && midia instanceof Livro livro && livro.getIsbnNormalizado().startsWith(termo)));
+        } else if (!termo.isEmpty()) {
+            MapaBits doTexto = idsTexto(termo, colecoes);
+            criterios.add(new Criterio(CUSTO_TEXTO, doTexto::quantidade, consultadas -> doTexto,
+                    midia -> doTexto.contem(midia.getId())));
+        }
+
+        return criterios;
+    }
+
+    /**
+     * Identifica as mídias cujo título ou nome de pessoa começa com o termo, somando os
+     * livros cujo ISBN começa com ele quando o termo começa com um dígito.
+     */
+    private MapaBits idsTexto(String termo, Colecao[] colecoes) {
+        MapaBits ids = CatalogoIndices.idsPrefixo(digitacao, texto, colecoes);
+        if (Character.isDigit(termo.charAt(0)) && Arrays.asList(colecoes).contains(Colecao.LIVROS)) {
+            ids = ids.ou(CatalogoIndices.idsPrefixoIsbn(termo));
+        }
+        return ids;
+    }
+
+    /**
+     * Mantém as mídias que atendem a todos os critérios, conferindo primeiro os mais baratos.
+     */
+    private static List<Midia> conferir(List<Midia> midias, List<Criterio> criterios) {
+        if (criterios.isEmpty()) {
+            return midias;
+        }
+        criterios.sort(Comparator.comparingInt(Criterio::custo));
+        midias.removeIf(midia -> {
+            for (Criterio criterio : criterios) {
+                if (!criterio.teste().test(midia)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        return midias;
+    }
+
+    /**
+     * Ordena o resultado conferido mídia a mídia pela nota mais recente.
+     */
+    private List<Midia> ordenar(List<Midia> midias) {
+        if (ordenacao == null) {
+            return midias;
+        }
+        return MidiaController.paginaPorAvaliacao(midias, ordenacao == Ordenacao.BEM_AVALIADOS, 0, midias.size());
+    }
+
+    private static Colecao colecaoDa(Midia midia) {
+        return midia instanceof Livro ? Colecao.LIVROS : midia instanceof Filme ? Colecao.FILMES : Colecao.SERIES;
+    }
+}
@@ -1,6 +1,13 @@
 package Controller;
 
+import Indice.CatalogoIndices;
+import Indice.IndicePessoas.Papel;
 import Model.Filme;
+import Persistencia.ArquivoJournal;
+import Persistencia.FormatoArquivo;
+import Persistencia.MidiaRepository;
+import Persistencia.Repositorios;
+import Persistencia.ServicoPersistencia;
 import Service.Servicos;
 
 import java.io.*;
@@ -14,11 +21,14 @@ import java.util.Map;
  */
 public class FilmeController extends MidiaController {
 
-    /** Lista estática que armazena todos os filmes cadastrados no sistema */
-    private static List<Filme> filmes = new ArrayList<>();
+    private static final String DIRETORIO = Repositorios.DIRETORIO;
 
-    private static final String DIRETORIO = "src/arquivos";
-    private static final String ARQUIVO = DIRETORIO + "/filmes.dat";
+    /** Repositório que mantém os filmes cadastrados no sistema e define como são persistidos */
+    private static volatile MidiaRepository<Filme> repositorio = Repositorios.criar("filmes");
+
+    static {
+        CatalogoIndices.acompanhar(ServicoPersistencia.Colecao.FILMES, FilmeController::getFilmes);
+    }
 
     /**
      * Construtor para um novo controlador de filmes.
@@ -72,12 +82,14 @@ public class FilmeController extends MidiaController {
      * @param onde_assistir lista de plataformas onde o filme está disponível
      */
     public void cadastrarFilme(String titulo, List<String> generos, int ano_de_lancamento, int duracao, String direcao, String roteiro, Map<String, List<String>> elenco, String titulo_original, List<String> onde_assistir) {
-        filmes.add(new Filme(titulo, generos, ano_de_lancamento, duracao, direcao, roteiro, elenco, titulo_original, onde_assistir));
-        salvarFilmes();
+        Filme filme = new Filme(titulo, generos, ano_de_lancamento, duracao, direcao, roteiro, elenco, titulo_original, onde_assistir);
+        repositorio.getMidias().add(filme);
+        registrarOperacao(ArquivoJournal.Operacao.INCLUSAO, filme);
     }
 
     /**
      * Busca filmes por diretor (busca exata, ignorando case e acentuação).
+     * Quando a lista é a do controlador, a busca usa o índice de pessoas ({@link CatalogoIndices}).
      *
      * @param diretor nome do diretor a ser buscado
      * @param lista lista de filmes onde realizar a busca
@@ -87,8 +99,16 @@ public class FilmeController extends MidiaController {
 
         List<Filme> resultados_da_busca =  new ArrayList<>();
 
+        if (lista == getFilmes()) {
+            CatalogoIndices.buscarPapel(diretor, Papel.DIRECAO, null, ServicoPersistencia.Colecao.FILMES)
+                    .forEach(midia -> resultados_da_busca.add((Filme) midia));
+            return resultados_da_busca;
+        }
+
+        String diretorBusca = Servicos.normalizarTitulo(diretor);
+
         for (Filme midia : lista) {
-            if (Servicos.normalizarTitulo(midia.getDirecao()).equalsIgnoreCase(Servicos.normalizarTitulo(diretor))) {
+            if (midia.getDirecaoNormalizada().equalsIgnoreCase(diretorBusca)) {
                 resultados_da_busca.add(midia);
             }
         }
@@ -100,6 +120,7 @@ public class FilmeController extends MidiaController {
     /**
      * Busca filmes por membro do elenco e sua função.
      * (busca exata, ignorando case e acentuação)
+     * Quando a lista é a do controlador, a busca usa o índice de pessoas ({@link CatalogoIndices}).
      *
      * @param funcao categoria/função no filme (ex: "Protagonista", "Coadjuvante")
      * @param nome nome do membro do elenco
@@ -110,22 +131,28 @@ public class FilmeController extends MidiaController {
 
         List<Filme> resultados_da_busca = new ArrayList<>();
 
+        if (lista == getFilmes()) {
+            CatalogoIndices.buscarPapel(nome, Papel.ELENCO, funcao, ServicoPersistencia.Colecao.FILMES)
+                    .forEach(midia -> resultados_da_busca.add((Filme) midia));
+            return resultados_da_busca;
+        }
+
         String funcaoBusca = Servicos.normalizarTitulo(funcao);
         String nomeBusca = Servicos.normalizarTitulo(nome);
 
         for (Filme filme : lista) {
 
-            Map<String, List<String>> elenco = filme.getElenco();
+            Map<String, List<String>> elenco = filme.getElencoNormalizado();
 
             for (Map.Entry<String, List<String>> entry : elenco.entrySet()) {
 
-                String funcaoAtual = Servicos.normalizarTitulo(entry.getKey());
+                String funcaoAtual = entry.getKey();
 
                 if (funcaoAtual.equalsIgnoreCase(funcaoBusca)) {
 
                     for (String pessoa : entry.getValue()) {
 
-                        if (Servicos.normalizarTitulo(pessoa).equalsIgnoreCase(nomeBusca)) {
+                        if (pessoa.equalsIgnoreCase(nomeBusca)) {
 
                             resultados_da_busca.add(filme);
                             break;
@@ -145,7 +172,7 @@ public class FilmeController extends MidiaController {
      * @return lista completa de filmes cadastrados no sistema
      */
     public static List<Filme> getFilmes() {
-        return filmes;
+        return repositorio.getMidias();
     }
 
     /**
@@ -163,9 +190,9 @@ public class FilmeController extends MidiaController {
      *
      * <p>Importante: Esta operação não pode ser desfeita e todos os dados serão perdidos.</p>
      *
-     * @see #filmes
+     * @see #repositorio
      */
-    public static void limparFilmes() { filmes.clear(); }
+    public static void limparFilmes() { repositorio.getMidias().clear(); CatalogoIndices.invalidar(ServicoPersistencia.Colecao.FILMES); }
 
     /**
      * Remove um filme específico do sistema.
@@ -173,7 +200,9 @@ public class FilmeController extends MidiaController {
      * @param midia filme a ser removido
      */
     public static void removerMidia(Filme midia) {
-        filmes.remove(midia);
+        if (repositorio.getMidias().remove(midia)) {
+            registrarOperacao(ArquivoJournal.Operacao.REMOCAO, midia);
+        }
     }
 
     /**
@@ -182,7 +211,7 @@ public class FilmeController extends MidiaController {
      * @param filme filme a ser modificado
      * @param duracao nova duração em minutos
      */
-    public static void setDuracao(Filme filme, int duracao) { filme.setDuracao(duracao); }
+    public static void setDuracao(Filme filme, int duracao) { filme.setDuracao(duracao); marcarAlterado(filme); }
 
     /**
      * Define um novo diretor para o filme.
@@ -190,7 +219,7 @@ public class FilmeController extends MidiaController {
      * @param filme filme a ser modificado
      * @param direcao novo nome do diretor
      */
-    public static void setDirecao(Filme filme, String direcao) { filme.setDirecao(direcao); }
+    public static void setDirecao(Filme filme, String direcao) { filme.setDirecao(direcao); marcarAlterado(filme); }
 
     /**
      * Retorna o diretor do filme.
@@ -205,7 +234,7 @@ public class FilmeController extends MidiaController {
      * @param filme filme a ser modificado
      * @param roteiro novo nome do roteirista
      */
-    public static void setRoteiro(Filme filme, String roteiro) { filme.setRoteiro(roteiro); }
+    public static void setRoteiro(Filme filme, String roteiro) { filme.setRoteiro(roteiro); marcarAlterado(filme); }
 
     /**
      * Retorna o roteirista do filme.
@@ -220,7 +249,7 @@ public class FilmeController extends MidiaController {
      * @param filme filme a ser modificado
      * @param novoTitulo novo título original
      */
-    public static void setTituloOriginal(Filme filme, String novoTitulo) { filme.setTituloOriginal(novoTitulo); }
+    public static void setTituloOriginal(Filme filme, String novoTitulo) { filme.setTituloOriginal(novoTitulo); marcarAlterado(filme); }
 
     /**
      * Retorna o título original do filme.
@@ -253,7 +282,7 @@ public class FilmeController extends MidiaController {
      * @param filme filme ao qual serão adicionadas as novas plataformas
      * @param ondeAssistir lista de novas plataformas de streaming a serem adicionadas
      */
-    public static void addOndeAssistir(Filme filme, List<String> ondeAssistir) { filme.addOndeAssistir(ondeAssistir); }
+    public static void addOndeAssistir(Filme filme, List<String> ondeAssistir) { filme.addOndeAssistir(ondeAssistir); marcarAlterado(filme); }
 
     /**
      * Define uma nova lista completa de plataformas de streaming para um filme.
@@ -263,7 +292,7 @@ public class FilmeController extends MidiaController {
      * @param filme filme a ter sua lista de plataformas atualizada
      * @param ondeAssistir nova lista de plataformas que substituirá a atual
      */
-    public static void setOndeAssistir(Filme filme, List<String> ondeAssistir) { filme.setOndeAssistir(ondeAssistir); }
+    public static void setOndeAssistir(Filme filme, List<String> ondeAssistir) { filme.setOndeAssistir(ondeAssistir); marcarAlterado(filme); }
 
     /**
      * Remove uma plataforma específica da lista de locais onde o filme pode ser assistido.
@@ -272,23 +301,121 @@ public class FilmeController extends MidiaController {
      * @param filme filme do qual a plataforma será removida
      * @param ondeAssistir nome da plataforma a ser removida
      */
-    public static void removerOndeAssistir(Filme filme, String ondeAssistir) { filme.removerOndeAssistir(ondeAssistir); }
+    public static void removerOndeAssistir(Filme filme, String ondeAssistir) { filme.removerOndeAssistir(ondeAssistir); marcarAlterado(filme); }
+
+    /**
+     * Registra no journal a alteração de um filme já cadastrado.
+     * Apenas o filme informado é gravado, sem reescrever a lista completa.
+     * Filmes que não pertencem à coleção são ignorados.
+     *
+     * @param filme filme que foi modificado
+     * @see ArquivoJournal#agendar(ArquivoJournal.Operacao, Model.Midia, List)
+     */
+    public static void salvarAlteracao(Filme filme) {
+        if (CatalogoIndices.contem(ServicoPersistencia.Colecao.FILMES, filme)) {
+            registrarOperacao(ArquivoJournal.Operacao.ALTERACAO, filme);
+        }
+    }
+
+    /**
+     * Grava imediatamente as alterações pendentes sobre os filmes.
+     * Se nenhum filme foi modificado desde a última gravação, o arquivo não é tocado.
+     * Em caso de erro, as alterações continuam pendentes e o stack trace será impresso no console.
+     *
+     * @return {@code true} se as alterações foram gravadas, {@code false} caso contrário
+     */
+    public static boolean salvarAlteracoes() {
+        try {
+            gravarPendentes();
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Indica se há alterações sobre os filmes ainda não gravadas.
+     *
+     * @return {@code true} se existirem operações pendentes
+     */
+    public static boolean isAlterado() {
+        return repositorio.getOperacoesPendentes() > 0;
+    }
+
+    /**
+     * Define o formato em que os filmes serão gravados nas próximas operações.
+     * Arquivos existentes continuam legíveis em qualquer formato.
+     *
+     * @param formato formato de gravação
+     * @see FormatoArquivo
+     */
+    public static void setFormatoArquivo(FormatoArquivo formato) { repositorio.setFormato(formato); }
+
+    /**
+     * Retorna o repositório onde os filmes são mantidos.
+     *
+     * @return repositório atual
+     */
+    public static MidiaRepository<Filme> getRepositorio() { return repositorio; }
+
+    /**
+     * Substitui o repositório dos filmes, por exemplo para usar outro mecanismo de
+     * armazenamento em testes ou comparações de desempenho. Os filmes do
+     * repositório anterior não são transferidos.
+     *
+     * @param novoRepositorio repositório a ser usado
+     */
+    public static void setRepositorio(MidiaRepository<Filme> novoRepositorio) { repositorio = novoRepositorio; CatalogoIndices.invalidar(ServicoPersistencia.Colecao.FILMES); }
+
+    /**
+     * Registra uma operação no repositório de filmes, atualiza os índices de busca
+     * ({@link CatalogoIndices}) e avisa o serviço de persistência,
+     * que grava as operações acumuladas em segundo plano. Em caso de erro,
+     * o stack trace será impresso no console.
+     *
+     * @param operacao operação realizada sobre o filme
+     * @param filme filme afetado
+     * @see ServicoPersistencia#marcarAlterado(ServicoPersistencia.Colecao, ServicoPersistencia.Gravacao)
+     */
+    private static void registrarOperacao(ArquivoJournal.Operacao operacao, Filme filme) {
+        CatalogoIndices.registrar(ServicoPersistencia.Colecao.FILMES, operacao, filme);
+        try {
+            repositorio.registrar(operacao, filme);
+            ServicoPersistencia.marcarAlterado(ServicoPersistencia.Colecao.FILMES, FilmeController::gravarPendentes);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Grava no journal as operações agendadas sobre os filmes.
+     * Executado pelo serviço de persistência fora da thread da interface.
+     * Em caso de erro, o serviço agenda uma nova tentativa.
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    private static void gravarPendentes() throws IOException {
+        repositorio.gravarPendentes();
+    }
 
     /**
      * Salva todas os filmes cadastrados no sistema em um arquivo.
      * Este método serializa a lista de filmes e a armazena em um arquivo binário
-     * no diretório especificado por {@link #ARQUIVO}.
+     * no diretório especificado por {@link #DIRETORIO}, descartando o journal de
+     * alterações, que passa a estar contido no arquivo. O arquivo anterior só é
+     * substituído depois que o novo estiver completo no disco, e fica guardado
+     * como cópia de segurança (ver {@link Persistencia.ArquivoSeguro}).
      *
      * <p>O método utiliza um {@link ObjectOutputStream} para realizar a serialização
      * dos dados. Em caso de erro durante a operação de salvamento, o stack trace
      * do erro será impresso no console.</p>
      *
-     * @see #ARQUIVO
      * @see ObjectOutputStream
      */
     public static void salvarFilmes() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(ARQUIVO))) {
-            oos.writeObject(filmes);
+        try {
+            repositorio.salvar();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -296,23 +423,34 @@ public class FilmeController extends MidiaController {
 
     /**
      * Carrega os filmes previamente salvas do arquivo para o sistema.
-     * Este método deserializa a lista de séries armazenada no arquivo binário
-     * especificado por {@link #ARQUIVO}.
+     * Este método deserializa a lista de filmes armazenada no diretório
+     * especificado por {@link #DIRETORIO} e reaplica sobre ela as alterações
+     * registradas em seu journal.
      *
      * <p>O método utiliza um {@link ObjectInputStream} para realizar a deserialização
      * dos dados.</p>
      *
+     * <p>A ausência de arquivo salvo não é um erro e resulta em {@code false}. Já um
+     * arquivo existente que não pôde ser lido é relatado com uma exceção, para que não
+     * seja confundido com a primeira execução.</p>
+     *
      * @return {@code true} se os filmes foram carregadas com sucesso,
-     *         {@code false} se ocorreu algum erro durante o carregamento
-     * @see #ARQUIVO
+     *         {@code false} se não houver arquivo salvo
+     * @throws UncheckedIOException se o arquivo existir e não puder ser lido
+     * @throws IllegalStateException se alguma classe serializada não for encontrada
      * @see ObjectInputStream
      */
     public static boolean carregarFilmes() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(ARQUIVO))) {
-            filmes = (List<Filme>) ois.readObject();
+        try {
+            repositorio.carregar();
+            CatalogoIndices.invalidar(ServicoPersistencia.Colecao.FILMES);
             return true;
-        } catch (Exception e) {
+        } catch (FileNotFoundException e) {
             return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
         }
     }
 
@@ -1,6 +1,14 @@
 package Controller;
 
+import Indice.CatalogoIndices;
+import Indice.IndiceIsbn;
+import Indice.IndicePessoas.Papel;
 import Model.Livro;
+import Persistencia.ArquivoJournal;
+import Persistencia.FormatoArquivo;
+import Persistencia.MidiaRepository;
+import Persistencia.Repositorios;
+import Persistencia.ServicoPersistencia;
 import Service.Servicos;
 
 import java.io.*;
@@ -13,11 +21,14 @@ import java.util.List;
  */
 public class LivroController extends MidiaController {
 
-    /** Lista estática que armazena todos os livros cadastrados no sistema */
-    private static List<Livro> livros = new ArrayList<>();
+    private static final String DIRETORIO = Repositorios.DIRETORIO;
 
-    private static final String DIRETORIO = "src/arquivos";
-    private static final String ARQUIVO = DIRETORIO + "/livros.dat";
+    /** Repositório que mantém os livros cadastrados no sistema e define como são persistidos */
+    private static volatile MidiaRepository<Livro> repositorio = Repositorios.criar("livros");
+
+    static {
+        CatalogoIndices.acompanhar(ServicoPersistencia.Colecao.LIVROS, LivroController::getLivros);
+    }
 
     /**
      * Construtor para um novo controlador de livros.
@@ -69,12 +80,14 @@ public class LivroController extends MidiaController {
      * @param possui indica se o usuário possui um exemplar físico do livro
      */
     public void cadastrarLivro(String titulo, String autor, String editora, List<String> generos, int ano_de_publicacao, String isbn, boolean possui) {
-        livros.add(new Livro(titulo, generos, ano_de_publicacao, autor, isbn, possui, editora));
-        salvarLivros();
+        Livro livro = new Livro(titulo, generos, ano_de_publicacao, autor, isbn, possui, editora);
+        repositorio.getMidias().add(livro);
+        registrarOperacao(ArquivoJournal.Operacao.INCLUSAO, livro);
     }
 
     /**
      * Busca livros por autor (busca exata, ignorando case e acentuação).
+     * Quando a lista é a do controlador, a busca usa o índice de pessoas ({@link CatalogoIndices}).
      *
      * @param autor nome do autor a ser buscado
      * @param lista lista de livros onde realizar a busca
@@ -84,8 +97,16 @@ public class LivroController extends MidiaController {
 
         List<Livro> resultados_da_busca =  new ArrayList<>();
 
+        if (lista == getLivros()) {
+            CatalogoIndices.buscarPapel(autor, Papel.AUTORIA, null, ServicoPersistencia.Colecao.LIVROS)
+                    .forEach(midia -> resultados_da_busca.add((Livro) midia));
+            return resultados_da_busca;
+        }
+
+        String autorBusca = Servicos.normalizarTitulo(autor);
+
         for (Livro midia : lista) {
-            if (Servicos.normalizarTitulo(midia.getAutor()).equalsIgnoreCase(Servicos.normalizarTitulo(autor))) {
+            if (midia.getAutorNormalizado().equalsIgnoreCase(autorBusca)) {
                 resultados_da_busca.add(midia);
             }
         }
@@ -95,18 +116,28 @@ public class LivroController extends MidiaController {
     }
 
     /**
-     * Busca livros por ISBN (busca exata, ignorando case).
+     * Busca livros por ISBN (busca exata, ignorando case, hífens e espaços).
+     * ISBN-10 e ISBN-13 equivalentes são considerados iguais.
+     * Quando a lista é a do controlador, a busca usa o índice de ISBNs ({@link CatalogoIndices}).
      *
      * @param isbn código ISBN a ser buscado
      * @param lista lista de livros onde realizar a busca
      * @return lista de livros com o ISBN especificado
+     * @see IndiceIsbn#canonizar(String)
      */
     public static List<Livro> busca_isbn(String isbn, List<Livro> lista) {
 
         List<Livro> resultados_da_busca =  new ArrayList<>();
 
+        if (lista == getLivros()) {
+            CatalogoIndices.buscarIsbn(isbn).forEach(midia -> resultados_da_busca.add((Livro) midia));
+            return resultados_da_busca;
+        }
+
+        String isbnBusca = IndiceIsbn.canonizar(isbn);
+
         for (Livro midia : lista) {
-            if (Servicos.normalizarTitulo(midia.getIsbn()).equalsIgnoreCase(Servicos.normalizarTitulo(isbn))) {
+            if (IndiceIsbn.canonizar(midia.getIsbnNormalizado()).equals(isbnBusca)) {
                 resultados_da_busca.add(midia);
             }
         }
@@ -115,13 +146,24 @@ public class LivroController extends MidiaController {
 
     }
 
+    /**
+     * Verifica se já existe um livro cadastrado com o ISBN informado, em qualquer
+     * formatação ou como ISBN-10. Usado para evitar cadastros duplicados.
+     *
+     * @param isbn código ISBN a verificar
+     * @return {@code true} se algum livro cadastrado possui o mesmo ISBN
+     */
+    public static boolean existeIsbn(String isbn) {
+        return !CatalogoIndices.buscarIsbn(isbn).isEmpty();
+    }
+
     /**
      * Retorna uma lista completa de livros cadastrados no sistema
      *
      * @return lista completa de livros cadastrados no sistema
      */
     public static List<Livro> getLivros() {
-        return livros;
+        return repositorio.getMidias();
     }
 
     /**
@@ -132,9 +174,9 @@ public class LivroController extends MidiaController {
      *
      * <p>Importante: Esta operação não pode ser desfeita e todos os dados serão perdidos.</p>
      *
-     * @see #livros
+     * @see #repositorio
      */
-    public static void limparLivros() { livros.clear(); }
+    public static void limparLivros() { repositorio.getMidias().clear(); CatalogoIndices.invalidar(ServicoPersistencia.Colecao.LIVROS); }
 
     /**
      * Remove um livro específico do sistema.
@@ -142,7 +184,9 @@ public class LivroController extends MidiaController {
      * @param midia livro a ser removido
      */
     public static void removerMidia(Livro midia) {
-        livros.remove(midia);
+        if (repositorio.getMidias().remove(midia)) {
+            registrarOperacao(ArquivoJournal.Operacao.REMOCAO, midia);
+        }
     }
 
     /**
@@ -179,7 +223,7 @@ public class LivroController extends MidiaController {
      * @param livro livro a ser modificado
      * @param novoAutor novo nome do autor
      */
-    public static void setAutor(Livro livro, String novoAutor) { livro.setAutor(novoAutor); }
+    public static void setAutor(Livro livro, String novoAutor) { livro.setAutor(novoAutor); marcarAlterado(livro); }
 
     /**
      * Define uma nova editora para o livro.
@@ -187,7 +231,7 @@ public class LivroController extends MidiaController {
      * @param livro livro a ser modificado
      * @param novaEditora nova editora
      */
-    public static void setEditora(Livro livro, String novaEditora) { livro.setEditora(novaEditora); }
+    public static void setEditora(Livro livro, String novaEditora) { livro.setEditora(novaEditora); marcarAlterado(livro); }
 
     /**
      * Define um novo ISBN para o livro.
@@ -195,7 +239,7 @@ public class LivroController extends MidiaController {
      * @param livro livro a ser modificado
      * @param novoISBN novo código ISBN
      */
-    public static void setIsbn(Livro livro, String novoISBN) { livro.setIsbn(novoISBN); }
+    public static void setIsbn(Livro livro, String novoISBN) { livro.setIsbn(novoISBN); marcarAlterado(livro); }
 
     /**
      * Atualiza o status de posse do exemplar físico.
@@ -203,23 +247,121 @@ public class LivroController extends MidiaController {
      * @param livro livro a ser modificado
      * @param novaResposta novo status de posse (true se possui, false caso contrário)
      */
-    public static void setPossuiExemplar(Livro livro, boolean novaResposta) { livro.setPossuiExemplar(novaResposta); }
+    public static void setPossuiExemplar(Livro livro, boolean novaResposta) { livro.setPossuiExemplar(novaResposta); marcarAlterado(livro); }
+
+    /**
+     * Registra no journal a alteração de um livro já cadastrado.
+     * Apenas o livro informado é gravado, sem reescrever a lista completa.
+     * Livros que não pertencem à coleção são ignorados.
+     *
+     * @param livro livro que foi modificado
+     * @see ArquivoJournal#agendar(ArquivoJournal.Operacao, Model.Midia, List)
+     */
+    public static void salvarAlteracao(Livro livro) {
+        if (CatalogoIndices.contem(ServicoPersistencia.Colecao.LIVROS, livro)) {
+            registrarOperacao(ArquivoJournal.Operacao.ALTERACAO, livro);
+        }
+    }
+
+    /**
+     * Grava imediatamente as alterações pendentes sobre os livros.
+     * Se nenhum livro foi modificado desde a última gravação, o arquivo não é tocado.
+     * Em caso de erro, as alterações continuam pendentes e o stack trace será impresso no console.
+     *
+     * @return {@code true} se as alterações foram gravadas, {@code false} caso contrário
+     */
+    public static boolean salvarAlteracoes() {
+        try {
+            gravarPendentes();
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Indica se há alterações sobre os livros ainda não gravadas.
+     *
+     * @return {@code true} se existirem operações pendentes
+     */
+    public static boolean isAlterado() {
+        return repositorio.getOperacoesPendentes() > 0;
+    }
+
+    /**
+     * Define o formato em que os livros serão gravados nas próximas operações.
+     * Arquivos existentes continuam legíveis em qualquer formato.
+     *
+     * @param formato formato de gravação
+     * @see FormatoArquivo
+     */
+    public static void setFormatoArquivo(FormatoArquivo formato) { repositorio.setFormato(formato); }
+
+    /**
+     * Retorna o repositório onde os livros são mantidos.
+     *
+     * @return repositório atual
+     */
+    public static MidiaRepository<Livro> getRepositorio() { return repositorio; }
+
+    /**
+     * Substitui o repositório dos livros, por exemplo para usar outro mecanismo de
+     * armazenamento em testes ou comparações de desempenho. Os livros do
+     * repositório anterior não são transferidos.
+     *
+     * @param novoRepositorio repositório a ser usado
+     */
+    public static void setRepositorio(MidiaRepository<Livro> novoRepositorio) { repositorio = novoRepositorio; CatalogoIndices.invalidar(ServicoPersistencia.Colecao.LIVROS); }
+
+    /**
+     * Registra uma operação no repositório de livros, atualiza os índices de busca
+     * ({@link CatalogoIndices}) e avisa o serviço de persistência,
+     * que grava as operações acumuladas em segundo plano. Em caso de erro,
+     * o stack trace será impresso no console.
+     *
+     * @param operacao operação realizada sobre o livro
+     * @param livro livro afetado
+     * @see ServicoPersistencia#marcarAlterado(ServicoPersistencia.Colecao, ServicoPersistencia.Gravacao)
+     */
+    private static void registrarOperacao(ArquivoJournal.Operacao operacao, Livro livro) {
+        CatalogoIndices.registrar(ServicoPersistencia.Colecao.LIVROS, operacao, livro);
+        try {
+            repositorio.registrar(operacao, livro);
+            ServicoPersistencia.marcarAlterado(ServicoPersistencia.Colecao.LIVROS, LivroController::gravarPendentes);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Grava no journal as operações agendadas sobre os livros.
+     * Executado pelo serviço de persistência fora da thread da interface.
+     * Em caso de erro, o serviço agenda uma nova tentativa.
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    private static void gravarPendentes() throws IOException {
+        repositorio.gravarPendentes();
+    }
 
     /**
      * Salva todas os livros cadastrados no sistema em um arquivo.
-     * Este método serializa a lista de séries e a armazena em um arquivo binário
-     * no diretório especificado por {@link #ARQUIVO}.
+     * Este método serializa a lista de livros e a armazena em um arquivo binário
+     * no diretório especificado por {@link #DIRETORIO}, descartando o journal de
+     * alterações, que passa a estar contido no arquivo. O arquivo anterior só é
+     * substituído depois que o novo estiver completo no disco, e fica guardado
+     * como cópia de segurança (ver {@link Persistencia.ArquivoSeguro}).
      *
      * <p>O método utiliza um {@link ObjectOutputStream} para realizar a serialização
      * dos dados. Em caso de erro durante a operação de salvamento, o stack trace
      * do erro será impresso no console.</p>
      *
-     * @see #ARQUIVO
      * @see java.io.ObjectOutputStream
      */
     public static void salvarLivros() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(ARQUIVO))) {
-            oos.writeObject(livros);
+        try {
+            repositorio.salvar();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -227,23 +369,34 @@ public class LivroController extends MidiaController {
 
     /**
      * Carrega os livros previamente salvas do arquivo para o sistema.
-     * Este método deserializa a lista de livros armazenada no arquivo binário
-     * especificado por {@link #ARQUIVO}.
+     * Este método deserializa a lista de livros armazenada no diretório
+     * especificado por {@link #DIRETORIO} e reaplica sobre ela as alterações
+     * registradas em seu journal.
      *
      * <p>O método utiliza um {@link ObjectInputStream} para realizar a deserialização
      * dos dados.</p>
      *
+     * <p>A ausência de arquivo salvo não é um erro e resulta em {@code false}. Já um
+     * arquivo existente que não pôde ser lido é relatado com uma exceção, para que não
+     * seja confundido com a primeira execução.</p>
+     *
      * @return {@code true} se os livros foram carregadas com sucesso,
-     *         {@code false} se ocorreu algum erro durante o carregamento
-     * @see #ARQUIVO
+     *         {@code false} se não houver arquivo salvo
+     * @throws UncheckedIOException se o arquivo existir e não puder ser lido
+     * @throws IllegalStateException se alguma classe serializada não for encontrada
      * @see java.io.ObjectInputStream
      */
     public static boolean carregarLivros() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(ARQUIVO))) {
-            livros = (List<Livro>) ois.readObject();
+        try {
+            repositorio.carregar();
+            CatalogoIndices.invalidar(ServicoPersistencia.Colecao.LIVROS);
             return true;
-        } catch (Exception e) {
+        } catch (FileNotFoundException e) {
             return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
         }
     }
 
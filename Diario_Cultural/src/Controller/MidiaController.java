@@ -1,10 +1,26 @@
 package Controller;
 
+import Indice.CatalogoIndices;
+import Indice.IndiceAproximado;
+import Indice.IndiceAvaliacoes;
+import Indice.IndiceAvaliacoes.AvaliacaoEncontrada;
+import Indice.IndiceCronologico;
+import Indice.IndiceCronologico.AvaliacaoDatada;
+import Indice.IndiceEstatisticas.Estatisticas;
+import Indice.IndiceFacetas.Facetas;
+import Indice.IndicePessoas.Participacao;
+import Indice.IndiceTitulos;
 import Model.Avaliacao;
+import Model.Filme;
+import Model.Livro;
 import Model.Midia;
 import Model.Serie;
+import Model.Temporada;
+import Persistencia.ServicoPersistencia.Colecao;
 import Service.Servicos;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -18,17 +34,69 @@ public abstract class MidiaController {
 
     /**
      * Busca mídias pelo título exato (ignorando case e acentuação).
+     * Quando a lista é a coleção completa de um controlador, a busca é feita pelo
+     * índice de títulos, sem percorrer a lista.
      *
      * @param titulo título a ser buscado
      * @param midiaLista lista de mídias onde realizar a busca
      * @return lista de mídias que correspondem ao título buscado
+     * @see CatalogoIndices#buscarTitulo(String, Colecao...)
      */
     public static List<? extends Midia> busca_titulo(String titulo, List<? extends Midia> midiaLista) {
 
+        Colecao colecao = CatalogoIndices.colecaoDe(midiaLista);
+        if (colecao != null) {
+            return CatalogoIndices.buscarTitulo(titulo, colecao);
+        }
+
+        List<Midia> resultados_da_busca =  new ArrayList<>();
+        String tituloBusca = normalizarTitulo(titulo);
+
+        for (Midia midia : midiaLista) {
+            if (midia.getTituloNormalizado().equalsIgnoreCase(tituloBusca)) {
+                resultados_da_busca.add(midia);
+            }
+        }
+
+        return resultados_da_busca;
+
+    }
+
+    /**
+     * Busca mídias cujo título contém todas as palavras informadas, em qualquer ordem
+     * (ignorando case e acentuação). Se {@code prefixo} for verdadeiro, a última palavra
+     * pode ser apenas o início de uma palavra do título, como em uma busca feita enquanto
+     * o usuário digita.
+     *
+     * @param consulta palavras a serem buscadas
+     * @param prefixo indica se a última palavra pode estar incompleta
+     * @param midiaLista lista de mídias onde realizar a busca
+     * @return lista de mídias encontradas
+     * @see CatalogoIndices#buscarPrefixo(String, Colecao...)
+     */
+    public static List<? extends Midia> busca_palavras_titulo(String consulta, boolean prefixo, List<? extends Midia> midiaLista) {
+
+        Colecao colecao = CatalogoIndices.colecaoDe(midiaLista);
+        if (colecao != null) {
+            return prefixo ? CatalogoIndices.buscarPrefixo(consulta, colecao) : CatalogoIndices.buscarPalavras(consulta, colecao);
+        }
+
         List<Midia> resultados_da_busca =  new ArrayList<>();
+        String[] palavrasBusca = IndiceTitulos.palavras(consulta);
+        if (palavrasBusca.length == 0) {
+            return resultados_da_busca;
+        }
 
         for (Midia midia : midiaLista) {
-            if (normalizarTitulo(midia.getTitulo()).equalsIgnoreCase(normalizarTitulo(titulo))) {
+            List<String> palavrasTitulo = Arrays.asList(IndiceTitulos.palavras(midia.getTitulo()));
+            boolean encontrou = true;
+            for (int i = 0; i < palavrasBusca.length && encontrou; i++) {
+                String palavra = palavrasBusca[i];
+                encontrou = prefixo && i == palavrasBusca.length - 1
+                        ? palavrasTitulo.stream().anyMatch(p -> p.startsWith(palavra))
+                        : palavrasTitulo.contains(palavra);
+            }
+            if (encontrou) {
                 resultados_da_busca.add(midia);
             }
         }
@@ -39,6 +107,9 @@ public abstract class MidiaController {
 
     /**
      * Busca mídias por gênero (busca parcial, ignorando case e acentuação).
+     * Cada mídia aparece uma única vez, mesmo que vários de seus gêneros contenham o termo.
+     * Quando a lista é a de um dos controladores, a busca usa o índice de gêneros
+     * ({@link CatalogoIndices}).
      *
      * @param genero gênero a ser buscado
      * @param midiaLista lista de mídias onde realizar a busca
@@ -46,12 +117,19 @@ public abstract class MidiaController {
      */
     public static List<? extends Midia> busca_genero(String genero, List<? extends Midia> midiaLista) {
 
+        Colecao colecao = CatalogoIndices.colecaoDe(midiaLista);
+        if (colecao != null) {
+            return CatalogoIndices.buscarGenero(genero, colecao);
+        }
+
         List<Midia> resultados_da_busca =  new ArrayList<>();
+        String generoBusca = normalizarTitulo(genero).toLowerCase();
 
         for (Midia midia : midiaLista) {
-            for (String s : midia.getGeneros()) {
-                if (normalizarTitulo(s).toLowerCase().contains(normalizarTitulo(genero).toLowerCase())) {
+            for (String s : midia.getGenerosNormalizados()) {
+                if (s.toLowerCase().contains(generoBusca)) {
                     resultados_da_busca.add(midia);
+                    break;
                 }
             }
         }
@@ -60,6 +138,86 @@ public abstract class MidiaController {
 
     }
 
+    /**
+     * Busca mídias por título ou nome de pessoa (autor, direção, roteiro ou elenco) tolerando
+     * erros de digitação: são aceitas até uma ou duas letras erradas, faltando, sobrando ou
+     * trocadas de lugar, conforme o tamanho do termo. Também são comparadas as palavras
+     * isoladas do título e dos nomes. Quando a lista é a de um dos controladores, a busca
+     * usa o índice aproximado ({@link CatalogoIndices}).
+     *
+     * @param termo título ou nome buscado, possivelmente com erros de digitação
+     * @param midiaLista lista de mídias onde realizar a busca
+     * @return lista de mídias encontradas, das mais próximas do termo para as menos próximas
+     * @see IndiceAproximado#tolerancia(int)
+     */
+    public static List<? extends Midia> busca_aproximada(String termo, List<? extends Midia> midiaLista) {
+
+        Colecao colecao = CatalogoIndices.colecaoDe(midiaLista);
+        if (colecao != null) {
+            return CatalogoIndices.buscarAproximado(termo, Integer.MAX_VALUE, colecao);
+        }
+
+        String termoBusca = normalizarTitulo(termo == null ? "" : termo);
+        if (termoBusca.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int tolerancia = IndiceAproximado.tolerancia(termoBusca.length());
+
+        List<Midia> resultados_da_busca = new ArrayList<>();
+        Map<Midia, Integer> distancias = new IdentityHashMap<>();
+        for (Midia midia : midiaLista) {
+            int distancia = IndiceAproximado.distancia(midia, termoBusca);
+            if (distancia <= tolerancia) {
+                resultados_da_busca.add(midia);
+                distancias.put(midia, distancia);
+            }
+        }
+
+        resultados_da_busca.sort(Comparator.comparingInt(distancias::get));
+        return resultados_da_busca;
+
+    }
+
+    /**
+     * Busca tudo em que uma pessoa trabalhou, em livros, filmes e séries: autoria, direção,
+     * roteiro e o elenco de filmes, séries e temporadas (busca exata pelo nome, ignorando
+     * case e acentuação).
+     *
+     * @param nome nome da pessoa
+     * @return participações da pessoa, com a mídia, o papel e, se for o caso, a temporada
+     */
+    public static List<Participacao> busca_pessoa(String nome) {
+        return CatalogoIndices.buscarPessoa(nome);
+    }
+
+    /**
+     * Busca nos comentários das avaliações das mídias da lista e, para séries, das suas
+     * temporadas, ignorando maiúsculas, acentos, palavras muito comuns e plurais.
+     *
+     * @param consulta palavras buscadas nos comentários
+     * @param midiaLista lista de mídias cujas avaliações são consultadas
+     * @return avaliações encontradas, das mais relevantes para as menos relevantes
+     * @see IndiceAvaliacoes
+     */
+    public static List<AvaliacaoEncontrada> busca_avaliacoes(String consulta, List<? extends Midia> midiaLista) {
+
+        Colecao colecao = CatalogoIndices.colecaoDe(midiaLista);
+        if (colecao != null) {
+            return CatalogoIndices.buscarAvaliacoes(consulta, Integer.MAX_VALUE, colecao);
+        }
+
+        Set<Midia> consultadas = Collections.newSetFromMap(new IdentityHashMap<>());
+        consultadas.addAll(midiaLista);
+        List<AvaliacaoEncontrada> resultados_da_busca = new ArrayList<>();
+        for (AvaliacaoEncontrada encontrada : CatalogoIndices.buscarAvaliacoes(consulta, Integer.MAX_VALUE)) {
+            if (consultadas.contains(encontrada.midia())) {
+                resultados_da_busca.add(encontrada);
+            }
+        }
+        return resultados_da_busca;
+
+    }
+
     /**
      * Busca mídias por ano de lançamento específico.
      *
@@ -68,12 +226,31 @@ public abstract class MidiaController {
      * @return lista de mídias lançadas no ano especificado
      */
     public static List<? extends Midia> busca_ano(int ano, List<? extends Midia> midiaLista) {
+        return busca_intervalo_anos(ano, ano, midiaLista);
+    }
+
+    /**
+     * Busca mídias lançadas entre dois anos, inclusive (por exemplo, de 1990 a 1999).
+     * Quando a lista é a de um dos controladores, a busca usa o índice de anos
+     * ({@link CatalogoIndices}).
+     *
+     * @param inicio primeiro ano do intervalo
+     * @param fim último ano do intervalo
+     * @param midiaLista lista de mídias onde realizar a busca
+     * @return lista de mídias lançadas no intervalo
+     */
+    public static List<? extends Midia> busca_intervalo_anos(int inicio, int fim, List<? extends Midia> midiaLista) {
+
+        Colecao colecao = CatalogoIndices.colecaoDe(midiaLista);
+        if (colecao != null) {
+            return CatalogoIndices.buscarAnos(inicio, fim, colecao);
+        }
 
         List<Midia> resultados_da_busca =  new ArrayList<>();
 
         for (Midia midia : midiaLista) {
 
-            if (midia.getAnoLancamento() == ano) {
+            if (midia.getAnoLancamento() >= inicio && midia.getAnoLancamento() <= fim) {
                 resultados_da_busca.add(midia);
             }
 
@@ -85,150 +262,297 @@ public abstract class MidiaController {
 
     /**
      * Ordena a lista de mídias por avaliação, da maior para a menor nota.
+     * Mídias com a mesma nota mantêm a ordem da lista.
      *
      * @param midiaLista lista de mídias a ser ordenada
      * @return lista ordenada por avaliação em ordem decrescente
      */
     public static List<? extends Midia> ordenarBemAvaliado(List<? extends Midia> midiaLista) {
-
-        return midiaLista.stream().sorted((m1, m2) -> {
-
-            float nota1 = extrairNotaMaisRecente(m1);
-            float nota2 = extrairNotaMaisRecente(m2);
-
-            return Float.compare(nota2, nota1);
-
-        }).collect(Collectors.toList());
-
+        return selecionarPorNota(midiaLista, midiaLista.size(), true);
     }
 
     /**
      * Ordena a lista de mídias por avaliação, da menor para a maior nota.
+     * Mídias com a mesma nota mantêm a ordem da lista.
      *
      * @param midiaLista lista de mídias a ser ordenada
      * @return lista ordenada por avaliação em ordem crescente
      */
     public static List<? extends Midia> ordenarMalAvaliado(List<? extends Midia> midiaLista) {
+        return selecionarPorNota(midiaLista, midiaLista.size(), false);
+    }
 
-        return midiaLista.stream().sorted((m1, m2) -> {
+    /**
+     * Retorna as {@code k} mídias mais bem avaliadas, da maior para a menor nota, sem ordenar
+     * a lista inteira. Quando a lista é a de um dos controladores, as mídias são lidas do
+     * índice de notas ({@link CatalogoIndices}).
+     *
+     * @param midiaLista lista de mídias
+     * @param k quantidade de mídias desejada
+     * @return até {@code k} mídias, em ordem decrescente de nota
+     */
+    public static List<Midia> melhoresAvaliados(List<? extends Midia> midiaLista, int k) {
+        return paginaPorAvaliacao(midiaLista, true, 0, k);
+    }
 
-            float nota1 = extrairNotaMaisRecente(m1);
-            float nota2 = extrairNotaMaisRecente(m2);
+    /**
+     * Retorna as {@code k} mídias mais mal avaliadas, da menor para a maior nota, sem ordenar
+     * a lista inteira. Quando a lista é a de um dos controladores, as mídias são lidas do
+     * índice de notas ({@link CatalogoIndices}).
+     *
+     * @param midiaLista lista de mídias
+     * @param k quantidade de mídias desejada
+     * @return até {@code k} mídias, em ordem crescente de nota
+     */
+    public static List<Midia> pioresAvaliados(List<? extends Midia> midiaLista, int k) {
+        return paginaPorAvaliacao(midiaLista, false, 0, k);
+    }
+
+    /**
+     * Retorna uma página da ordenação por avaliação. Quando a lista é a de um dos
+     * controladores, a página é lida do índice de notas, que já mantém a ordenação
+     * completa; nas demais listas, apenas as mídias até o fim da página são selecionadas.
+     *
+     * @param midiaLista lista de mídias
+     * @param melhores {@code true} para começar pelas maiores notas, {@code false} pelas menores
+     * @param inicio posição da primeira mídia da página na ordenação completa
+     * @param quantidade número máximo de mídias na página
+     * @return mídias da página, em ordem de nota
+     * @see CatalogoIndices#paginaPorNota(boolean, int, int, Colecao...)
+     */
+    public static List<Midia> paginaPorAvaliacao(List<? extends Midia> midiaLista, boolean melhores, int inicio, int quantidade) {
+        Colecao colecao = CatalogoIndices.colecaoDe(midiaLista);
+        if (colecao != null) {
+            return CatalogoIndices.paginaPorNota(melhores, inicio, quantidade, colecao);
+        }
+        int comeco = Math.max(inicio, 0);
+        int fim = (int) Math.min(midiaLista.size(), (long) comeco + Math.max(quantidade, 0));
+        if (comeco >= fim) {
+            return new ArrayList<>();
+        }
+        List<Midia> primeiras = selecionarPorNota(midiaLista, fim, melhores);
+        return new ArrayList<>(primeiras.subList(comeco, fim));
+    }
 
-            return Float.compare(nota1, nota2);
+    /**
+     * Seleciona as {@code k} primeiras mídias da ordenação por nota com um heap limitado a
+     * {@code k} posições, sobre as notas extraídas uma única vez para um vetor. A raiz do
+     * heap é a selecionada que fica por último na ordenação, que é substituída sempre que
+     * aparece uma mídia melhor colocada. Empates ficam na ordem da lista.
+     *
+     * @param midiaLista lista de mídias
+     * @param k quantidade de mídias desejada
+     * @param melhores {@code true} para as maiores notas, {@code false} para as menores
+     * @return até {@code k} mídias, em ordem
+     */
+    private static List<Midia> selecionarPorNota(List<? extends Midia> midiaLista, int k, boolean melhores) {
+        int total = midiaLista.size();
+        float[] notas = new float[total];
+        for (int i = 0; i < total; i++) {
+            notas[i] = midiaLista.get(i).getNotaAtual();
+        }
 
-        }).collect(Collectors.toList());
+        int[] heap = new int[Math.min(Math.max(k, 0), total)];
+        int tamanho = 0;
+        for (int i = 0; i < total && heap.length > 0; i++) {
+            if (tamanho < heap.length) {
+                heap[tamanho] = i;
+                subir(heap, tamanho++, notas, melhores);
+            } else if (antes(i, heap[0], notas, melhores)) {
+                heap[0] = i;
+                descer(heap, tamanho, notas, melhores);
+            }
+        }
 
+        Midia[] ordenadas = new Midia[tamanho];
+        while (tamanho > 0) {
+            ordenadas[tamanho - 1] = midiaLista.get(heap[0]);
+            heap[0] = heap[--tamanho];
+            descer(heap, tamanho, notas, melhores);
+        }
+        return new ArrayList<>(Arrays.asList(ordenadas));
     }
 
     /**
-     * Extrai a nota mais recente de uma mídia.
-     *
-     * @param midia mídia da qual extrair a nota
-     * @return nota mais recente ou 0.0 se não houver avaliações
+     * Indica se a mídia na posição {@code a} vem antes da mídia na posição {@code b} na ordenação por nota.
      */
-    public static float extrairNotaMaisRecente(Midia midia) {
-
-        if (midia.getAvaliacoes() == null || midia.getAvaliacoes().isEmpty()) {
+    private static boolean antes(int a, int b, float[] notas, boolean melhores) {
+        int comparacao = melhores ? Float.compare(notas[b], notas[a]) : Float.compare(notas[a], notas[b]);
+        return comparacao < 0 || (comparacao == 0 && a < b);
+    }
 
-            if (midia instanceof Serie) {
-                return ((Serie) midia).getNota();
+    private static void subir(int[] heap, int posicao, float[] notas, boolean melhores) {
+        while (posicao > 0) {
+            int pai = (posicao - 1) / 2;
+            if (!antes(heap[pai], heap[posicao], notas, melhores)) {
+                return;
             }
+            trocar(heap, pai, posicao);
+            posicao = pai;
+        }
+    }
 
-            return 0.0f;
-
+    private static void descer(int[] heap, int tamanho, float[] notas, boolean melhores) {
+        int posicao = 0;
+        while (2 * posicao + 1 < tamanho) {
+            int filho = 2 * posicao + 1;
+            if (filho + 1 < tamanho && antes(heap[filho], heap[filho + 1], notas, melhores)) {
+                filho++;
+            }
+            if (!antes(heap[posicao], heap[filho], notas, melhores)) {
+                return;
+            }
+            trocar(heap, posicao, filho);
+            posicao = filho;
         }
+    }
 
-        return midia.getAvaliacoes().getLast().getNota();
+    private static void trocar(int[] heap, int a, int b) {
+        int temporario = heap[a];
+        heap[a] = heap[b];
+        heap[b] = temporario;
+    }
 
+    /**
+     * Extrai a nota mais recente de uma mídia, já mantida pela própria mídia
+     * a cada avaliação incluída, alterada ou removida.
+     *
+     * @param midia mídia da qual extrair a nota
+     * @return nota mais recente, nota média da série ou 0.0 se não houver avaliações
+     * @see Midia#getNotaAtual()
+     */
+    public static float extrairNotaMaisRecente(Midia midia) {
+        return midia.getNotaAtual();
     }
 
     /**
      * Filtra a lista de mídias por um gênero específico.
+     * Quando a lista é a de um dos controladores, o filtro usa o índice de gêneros
+     * ({@link CatalogoIndices}).
      *
      * @param midiaLista lista de mídias a ser filtrada
      * @param genero gênero para filtrar
      * @return lista filtrada contendo apenas mídias do gênero especificado
      */
     public static List<Midia> filtrarPorGenero(List<? extends Midia> midiaLista, String genero) {
-        return midiaLista.stream().filter(m -> m.getGeneros().stream().anyMatch(g -> Servicos.normalizarTitulo(g).equalsIgnoreCase(Servicos.normalizarTitulo(genero)))).collect(Collectors.toList());
+        Colecao colecao = CatalogoIndices.colecaoDe(midiaLista);
+        if (colecao != null) {
+            return CatalogoIndices.filtrarGenero(genero, colecao);
+        }
+        String generoBusca = Servicos.normalizarTitulo(genero);
+        return midiaLista.stream().filter(m -> m.getGenerosNormalizados().stream().anyMatch(g -> g.equalsIgnoreCase(generoBusca))).collect(Collectors.toList());
     }
 
     /**
-     * Extrai todos os gêneros únicos de uma coleção consolidada de mídias.
+     * Extrai todos os gêneros únicos de livros, filmes e séries.
      *
-     * Este método combina livros, filmes e séries, e então coleta todos os gêneros distintos,
-     * removendo valores nulos ou em branco.
+     * Os gêneros vêm das contagens mantidas pelo catálogo a cada cadastro, alteração
+     * ou remoção ({@link #extrairFacetas()}), sem percorrer as listas. Gêneros que diferem
+     * apenas em maiúsculas, acentos ou espaços aparecem uma única vez.
      *
-     * @param lc Controlador de Livros para obter a lista de livros
-     * @param fc Controlador de Filmes para obter a lista de filmes
-     * @param sc Controlador de Séries para obter a lista de séries
-     * @return Um conjunto ordenado (TreeSet) contendo todos os gêneros únicos
+     * @return Um conjunto ordenado contendo todos os gêneros únicos
      */
-    public static Set<String> extrairGeneros(LivroController lc,
-                                             FilmeController fc,
-                                             SerieController sc) {
-
-        List<Midia> todasMidias = consolidarMidias(lc.getLivros(), fc.getFilmes(), sc.getSeries());
+    public static Set<String> extrairGeneros() {
+        return extrairFacetas().generos().keySet();
+    }
 
-        return todasMidias.stream()
-                .map(Midia::getGeneros)
-                .filter(Objects::nonNull)
-                .flatMap(List::stream)
-                .filter(g -> g != null && !g.isBlank())
-                .collect(Collectors.toCollection(TreeSet::new));
+    /**
+     * Extrai todos os anos de lançamento únicos de livros, filmes e séries.
+     *
+     * Os anos vêm das contagens mantidas pelo catálogo a cada cadastro, alteração
+     * ou remoção ({@link #extrairFacetas()}), sem percorrer as listas.
+     *
+     * @return Um conjunto ordenado contendo todos os anos de lançamento únicos
+     */
+    public static Set<Integer> extrairAnos() {
+        return extrairFacetas().anos().keySet();
     }
 
     /**
-     * Extrai todos os anos de lançamento únicos de uma coleção consolidada de mídias.
+     * Retorna a quantidade de mídias de cada gênero, ano, tipo, plataforma e faixa de nota.
+     * As contagens são atualizadas a cada cadastro, alteração ou remoção, e a leitura
+     * reaproveita o resultado enquanto nada mudar.
      *
-     * Este método combina livros, filmes e séries, e então coleta todos os anos de lançamento
-     * distintos, removendo valores nulos.
+     * @return contagens atuais de todas as facetas
+     * @see CatalogoIndices#facetas()
+     */
+    public static Facetas extrairFacetas() {
+        return CatalogoIndices.facetas();
+    }
+
+    /**
+     * Retorna a média, os percentis e o histograma das notas de todas as avaliações,
+     * agrupadas por gênero, ano, década e tipo de mídia, e o consumo de cada mês.
+     * As distribuições são atualizadas a cada avaliação incluída, alterada ou removida,
+     * e a leitura reaproveita o resultado enquanto nada mudar.
      *
-     * @param lc Controlador de Livros para obter a lista de livros
-     * @param fc Controlador de Filmes para obter a lista de filmes
-     * @param sc Controlador de Séries para obter a lista de séries
-     * @return Um conjunto ordenado (TreeSet) contendo todos os anos de lançamento únicos
+     * @return estatísticas atuais das avaliações
+     * @see CatalogoIndices#estatisticas()
      */
-    public static Set<Integer> extrairAnos(LivroController lc,
-                                           FilmeController fc,
-                                           SerieController sc) {
+    public static Estatisticas extrairEstatisticas() {
+        return CatalogoIndices.estatisticas();
+    }
 
-        List<Midia> todasMidias = consolidarMidias(lc.getLivros(), fc.getFilmes(), sc.getSeries());
+    /**
+     * Retorna as avaliações de livros, filmes, séries e temporadas com data de consumo
+     * dentro do período, localizadas por busca binária no índice cronológico.
+     *
+     * @param inicio primeiro dia do período
+     * @param fim último dia do período (inclusive)
+     * @return avaliações do período, das consumidas primeiro para as consumidas por último
+     * @see IndiceCronologico
+     */
+    public static List<AvaliacaoDatada> consumidasNoPeriodo(LocalDate inicio, LocalDate fim) {
+        return CatalogoIndices.consumidasEntre(inicio, fim);
+    }
 
-        return todasMidias.stream()
-                .map(Midia::getAnoLancamento)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toCollection(TreeSet::new));
+    /**
+     * Retorna as avaliações feitas mais recentemente em todas as coleções.
+     *
+     * @param quantidade número máximo de avaliações
+     * @return últimas avaliações, das mais recentes para as mais antigas
+     * @see IndiceCronologico
+     */
+    public static List<AvaliacaoDatada> ultimasAvaliacoes(int quantidade) {
+        return CatalogoIndices.ultimasAvaliacoes(quantidade);
     }
 
     /**
-     * Consolida múltiplas listas de mídias em uma única lista.
+     * Conta as avaliações consumidas em cada mês de um intervalo, incluindo os meses sem consumo.
      *
-     * Este método combina listas de diferentes tipos de mídias (livros, filmes, séries)
-     * em uma lista unificada, ignorando listas nulas.
+     * @param inicio primeiro mês
+     * @param fim último mês (inclusive)
+     * @return mês para a quantidade de avaliações consumidas nele
+     */
+    public static SortedMap<YearMonth, Integer> consumoPorMes(YearMonth inicio, YearMonth fim) {
+        return CatalogoIndices.consumoPorMes(inicio, fim);
+    }
+
+    /**
+     * Conta as avaliações consumidas em cada ano de um intervalo, incluindo os anos sem consumo.
      *
-     * @param listasDeMidias Uma quantidade variável de listas de mídias para consolidar
-     * @return Uma lista unificada contendo todas as mídias das listas de entrada
+     * @param inicio primeiro ano
+     * @param fim último ano (inclusive)
+     * @return ano para a quantidade de avaliações consumidas nele
      */
-    private static List<Midia> consolidarMidias(List<? extends Midia>... listasDeMidias) {
-        List<Midia> todasMidias = new ArrayList<>();
-        for (List<? extends Midia> lista : listasDeMidias) {
-            if (lista != null) {
-                todasMidias.addAll(lista);
-            }
-        }
-        return todasMidias;
+    public static SortedMap<Integer, Integer> consumoPorAno(int inicio, int fim) {
+        return CatalogoIndices.consumoPorAno(inicio, fim);
     }
 
     /**
      * Filtra a lista de mídias por ano de lançamento.
+     * Quando a lista é a de um dos controladores, o filtro usa o índice de anos
+     * ({@link CatalogoIndices}).
      *
      * @param midias lista de mídias a ser filtrada
      * @param anoLancamento ano para filtrar
      * @return lista filtrada contendo apenas mídias do ano especificado
      */
     public static List<Midia> filtrarPorAno(List<? extends Midia> midias, int anoLancamento) {
+        Colecao colecao = CatalogoIndices.colecaoDe(midias);
+        if (colecao != null) {
+            return CatalogoIndices.buscarAnos(anoLancamento, anoLancamento, colecao);
+        }
         return midias.stream().filter(m -> m.getAnoLancamento() == anoLancamento).collect(Collectors.toList());
     }
 
@@ -243,6 +567,32 @@ public abstract class MidiaController {
      */
     public static void setAvaliacao(Midia midia, Avaliacao avaliacao) {
         midia.setAvaliacao(avaliacao);
+        marcarAlterado(midia);
+    }
+
+    /**
+     * Substitui uma avaliação existente da mídia. Se a mídia for uma temporada, a nota
+     * média da série é atualizada.
+     *
+     * @param midia mídia (livro, filme, série ou temporada) avaliada
+     * @param indice posição da avaliação na lista de avaliações
+     * @param avaliacao nova avaliação
+     */
+    public static void substituirAvaliacao(Midia midia, int indice, Avaliacao avaliacao) {
+        midia.substituirAvaliacao(indice, avaliacao);
+        marcarAlterado(midia);
+    }
+
+    /**
+     * Remove uma avaliação da mídia. Se a mídia for uma temporada, a nota média da série
+     * é atualizada.
+     *
+     * @param midia mídia (livro, filme, série ou temporada) avaliada
+     * @param indice posição da avaliação na lista de avaliações
+     */
+    public static void removerAvaliacao(Midia midia, int indice) {
+        midia.removerAvaliacao(indice);
+        marcarAlterado(midia);
     }
 
     /**
@@ -299,7 +649,7 @@ public abstract class MidiaController {
      * @param midia mídia a ser modificada
      * @param novoTitulo novo título a ser definido
      */
-    public static void setTitulo(Midia midia, String novoTitulo) { midia.setTitulo(novoTitulo); }
+    public static void setTitulo(Midia midia, String novoTitulo) { midia.setTitulo(novoTitulo); marcarAlterado(midia); }
 
     /**
      * Define um novo ano de lançamento para a mídia.
@@ -307,7 +657,7 @@ public abstract class MidiaController {
      * @param midia mídia a ser modificada
      * @param novoAno novo ano a ser definido
      */
-    public static void setAno(Midia midia, int novoAno) { midia.setAnoLancamento(novoAno); }
+    public static void setAno(Midia midia, int novoAno) { midia.setAnoLancamento(novoAno); marcarAlterado(midia); }
 
     /**
      * Define uma nova lista de gêneros para a mídia.
@@ -315,7 +665,7 @@ public abstract class MidiaController {
      * @param midia mídia a ser modificada
      * @param novosGeneros nova lista de gêneros
      */
-    public static void setGenero(Midia midia, List<String> novosGeneros) { midia.setGenero(novosGeneros); }
+    public static void setGenero(Midia midia, List<String> novosGeneros) { midia.setGenero(novosGeneros); marcarAlterado(midia); }
 
     /**
      * Adiciona novos gêneros à lista existente.
@@ -323,7 +673,7 @@ public abstract class MidiaController {
      * @param midia mídia a ser modificada
      * @param novosGeneros lista de gêneros a serem adicionados
      */
-    public static void addGenero(Midia midia, List<String> novosGeneros) { midia.addGeneros(novosGeneros); }
+    public static void addGenero(Midia midia, List<String> novosGeneros) { midia.addGeneros(novosGeneros); marcarAlterado(midia); }
 
     /**
      * Remove um gênero específico da mídia.
@@ -331,16 +681,16 @@ public abstract class MidiaController {
      * @param midia mídia a ser modificada
      * @param genero gênero a ser removido
      */
-    public static void removerGenero(Midia midia, String genero) { midia.removerGenero(genero); }
+    public static void removerGenero(Midia midia, String genero) { midia.removerGenero(genero); marcarAlterado(midia); }
 
     /**
      * Retorna se o usuário já consumiu ou não tal obra.
      *
      * @param midia mídia que será verificada.
      */
-    public static void setJaConsumiu(Midia midia, boolean consumiu) { midia.setJaConsumiu(consumiu); }
+    public static void setJaConsumiu(Midia midia, boolean consumiu) { midia.setJaConsumiu(consumiu); marcarAlterado(midia); }
 
-    public static void setNota(Midia midia, float nota) { if (!midia.getAvaliacoes().isEmpty()) midia.getAvaliacoes().getLast().setNota(nota); }
+    public static void setNota(Midia midia, float nota) { if (!midia.getAvaliacoes().isEmpty()) { midia.getAvaliacoes().getLast().setNota(nota); marcarAlterado(midia); } }
 
     /**
      * Retorna se o usuário já consumiu ou não tal obra.
@@ -349,6 +699,41 @@ public abstract class MidiaController {
      */
     public static String getJaConsumiu(Midia midia) { return midia.getJa_Consumiu() ? "Sim" : "Não"; }
 
+    /**
+     * Registra que uma mídia foi modificada, encaminhando-a ao controlador da sua coleção.
+     * Apenas as mídias marcadas são gravadas, e apenas as coleções que possuem mídias
+     * marcadas são tocadas na próxima gravação. Alterações em uma temporada marcam a
+     * série à qual ela pertence. A nota mais recente da mídia (e a média da série) é
+     * atualizada antes, caso uma avaliação tenha sido alterada diretamente.
+     *
+     * @param midia mídia modificada
+     */
+    public static void marcarAlterado(Midia midia) {
+        midia.sincronizarNota();
+        if (midia instanceof Livro livro) {
+            LivroController.salvarAlteracao(livro);
+        } else if (midia instanceof Filme filme) {
+            FilmeController.salvarAlteracao(filme);
+        } else if (midia instanceof Serie serie) {
+            SerieController.salvarAlteracao(serie);
+        } else if (midia instanceof Temporada temporada && temporada.getSerieOrigem() != null) {
+            SerieController.salvarAlteracao(temporada.getSerieOrigem());
+        }
+    }
+
+    /**
+     * Grava imediatamente as alterações pendentes, tocando apenas as coleções
+     * que foram de fato modificadas.
+     *
+     * @return {@code true} se as alterações das três coleções foram gravadas, {@code false} caso contrário
+     */
+    public static boolean salvarAlteracoes() {
+        boolean livros = LivroController.salvarAlteracoes();
+        boolean filmes = FilmeController.salvarAlteracoes();
+        boolean series = SerieController.salvarAlteracoes();
+        return livros && filmes && series;
+    }
+
     /**
      * Verifica se uma string representa um número inteiro válido.
      *
@@ -1,8 +1,16 @@
 package Controller;
 
+import Indice.CatalogoIndices;
+import Indice.IndicePessoas.Papel;
 import Model.Audiovisual;
 import Model.Serie;
 import Model.Temporada;
+import Persistencia.ArquivoJournal;
+import Persistencia.FormatoArquivo;
+import Persistencia.MidiaRepository;
+import Persistencia.Repositorios;
+import Persistencia.ServicoPersistencia;
+import Service.Servicos;
 
 import java.io.*;
 import java.util.ArrayList;
@@ -16,13 +24,14 @@ import java.util.Map;
  */
 public class SerieController extends MidiaController {
 
-    /**
-     * Lista estática que armazena todas as séries cadastradas no sistema
-     */
-    private static List<Serie> series = new ArrayList<>();
+    private static final String DIRETORIO = Repositorios.DIRETORIO;
+
+    /** Repositório que mantém as séries cadastradas no sistema e define como são persistidas */
+    private static volatile MidiaRepository<Serie> repositorio = Repositorios.criar("series");
 
-    private static final String DIRETORIO = "src/arquivos";
-    private static final String ARQUIVO = DIRETORIO + "/series.dat";
+    static {
+        CatalogoIndices.acompanhar(ServicoPersistencia.Colecao.SERIES, SerieController::getSeries);
+    }
 
     /**
      * Construtor de um novo controlador de séries.
@@ -75,14 +84,16 @@ public class SerieController extends MidiaController {
      */
     public void cadastrarSerie(String titulo, List<String> generos, int ano_de_lancamento, int ano_de_encerramento, Map<String, List<String>> elenco, String titulo_original, List<String> onde_assistir) {
 
-        series.add(new Serie(titulo, generos, ano_de_lancamento, ano_de_encerramento, elenco, titulo_original, onde_assistir));
-        salvarSeries();
+        Serie serie = new Serie(titulo, generos, ano_de_lancamento, ano_de_encerramento, elenco, titulo_original, onde_assistir);
+        repositorio.getMidias().add(serie);
+        registrarOperacao(ArquivoJournal.Operacao.INCLUSAO, serie);
 
     }
 
     /**
      * Cadastra uma nova temporada para uma série existente.
-     * Após o cadastro, as temporadas são reordenadas automaticamente.
+     * Após o cadastro, as temporadas são reordenadas automaticamente
+     * e a série é registrada como alterada no journal.
      *
      * @param titulo               título específico da temporada
      * @param generos              gêneros específicos da temporada
@@ -101,6 +112,18 @@ public class SerieController extends MidiaController {
                 titulo_original, onde_assistir, numero_temporada, quantidade_episodios));
 
         serie_selecionada.ordernarTemporadas();
+        registrarOperacao(ArquivoJournal.Operacao.ALTERACAO, serie_selecionada);
+    }
+
+    /**
+     * Remove uma temporada de uma série e registra a série como alterada no journal.
+     *
+     * @param serie  série à qual a temporada pertence
+     * @param indice posição da temporada na lista de temporadas da série
+     */
+    public static void removerTemporada(Serie serie, int indice) {
+        serie.removerTemporada(indice);
+        salvarAlteracao(serie);
     }
 
     /**
@@ -109,7 +132,80 @@ public class SerieController extends MidiaController {
      * @return lista completa de séries cadastradas no sistema
      */
     public static List<Serie> getSeries() {
-        return series;
+        return repositorio.getMidias();
+    }
+
+    /**
+     * Busca séries por membro do elenco e sua função, considerando o elenco da série
+     * e o de cada uma de suas temporadas (busca exata, ignorando case e acentuação).
+     * Quando a lista é a do controlador, a busca usa o índice de pessoas ({@link CatalogoIndices}).
+     *
+     * @param funcao categoria/função no elenco (ex: "Protagonista"), ou {@code null} para qualquer uma
+     * @param nome nome do membro do elenco
+     * @param lista lista de séries onde realizar a busca
+     * @return lista de séries onde a pessoa exerceu a função especificada
+     */
+    public static List<Serie> busca_elenco(String funcao, String nome, List<Serie> lista) {
+
+        List<Serie> resultados_da_busca = new ArrayList<>();
+
+        if (lista == getSeries()) {
+            CatalogoIndices.buscarPapel(nome, Papel.ELENCO, funcao, ServicoPersistencia.Colecao.SERIES)
+                    .forEach(midia -> resultados_da_busca.add((Serie) midia));
+            return resultados_da_busca;
+        }
+
+        String funcaoBusca = funcao == null ? null : Servicos.normalizarTitulo(funcao);
+        String nomeBusca = Servicos.normalizarTitulo(nome);
+
+        for (Serie serie : lista) {
+            List<Audiovisual> elencos = new ArrayList<>(serie.getTemporadas());
+            elencos.addFirst(serie);
+            boolean encontrou = false;
+            for (int i = 0; i < elencos.size() && !encontrou; i++) {
+                for (Map.Entry<String, List<String>> entry : elencos.get(i).getElencoNormalizado().entrySet()) {
+                    if ((funcaoBusca == null || entry.getKey().equals(funcaoBusca)) && entry.getValue().contains(nomeBusca)) {
+                        encontrou = true;
+                        break;
+                    }
+                }
+            }
+            if (encontrou) {
+                resultados_da_busca.add(serie);
+            }
+        }
+
+        return resultados_da_busca;
+
+    }
+
+    /**
+     * Busca as séries que estavam em exibição em um ano: lançadas até ele e não encerradas
+     * antes dele. Séries sem ano de encerramento são consideradas ainda em exibição.
+     * Quando a lista é a do controlador, a busca usa o índice de anos ({@link CatalogoIndices}).
+     *
+     * @param ano ano consultado
+     * @param lista lista de séries onde realizar a busca
+     * @return lista de séries em exibição no ano
+     */
+    public static List<Serie> busca_em_exibicao(int ano, List<Serie> lista) {
+
+        if (lista == getSeries()) {
+            List<Serie> resultados_da_busca = new ArrayList<>();
+            CatalogoIndices.buscarEmExibicao(ano, ano).forEach(midia -> resultados_da_busca.add((Serie) midia));
+            return resultados_da_busca;
+        }
+
+        List<Serie> resultados_da_busca = new ArrayList<>();
+
+        for (Serie serie : lista) {
+            if (serie.getAnoLancamento() <= ano && (serie.getAnoEncerramento() == 0 || serie.getAnoEncerramento() >= ano)) {
+                resultados_da_busca.add(serie);
+            }
+        }
+
+        return resultados_da_busca;
+
     }
 
     /**
@@ -118,9 +214,9 @@ public class SerieController extends MidiaController {
      * da memória. É útil principalmente para fins de teste ou quando é necessário
      * reinicializar o sistema.
      *
-     * @see #series
+     * @see #repositorio
      */
-    public static void limparSeries() { series.clear(); }
+    public static void limparSeries() { repositorio.getMidias().clear(); CatalogoIndices.invalidar(ServicoPersistencia.Colecao.SERIES); }
 
     /**
      * Remove uma série específica do sistema.
@@ -128,7 +224,9 @@ public class SerieController extends MidiaController {
      * @param midia série a ser removida
      */
     public static void removerMidia(Serie midia) {
-        series.remove(midia);
+        if (repositorio.getMidias().remove(midia)) {
+            registrarOperacao(ArquivoJournal.Operacao.REMOCAO, midia);
+        }
     }
 
     /**
@@ -167,6 +265,7 @@ public class SerieController extends MidiaController {
      */
     public static void setTituloOriginal(Serie serie, String novoTitulo) {
         serie.setTituloOriginal(novoTitulo);
+        marcarAlterado(serie);
     }
 
     /**
@@ -181,12 +280,13 @@ public class SerieController extends MidiaController {
      *
      * @param serie série a ser modificada.
      */
-    public static void setAnoEncerramento(Serie serie, int anoEncerramento) { serie.setAnoEncerramento(anoEncerramento); }
+    public static void setAnoEncerramento(Serie serie, int anoEncerramento) { serie.setAnoEncerramento(anoEncerramento); marcarAlterado(serie); }
 
     /**
      * Retorna a lista de temporadas associadas a uma série específica.
      * Este método fornece acesso à coleção completa de temporadas de uma série,
-     * mantendo a ordem em que foram adicionadas.
+     * mantendo a ordem em que foram adicionadas. A lista é apenas para leitura;
+     * temporadas são removidas por {@link #removerTemporada(Serie, int)}.
      *
      * @param serie a série da qual se deseja obter as temporadas
      * @return lista contendo todas as temporadas da série
@@ -205,7 +305,7 @@ public class SerieController extends MidiaController {
      * @param serie serie ao qual serão adicionadas as novas plataformas
      * @param ondeAssistir lista de novas plataformas de streaming a serem adicionadas
      */
-    public static void addOndeAssistir(Serie serie, List<String> ondeAssistir) { serie.addOndeAssistir(ondeAssistir); }
+    public static void addOndeAssistir(Serie serie, List<String> ondeAssistir) { serie.addOndeAssistir(ondeAssistir); marcarAlterado(serie); }
 
     /**
      * Define uma nova lista completa de plataformas de streaming para uma série.
@@ -215,7 +315,7 @@ public class SerieController extends MidiaController {
      * @param serie serie a ter sua lista de plataformas atualizada
      * @param ondeAssistir nova lista de plataformas que substituirá a atual
      */
-    public static void setOndeAssistir(Serie serie, List<String> ondeAssistir) { serie.setOndeAssistir(ondeAssistir); }
+    public static void setOndeAssistir(Serie serie, List<String> ondeAssistir) { serie.setOndeAssistir(ondeAssistir); marcarAlterado(serie); }
 
     /**
      * Remove uma plataforma específica da lista de locais onde a série pode ser assistido.
@@ -224,23 +324,122 @@ public class SerieController extends MidiaController {
      * @param serie serie do qual a plataforma será removida
      * @param ondeAssistir nome da plataforma a ser removida
      */
-    public static void removerOndeAssistir(Serie serie, String ondeAssistir) { serie.removerOndeAssistir(ondeAssistir); }
+    public static void removerOndeAssistir(Serie serie, String ondeAssistir) { serie.removerOndeAssistir(ondeAssistir); marcarAlterado(serie); }
+
+    /**
+     * Registra no journal a alteração de uma série já cadastrada, incluindo
+     * mudanças em suas temporadas.
+     * Apenas a série informada é gravada, sem reescrever a lista completa.
+     * Séries que não pertencem à coleção são ignoradas.
+     *
+     * @param serie série que foi modificada
+     * @see ArquivoJournal#agendar(ArquivoJournal.Operacao, Model.Midia, List)
+     */
+    public static void salvarAlteracao(Serie serie) {
+        if (CatalogoIndices.contem(ServicoPersistencia.Colecao.SERIES, serie)) {
+            registrarOperacao(ArquivoJournal.Operacao.ALTERACAO, serie);
+        }
+    }
+
+    /**
+     * Grava imediatamente as alterações pendentes sobre as séries.
+     * Se nenhuma série foi modificada desde a última gravação, o arquivo não é tocado.
+     * Em caso de erro, as alterações continuam pendentes e o stack trace será impresso no console.
+     *
+     * @return {@code true} se as alterações foram gravadas, {@code false} caso contrário
+     */
+    public static boolean salvarAlteracoes() {
+        try {
+            gravarPendentes();
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Indica se há alterações sobre as séries ainda não gravadas.
+     *
+     * @return {@code true} se existirem operações pendentes
+     */
+    public static boolean isAlterado() {
+        return repositorio.getOperacoesPendentes() > 0;
+    }
+
+    /**
+     * Define o formato em que as séries serão gravadas nas próximas operações.
+     * Arquivos existentes continuam legíveis em qualquer formato.
+     *
+     * @param formato formato de gravação
+     * @see FormatoArquivo
+     */
+    public static void setFormatoArquivo(FormatoArquivo formato) { repositorio.setFormato(formato); }
+
+    /**
+     * Retorna o repositório onde as séries são mantidas.
+     *
+     * @return repositório atual
+     */
+    public static MidiaRepository<Serie> getRepositorio() { return repositorio; }
+
+    /**
+     * Substitui o repositório das séries, por exemplo para usar outro mecanismo de
+     * armazenamento em testes ou comparações de desempenho. As séries do
+     * repositório anterior não são transferidas.
+     *
+     * @param novoRepositorio repositório a ser usado
+     */
+    public static void setRepositorio(MidiaRepository<Serie> novoRepositorio) { repositorio = novoRepositorio; CatalogoIndices.invalidar(ServicoPersistencia.Colecao.SERIES); }
+
+    /**
+     * Registra uma operação no repositório de séries, atualiza os índices de busca
+     * ({@link CatalogoIndices}) e avisa o serviço de persistência,
+     * que grava as operações acumuladas em segundo plano. Em caso de erro,
+     * o stack trace será impresso no console.
+     *
+     * @param operacao operação realizada sobre a série
+     * @param serie série afetada
+     * @see ServicoPersistencia#marcarAlterado(ServicoPersistencia.Colecao, ServicoPersistencia.Gravacao)
+     */
+    private static void registrarOperacao(ArquivoJournal.Operacao operacao, Serie serie) {
+        CatalogoIndices.registrar(ServicoPersistencia.Colecao.SERIES, operacao, serie);
+        try {
+            repositorio.registrar(operacao, serie);
+            ServicoPersistencia.marcarAlterado(ServicoPersistencia.Colecao.SERIES, SerieController::gravarPendentes);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Grava no journal as operações agendadas sobre as séries.
+     * Executado pelo serviço de persistência fora da thread da interface.
+     * Em caso de erro, o serviço agenda uma nova tentativa.
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    private static void gravarPendentes() throws IOException {
+        repositorio.gravarPendentes();
+    }
 
     /**
      * Salva todas as séries cadastradas no sistema em um arquivo.
      * Este método serializa a lista de séries e a armazena em um arquivo binário
-     * no diretório especificado por {@link #ARQUIVO}.
+     * no diretório especificado por {@link #DIRETORIO}, descartando o journal de
+     * alterações, que passa a estar contido no arquivo. O arquivo anterior só é
+     * substituído depois que o novo estiver completo no disco, e fica guardado
+     * como cópia de segurança (ver {@link Persistencia.ArquivoSeguro}).
      *
      * <p>O método utiliza um {@link ObjectOutputStream} para realizar a serialização
      * dos dados. Em caso de erro durante a operação de salvamento, o stack trace
      * do erro será impresso no console.</p>
      *
-     * @see #ARQUIVO
      * @see java.io.ObjectOutputStream
      */
     public static void salvarSeries() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(ARQUIVO))) {
-            oos.writeObject(series);
+        try {
+            repositorio.salvar();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -248,23 +447,34 @@ public class SerieController extends MidiaController {
 
     /**
      * Carrega as séries previamente salvas do arquivo para o sistema.
-     * Este método deserializa a lista de séries armazenada no arquivo binário
-     * especificado por {@link #ARQUIVO}.
+     * Este método deserializa a lista de séries armazenada no diretório
+     * especificado por {@link #DIRETORIO} e reaplica sobre ela as alterações
+     * registradas em seu journal.
      *
      * <p>O método utiliza um {@link ObjectInputStream} para realizar a deserialização
      * dos dados.</p>
      *
+     * <p>A ausência de arquivo salvo não é um erro e resulta em {@code false}. Já um
+     * arquivo existente que não pôde ser lido é relatado com uma exceção, para que não
+     * seja confundido com a primeira execução.</p>
+     *
      * @return {@code true} se as séries foram carregadas com sucesso,
-     *         {@code false} se ocorreu algum erro durante o carregamento
-     * @see #ARQUIVO
+     *         {@code false} se não houver arquivo salvo
+     * @throws UncheckedIOException se o arquivo existir e não puder ser lido
+     * @throws IllegalStateException se alguma classe serializada não for encontrada
      * @see java.io.ObjectInputStream
      */
     public static boolean carregarSeries() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(ARQUIVO))) {
-            series = (List<Serie>) ois.readObject();
+        try {
+            repositorio.carregar();
+            CatalogoIndices.invalidar(ServicoPersistencia.Colecao.SERIES);
             return true;
-        } catch (Exception e) {
+        } catch (FileNotFoundException e) {
             return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
         }
     }
 
@@ -0,0 +1,803 @@
+package Indice;
+
+import Indice.IndiceAvaliacoes.AvaliacaoEncontrada;
+import Indice.IndiceCronologico.AvaliacaoDatada;
+import Indice.IndiceCronologico.Referencia;
+import Indice.IndiceEstatisticas.Estatisticas;
+import Indice.IndiceFacetas.Facetas;
+import Indice.IndicePessoas.Papel;
+import Indice.IndicePessoas.Participacao;
+import Indice.TrieSugestoes.Sugestao;
+import Model.Avaliacao;
+import Model.Midia;
+import Model.Serie;
+import Model.Temporada;
+import Persistencia.ArquivoJournal.Operacao;
+import Persistencia.ServicoPersistencia.Colecao;
+import Service.Servicos;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registro central dos índices em memória sobre livros, filmes e séries.
+ *
+ * <p>Os controladores informam ao catálogo onde está a lista de cada coleção
+ * ({@link #acompanhar(Colecao, Supplier)}) e cada inclusão, alteração ou remoção
+ * ({@link #registrar(Colecao, Operacao, Midia)}), e os índices são atualizados apenas
+ * para a mídia afetada. Quando a lista de uma coleção é substituída (ao carregar do
+ * disco ou trocar de repositório) ou muda sem passar pelo controlador, a coleção é
+ * reindexada por completo na próxima consulta, percebendo a troca pela identidade da
+ * lista ou pela diferença de tamanho. Avaliações incluídas ou alteradas direto no modelo
+ * são avisadas pela própria mídia ({@link Midia#setObservadorAvaliacoes}), e a próxima
+ * consulta reindexa apenas as mídias avisadas cuja versão das avaliações
+ * ({@link Midia#getVersaoAvaliacoes()}) difere da indexada.</p>
+ *
+ * <p>Todas as operações são sincronizadas; os índices em si não precisam ser.</p>
+ */
+public final class CatalogoIndices {
+
+    private static final IndiceTitulos titulos = new IndiceTitulos();
+    private static final TrieSugestoes sugestoes = new TrieSugestoes();
+    private static final IndiceGeneros generos = new IndiceGeneros();
+    private static final IndiceAnos anos = new IndiceAnos();
+    private static final IndicePessoas pessoas = new IndicePessoas();
+    private static final IndiceIsbn isbns = new IndiceIsbn();
+    private static final IndiceAproximado aproximado = new IndiceAproximado();
+    private static final IndiceNotas notas = new IndiceNotas();
+    private static final IndiceFacetas contagens = new IndiceFacetas();
+    private static final IndiceAvaliacoes avaliacoes = new IndiceAvaliacoes();
+    private static final IndiceEstatisticas estatisticas = new IndiceEstatisticas();
+    private static final IndiceCronologico cronologico = new IndiceCronologico();
+
+    /** Todos os índices mantidos pelo catálogo */
+    private static final List<IndiceMidias> indices = List.of(titulos, sugestoes, generos, anos, pessoas, isbns, aproximado, notas, contagens, avaliacoes, estatisticas, cronologico);
+
+    /** Fonte da lista atual de cada coleção, informada pelo controlador */
+    private static final Map<Colecao, Supplier<? extends List<? extends Midia>>> fontes = new EnumMap<>(Colecao.class);
+
+    /** Lista que foi indexada para cada coleção */
+    private static final Map<Colecao, List<? extends Midia>> origens = new EnumMap<>(Colecao.class);
+
+    /** Mídias indexadas de cada coleção, por identificador */
+    private static final Map<Colecao, Map<Integer, Midia>> indexadas = new EnumMap<>(Colecao.class);
+
+    /** Identificadores das mídias indexadas de cada coleção, usados como filtro por tipo de mídia */
+    private static final Map<Colecao, MapaBits> idsPorColecao = new EnumMap<>(Colecao.class);
+
+    /** Coleções que precisam ser reindexadas antes da próxima consulta */
+    private static final Set<Colecao> desatualizadas = EnumSet.allOf(Colecao.class);
+
+    /** Versão das avaliações de cada mídia indexada no momento em que foi indexada, por identificador */
+    private static final Map<Integer, Long> versoesIndexadas = new HashMap<>();
+
+    /** Mídias com avaliações alteradas desde a última consulta, anotadas sem obter a trava do catálogo */
+    private static final Set<Midia> alteradas = ConcurrentHashMap.newKeySet();
+
+    static {
+        for (Colecao colecao : Colecao.values()) {
+            indexadas.put(colecao, new HashMap<>());
+            idsPorColecao.put(colecao, new MapaBits());
+        }
+        Midia.setObservadorAvaliacoes(alteradas::add);
+    }
+
+    private CatalogoIndices() {
+    }
+
+    /**
+     * Informa onde está a lista de mídias de uma coleção.
+     *
+     * @param colecao coleção
+     * @param fonte fornecedor da lista atual da coleção
+     */
+    public static synchronized void acompanhar(Colecao colecao, Supplier<? extends List<? extends Midia>> fonte) {
+        fontes.put(colecao, fonte);
+        desatualizadas.add(colecao);
+    }
+
+    /**
+     * Atualiza os índices após uma operação sobre uma mídia da coleção.
+     * Deve ser chamado depois que a lista da coleção já foi modificada.
+     *
+     * @param colecao coleção da mídia
+     * @param operacao operação realizada
+     * @param midia mídia afetada
+     */
+    public static synchronized void registrar(Colecao colecao, Operacao operacao, Midia midia) {
+        if (desatualizadas.contains(colecao)) {
+            return;
+        }
+        List<? extends Midia> lista = listaAtual(colecao);
+        if (lista != origens.get(colecao)) {
+            desatualizadas.add(colecao);
+            return;
+        }
+
+        Map<Integer, Midia> mapa = indexadas.get(colecao);
+        if (operacao == Operacao.REMOCAO) {
+            if (mapa.remove(midia.getId()) != null) {
+                idsPorColecao.get(colecao).remover(midia.getId());
+                versoesIndexadas.remove(midia.getId());
+                indices.forEach(indice -> indice.remover(midia.getId()));
+            }
+        } else {
+            midia.garantirId();
+            mapa.put(midia.getId(), midia);
+            idsPorColecao.get(colecao).adicionar(midia.getId());
+            indexar(midia);
+        }
+
+        if (mapa.size() != lista.size()) {
+            desatualizadas.add(colecao);
+        }
+    }
+
+    /**
+     * Marca uma coleção para ser reindexada por completo na próxima consulta.
+     * Usado quando a lista é carregada do disco ou esvaziada.
+     *
+     * @param colecao coleção modificada
+     */
+    public static synchronized void invalidar(Colecao colecao) {
+        desatualizadas.add(colecao);
+    }
+
+    /**
+     * Reindexa agora as coleções desatualizadas, para que a próxima consulta não precise
+     * fazê-lo. Usado fora da thread da interface, logo após a carga inicial.
+     *
+     * @param colecoes coleções a preparar (todas, se nenhuma for informada)
+     */
+    public static synchronized void preparar(Colecao... colecoes) {
+        atualizar(colecoes);
+    }
+
+    /**
+     * Verifica se a mídia está na lista atual da coleção, pelo identificador, sem percorrer a lista.
+     *
+     * @param colecao coleção
+     * @param midia mídia procurada
+     * @return {@code true} se a própria mídia (e não apenas uma com o mesmo identificador) está na coleção
+     */
+    public static synchronized boolean contem(Colecao colecao, Midia midia) {
+        atualizar(colecao);
+        return indexadas.get(colecao).get(midia.getId()) == midia;
+    }
+
+    /**
+     * Identifica a coleção à qual uma lista pertence.
+     *
+     * @param lista lista de mídias
+     * @return coleção cuja lista atual é a informada, ou {@code null} se for outra lista
+     */
+    public static synchronized Colecao colecaoDe(List<?> lista) {
+        for (Colecao colecao : fontes.keySet()) {
+            if (listaAtual(colecao) == lista) {
+                return colecao;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca as mídias cujo título normalizado é igual ao buscado.
+     *
+     * @param titulo título buscado
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas, na ordem de cadastro
+     */
+    public static synchronized List<Midia> buscarTitulo(String titulo, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(titulos.buscarExato(titulo), consultadas);
+    }
+
+    /**
+     * Busca as mídias cujo título contém todas as palavras informadas.
+     *
+     * @param consulta palavras buscadas
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas, na ordem de cadastro
+     */
+    public static synchronized List<Midia> buscarPalavras(String consulta, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(titulos.buscarPalavras(consulta), consultadas);
+    }
+
+    /**
+     * Busca as mídias cujo título contém todas as palavras informadas, sendo a última
+     * apenas o início de uma palavra.
+     *
+     * @param consulta palavras buscadas, a última possivelmente incompleta
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas, na ordem de cadastro
+     */
+    public static synchronized List<Midia> buscarPrefixo(String consulta, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(titulos.buscarPrefixo(consulta), consultadas);
+    }
+
+    /**
+     * Busca as mídias que possuem algum gênero contendo o trecho informado,
+     * ignorando maiúsculas, acentos e espaços. Cada mídia aparece uma única vez.
+     *
+     * @param trecho parte do gênero buscado
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas, na ordem de cadastro
+     */
+    public static synchronized List<Midia> buscarGenero(String trecho, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(generos.buscarContendo(trecho).e(idsDe(consultadas)).paraArray(), consultadas);
+    }
+
+    /**
+     * Seleciona as mídias que possuem exatamente o gênero informado,
+     * ignorando maiúsculas, acentos e espaços.
+     *
+     * @param genero gênero buscado
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas, na ordem de cadastro
+     */
+    public static synchronized List<Midia> filtrarGenero(String genero, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(generos.buscarExato(genero).e(idsDe(consultadas)).paraArray(), consultadas);
+    }
+
+    /**
+     * Retorna os identificadores das mídias que possuem exatamente o gênero informado,
+     * para serem combinados com outros filtros.
+     *
+     * @param genero gênero buscado
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return conjunto de identificadores (uma cópia, que pode ser modificada)
+     */
+    public static synchronized MapaBits idsGenero(String genero, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return generos.buscarExato(genero).e(idsDe(consultadas));
+    }
+
+    /**
+     * Conta as mídias de todas as coleções que possuem exatamente o gênero informado.
+     * Serve de estimativa, sem montar o conjunto, para decidir a ordem dos filtros de uma consulta.
+     *
+     * @param genero gênero buscado
+     * @return quantidade de mídias com o gênero
+     */
+    public static synchronized int contarGenero(String genero) {
+        atualizar();
+        return generos.contarExato(genero);
+    }
+
+    /**
+     * Retorna os identificadores das mídias das coleções informadas, que funcionam como
+     * filtro por tipo de mídia.
+     *
+     * @param colecoes coleções desejadas (todas, se nenhuma for informada)
+     * @return conjunto de identificadores (uma cópia, que pode ser modificada)
+     */
+    public static synchronized MapaBits idsColecoes(Colecao... colecoes) {
+        return idsDe(atualizar(colecoes)).copia();
+    }
+
+    /**
+     * Busca as mídias lançadas entre dois anos, inclusive.
+     *
+     * @param inicio primeiro ano do intervalo
+     * @param fim último ano do intervalo
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas, na ordem de cadastro
+     */
+    public static synchronized List<Midia> buscarAnos(int inicio, int fim, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(anos.buscarIntervalo(inicio, fim).e(idsDe(consultadas)).paraArray(), consultadas);
+    }
+
+    /**
+     * Retorna os identificadores das mídias lançadas entre dois anos, inclusive,
+     * para serem combinados com outros filtros.
+     *
+     * @param inicio primeiro ano do intervalo
+     * @param fim último ano do intervalo
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return conjunto de identificadores (uma cópia, que pode ser modificada)
+     */
+    public static synchronized MapaBits idsAnos(int inicio, int fim, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return anos.buscarIntervalo(inicio, fim).e(idsDe(consultadas));
+    }
+
+    /**
+     * Conta as mídias de todas as coleções lançadas entre dois anos, inclusive.
+     * Serve de estimativa, sem montar o conjunto, para decidir a ordem dos filtros de uma consulta.
+     *
+     * @param inicio primeiro ano do intervalo
+     * @param fim último ano do intervalo
+     * @return quantidade de mídias no intervalo
+     */
+    public static synchronized int contarAnos(int inicio, int fim) {
+        atualizar();
+        return anos.contarIntervalo(inicio, fim);
+    }
+
+    /**
+     * Busca as séries que estiveram em exibição em algum ano do intervalo, inclusive.
+     * Séries sem ano de encerramento são consideradas ainda em exibição.
+     *
+     * @param inicio primeiro ano do intervalo
+     * @param fim último ano do intervalo
+     * @return séries encontradas, na ordem de cadastro
+     */
+    public static synchronized List<Midia> buscarEmExibicao(int inicio, int fim) {
+        Colecao[] consultadas = atualizar(Colecao.SERIES);
+        return resolver(anos.buscarEmExibicao(inicio, fim).e(idsDe(consultadas)).paraArray(), consultadas);
+    }
+
+    /**
+     * Conta as mídias lançadas em cada década.
+     *
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return década (ano inicial, como 1990) para a quantidade de mídias, em ordem crescente
+     */
+    public static synchronized SortedMap<Integer, Integer> contarPorDecada(Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return anos.contarPorDecada(idsDe(consultadas));
+    }
+
+    /**
+     * Busca tudo em que uma pessoa trabalhou: livros que escreveu, filmes que dirigiu ou
+     * roteirizou e o elenco de filmes, séries e temporadas. Uma mídia aparece uma vez para
+     * cada papel (ou categoria do elenco) exercido nela.
+     *
+     * @param nome nome da pessoa (ignorando maiúsculas, acentos e espaços)
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return participações encontradas, na ordem de cadastro das mídias
+     */
+    public static synchronized List<Participacao> buscarPessoa(String nome, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        List<Participacao> participacoes = new ArrayList<>();
+        for (IndicePessoas.Vinculo vinculo : pessoas.buscar(nome)) {
+            Midia midia = localizar(vinculo.id(), consultadas);
+            Temporada temporada = vinculo.idTemporada() == 0 ? null : temporadaDe(midia, vinculo.idTemporada());
+            if (midia != null && (vinculo.idTemporada() == 0 || temporada != null)) {
+                participacoes.add(new Participacao(midia, temporada, vinculo.papel(), vinculo.categoria()));
+            }
+        }
+        return participacoes;
+    }
+
+    /**
+     * Busca as mídias em que uma pessoa exerceu um papel. Para séries, o elenco das
+     * temporadas também é considerado.
+     *
+     * @param nome nome da pessoa (ignorando maiúsculas, acentos e espaços)
+     * @param papel papel buscado
+     * @param categoria categoria do elenco, ou {@code null} para qualquer uma
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas, na ordem de cadastro
+     */
+    public static synchronized List<Midia> buscarPapel(String nome, Papel papel, String categoria, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(pessoas.buscarPapel(nome, papel, categoria).paraArray(), consultadas);
+    }
+
+    /**
+     * Busca os livros com o ISBN informado, comparando a forma canônica do código.
+     *
+     * @param isbn ISBN-10 ou ISBN-13, com ou sem hífens e espaços
+     * @return livros encontrados, na ordem de cadastro
+     * @see IndiceIsbn#canonizar(String)
+     */
+    public static synchronized List<Midia> buscarIsbn(String isbn) {
+        Colecao[] consultadas = atualizar(Colecao.LIVROS);
+        return resolver(isbns.buscar(isbn), consultadas);
+    }
+
+    /**
+     * Retorna os identificadores dos livros cujo ISBN, normalizado como foi cadastrado,
+     * começa com o texto.
+     *
+     * @param prefixo início do ISBN
+     * @return conjunto de identificadores (uma cópia, que pode ser modificada)
+     */
+    public static synchronized MapaBits idsPrefixoIsbn(String prefixo) {
+        atualizar(Colecao.LIVROS);
+        return isbns.buscarPrefixo(normalizar(prefixo));
+    }
+
+    /**
+     * Busca as mídias com título, nome de pessoa ou alguma de suas palavras parecido com
+     * a consulta, tolerando erros de digitação (ver {@link IndiceAproximado#tolerancia(int)}).
+     *
+     * @param consulta texto buscado, possivelmente com erros de digitação
+     * @param limite número máximo de resultados
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas, das mais próximas da consulta para as menos próximas
+     */
+    public static synchronized List<Midia> buscarAproximado(String consulta, int limite, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(aproximado.buscar(consulta, id -> localizar(id, consultadas) != null, limite), consultadas);
+    }
+
+    /**
+     * Retorna uma página da ordenação das mídias pela nota mais recente. Mídias com a
+     * mesma nota ficam na ordem de cadastro.
+     *
+     * @param melhores {@code true} para começar pelas maiores notas, {@code false} pelas menores
+     * @param inicio posição da primeira mídia da página na ordenação completa
+     * @param quantidade número máximo de mídias na página
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias da página, em ordem
+     * @see IndiceNotas#pagina(boolean, int, int, MapaBits)
+     */
+    public static synchronized List<Midia> paginaPorNota(boolean melhores, int inicio, int quantidade, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(notas.pagina(melhores, inicio, quantidade, idsDe(consultadas)), consultadas);
+    }
+
+    /**
+     * Converte um conjunto de identificadores nas mídias correspondentes, ordenadas pela
+     * nota mais recente. Mídias com a mesma nota ficam na ordem de cadastro.
+     *
+     * @param ids identificadores das mídias
+     * @param melhores {@code true} para começar pelas maiores notas, {@code false} pelas menores
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas nas coleções, em ordem de nota
+     */
+    public static synchronized List<Midia> midiasPorNota(MapaBits ids, boolean melhores, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(notas.pagina(melhores, 0, Integer.MAX_VALUE, ids.e(idsDe(consultadas))), consultadas);
+    }
+
+    /**
+     * Busca no texto dos comentários de todas as avaliações, de livros, filmes, séries e
+     * temporadas, ignorando maiúsculas, acentos, palavras muito comuns e plurais.
+     *
+     * @param consulta palavras buscadas
+     * @param limite número máximo de avaliações retornadas
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return avaliações encontradas, das mais relevantes para as menos relevantes
+     * @see IndiceAvaliacoes
+     */
+    public static synchronized List<AvaliacaoEncontrada> buscarAvaliacoes(String consulta, int limite, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        List<AvaliacaoEncontrada> encontradas = new ArrayList<>();
+        for (IndiceAvaliacoes.Pontuado pontuado : avaliacoes.buscar(consulta)) {
+            if (encontradas.size() >= limite) {
+                break;
+            }
+            IndiceAvaliacoes.Documento documento = pontuado.documento();
+            Midia midia = localizar(documento.id(), consultadas);
+            if (midia == null) {
+                continue;
+            }
+            Temporada temporada = documento.idTemporada() == 0 ? null : temporadaDe(midia, documento.idTemporada());
+            Avaliacao avaliacao = avaliacaoEm(midia, temporada, documento.idTemporada(), documento.posicao());
+            if (avaliacao != null) {
+                encontradas.add(new AvaliacaoEncontrada(midia, temporada, avaliacao, pontuado.relevancia()));
+            }
+        }
+        return encontradas;
+    }
+
+    /**
+     * Retorna as avaliações de mídias e temporadas consumidas em um período, pela data de consumo.
+     *
+     * @param inicio primeiro dia do período
+     * @param fim último dia do período (inclusive)
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return avaliações do período, das consumidas primeiro para as consumidas por último
+     * @see IndiceCronologico
+     */
+    public static synchronized List<AvaliacaoDatada> consumidasEntre(LocalDate inicio, LocalDate fim, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return datadas(cronologico.consumidasEntre(inicio, fim, idsDe(consultadas)), consultadas);
+    }
+
+    /**
+     * Retorna as avaliações feitas mais recentemente, pela data da avaliação.
+     *
+     * @param quantidade número máximo de avaliações
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return últimas avaliações, das mais recentes para as mais antigas
+     */
+    public static synchronized List<AvaliacaoDatada> ultimasAvaliacoes(int quantidade, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return datadas(cronologico.ultimas(quantidade, idsDe(consultadas)), consultadas);
+    }
+
+    /**
+     * Conta as avaliações de todas as coleções consumidas em cada mês de um intervalo.
+     *
+     * @param inicio primeiro mês
+     * @param fim último mês (inclusive)
+     * @return mês para a quantidade de avaliações consumidas nele, incluindo os meses sem consumo
+     */
+    public static synchronized SortedMap<YearMonth, Integer> consumoPorMes(YearMonth inicio, YearMonth fim) {
+        atualizar();
+        List<YearMonth> meses = new ArrayList<>();
+        for (YearMonth mes = inicio; !mes.isAfter(fim); mes = mes.plusMonths(1)) {
+            meses.add(mes);
+        }
+        LocalDate[] limites = new LocalDate[meses.size() + 1];
+        for (int i = 0; i < meses.size(); i++) {
+            limites[i] = meses.get(i).atDay(1);
+        }
+        limites[meses.size()] = fim.plusMonths(1).atDay(1);
+
+        int[] quantidades = meses.isEmpty() ? new int[0] : cronologico.contarConsumidas(limites);
+        SortedMap<YearMonth, Integer> porMes = new TreeMap<>();
+        for (int i = 0; i < meses.size(); i++) {
+            porMes.put(meses.get(i), quantidades[i]);
+        }
+        return porMes;
+    }
+
+    /**
+     * Conta as avaliações de todas as coleções consumidas em cada ano de um intervalo.
+     *
+     * @param inicio primeiro ano
+     * @param fim último ano (inclusive)
+     * @return ano para a quantidade de avaliações consumidas nele, incluindo os anos sem consumo
+     */
+    public static synchronized SortedMap<Integer, Integer> consumoPorAno(int inicio, int fim) {
+        atualizar();
+        if (fim < inicio) {
+            return new TreeMap<>();
+        }
+        LocalDate[] limites = new LocalDate[fim - inicio + 2];
+        for (int i = 0; i < limites.length; i++) {
+            limites[i] = LocalDate.of(inicio + i, 1, 1);
+        }
+
+        int[] quantidades = cronologico.contarConsumidas(limites);
+        SortedMap<Integer, Integer> porAno = new TreeMap<>();
+        for (int i = 0; i < quantidades.length; i++) {
+            porAno.put(inicio + i, quantidades[i]);
+        }
+        return porAno;
+    }
+
+    /**
+     * Retorna a quantidade de mídias de cada gênero, ano, tipo, plataforma e faixa de nota,
+     * considerando todas as coleções.
+     *
+     * @return contagens atuais, mantidas a cada inclusão, alteração ou remoção
+     */
+    public static synchronized Facetas facetas() {
+        atualizar();
+        return contagens.getFacetas();
+    }
+
+    /**
+     * Retorna a distribuição das notas de todas as avaliações por gênero, ano, década e
+     * tipo de mídia, e a quantidade de mídias consumidas em cada mês.
+     *
+     * @return estatísticas atuais, mantidas a cada inclusão, alteração ou remoção
+     */
+    public static synchronized Estatisticas estatisticas() {
+        atualizar();
+        return estatisticas.getEstatisticas();
+    }
+
+    /**
+     * Sugere títulos e nomes de pessoas que completam o texto digitado.
+     *
+     * @param texto texto digitado
+     * @param limite número máximo de sugestões
+     * @return sugestões, das que aparecem em mais mídias para as que aparecem em menos
+     * @see TrieSugestoes#sugerir(String, int)
+     */
+    public static synchronized List<Sugestao> sugerir(String texto, int limite) {
+        atualizar();
+        return sugestoes.sugerir(texto, limite);
+    }
+
+    /**
+     * Cria uma sessão de busca para uma caixa de texto, que aproveita o resultado
+     * da tecla anterior enquanto o texto apenas cresce.
+     *
+     * @return nova sessão
+     */
+    public static Digitacao novaDigitacao() {
+        return new Digitacao();
+    }
+
+    /**
+     * Retorna os identificadores das mídias com algum título ou nome de pessoa que começa
+     * com o texto, considerando também o início de cada palavra.
+     *
+     * @param digitacao sessão da caixa de busca, que aproveita a busca anterior ({@code null} para uma busca nova)
+     * @param texto texto buscado
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return conjunto de identificadores (uma cópia, que pode ser modificada)
+     */
+    public static synchronized MapaBits idsPrefixo(Digitacao digitacao, String texto, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        String prefixo = normalizar(texto);
+        int[] ids = digitacao == null ? sugestoes.buscarIdsNormalizado(prefixo) : digitacao.buscarIds(sugestoes, prefixo);
+        return MapaBits.de(ids).e(idsDe(consultadas));
+    }
+
+    /**
+     * Converte um conjunto de identificadores nas mídias correspondentes.
+     *
+     * @param ids identificadores das mídias
+     * @param colecoes coleções consultadas (todas, se nenhuma for informada)
+     * @return mídias encontradas nas coleções, na ordem de cadastro
+     */
+    public static synchronized List<Midia> midias(MapaBits ids, Colecao... colecoes) {
+        Colecao[] consultadas = atualizar(colecoes);
+        return resolver(ids.paraArray(), consultadas);
+    }
+
+    static synchronized List<Midia> buscarDigitado(Digitacao digitacao, String texto) {
+        Colecao[] consultadas = atualizar();
+        return resolver(digitacao.buscarIds(sugestoes, normalizar(texto)), consultadas);
+    }
+
+    static synchronized List<Sugestao> sugerirDigitado(Digitacao digitacao, String texto, int limite) {
+        atualizar();
+        return digitacao.sugerirEntradas(sugestoes, normalizar(texto), limite).stream()
+                .map(TrieSugestoes.Entrada::paraSugestao)
+                .toList();
+    }
+
+    private static String normalizar(String texto) {
+        return texto == null ? "" : Servicos.normalizarTitulo(texto);
+    }
+
+    /**
+     * Reindexa as coleções consultadas que estiverem desatualizadas.
+     *
+     * @return coleções consultadas
+     */
+    private static Colecao[] atualizar(Colecao... colecoes) {
+        Colecao[] consultadas = colecoes.length == 0 ? Colecao.values() : colecoes;
+        for (Colecao colecao : consultadas) {
+            reindexarSeNecessario(colecao);
+        }
+        reindexarAlteradas();
+        return consultadas;
+    }
+
+    private static void reindexarSeNecessario(Colecao colecao) {
+        List<? extends Midia> lista = listaAtual(colecao);
+        Map<Integer, Midia> mapa = indexadas.get(colecao);
+        if (!desatualizadas.contains(colecao) && lista == origens.get(colecao) && lista.size() == mapa.size()) {
+            return;
+        }
+
+        for (Integer id : mapa.keySet()) {
+            versoesIndexadas.remove(id);
+            indices.forEach(indice -> indice.remover(id));
+        }
+        mapa.clear();
+        MapaBits ids = new MapaBits();
+        // Percorre uma cópia: a reindexação pode rodar fora da thread que altera a lista
+        for (Midia midia : new ArrayList<>(lista)) {
+            midia.garantirId();
+            mapa.put(midia.getId(), midia);
+            ids.adicionar(midia.getId());
+            indexar(midia);
+        }
+        idsPorColecao.put(colecao, ids);
+        origens.put(colecao, lista);
+        desatualizadas.remove(colecao);
+    }
+
+    /**
+     * Reindexa as mídias avisadas desde a última consulta, se ainda estiverem indexadas e a
+     * versão das avaliações mudou. Temporadas e mídias fora das coleções são descartadas; as
+     * de coleções desatualizadas ficam para a reindexação completa.
+     */
+    private static void reindexarAlteradas() {
+        if (alteradas.isEmpty()) {
+            return;
+        }
+        Colecao[] todas = Colecao.values();
+        for (Iterator<Midia> iterador = alteradas.iterator(); iterador.hasNext(); ) {
+            Midia midia = iterador.next();
+            iterador.remove();
+            if (localizar(midia.getId(), todas) != midia) {
+                continue;
+            }
+            Long indexada = versoesIndexadas.get(midia.getId());
+            if (indexada == null || indexada != midia.getVersaoAvaliacoes()) {
+                indexar(midia);
+            }
+        }
+    }
+
+    /**
+     * Indexa a mídia em todos os índices, guardando a versão das avaliações lida antes,
+     * de modo que uma mudança feita durante a indexação seja percebida na próxima consulta.
+     */
+    private static void indexar(Midia midia) {
+        versoesIndexadas.put(midia.getId(), midia.getVersaoAvaliacoes());
+        indices.forEach(indice -> indice.indexar(midia));
+    }
+
+    /**
+     * Une os identificadores das coleções informadas. Com uma única coleção, retorna o
+     * próprio conjunto mantido pelo catálogo, que não deve ser modificado.
+     */
+    private static MapaBits idsDe(Colecao[] colecoes) {
+        if (colecoes.length == 1) {
+            return idsPorColecao.get(colecoes[0]);
+        }
+        MapaBits ids = new MapaBits();
+        for (Colecao colecao : colecoes) {
+            ids = ids.ou(idsPorColecao.get(colecao));
+        }
+        return ids;
+    }
+
+    private static List<? extends Midia> listaAtual(Colecao colecao) {
+        Supplier<? extends List<? extends Midia>> fonte = fontes.get(colecao);
+        return fonte == null ? List.of() : fonte.get();
+    }
+
+    /**
+     * Converte identificadores em mídias, mantendo apenas as das coleções consultadas.
+     */
+    private static List<Midia> resolver(int[] ids, Colecao[] colecoes) {
+        List<Midia> midias = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Midia midia = localizar(id, colecoes);
+            if (midia != null) {
+                midias.add(midia);
+            }
+        }
+        return midias;
+    }
+
+    private static Midia localizar(int id, Colecao[] colecoes) {
+        for (Colecao colecao : colecoes) {
+            Midia midia = indexadas.get(colecao).get(id);
+            if (midia != null) {
+                return midia;
+            }
+        }
+        return null;
+    }
+
+    private static List<AvaliacaoDatada> datadas(List<Referencia> referencias, Colecao[] consultadas) {
+        List<AvaliacaoDatada> datadas = new ArrayList<>(referencias.size());
+        for (Referencia referencia : referencias) {
+            Midia midia = localizar(referencia.id(), consultadas);
+            if (midia == null) {
+                continue;
+            }
+            Temporada temporada = referencia.idTemporada() == 0 ? null : temporadaDe(midia, referencia.idTemporada());
+            Avaliacao avaliacao = avaliacaoEm(midia, temporada, referencia.idTemporada(), referencia.posicao());
+            if (avaliacao != null) {
+                datadas.add(new AvaliacaoDatada(midia, temporada, avaliacao));
+            }
+        }
+        return datadas;
+    }
+
+    /**
+     * Localiza uma avaliação indexada, conferindo se a posição ainda existe.
+     *
+     * @return avaliação na posição, ou {@code null} se a temporada ou a posição não existirem mais
+     */
+    private static Avaliacao avaliacaoEm(Midia midia, Temporada temporada, int idTemporada, int posicao) {
+        List<Avaliacao> daOrigem = idTemporada == 0 ? midia.getAvaliacoes() : temporada == null ? null : temporada.getAvaliacoes();
+        return daOrigem != null && posicao < daOrigem.size() ? daOrigem.get(posicao) : null;
+    }
+
+    private static Temporada temporadaDe(Midia midia, int idTemporada) {
+        if (midia instanceof Serie serie) {
+            for (Temporada temporada : serie.getTemporadas()) {
+                if (temporada.getId() == idTemporada) {
+                    return temporada;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package Indice;
+
+import Indice.TrieSugestoes.Entrada;
+import Indice.TrieSugestoes.Sugestao;
+import Model.Midia;
+
+import java.util.List;
+
+/**
+ * Sessão de busca de uma caixa de texto, que aproveita o resultado da tecla anterior.
+ *
+ * <p>Enquanto o texto digitado apenas cresce, as mídias encontradas para o novo texto são
+ * obrigatoriamente um subconjunto das encontradas para o anterior. A sessão guarda o último
+ * resultado e, nesse caso, apenas o filtra, em vez de consultar a árvore inteira de novo.
+ * O mesmo vale para as sugestões, quando a consulta anterior já trouxe todas as existentes.
+ * Qualquer alteração nos índices descarta o resultado guardado.</p>
+ *
+ * <p>Cada caixa de busca deve ter a sua própria sessão, obtida por
+ * {@link CatalogoIndices#novaDigitacao()}.</p>
+ */
+public final class Digitacao {
+
+    /** Texto normalizado da última busca e versão da árvore em que foi feita */
+    private String prefixo;
+    private int versao = -1;
+    private int[] ids;
+
+    /** Texto normalizado das últimas sugestões, com a versão e o limite usados */
+    private String prefixoSugestoes;
+    private int versaoSugestoes = -1;
+    private int limiteSugestoes;
+    private List<Entrada> sugestoes;
+
+    Digitacao() {
+    }
+
+    /**
+     * Busca as mídias com algum título ou nome de pessoa que começa com o texto,
+     * considerando também o início de cada palavra.
+     *
+     * @param texto texto digitado
+     * @return mídias encontradas, na ordem de cadastro
+     */
+    public List<Midia> buscar(String texto) {
+        return CatalogoIndices.buscarDigitado(this, texto);
+    }
+
+    /**
+     * Sugere títulos e nomes de pessoas que completam o texto.
+     *
+     * @param texto texto digitado
+     * @param limite número máximo de sugestões
+     * @return sugestões, das que aparecem em mais mídias para as que aparecem em menos
+     */
+    public List<Sugestao> sugerir(String texto, int limite) {
+        return CatalogoIndices.sugerirDigitado(this, texto, limite);
+    }
+
+    /**
+     * Calcula os identificadores para o prefixo, filtrando o resultado anterior quando possível.
+     */
+    int[] buscarIds(TrieSugestoes trie, String novoPrefixo) {
+        if (ids != null && versao == trie.getVersao() && novoPrefixo.startsWith(prefixo) && !prefixo.isEmpty()) {
+            ids = novoPrefixo.equals(prefixo) ? ids : trie.filtrarIds(ids, novoPrefixo);
+        } else {
+            ids = trie.buscarIdsNormalizado(novoPrefixo);
+        }
+        prefixo = novoPrefixo;
+        versao = trie.getVersao();
+        return ids;
+    }
+
+    /**
+     * Calcula as sugestões para o prefixo. Se a consulta anterior trouxe menos sugestões
+     * que o limite, ela já continha todas as possíveis, e basta filtrá-la.
+     */
+    List<Entrada> sugerirEntradas(TrieSugestoes trie, String novoPrefixo, int limite) {
+        boolean anteriorCompleta = sugestoes != null && sugestoes.size() < limiteSugestoes;
+        if (anteriorCompleta && versaoSugestoes == trie.getVersao() && limite <= limiteSugestoes
+                && !prefixoSugestoes.isEmpty() && novoPrefixo.startsWith(prefixoSugestoes)) {
+            sugestoes = sugestoes.stream().filter(entrada -> entrada.possuiPrefixo(novoPrefixo)).limit(limite).toList();
+        } else {
+            sugestoes = trie.sugerirEntradas(novoPrefixo, limite);
+        }
+        prefixoSugestoes = novoPrefixo;
+        versaoSugestoes = trie.getVersao();
+        limiteSugestoes = limite;
+        return sugestoes;
+    }
+}
@@ -0,0 +1,165 @@
+package Indice;
+
+import Model.Midia;
+import Model.Serie;
+
+import java.util.*;
+
+/**
+ * Índice dos anos das mídias, com um {@link MapaBits} por ano em mapas ordenados.
+ *
+ * <p>Os anos de lançamento ficam em um {@link TreeMap}, de modo que um ano exato é
+ * encontrado em tempo logarítmico e um intervalo ("1990 a 1999") une apenas os conjuntos
+ * dos anos existentes dentro dele. A contagem por década percorre os anos distintos,
+ * não as mídias.</p>
+ *
+ * <p>Para as séries, são mantidos também os anos de início e de encerramento, o que
+ * permite saber quais estavam em exibição em um período: as que começaram até o fim
+ * do período e não terminaram antes do seu início. Séries ainda em exibição
+ * (encerramento 0) são tratadas como encerradas em {@link Integer#MAX_VALUE}.</p>
+ */
+public class IndiceAnos implements IndiceMidias {
+
+    /** Ano de lançamento para as mídias lançadas nele */
+    private final NavigableMap<Integer, MapaBits> porAno = new TreeMap<>();
+
+    /** Ano de início para as séries que começaram nele */
+    private final NavigableMap<Integer, MapaBits> inicioSeries = new TreeMap<>();
+
+    /** Ano de encerramento para as séries encerradas nele */
+    private final NavigableMap<Integer, MapaBits> fimSeries = new TreeMap<>();
+
+    /** Anos indexados de cada mídia, para remover as entradas antigas quando eles mudam */
+    private final Map<Integer, Entrada> indexadas = new HashMap<>();
+
+    /**
+     * Anos de uma mídia indexada. O encerramento vale apenas para séries, e é
+     * {@code null} para as demais mídias.
+     */
+    private record Entrada(int ano, Integer encerramento) {
+    }
+
+    @Override
+    public void indexar(Midia midia) {
+        Integer encerramento = null;
+        if (midia instanceof Serie serie) {
+            encerramento = serie.getAnoEncerramento() == 0 ? Integer.MAX_VALUE : serie.getAnoEncerramento();
+        }
+        Entrada entrada = new Entrada(midia.getAnoLancamento(), encerramento);
+        Entrada anterior = indexadas.get(midia.getId());
+        if (anterior != null) {
+            if (anterior.equals(entrada)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+
+        adicionarOcorrencia(porAno, entrada.ano(), midia.getId());
+        if (encerramento != null) {
+            adicionarOcorrencia(inicioSeries, entrada.ano(), midia.getId());
+            adicionarOcorrencia(fimSeries, encerramento, midia.getId());
+        }
+        indexadas.put(midia.getId(), entrada);
+    }
+
+    @Override
+    public void remover(int id) {
+        Entrada entrada = indexadas.remove(id);
+        if (entrada == null) {
+            return;
+        }
+        removerOcorrencia(porAno, entrada.ano(), id);
+        if (entrada.encerramento() != null) {
+            removerOcorrencia(inicioSeries, entrada.ano(), id);
+            removerOcorrencia(fimSeries, entrada.encerramento(), id);
+        }
+    }
+
+    @Override
+    public void limpar() {
+        porAno.clear();
+        inicioSeries.clear();
+        fimSeries.clear();
+        indexadas.clear();
+    }
+
+    /**
+     * Busca as mídias lançadas entre dois anos, inclusive.
+     *
+     * @param inicio primeiro ano do intervalo
+     * @param fim último ano do intervalo
+     * @return conjunto de identificadores
+     */
+    public MapaBits buscarIntervalo(int inicio, int fim) {
+        if (inicio > fim) {
+            return new MapaBits();
+        }
+        return MapaBits.uniao(porAno.subMap(inicio, true, fim, true).values());
+    }
+
+    /**
+     * Conta as mídias lançadas entre dois anos, inclusive, sem unir os conjuntos de cada ano.
+     *
+     * @param inicio primeiro ano do intervalo
+     * @param fim último ano do intervalo
+     * @return quantidade de mídias no intervalo
+     */
+    public int contarIntervalo(int inicio, int fim) {
+        if (inicio > fim) {
+            return 0;
+        }
+        int quantidade = 0;
+        for (MapaBits ids : porAno.subMap(inicio, true, fim, true).values()) {
+            quantidade += ids.quantidade();
+        }
+        return quantidade;
+    }
+
+    /**
+     * Busca as séries que estiveram em exibição em algum ano do intervalo, inclusive:
+     * começaram até {@code fim} e não foram encerradas antes de {@code inicio}.
+     *
+     * @param inicio primeiro ano do intervalo
+     * @param fim último ano do intervalo
+     * @return conjunto de identificadores das séries
+     */
+    public MapaBits buscarEmExibicao(int inicio, int fim) {
+        if (inicio > fim) {
+            return new MapaBits();
+        }
+        MapaBits comecaram = MapaBits.uniao(inicioSeries.headMap(fim, true).values());
+        MapaBits naoEncerradas = MapaBits.uniao(fimSeries.tailMap(inicio, true).values());
+        return comecaram.e(naoEncerradas);
+    }
+
+    /**
+     * Conta as mídias de cada década, considerando apenas as do filtro informado.
+     *
+     * @param filtro identificadores considerados
+     * @return década (ano inicial, como 1990) para a quantidade de mídias, em ordem crescente
+     */
+    public SortedMap<Integer, Integer> contarPorDecada(MapaBits filtro) {
+        SortedMap<Integer, Integer> contagem = new TreeMap<>();
+        for (Map.Entry<Integer, MapaBits> ano : porAno.entrySet()) {
+            int quantidade = ano.getValue().e(filtro).quantidade();
+            if (quantidade > 0) {
+                contagem.merge(Math.floorDiv(ano.getKey(), 10) * 10, quantidade, Integer::sum);
+            }
+        }
+        return contagem;
+    }
+
+    private static void adicionarOcorrencia(Map<Integer, MapaBits> mapa, int ano, int id) {
+        mapa.computeIfAbsent(ano, a -> new MapaBits()).adicionar(id);
+    }
+
+    private static void removerOcorrencia(Map<Integer, MapaBits> mapa, int ano, int id) {
+        MapaBits ids = mapa.get(ano);
+        if (ids != null) {
+            ids.remover(id);
+            if (ids.isVazio()) {
+                mapa.remove(ano);
+            }
+        }
+    }
+}
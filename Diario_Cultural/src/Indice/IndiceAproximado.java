@@ -0,0 +1,352 @@
+package Indice;
+
+import Model.Audiovisual;
+import Model.Filme;
+import Model.Livro;
+import Model.Midia;
+import Model.Serie;
+import Model.Temporada;
+import Service.Servicos;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice para buscas tolerantes a erros de digitação em títulos e nomes de pessoas.
+ *
+ * <p>O dicionário reúne, normalizados, o título completo, cada palavra do título, o nome
+ * completo de cada pessoa (autor, direção, roteiro e elenco) e cada palavra desses nomes.
+ * A consulta encontra as chaves a uma distância de edição limitada (inserção, remoção,
+ * substituição ou troca de duas letras vizinhas) da consulta normalizada.</p>
+ *
+ * <p>As chaves ordenadas são percorridas como uma árvore de prefixos: a linha da tabela
+ * de distâncias de cada prefixo é calculada uma única vez para todas as chaves que o
+ * compartilham, e quando nenhuma posição da linha está dentro do limite, todas as chaves
+ * com aquele prefixo são saltadas de uma vez. Assim, apenas uma pequena parte do
+ * dicionário é visitada, sem comparar a consulta com cada chave.</p>
+ */
+public class IndiceAproximado implements IndiceMidias {
+
+    /** Chave normalizada para as mídias que a contêm */
+    private final NavigableMap<String, ListaIds> porChave = new TreeMap<>();
+
+    /** Chaves indexadas de cada mídia, para remover as entradas antigas quando elas mudam */
+    private final Map<Integer, Set<String>> indexadas = new HashMap<>();
+
+    /*
+     * Cópia ordenada do dicionário, refeita na primeira consulta após ele mudar: para cada
+     * chave, o tamanho do prefixo em comum com a anterior, a posição em que começam as
+     * demais letras em sufixos e a sua lista de ocorrências. Guardar as letras em um único
+     * vetor mantém o percurso em memória contígua.
+     */
+    private char[] sufixos = new char[0];
+    private int[] comuns = new int[0];
+    private int[] inicios = {0};
+    private ListaIds[] listas = new ListaIds[0];
+    private boolean alterado;
+
+    @Override
+    public void indexar(Midia midia) {
+        Set<String> chaves = chaves(midia);
+        Set<String> anteriores = indexadas.get(midia.getId());
+        if (anteriores != null) {
+            if (anteriores.equals(chaves)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+        for (String chave : chaves) {
+            porChave.computeIfAbsent(chave, c -> {
+                alterado = true;
+                return new ListaIds();
+            }).adicionar(midia.getId());
+        }
+        indexadas.put(midia.getId(), chaves);
+    }
+
+    @Override
+    public void remover(int id) {
+        Set<String> chaves = indexadas.remove(id);
+        if (chaves == null) {
+            return;
+        }
+        for (String chave : chaves) {
+            ListaIds ids = porChave.get(chave);
+            if (ids != null && ids.remover(id) && ids.isVazia()) {
+                porChave.remove(chave);
+                alterado = true;
+            }
+        }
+    }
+
+    @Override
+    public void limpar() {
+        porChave.clear();
+        indexadas.clear();
+        alterado = true;
+    }
+
+    /**
+     * Número máximo de erros aceitos para uma consulta: nenhum para consultas muito
+     * curtas, que casariam com boa parte do dicionário, um até 6 letras e dois acima disso.
+     *
+     * @param comprimento quantidade de letras da consulta normalizada
+     * @return distância máxima aceita
+     */
+    public static int tolerancia(int comprimento) {
+        return comprimento <= 3 ? 0 : comprimento <= 6 ? 1 : 2;
+    }
+
+    /**
+     * Busca as mídias com algum título, nome ou palavra próximo da consulta, das mais
+     * próximas para as menos próximas; a mesma distância é desempatada pela ordem de cadastro.
+     *
+     * @param consulta texto buscado, possivelmente com erros de digitação
+     * @param aceitar filtro dos identificadores que podem ser retornados
+     * @param limite número máximo de resultados
+     * @return identificadores encontrados, em ordem de relevância
+     */
+    public int[] buscar(String consulta, IntPredicate aceitar, int limite) {
+        String busca = Servicos.normalizarTitulo(consulta == null ? "" : consulta);
+        if (busca.isEmpty() || limite <= 0) {
+            return new int[0];
+        }
+        int tolerancia = tolerancia(busca.length());
+
+        List<List<ListaIds>> porDistancia = new ArrayList<>();
+        for (int d = 0; d <= tolerancia; d++) {
+            porDistancia.add(new ArrayList<>());
+        }
+        percorrer(busca.toCharArray(), tolerancia, (ids, distancia) -> porDistancia.get(distancia).add(ids));
+
+        int[] resultado = new int[Math.min(limite, 64)];
+        int quantidade = 0;
+        MapaBits incluidos = new MapaBits();
+        for (List<ListaIds> listas : porDistancia) {
+            if (listas.isEmpty()) {
+                continue;
+            }
+            for (int id : ListaIds.uniao(listas).paraArray()) {
+                if (aceitar.test(id) && incluidos.adicionar(id)) {
+                    if (quantidade == resultado.length) {
+                        resultado = Arrays.copyOf(resultado, (int) Math.min(limite, quantidade * 2L));
+                    }
+                    resultado[quantidade++] = id;
+                    if (quantidade == limite) {
+                        return resultado;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(resultado, quantidade);
+    }
+
+    /**
+     * Calcula a menor distância de edição entre a consulta e as chaves de uma mídia,
+     * sem usar o índice. Usado em buscas sobre listas que não pertencem a um controlador.
+     *
+     * @param midia mídia comparada
+     * @param consulta texto buscado
+     * @return menor distância encontrada
+     */
+    public static int distancia(Midia midia, String consulta) {
+        char[] busca = Servicos.normalizarTitulo(consulta == null ? "" : consulta).toCharArray();
+        int menor = Integer.MAX_VALUE;
+        for (String chave : chaves(midia)) {
+            int[][] linhas = new int[chave.length() + 1][busca.length + 1];
+            for (int j = 0; j <= busca.length; j++) {
+                linhas[0][j] = j;
+            }
+            char[] letras = chave.toCharArray();
+            for (int i = 1; i <= letras.length; i++) {
+                calcularLinha(linhas, i, letras, busca, Integer.MAX_VALUE / 2);
+            }
+            menor = Math.min(menor, linhas[letras.length][busca.length]);
+        }
+        return menor;
+    }
+
+    /**
+     * Retorna a quantidade de chaves distintas no dicionário.
+     *
+     * @return tamanho do dicionário
+     */
+    public int getQuantidadeChaves() {
+        return porChave.size();
+    }
+
+    private interface Encontrada {
+        void aceitar(ListaIds ids, int distancia);
+    }
+
+    /**
+     * Percorre as chaves em ordem, reaproveitando as linhas da tabela de distâncias dos
+     * prefixos em comum com a chave anterior e saltando os prefixos sem chance de casar.
+     *
+     * <p>Como cada chave visitada compartilha com a anterior ao menos o prefixo cujas linhas
+     * ainda são válidas, basta ler as letras a partir desse prefixo, que são justamente as
+     * guardadas em {@link #sufixos}.</p>
+     */
+    private void percorrer(char[] busca, int tolerancia, Encontrada encontrada) {
+        if (alterado) {
+            ordenar();
+        }
+        int colunas = busca.length + 1;
+        int[][] linhas = new int[16][];
+        linhas[0] = new int[colunas];
+        for (int j = 0; j < colunas; j++) {
+            linhas[0][j] = j;
+        }
+        char[] chave = new char[16];
+
+        int i = 0;
+        while (i < listas.length) {
+            int profundidade = comuns[i];
+            int comprimento = profundidade + inicios[i + 1] - inicios[i];
+            if (comprimento >= linhas.length) {
+                linhas = Arrays.copyOf(linhas, comprimento * 2);
+                chave = Arrays.copyOf(chave, comprimento * 2);
+            }
+            System.arraycopy(sufixos, inicios[i], chave, profundidade, comprimento - profundidade);
+
+            boolean descartada = false;
+            while (profundidade < comprimento) {
+                profundidade++;
+                if (linhas[profundidade] == null) {
+                    linhas[profundidade] = new int[colunas];
+                }
+                if (calcularLinha(linhas, profundidade, chave, busca, tolerancia) > tolerancia) {
+                    descartada = true;
+                    break;
+                }
+            }
+
+            i++;
+            if (descartada) {
+                // as chaves seguintes com o mesmo prefixo também estão fora do limite
+                while (i < listas.length && comuns[i] >= profundidade) {
+                    i++;
+                }
+            } else if (Math.abs(profundidade - busca.length) <= tolerancia && linhas[profundidade][busca.length] <= tolerancia) {
+                encontrada.aceitar(listas[i - 1], linhas[profundidade][busca.length]);
+            }
+        }
+    }
+
+    /**
+     * Refaz a cópia ordenada do dicionário, guardando de cada chave apenas as letras
+     * que não tem em comum com a anterior.
+     */
+    private void ordenar() {
+        listas = new ListaIds[porChave.size()];
+        comuns = new int[listas.length];
+        inicios = new int[listas.length + 1];
+        StringBuilder letras = new StringBuilder();
+        String anterior = "";
+        int i = 0;
+        for (Map.Entry<String, ListaIds> entrada : porChave.entrySet()) {
+            String chave = entrada.getKey();
+            comuns[i] = prefixoComum(anterior, chave);
+            inicios[i] = letras.length();
+            letras.append(chave, comuns[i], chave.length());
+            listas[i++] = entrada.getValue();
+            anterior = chave;
+        }
+        inicios[listas.length] = letras.length();
+        sufixos = letras.toString().toCharArray();
+        alterado = false;
+    }
+
+    /**
+     * Calcula a linha da tabela de distâncias para o prefixo da chave com o comprimento
+     * informado, considerando também a troca de duas letras vizinhas.
+     *
+     * <p>Uma posição a mais de {@code tolerancia} colunas da diagonal nunca fica dentro do
+     * limite, por isso apenas a faixa em torno da diagonal é calculada; as posições logo
+     * fora dela recebem {@code tolerancia + 1}, o que basta para a linha seguinte.</p>
+     *
+     * @return menor valor da linha (ou {@code tolerancia + 1}, se todos a superarem)
+     */
+    private static int calcularLinha(int[][] linhas, int profundidade, char[] chave, char[] busca, int tolerancia) {
+        int[] linha = linhas[profundidade];
+        int[] acima = linhas[profundidade - 1];
+        int[] duasAcima = profundidade > 1 ? linhas[profundidade - 2] : null;
+        char letra = chave[profundidade - 1];
+
+        int fora = tolerancia + 1;
+        int inicio = Math.max(1, profundidade - tolerancia);
+        int fim = Math.min(busca.length, profundidade + tolerancia);
+        if (inicio > fim) {
+            return fora;
+        }
+        linha[inicio - 1] = inicio == 1 ? profundidade : fora;
+        if (fim < busca.length) {
+            linha[fim + 1] = fora;
+        }
+        int minimo = linha[inicio - 1];
+        for (int j = inicio; j <= fim; j++) {
+            int custo = busca[j - 1] == letra ? 0 : 1;
+            int valor = Math.min(Math.min(acima[j] + 1, linha[j - 1] + 1), acima[j - 1] + custo);
+            if (duasAcima != null && j > 1 && busca[j - 2] == letra && busca[j - 1] == chave[profundidade - 2]) {
+                valor = Math.min(valor, duasAcima[j - 2] + 1);
+            }
+            linha[j] = valor;
+            minimo = Math.min(minimo, valor);
+        }
+        return minimo;
+    }
+
+    private static int prefixoComum(String a, String b) {
+        int maximo = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < maximo && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Reúne as chaves de uma mídia: título, nomes de pessoas e as palavras de cada um.
+     */
+    private static Set<String> chaves(Midia midia) {
+        Set<String> chaves = new HashSet<>();
+        adicionarTexto(chaves, midia.getTitulo());
+        if (midia instanceof Livro livro) {
+            adicionarTexto(chaves, livro.getAutor());
+        }
+        if (midia instanceof Filme filme) {
+            adicionarTexto(chaves, filme.getDirecao());
+            adicionarTexto(chaves, filme.getRoteiro());
+        }
+        if (midia instanceof Audiovisual audiovisual) {
+            adicionarElenco(chaves, audiovisual);
+        }
+        if (midia instanceof Serie serie && serie.getTemporadas() != null) {
+            for (Temporada temporada : serie.getTemporadas()) {
+                adicionarElenco(chaves, temporada);
+            }
+        }
+        return chaves;
+    }
+
+    private static void adicionarElenco(Set<String> chaves, Audiovisual audiovisual) {
+        if (audiovisual.getElenco() != null) {
+            for (List<String> nomes : audiovisual.getElenco().values()) {
+                if (nomes != null) {
+                    nomes.forEach(nome -> adicionarTexto(chaves, nome));
+                }
+            }
+        }
+    }
+
+    private static void adicionarTexto(Set<String> chaves, String texto) {
+        if (texto == null) {
+            return;
+        }
+        String completo = Servicos.normalizarTitulo(texto);
+        if (!completo.isEmpty()) {
+            chaves.add(completo);
+        }
+        Collections.addAll(chaves, IndiceTitulos.palavras(texto));
+    }
+}
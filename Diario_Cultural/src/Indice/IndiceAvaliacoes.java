@@ -0,0 +1,254 @@
+package Indice;
+
+import Model.Avaliacao;
+import Model.Midia;
+import Model.Serie;
+import Model.Temporada;
+import Service.Servicos;
+
+import java.util.*;
+
+/**
+ * Índice invertido do texto das avaliações de livros, filmes, séries e temporadas.
+ *
+ * <p>O comentário de cada avaliação é dividido em termos: as palavras são normalizadas
+ * pelas regras de {@link Servicos#normalizarTitulo(String)} (sem acentos nem maiúsculas),
+ * as palavras mais comuns do português ("de", "que", "não"...) são descartadas e o plural é
+ * reduzido ao singular ("personagens" e "personagem", "emoções" e "emoção"). Cada termo aponta
+ * para as avaliações que o contêm, com a quantidade de ocorrências.</p>
+ *
+ * <p>As avaliações encontradas são ordenadas pela relevância BM25: termos raros pesam mais
+ * que termos frequentes, repetir o termo ajuda cada vez menos, e comentários longos são
+ * penalizados em relação aos curtos.</p>
+ *
+ * <p>As avaliações de uma mídia (e, para uma série, as de suas temporadas) são reindexadas
+ * juntas sempre que a mídia é registrada como alterada; se os comentários forem os mesmos,
+ * nada é refeito.</p>
+ */
+public class IndiceAvaliacoes implements IndiceMidias {
+
+    /** Parâmetros do BM25: saturação da frequência do termo e peso do comprimento do comentário */
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Palavras comuns demais para distinguir um comentário de outro, já normalizadas */
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "ao", "aos", "as", "com", "como", "da", "das", "de", "do", "dos", "e", "ela", "ele",
+            "em", "entre", "era", "essa", "esse", "esta", "estao", "este", "eu", "foi", "foram", "ha", "isso", "isto",
+            "ja", "lhe", "mais", "mas", "me", "mesmo", "meu", "minha", "muito", "na", "nao", "nas",
+            "nem", "no", "nos", "num", "numa", "o", "os", "ou", "para", "pela", "pelo", "por", "pra",
+            "quando", "que", "sao", "se", "sem", "ser", "seu", "sua", "tambem", "te", "tem", "um", "uma");
+
+    /**
+     * Avaliação encontrada pela busca no texto dos comentários.
+     *
+     * @param midia mídia avaliada (a série, no caso de uma temporada)
+     * @param temporada temporada avaliada, ou {@code null} se a avaliação é da própria mídia
+     * @param avaliacao avaliação encontrada
+     * @param relevancia relevância da avaliação para a consulta (quanto maior, mais relevante)
+     */
+    public record AvaliacaoEncontrada(Midia midia, Temporada temporada, Avaliacao avaliacao, double relevancia) {
+    }
+
+    /**
+     * Avaliação indexada.
+     *
+     * @param id identificador da mídia da coleção (a série, no caso de uma temporada)
+     * @param idTemporada identificador da temporada, ou 0 se a avaliação é da própria mídia
+     * @param posicao posição da avaliação na lista de avaliações
+     * @param texto comentário indexado
+     * @param comprimento quantidade de termos do comentário
+     */
+    record Documento(int id, int idTemporada, int posicao, String texto, int comprimento) {
+    }
+
+    /**
+     * Avaliação encontrada por uma busca, com a sua relevância.
+     */
+    record Pontuado(Documento documento, double relevancia) {
+    }
+
+    /** Termo para as avaliações que o contêm e a quantidade de ocorrências em cada uma */
+    private final Map<String, Map<Documento, Integer>> porTermo = new HashMap<>();
+
+    /** Avaliações indexadas de cada mídia, para removê-las quando a mídia muda */
+    private final Map<Integer, List<Documento>> indexadas = new HashMap<>();
+
+    /** Soma dos comprimentos de todas as avaliações indexadas, para o comprimento médio */
+    private long comprimentoTotal;
+    private int quantidadeDocumentos;
+
+    @Override
+    public void indexar(Midia midia) {
+        List<Documento> documentos = new ArrayList<>();
+        adicionarDocumentos(documentos, midia.getAvaliacoes(), midia.getId(), 0);
+        if (midia instanceof Serie serie && serie.getTemporadas() != null) {
+            for (Temporada temporada : serie.getTemporadas()) {
+                adicionarDocumentos(documentos, temporada.getAvaliacoes(), midia.getId(), temporada.getId());
+            }
+        }
+
+        List<Documento> anteriores = indexadas.get(midia.getId());
+        if (anteriores != null) {
+            if (anteriores.equals(documentos)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+        if (documentos.isEmpty()) {
+            return;
+        }
+
+        for (Documento documento : documentos) {
+            Map<String, Integer> frequencias = frequencias(documento.texto());
+            frequencias.forEach((termo, frequencia) -> porTermo.computeIfAbsent(termo, t -> new HashMap<>()).put(documento, frequencia));
+            comprimentoTotal += documento.comprimento();
+            quantidadeDocumentos++;
+        }
+        indexadas.put(midia.getId(), documentos);
+    }
+
+    @Override
+    public void remover(int id) {
+        List<Documento> documentos = indexadas.remove(id);
+        if (documentos == null) {
+            return;
+        }
+        for (Documento documento : documentos) {
+            for (String termo : frequencias(documento.texto()).keySet()) {
+                Map<Documento, Integer> comTermo = porTermo.get(termo);
+                if (comTermo != null) {
+                    comTermo.remove(documento);
+                    if (comTermo.isEmpty()) {
+                        porTermo.remove(termo);
+                    }
+                }
+            }
+            comprimentoTotal -= documento.comprimento();
+            quantidadeDocumentos--;
+        }
+    }
+
+    @Override
+    public void limpar() {
+        porTermo.clear();
+        indexadas.clear();
+        comprimentoTotal = 0;
+        quantidadeDocumentos = 0;
+    }
+
+    /**
+     * Busca as avaliações que contêm algum termo da consulta, das mais relevantes para as
+     * menos relevantes. Empates ficam na ordem de cadastro das mídias.
+     *
+     * @param consulta texto buscado
+     * @return avaliações encontradas, com a relevância de cada uma
+     */
+    List<Pontuado> buscar(String consulta) {
+        Set<String> termos = new LinkedHashSet<>(termos(consulta == null ? "" : consulta));
+        if (termos.isEmpty() || quantidadeDocumentos == 0) {
+            return List.of();
+        }
+
+        double comprimentoMedio = (double) comprimentoTotal / quantidadeDocumentos;
+        Map<Documento, Double> relevancias = new HashMap<>();
+        for (String termo : termos) {
+            Map<Documento, Integer> comTermo = porTermo.get(termo);
+            if (comTermo == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (quantidadeDocumentos - comTermo.size() + 0.5) / (comTermo.size() + 0.5));
+            comTermo.forEach((documento, frequencia) -> {
+                double normalizacao = K1 * (1 - B + B * documento.comprimento() / comprimentoMedio);
+                relevancias.merge(documento, idf * frequencia * (K1 + 1) / (frequencia + normalizacao), Double::sum);
+            });
+        }
+
+        List<Pontuado> encontrados = new ArrayList<>(relevancias.size());
+        relevancias.forEach((documento, relevancia) -> encontrados.add(new Pontuado(documento, relevancia)));
+        encontrados.sort(Comparator.comparingDouble(Pontuado::relevancia).reversed()
+                .thenComparingInt(pontuado -> pontuado.documento().id())
+                .thenComparingInt(pontuado -> pontuado.documento().idTemporada())
+                .thenComparingInt(pontuado -> pontuado.documento().posicao()));
+        return encontrados;
+    }
+
+    /**
+     * Retorna a quantidade de termos distintos indexados.
+     *
+     * @return tamanho do vocabulário
+     */
+    public int getQuantidadeTermos() {
+        return porTermo.size();
+    }
+
+    /**
+     * Divide um texto em termos: palavras normalizadas, sem as palavras vazias e com o
+     * plural reduzido ao singular.
+     *
+     * @param texto texto a ser dividido
+     * @return termos, na ordem em que aparecem (com repetições)
+     */
+    public static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        int inicio = -1;
+        for (int i = 0; i <= texto.length(); i++) {
+            if (i < texto.length() && Character.isLetterOrDigit(texto.charAt(i))) {
+                if (inicio < 0) {
+                    inicio = i;
+                }
+            } else if (inicio >= 0) {
+                String palavra = Servicos.normalizarTitulo(texto.substring(inicio, i));
+                if (!palavra.isEmpty() && !PALAVRAS_VAZIAS.contains(palavra)) {
+                    termos.add(singular(palavra));
+                }
+                inicio = -1;
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Reduz uma palavra normalizada ao singular, pelas terminações regulares do plural em
+     * português. Palavras curtas e terminadas em "ss" ou "us" são mantidas.
+     */
+    private static String singular(String palavra) {
+        int tamanho = palavra.length();
+        if (tamanho <= 3 || !palavra.endsWith("s") || palavra.endsWith("ss") || palavra.endsWith("us")) {
+            return palavra;
+        }
+        if (palavra.endsWith("oes") || palavra.endsWith("aes")) {
+            return palavra.substring(0, tamanho - 3) + "ao";
+        }
+        if (palavra.endsWith("ais") || palavra.endsWith("eis") || palavra.endsWith("ois")) {
+            return palavra.substring(0, tamanho - 2) + "l";
+        }
+        if (palavra.endsWith("ns")) {
+            return palavra.substring(0, tamanho - 2) + "m";
+        }
+        if (palavra.endsWith("res") || palavra.endsWith("zes")) {
+            return palavra.substring(0, tamanho - 2);
+        }
+        return palavra.substring(0, tamanho - 1);
+    }
+
+    private static Map<String, Integer> frequencias(String texto) {
+        Map<String, Integer> frequencias = new HashMap<>();
+        for (String termo : termos(texto)) {
+            frequencias.merge(termo, 1, Integer::sum);
+        }
+        return frequencias;
+    }
+
+    private static void adicionarDocumentos(List<Documento> documentos, List<Avaliacao> avaliacoes, int id, int idTemporada) {
+        if (avaliacoes == null) {
+            return;
+        }
+        for (int posicao = 0; posicao < avaliacoes.size(); posicao++) {
+            String texto = avaliacoes.get(posicao).getAvaliacao();
+            if (texto != null && !texto.isBlank()) {
+                documentos.add(new Documento(id, idTemporada, posicao, texto, termos(texto).size()));
+            }
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package Indice;
+
+import Model.Avaliacao;
+import Model.Midia;
+import Model.Serie;
+import Model.Temporada;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Índice cronológico das avaliações de livros, filmes, séries e temporadas.
+ *
+ * <p>Mantém duas colunas ordenadas de {@code long}: o dia do consumo (dias desde
+ * 01/01/1970) e o momento da avaliação (segundos desde 01/01/1970), cada uma com o
+ * identificador da mídia, da temporada e a posição da avaliação em vetores paralelos.
+ * A data da avaliação, gravada como texto, é convertida uma única vez, ao indexar.
+ * As consultas por período localizam o início e o fim por busca binária, e as últimas
+ * avaliações são lidas do fim da coluna.</p>
+ *
+ * <p>Avaliações sem data de consumo, ou com a data de avaliação fora dos formatos
+ * "dd/MM/yyyy HH:mm:ss" e "dd/MM/yyyy", ficam fora da coluna correspondente.</p>
+ */
+public class IndiceCronologico implements IndiceMidias {
+
+    /** Marca de data ausente ou inválida */
+    private static final long SEM_DATA = Long.MIN_VALUE;
+
+    private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Avaliação encontrada por uma consulta cronológica.
+     *
+     * @param midia mídia avaliada (a série, no caso de uma temporada)
+     * @param temporada temporada avaliada, ou {@code null} se a avaliação é da própria mídia
+     * @param avaliacao avaliação encontrada
+     */
+    public record AvaliacaoDatada(Midia midia, Temporada temporada, Avaliacao avaliacao) {
+    }
+
+    /**
+     * Localização de uma avaliação.
+     *
+     * @param id identificador da mídia da coleção (a série, no caso de uma temporada)
+     * @param idTemporada identificador da temporada, ou 0 se a avaliação é da própria mídia
+     * @param posicao posição da avaliação na lista de avaliações
+     */
+    record Referencia(int id, int idTemporada, int posicao) {
+    }
+
+    /**
+     * Avaliação indexada, com as suas datas já convertidas.
+     */
+    private record Registro(int idTemporada, int posicao, long dia, long segundo) {
+    }
+
+    /**
+     * Chaves ordenadas com a localização de cada avaliação em vetores paralelos.
+     * Chaves iguais ficam na ordem de inclusão.
+     *
+     * <p>Remoções apenas marcam a posição, e inclusões fora de ordem são encaixadas no
+     * lugar enquanto forem poucas; depois disso, são acrescentadas ao fim. As posições
+     * marcadas são descartadas, e a coluna reordenada, apenas na consulta seguinte, de modo
+     * que reindexar uma coleção inteira não desloca a coluna a cada avaliação.</p>
+     */
+    private static final class Coluna {
+        /** Marca de posição removida, no vetor de identificadores */
+        private static final int REMOVIDA = Integer.MIN_VALUE;
+
+        /** Inclusões fora de ordem encaixadas no lugar entre duas consultas */
+        private static final int LIMITE_ENCAIXES = 64;
+
+        private long[] chaves = new long[16];
+        private int[] ids = new int[16];
+        private int[] temporadas = new int[16];
+        private int[] posicoes = new int[16];
+        private int tamanho;
+        private int removidas;
+        private int encaixes;
+        private boolean ordenada = true;
+
+        void inserir(long chave, int id, int idTemporada, int posicao) {
+            if (tamanho == chaves.length) {
+                int capacidade = chaves.length * 2;
+                chaves = Arrays.copyOf(chaves, capacidade);
+                ids = Arrays.copyOf(ids, capacidade);
+                temporadas = Arrays.copyOf(temporadas, capacidade);
+                posicoes = Arrays.copyOf(posicoes, capacidade);
+            }
+            int i = tamanho;
+            if (ordenada && tamanho > 0 && chave < chaves[tamanho - 1]) {
+                if (encaixes < LIMITE_ENCAIXES) {
+                    i = depois(chave);
+                    deslocar(i, i + 1, tamanho - i);
+                    encaixes++;
+                } else {
+                    ordenada = false;
+                }
+            }
+            chaves[i] = chave;
+            ids[i] = id;
+            temporadas[i] = idTemporada;
+            posicoes[i] = posicao;
+            tamanho++;
+        }
+
+        void remover(long chave, int id, int idTemporada, int posicao) {
+            ordenar();
+            for (int i = antes(chave); i < tamanho && chaves[i] == chave; i++) {
+                if (ids[i] == id && temporadas[i] == idTemporada && posicoes[i] == posicao) {
+                    ids[i] = REMOVIDA;
+                    removidas++;
+                    return;
+                }
+            }
+        }
+
+        void limpar() {
+            tamanho = 0;
+            removidas = 0;
+            encaixes = 0;
+            ordenada = true;
+        }
+
+        /**
+         * Descarta as posições removidas e reordena as chaves acrescentadas fora de ordem.
+         * Deve ser chamado antes de cada consulta.
+         */
+        void consolidar() {
+            if (removidas > 0) {
+                int mantidas = 0;
+                for (int i = 0; i < tamanho; i++) {
+                    if (ids[i] != REMOVIDA) {
+                        chaves[mantidas] = chaves[i];
+                        ids[mantidas] = ids[i];
+                        temporadas[mantidas] = temporadas[i];
+                        posicoes[mantidas] = posicoes[i];
+                        mantidas++;
+                    }
+                }
+                tamanho = mantidas;
+                removidas = 0;
+            }
+            ordenar();
+            encaixes = 0;
+        }
+
+        /** Primeira posição com chave maior ou igual à informada */
+        int antes(long chave) {
+            int inicio = 0;
+            int fim = tamanho;
+            while (inicio < fim) {
+                int meio = (inicio + fim) >>> 1;
+                if (chaves[meio] < chave) {
+                    inicio = meio + 1;
+                } else {
+                    fim = meio;
+                }
+            }
+            return inicio;
+        }
+
+        /** Primeira posição com chave maior que a informada */
+        int depois(long chave) {
+            int inicio = 0;
+            int fim = tamanho;
+            while (inicio < fim) {
+                int meio = (inicio + fim) >>> 1;
+                if (chaves[meio] <= chave) {
+                    inicio = meio + 1;
+                } else {
+                    fim = meio;
+                }
+            }
+            return inicio;
+        }
+
+        Referencia referencia(int i) {
+            return new Referencia(ids[i], temporadas[i], posicoes[i]);
+        }
+
+        /**
+         * Ordena as posições pela chave, de forma estável, se houver chaves fora de ordem.
+         */
+        private void ordenar() {
+            if (ordenada) {
+                return;
+            }
+            Integer[] ordem = new Integer[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                ordem[i] = i;
+            }
+            long[] chavesAntigas = Arrays.copyOf(chaves, tamanho);
+            Arrays.sort(ordem, Comparator.comparingLong(i -> chavesAntigas[i]));
+
+            int[] idsAntigos = Arrays.copyOf(ids, tamanho);
+            int[] temporadasAntigas = Arrays.copyOf(temporadas, tamanho);
+            int[] posicoesAntigas = Arrays.copyOf(posicoes, tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                chaves[i] = chavesAntigas[ordem[i]];
+                ids[i] = idsAntigos[ordem[i]];
+                temporadas[i] = temporadasAntigas[ordem[i]];
+                posicoes[i] = posicoesAntigas[ordem[i]];
+            }
+            ordenada = true;
+        }
+
+        private void deslocar(int de, int para, int quantidade) {
+            System.arraycopy(chaves, de, chaves, para, quantidade);
+            System.arraycopy(ids, de, ids, para, quantidade);
+            System.arraycopy(temporadas, de, temporadas, para, quantidade);
+            System.arraycopy(posicoes, de, posicoes, para, quantidade);
+        }
+    }
+
+    /** Avaliações pelo dia do consumo */
+    private final Coluna porConsumo = new Coluna();
+
+    /** Avaliações pelo momento em que foram feitas */
+    private final Coluna porAvaliacao = new Coluna();
+
+    /** Avaliações indexadas de cada mídia, para removê-las das colunas quando a mídia muda */
+    private final Map<Integer, List<Registro>> indexadas = new HashMap<>();
+
+    @Override
+    public void indexar(Midia midia) {
+        List<Registro> registros = new ArrayList<>();
+        adicionarRegistros(registros, midia.getAvaliacoes(), 0);
+        if (midia instanceof Serie serie && serie.getTemporadas() != null) {
+            for (Temporada temporada : serie.getTemporadas()) {
+                adicionarRegistros(registros, temporada.getAvaliacoes(), temporada.getId());
+            }
+        }
+
+        List<Registro> anteriores = indexadas.get(midia.getId());
+        if (anteriores != null) {
+            if (anteriores.equals(registros)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+        if (registros.isEmpty()) {
+            return;
+        }
+
+        for (Registro registro : registros) {
+            if (registro.dia() != SEM_DATA) {
+                porConsumo.inserir(registro.dia(), midia.getId(), registro.idTemporada(), registro.posicao());
+            }
+            if (registro.segundo() != SEM_DATA) {
+                porAvaliacao.inserir(registro.segundo(), midia.getId(), registro.idTemporada(), registro.posicao());
+            }
+        }
+        indexadas.put(midia.getId(), registros);
+    }
+
+    @Override
+    public void remover(int id) {
+        List<Registro> registros = indexadas.remove(id);
+        if (registros == null) {
+            return;
+        }
+        for (Registro registro : registros) {
+            if (registro.dia() != SEM_DATA) {
+                porConsumo.remover(registro.dia(), id, registro.idTemporada(), registro.posicao());
+            }
+            if (registro.segundo() != SEM_DATA) {
+                porAvaliacao.remover(registro.segundo(), id, registro.idTemporada(), registro.posicao());
+            }
+        }
+    }
+
+    @Override
+    public void limpar() {
+        porConsumo.limpar();
+        porAvaliacao.limpar();
+        indexadas.clear();
+    }
+
+    /**
+     * Retorna as avaliações consumidas entre dois dias, inclusive, das mais antigas para
+     * as mais recentes.
+     *
+     * @param inicio primeiro dia do período
+     * @param fim último dia do período
+     * @param filtro identificadores das mídias consideradas
+     * @return avaliações do período
+     */
+    List<Referencia> consumidasEntre(LocalDate inicio, LocalDate fim, MapaBits filtro) {
+        porConsumo.consolidar();
+        List<Referencia> referencias = new ArrayList<>();
+        for (int i = porConsumo.antes(inicio.toEpochDay()), ate = porConsumo.depois(fim.toEpochDay()); i < ate; i++) {
+            if (filtro.contem(porConsumo.ids[i])) {
+                referencias.add(porConsumo.referencia(i));
+            }
+        }
+        return referencias;
+    }
+
+    /**
+     * Conta as avaliações consumidas em cada período, delimitado por dias consecutivos.
+     *
+     * @param limites primeiro dia de cada período, seguido do dia seguinte ao último período, em ordem
+     * @return quantidade de avaliações de cada período (uma posição a menos que os limites)
+     */
+    int[] contarConsumidas(LocalDate[] limites) {
+        porConsumo.consolidar();
+        int[] quantidades = new int[Math.max(0, limites.length - 1)];
+        int anterior = limites.length == 0 ? 0 : porConsumo.antes(limites[0].toEpochDay());
+        for (int i = 0; i < quantidades.length; i++) {
+            int proximo = porConsumo.antes(limites[i + 1].toEpochDay());
+            quantidades[i] = proximo - anterior;
+            anterior = proximo;
+        }
+        return quantidades;
+    }
+
+    /**
+     * Retorna as avaliações feitas mais recentemente, das mais recentes para as mais antigas.
+     *
+     * @param quantidade número máximo de avaliações
+     * @param filtro identificadores das mídias consideradas
+     * @return últimas avaliações
+     */
+    List<Referencia> ultimas(int quantidade, MapaBits filtro) {
+        porAvaliacao.consolidar();
+        List<Referencia> referencias = new ArrayList<>();
+        for (int i = porAvaliacao.tamanho - 1; i >= 0 && referencias.size() < quantidade; i--) {
+            if (filtro.contem(porAvaliacao.ids[i])) {
+                referencias.add(porAvaliacao.referencia(i));
+            }
+        }
+        return referencias;
+    }
+
+    /**
+     * Converte a data de uma avaliação para segundos desde 01/01/1970, considerando o
+     * horário informado como UTC.
+     *
+     * @param data data no formato "dd/MM/yyyy HH:mm:ss" ou "dd/MM/yyyy"
+     * @return segundos desde 01/01/1970, ou {@link Long#MIN_VALUE} se a data for inválida
+     */
+    static long segundoDe(String data) {
+        if (data == null || data.isBlank()) {
+            return SEM_DATA;
+        }
+        try {
+            return LocalDateTime.parse(data.strip(), DATA_HORA).toEpochSecond(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(data.strip(), DATA).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+            } catch (DateTimeParseException invalida) {
+                return SEM_DATA;
+            }
+        }
+    }
+
+    private static void adicionarRegistros(List<Registro> registros, List<Avaliacao> avaliacoes, int idTemporada) {
+        if (avaliacoes == null) {
+            return;
+        }
+        for (int posicao = 0; posicao < avaliacoes.size(); posicao++) {
+            Avaliacao avaliacao = avaliacoes.get(posicao);
+            LocalDate consumo = avaliacao.getDataConsumoLocalDate();
+            long dia = consumo == null ? SEM_DATA : consumo.toEpochDay();
+            long segundo = segundoDe(avaliacao.getDataAvaliacao());
+            if (dia != SEM_DATA || segundo != SEM_DATA) {
+                registros.add(new Registro(idTemporada, posicao, dia, segundo));
+            }
+        }
+    }
+}
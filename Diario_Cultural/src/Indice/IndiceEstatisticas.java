@@ -0,0 +1,335 @@
+package Indice;
+
+import Model.Avaliacao;
+import Model.Midia;
+import Model.Serie;
+import Model.Temporada;
+import Service.Servicos;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Distribuição das notas de todas as avaliações por gênero, ano de lançamento, década e
+ * tipo de mídia, e quantidade de mídias consumidas em cada mês.
+ *
+ * <p>Cada grupo guarda apenas um vetor de frequências com uma posição por décimo de nota
+ * (de 0,0 a 5,0), a soma e a quantidade das notas. Incluir ou remover uma avaliação soma
+ * ou subtrai uma posição do vetor; a média vem da soma, e a mediana, os percentis e o
+ * histograma vêm de uma passagem pelas 51 posições, qualquer que seja a quantidade de
+ * avaliações. Como em {@link IndiceFacetas}, a consulta devolve uma cópia imutável,
+ * montada na primeira leitura após uma mudança.</p>
+ *
+ * <p>As avaliações de uma temporada entram com os gêneros e o ano da temporada, e com o
+ * tipo da série. O consumo é contado pela data de consumo informada na avaliação.
+ * Gêneros são agrupados pelas regras de {@link Servicos#normalizarTitulo(String)} e
+ * exibidos com a primeira grafia encontrada.</p>
+ */
+public class IndiceEstatisticas implements IndiceMidias {
+
+    /** Posições do vetor de frequências: uma por décimo de nota, de 0,0 a 5,0 */
+    private static final int POSICOES = 51;
+
+    /**
+     * Distribuição das notas de um grupo de avaliações.
+     *
+     * @param quantidade número de avaliações
+     * @param media média das notas, ou 0 se não houver avaliações
+     * @param frequencias quantidade de avaliações com cada nota, uma posição por décimo (0,0 a 5,0)
+     */
+    public record Distribuicao(int quantidade, double media, int[] frequencias) {
+
+        public Distribuicao {
+            frequencias = frequencias.clone();
+        }
+
+        @Override
+        public int[] frequencias() {
+            return frequencias.clone();
+        }
+
+        /**
+         * Calcula a nota abaixo da qual (ou igual à qual) está a porcentagem informada das
+         * avaliações, pelo método do posto mais próximo, com precisão de um décimo.
+         *
+         * @param porcentagem porcentagem das avaliações, de 0 a 100
+         * @return percentil das notas, ou 0 se não houver avaliações
+         */
+        public float percentil(double porcentagem) {
+            if (quantidade == 0) {
+                return 0.0f;
+            }
+            long posto = Math.max(1, (long) Math.ceil(Math.min(Math.max(porcentagem, 0), 100) / 100 * quantidade));
+            long acumulado = 0;
+            for (int i = 0; i < POSICOES; i++) {
+                acumulado += frequencias[i];
+                if (acumulado >= posto) {
+                    return i / 10.0f;
+                }
+            }
+            return 5.0f;
+        }
+
+        /**
+         * Calcula a mediana das notas.
+         *
+         * @return percentil 50
+         */
+        public float mediana() {
+            return percentil(50);
+        }
+
+        /**
+         * Agrupa as avaliações pela parte inteira da nota, como em {@link IndiceFacetas#faixaNota(float)}.
+         *
+         * @return quantidade de avaliações em cada faixa, de 0 a 5
+         */
+        public int[] histograma() {
+            int[] histograma = new int[6];
+            for (int i = 0; i < POSICOES; i++) {
+                histograma[Math.min(5, i / 10)] += frequencias[i];
+            }
+            return histograma;
+        }
+
+        @Override
+        public boolean equals(Object outro) {
+            return outro instanceof Distribuicao d && quantidade == d.quantidade && Arrays.equals(frequencias, d.frequencias);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * quantidade + Arrays.hashCode(frequencias);
+        }
+    }
+
+    /**
+     * Estatísticas de todas as avaliações em um momento. Os mapas são imutáveis e ordenados pela chave.
+     *
+     * @param geral distribuição de todas as avaliações
+     * @param porGenero gênero para a distribuição das avaliações das mídias do gênero
+     * @param porAno ano de lançamento para a distribuição
+     * @param porDecada primeiro ano da década (1990, 2000...) para a distribuição
+     * @param porTipo tipo de mídia ("Livro", "Filme" ou "Série") para a distribuição
+     * @param consumoPorMes mês para a quantidade de avaliações com data de consumo no mês
+     */
+    public record Estatisticas(Distribuicao geral, SortedMap<String, Distribuicao> porGenero,
+                               SortedMap<Integer, Distribuicao> porAno, SortedMap<Integer, Distribuicao> porDecada,
+                               SortedMap<String, Distribuicao> porTipo, SortedMap<YearMonth, Integer> consumoPorMes) {
+    }
+
+    /**
+     * Notas acumuladas de um grupo de avaliações.
+     */
+    private static final class Contagem {
+        private final int[] frequencias = new int[POSICOES];
+        private double soma;
+        private int quantidade;
+
+        void somar(int posicao, float nota, int sinal) {
+            frequencias[posicao] += sinal;
+            quantidade += sinal;
+            soma = quantidade == 0 ? 0 : soma + sinal * (double) nota;
+        }
+
+        Distribuicao distribuicao() {
+            return new Distribuicao(quantidade, quantidade == 0 ? 0 : soma / quantidade, frequencias);
+        }
+    }
+
+    /**
+     * Avaliações de uma mídia ou de uma temporada, com os valores pelos quais são agrupadas.
+     *
+     * @param generos gêneros normalizados, sem repetições
+     * @param grafias grafia de cada gênero, na mesma ordem
+     * @param ano ano de lançamento
+     * @param tipo tipo de mídia
+     * @param notas nota de cada avaliação
+     * @param meses mês de consumo de cada avaliação com data de consumo (ano * 12 + mês - 1)
+     */
+    private record Origem(List<String> generos, List<String> grafias, int ano, String tipo, float[] notas, int[] meses) {
+
+        @Override
+        public boolean equals(Object outro) {
+            return outro instanceof Origem o && ano == o.ano && Objects.equals(tipo, o.tipo) && grafias.equals(o.grafias)
+                    && Arrays.equals(notas, o.notas) && Arrays.equals(meses, o.meses);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(grafias, ano, tipo, Arrays.hashCode(notas), Arrays.hashCode(meses));
+        }
+    }
+
+    private final Contagem geral = new Contagem();
+    private final Map<String, Contagem> porGenero = new HashMap<>();
+    private final Map<Integer, Contagem> porAno = new HashMap<>();
+    private final Map<Integer, Contagem> porDecada = new HashMap<>();
+    private final Map<String, Contagem> porTipo = new HashMap<>();
+    private final Map<Integer, Integer> consumoPorMes = new HashMap<>();
+
+    /** Grafia exibida de cada gênero normalizado */
+    private final Map<String, String> grafiasGeneros = new HashMap<>();
+
+    /** Avaliações indexadas de cada mídia, para desfazer as contagens quando ela muda */
+    private final Map<Integer, List<Origem>> indexadas = new HashMap<>();
+
+    /** Cópia das estatísticas desde a última mudança, ou {@code null} se precisar ser montada */
+    private Estatisticas copia;
+
+    @Override
+    public void indexar(Midia midia) {
+        List<Origem> origens = new ArrayList<>();
+        adicionarOrigem(origens, midia, midia.getTipoMidia());
+        if (midia instanceof Serie serie && serie.getTemporadas() != null) {
+            for (Temporada temporada : serie.getTemporadas()) {
+                adicionarOrigem(origens, temporada, midia.getTipoMidia());
+            }
+        }
+
+        List<Origem> anteriores = indexadas.get(midia.getId());
+        if (anteriores != null) {
+            if (anteriores.equals(origens)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+        if (origens.isEmpty()) {
+            return;
+        }
+
+        for (Origem origem : origens) {
+            contar(origem, 1);
+        }
+        indexadas.put(midia.getId(), origens);
+    }
+
+    @Override
+    public void remover(int id) {
+        List<Origem> origens = indexadas.remove(id);
+        if (origens != null) {
+            for (Origem origem : origens) {
+                contar(origem, -1);
+            }
+        }
+    }
+
+    @Override
+    public void limpar() {
+        porGenero.clear();
+        porAno.clear();
+        porDecada.clear();
+        porTipo.clear();
+        consumoPorMes.clear();
+        grafiasGeneros.clear();
+        indexadas.clear();
+        Arrays.fill(geral.frequencias, 0);
+        geral.soma = 0;
+        geral.quantidade = 0;
+        copia = null;
+    }
+
+    /**
+     * Retorna as estatísticas atuais de todas as avaliações.
+     *
+     * @return estatísticas, reaproveitadas enquanto nenhuma avaliação mudar
+     */
+    public Estatisticas getEstatisticas() {
+        if (copia == null) {
+            SortedMap<String, Distribuicao> generos = new TreeMap<>();
+            porGenero.forEach((genero, contagem) -> generos.put(grafiasGeneros.get(genero), contagem.distribuicao()));
+            SortedMap<YearMonth, Integer> meses = new TreeMap<>();
+            consumoPorMes.forEach((mes, quantidade) -> meses.put(YearMonth.of(Math.floorDiv(mes, 12), Math.floorMod(mes, 12) + 1), quantidade));
+
+            copia = new Estatisticas(geral.distribuicao(), Collections.unmodifiableSortedMap(generos),
+                    distribuicoes(porAno), distribuicoes(porDecada), distribuicoes(porTipo),
+                    Collections.unmodifiableSortedMap(meses));
+        }
+        return copia;
+    }
+
+    /**
+     * Calcula a posição de uma nota no vetor de frequências: o décimo mais próximo, de 0 a 50.
+     *
+     * @param nota nota da avaliação
+     * @return posição da nota
+     */
+    static int posicao(float nota) {
+        if (Float.isNaN(nota)) {
+            return 0;
+        }
+        return Math.min(POSICOES - 1, Math.max(0, Math.round(nota * 10)));
+    }
+
+    private void contar(Origem origem, int sinal) {
+        int decada = Math.floorDiv(origem.ano(), 10) * 10;
+        for (float nota : origem.notas()) {
+            int posicao = posicao(nota);
+            geral.somar(posicao, nota, sinal);
+            for (int i = 0; i < origem.generos().size(); i++) {
+                String genero = origem.generos().get(i);
+                grafiasGeneros.putIfAbsent(genero, origem.grafias().get(i));
+                somar(porGenero, genero, posicao, nota, sinal);
+                if (!porGenero.containsKey(genero)) {
+                    grafiasGeneros.remove(genero);
+                }
+            }
+            somar(porAno, origem.ano(), posicao, nota, sinal);
+            somar(porDecada, decada, posicao, nota, sinal);
+            if (origem.tipo() != null) {
+                somar(porTipo, origem.tipo(), posicao, nota, sinal);
+            }
+        }
+        for (int mes : origem.meses()) {
+            if (consumoPorMes.merge(mes, sinal, Integer::sum) <= 0) {
+                consumoPorMes.remove(mes);
+            }
+        }
+        copia = null;
+    }
+
+    private static <K> void somar(Map<K, Contagem> grupos, K chave, int posicao, float nota, int sinal) {
+        Contagem contagem = grupos.computeIfAbsent(chave, c -> new Contagem());
+        contagem.somar(posicao, nota, sinal);
+        if (contagem.quantidade <= 0) {
+            grupos.remove(chave);
+        }
+    }
+
+    private static <K extends Comparable<K>> SortedMap<K, Distribuicao> distribuicoes(Map<K, Contagem> grupos) {
+        SortedMap<K, Distribuicao> distribuicoes = new TreeMap<>();
+        grupos.forEach((chave, contagem) -> distribuicoes.put(chave, contagem.distribuicao()));
+        return Collections.unmodifiableSortedMap(distribuicoes);
+    }
+
+    private static void adicionarOrigem(List<Origem> origens, Midia midia, String tipo) {
+        List<Avaliacao> avaliacoes = midia.getAvaliacoes();
+        if (avaliacoes == null || avaliacoes.isEmpty()) {
+            return;
+        }
+
+        float[] notas = new float[avaliacoes.size()];
+        int[] meses = new int[avaliacoes.size()];
+        int comData = 0;
+        for (int i = 0; i < notas.length; i++) {
+            Avaliacao avaliacao = avaliacoes.get(i);
+            notas[i] = avaliacao.getNota();
+            LocalDate consumo = avaliacao.getDataConsumoLocalDate();
+            if (consumo != null) {
+                meses[comData++] = consumo.getYear() * 12 + consumo.getMonthValue() - 1;
+            }
+        }
+
+        Map<String, String> generos = new LinkedHashMap<>();
+        if (midia.getGeneros() != null) {
+            for (String genero : midia.getGeneros()) {
+                if (genero != null && !genero.isBlank()) {
+                    generos.putIfAbsent(Servicos.normalizarTitulo(genero), genero.strip());
+                }
+            }
+        }
+        origens.add(new Origem(List.copyOf(generos.keySet()), List.copyOf(generos.values()), midia.getAnoLancamento(),
+                tipo, notas, Arrays.copyOf(meses, comData)));
+    }
+}
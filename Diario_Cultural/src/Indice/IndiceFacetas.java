@@ -0,0 +1,200 @@
+package Indice;
+
+import Model.Audiovisual;
+import Model.Midia;
+import Service.Servicos;
+
+import java.util.*;
+
+/**
+ * Contagem das mídias por gênero, ano, tipo, plataforma e faixa de nota, usada nos
+ * filtros da interface.
+ *
+ * <p>Cada inclusão, alteração ou remoção apenas soma ou subtrai os valores da mídia
+ * afetada, guardados para que a alteração possa desfazer as contagens antigas. A consulta
+ * devolve uma cópia imutável de todas as contagens, montada na primeira leitura após uma
+ * mudança e reaproveitada até a próxima, de modo que as leituras seguintes são imediatas.</p>
+ *
+ * <p>Gêneros e plataformas são agrupados pelas regras de {@link Servicos#normalizarTitulo(String)}
+ * e exibidos com a grafia mais frequente entre as mídias (em caso de empate, a primeira
+ * em ordem alfabética).</p>
+ */
+public class IndiceFacetas implements IndiceMidias {
+
+    /**
+     * Contagens de todas as facetas em um momento. Os mapas são imutáveis e ordenados pelo valor.
+     *
+     * @param generos gênero para a quantidade de mídias
+     * @param anos ano de lançamento para a quantidade de mídias
+     * @param tipos tipo de mídia ("Livro", "Filme" ou "Série") para a quantidade de mídias
+     * @param plataformas plataforma onde assistir para a quantidade de filmes e séries
+     * @param faixasNota parte inteira da nota mais recente (0 a 5) para a quantidade de mídias
+     */
+    public record Facetas(SortedMap<String, Integer> generos, SortedMap<Integer, Integer> anos,
+                          SortedMap<String, Integer> tipos, SortedMap<String, Integer> plataformas,
+                          SortedMap<Integer, Integer> faixasNota) {
+    }
+
+    /**
+     * Valores de uma mídia indexada. Gêneros e plataformas aparecem uma vez por valor
+     * normalizado, na grafia encontrada na mídia.
+     */
+    private record Entrada(List<String> generos, int ano, String tipo, List<String> plataformas, int faixaNota) {
+    }
+
+    /** Gênero normalizado para a quantidade de mídias e para a quantidade de cada grafia */
+    private final Map<String, Integer> generos = new HashMap<>();
+    private final Map<String, Map<String, Integer>> grafiasGeneros = new HashMap<>();
+
+    /** Plataforma normalizada para a quantidade de mídias e para a quantidade de cada grafia */
+    private final Map<String, Integer> plataformas = new HashMap<>();
+    private final Map<String, Map<String, Integer>> grafiasPlataformas = new HashMap<>();
+
+    private final Map<Integer, Integer> anos = new HashMap<>();
+    private final Map<String, Integer> tipos = new HashMap<>();
+    private final Map<Integer, Integer> faixasNota = new HashMap<>();
+
+    /** Valores indexados de cada mídia, para desfazer as contagens quando ela muda */
+    private final Map<Integer, Entrada> indexadas = new HashMap<>();
+
+    /** Cópia das contagens desde a última mudança, ou {@code null} se precisar ser montada */
+    private Facetas copia;
+
+    @Override
+    public void indexar(Midia midia) {
+        Entrada entrada = new Entrada(distintos(midia.getGeneros()), midia.getAnoLancamento(), midia.getTipoMidia(),
+                midia instanceof Audiovisual audiovisual ? distintos(audiovisual.getOndeAssistir()) : List.of(),
+                faixaNota(midia.getNotaAtual()));
+        Entrada anterior = indexadas.get(midia.getId());
+        if (anterior != null) {
+            if (anterior.equals(entrada)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+
+        contar(entrada, 1);
+        indexadas.put(midia.getId(), entrada);
+    }
+
+    @Override
+    public void remover(int id) {
+        Entrada entrada = indexadas.remove(id);
+        if (entrada != null) {
+            contar(entrada, -1);
+        }
+    }
+
+    @Override
+    public void limpar() {
+        generos.clear();
+        grafiasGeneros.clear();
+        plataformas.clear();
+        grafiasPlataformas.clear();
+        anos.clear();
+        tipos.clear();
+        faixasNota.clear();
+        indexadas.clear();
+        copia = null;
+    }
+
+    /**
+     * Retorna as contagens atuais de todas as facetas.
+     *
+     * @return contagens, reaproveitadas enquanto nenhuma mídia mudar
+     */
+    public Facetas getFacetas() {
+        if (copia == null) {
+            copia = new Facetas(porGrafia(generos, grafiasGeneros), ordenada(anos), ordenada(tipos),
+                    porGrafia(plataformas, grafiasPlataformas), ordenada(faixasNota));
+        }
+        return copia;
+    }
+
+    /**
+     * Calcula a faixa de uma nota: a sua parte inteira, de 0 a 5.
+     *
+     * @param nota nota mais recente da mídia
+     * @return faixa da nota
+     */
+    public static int faixaNota(float nota) {
+        if (Float.isNaN(nota) || nota < 1) {
+            return 0;
+        }
+        return Math.min(5, (int) nota);
+    }
+
+    private void contar(Entrada entrada, int sinal) {
+        for (String genero : entrada.generos()) {
+            somarTexto(generos, grafiasGeneros, genero, sinal);
+        }
+        for (String plataforma : entrada.plataformas()) {
+            somarTexto(plataformas, grafiasPlataformas, plataforma, sinal);
+        }
+        somar(anos, entrada.ano(), sinal);
+        if (entrada.tipo() != null) {
+            somar(tipos, entrada.tipo(), sinal);
+        }
+        somar(faixasNota, entrada.faixaNota(), sinal);
+        copia = null;
+    }
+
+    private static void somarTexto(Map<String, Integer> quantidades, Map<String, Map<String, Integer>> grafias, String valor, int sinal) {
+        String chave = Servicos.normalizarTitulo(valor);
+        somar(quantidades, chave, sinal);
+        Map<String, Integer> daChave = grafias.computeIfAbsent(chave, c -> new HashMap<>());
+        if (!somar(daChave, valor, sinal) && daChave.isEmpty()) {
+            grafias.remove(chave);
+        }
+    }
+
+    /**
+     * Soma à quantidade de um valor, removendo-o quando chega a zero.
+     *
+     * @return {@code true} se o valor continua presente
+     */
+    private static <K> boolean somar(Map<K, Integer> quantidades, K chave, int sinal) {
+        Integer quantidade = quantidades.merge(chave, sinal, Integer::sum);
+        if (quantidade <= 0) {
+            quantidades.remove(chave);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Mantém um valor por texto normalizado, descartando os vazios.
+     */
+    private static List<String> distintos(List<String> valores) {
+        if (valores == null || valores.isEmpty()) {
+            return List.of();
+        }
+        Map<String, String> porChave = new LinkedHashMap<>();
+        for (String valor : valores) {
+            if (valor != null && !valor.isBlank()) {
+                porChave.putIfAbsent(Servicos.normalizarTitulo(valor), valor.strip());
+            }
+        }
+        return List.copyOf(porChave.values());
+    }
+
+    private static SortedMap<String, Integer> porGrafia(Map<String, Integer> quantidades, Map<String, Map<String, Integer>> grafias) {
+        SortedMap<String, Integer> porGrafia = new TreeMap<>();
+        quantidades.forEach((chave, quantidade) -> {
+            String exibida = null;
+            int maisFrequente = 0;
+            for (Map.Entry<String, Integer> grafia : grafias.get(chave).entrySet()) {
+                if (grafia.getValue() > maisFrequente || grafia.getValue() == maisFrequente && grafia.getKey().compareTo(exibida) < 0) {
+                    exibida = grafia.getKey();
+                    maisFrequente = grafia.getValue();
+                }
+            }
+            porGrafia.put(exibida, quantidade);
+        });
+        return Collections.unmodifiableSortedMap(porGrafia);
+    }
+
+    private static <K extends Comparable<K>> SortedMap<K, Integer> ordenada(Map<K, Integer> quantidades) {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(quantidades));
+    }
+}
@@ -0,0 +1,118 @@
+package Indice;
+
+import Model.Midia;
+import Service.Servicos;
+
+import java.util.*;
+
+/**
+ * Índice dos gêneros das mídias, com um {@link MapaBits} por gênero.
+ *
+ * <p>Cada gênero é normalizado pelas mesmas regras de {@link Servicos#normalizarTitulo(String)},
+ * de modo que "Ficção Científica" e "ficcao cientifica" caem no mesmo conjunto. Como os
+ * conjuntos são mapas de bits sobre os identificadores, combinar um gênero com outros
+ * filtros (outro gênero, o tipo de mídia) é uma interseção ou união bloco a bloco, sem
+ * percorrer as mídias.</p>
+ *
+ * <p>A busca por trecho ({@code busca_genero}) percorre apenas o dicionário de gêneros,
+ * que é pequeno, e une os conjuntos dos gêneros que contêm o trecho.</p>
+ */
+public class IndiceGeneros implements IndiceMidias {
+
+    /** Gênero normalizado para as mídias que o possuem */
+    private final Map<String, MapaBits> porGenero = new HashMap<>();
+
+    /** Gêneros normalizados indexados de cada mídia, para remover as entradas antigas quando eles mudam */
+    private final Map<Integer, List<String>> indexadas = new HashMap<>();
+
+    @Override
+    public void indexar(Midia midia) {
+        List<String> generos = midia.getGenerosNormalizados();
+        List<String> anteriores = indexadas.get(midia.getId());
+        if (anteriores != null) {
+            if (anteriores.equals(generos)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+
+        for (String genero : generos) {
+            if (!genero.isEmpty()) {
+                porGenero.computeIfAbsent(genero, g -> new MapaBits()).adicionar(midia.getId());
+            }
+        }
+        indexadas.put(midia.getId(), generos);
+    }
+
+    @Override
+    public void remover(int id) {
+        List<String> generos = indexadas.remove(id);
+        if (generos == null) {
+            return;
+        }
+        for (String genero : generos) {
+            MapaBits ids = porGenero.get(genero);
+            if (ids != null) {
+                ids.remover(id);
+                if (ids.isVazio()) {
+                    porGenero.remove(genero);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void limpar() {
+        porGenero.clear();
+        indexadas.clear();
+    }
+
+    /**
+     * Busca as mídias que possuem exatamente o gênero informado.
+     *
+     * @param genero gênero buscado
+     * @return conjunto de identificadores (uma cópia, que pode ser modificada)
+     */
+    public MapaBits buscarExato(String genero) {
+        MapaBits ids = porGenero.get(Servicos.normalizarTitulo(genero == null ? "" : genero));
+        return ids == null ? new MapaBits() : ids.copia();
+    }
+
+    /**
+     * Conta as mídias que possuem exatamente o gênero informado, sem copiar o conjunto.
+     *
+     * @param genero gênero buscado
+     * @return quantidade de mídias com o gênero
+     */
+    public int contarExato(String genero) {
+        MapaBits ids = porGenero.get(Servicos.normalizarTitulo(genero == null ? "" : genero));
+        return ids == null ? 0 : ids.quantidade();
+    }
+
+    /**
+     * Busca as mídias que possuem algum gênero contendo o trecho informado.
+     * Cada mídia aparece uma única vez, mesmo que vários de seus gêneros contenham o trecho.
+     *
+     * @param trecho parte do gênero buscado
+     * @return conjunto de identificadores
+     */
+    public MapaBits buscarContendo(String trecho) {
+        String busca = Servicos.normalizarTitulo(trecho == null ? "" : trecho);
+        List<MapaBits> encontrados = new ArrayList<>();
+        for (Map.Entry<String, MapaBits> genero : porGenero.entrySet()) {
+            if (genero.getKey().contains(busca)) {
+                encontrados.add(genero.getValue());
+            }
+        }
+        return MapaBits.uniao(encontrados);
+    }
+
+    /**
+     * Retorna a quantidade de gêneros distintos indexados.
+     *
+     * @return tamanho do dicionário de gêneros
+     */
+    public int getQuantidadeGeneros() {
+        return porGenero.size();
+    }
+}
@@ -0,0 +1,159 @@
+package Indice;
+
+import Model.Livro;
+import Model.Midia;
+import Service.Servicos;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice dos ISBNs dos livros, em uma tabela de espalhamento indexada pela forma
+ * canônica do código ({@link #canonizar(String)}).
+ *
+ * <p>Com a forma canônica, "978-85-359-0277-1", "9788535902771" e o ISBN-10
+ * equivalente "85-359-0277-5" apontam para o mesmo livro. A consulta e a verificação
+ * de duplicidade no cadastro custam uma única busca na tabela.</p>
+ *
+ * <p>Para a busca pelo início do código, o ISBN normalizado como foi cadastrado também
+ * é guardado em um mapa ordenado, e os livros com um prefixo ficam em um único intervalo
+ * do mapa ({@link #buscarPrefixo(String)}).</p>
+ */
+public class IndiceIsbn implements IndiceMidias {
+
+    /** ISBN canônico para os livros com esse código */
+    private final Map<String, ListaIds> porIsbn = new HashMap<>();
+
+    /** ISBN normalizado, como cadastrado, para os livros com esse código, em ordem alfabética */
+    private final NavigableMap<String, ListaIds> porNormalizado = new TreeMap<>();
+
+    /** ISBN normalizado indexado de cada livro, para remover a entrada antiga quando ele muda */
+    private final Map<Integer, String> indexados = new HashMap<>();
+
+    @Override
+    public void indexar(Midia midia) {
+        if (!(midia instanceof Livro livro)) {
+            return;
+        }
+        String normalizado = livro.getIsbnNormalizado();
+        String anterior = indexados.get(midia.getId());
+        if (anterior != null) {
+            if (anterior.equals(normalizado)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+        if (!normalizado.isEmpty()) {
+            porIsbn.computeIfAbsent(canonizar(normalizado), i -> new ListaIds()).adicionar(midia.getId());
+            porNormalizado.computeIfAbsent(normalizado, i -> new ListaIds()).adicionar(midia.getId());
+            indexados.put(midia.getId(), normalizado);
+        }
+    }
+
+    @Override
+    public void remover(int id) {
+        String normalizado = indexados.remove(id);
+        if (normalizado == null) {
+            return;
+        }
+        removerDe(porIsbn, canonizar(normalizado), id);
+        removerDe(porNormalizado, normalizado, id);
+    }
+
+    @Override
+    public void limpar() {
+        porIsbn.clear();
+        porNormalizado.clear();
+        indexados.clear();
+    }
+
+    private static void removerDe(Map<String, ListaIds> mapa, String chave, int id) {
+        ListaIds ids = mapa.get(chave);
+        ids.remover(id);
+        if (ids.isVazia()) {
+            mapa.remove(chave);
+        }
+    }
+
+    /**
+     * Busca os livros com o ISBN informado, em qualquer formatação ou como ISBN-10.
+     *
+     * @param isbn ISBN buscado
+     * @return identificadores encontrados, em ordem crescente
+     */
+    public int[] buscar(String isbn) {
+        ListaIds ids = porIsbn.get(canonizar(isbn));
+        return ids == null ? new int[0] : ids.paraArray();
+    }
+
+    /**
+     * Busca os livros cujo ISBN normalizado, como foi cadastrado, começa com o prefixo.
+     *
+     * @param prefixo início do código, já normalizado
+     * @return identificadores encontrados
+     */
+    public MapaBits buscarPrefixo(String prefixo) {
+        MapaBits encontrados = new MapaBits();
+        if (prefixo.isEmpty()) {
+            return encontrados;
+        }
+        for (ListaIds ids : porNormalizado.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false).values()) {
+            for (int id : ids.paraArray()) {
+                encontrados.adicionar(id);
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Converte um ISBN para a forma usada nas comparações: o ISBN-13 apenas com dígitos.
+     * Hífens, espaços e maiúsculas são ignorados, e um ISBN-10 válido é convertido para o
+     * ISBN-13 equivalente (prefixo 978 e novo dígito verificador). Códigos que não têm
+     * o formato de um ISBN, ou ISBN-10 com dígito verificador incorreto, são apenas
+     * normalizados como em {@link Servicos#normalizarTitulo(String)}.
+     *
+     * @param isbn ISBN em qualquer formatação
+     * @return forma canônica (vazia se não informado)
+     */
+    public static String canonizar(String isbn) {
+        String normalizado = Servicos.normalizarTitulo(isbn == null ? "" : isbn);
+        if (normalizado.length() == 13 && apenasDigitos(normalizado, 13)) {
+            return normalizado;
+        }
+        if (normalizado.length() == 10 && isIsbn10Valido(normalizado)) {
+            String semVerificador = "978" + normalizado.substring(0, 9);
+            int soma = 0;
+            for (int i = 0; i < 12; i++) {
+                soma += (semVerificador.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+            }
+            return semVerificador + (10 - soma % 10) % 10;
+        }
+        return normalizado;
+    }
+
+    private static boolean isIsbn10Valido(String isbn) {
+        if (!apenasDigitos(isbn, 9)) {
+            return false;
+        }
+        char verificador = isbn.charAt(9);
+        int soma = verificador == 'x' ? 10 : verificador - '0';
+        if (soma < 0 || soma > 10) {
+            return false;
+        }
+        for (int i = 0; i < 9; i++) {
+            soma += (isbn.charAt(i) - '0') * (10 - i);
+        }
+        return soma % 11 == 0;
+    }
+
+    private static boolean apenasDigitos(String texto, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            if (texto.charAt(i) < '0' || texto.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,33 @@
+package Indice;
+
+import Model.Midia;
+
+/**
+ * Índice em memória sobre as mídias cadastradas, mantido pelo {@link CatalogoIndices}.
+ *
+ * <p>Os índices guardam apenas os identificadores das mídias ({@link Midia#getId()}).
+ * O catálogo é quem resolve os identificadores e garante que cada operação seja
+ * chamada com a trava obtida, de modo que as implementações não precisam ser
+ * sincronizadas.</p>
+ */
+public interface IndiceMidias {
+
+    /**
+     * Inclui uma mídia no índice ou atualiza suas entradas, caso ela já esteja indexada.
+     *
+     * @param midia mídia incluída ou modificada
+     */
+    void indexar(Midia midia);
+
+    /**
+     * Remove do índice todas as entradas de uma mídia.
+     *
+     * @param id identificador da mídia
+     */
+    void remover(int id);
+
+    /**
+     * Remove todas as entradas do índice.
+     */
+    void limpar();
+}
@@ -0,0 +1,108 @@
+package Indice;
+
+import Model.Midia;
+
+import java.util.*;
+
+/**
+ * Índice das mídias pela nota mais recente, com um {@link MapaBits} por nota em um mapa ordenado.
+ *
+ * <p>As notas distintas são poucas, então percorrer o mapa em qualquer direção entrega
+ * todas as mídias já na ordem da avaliação, sem comparar mídia com mídia. Dentro de uma
+ * mesma nota, as mídias ficam na ordem de cadastro, como em uma ordenação estável. Para
+ * pular até uma página, basta somar o tamanho dos conjuntos de cada nota.</p>
+ *
+ * <p>A nota é a mantida pela própria mídia ({@link Midia#getNotaAtual()}): a da última
+ * avaliação, ou a nota média da série, ou zero.</p>
+ */
+public class IndiceNotas implements IndiceMidias {
+
+    /** Nota para as mídias que a possuem como nota mais recente */
+    private final NavigableMap<Float, MapaBits> porNota = new TreeMap<>();
+
+    /** Nota indexada de cada mídia, para remover a entrada antiga quando ela muda */
+    private final Map<Integer, Float> indexadas = new HashMap<>();
+
+    @Override
+    public void indexar(Midia midia) {
+        Float nota = midia.getNotaAtual();
+        Float anterior = indexadas.get(midia.getId());
+        if (anterior != null) {
+            if (anterior.equals(nota)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+        porNota.computeIfAbsent(nota, n -> new MapaBits()).adicionar(midia.getId());
+        indexadas.put(midia.getId(), nota);
+    }
+
+    @Override
+    public void remover(int id) {
+        Float nota = indexadas.remove(id);
+        if (nota == null) {
+            return;
+        }
+        MapaBits ids = porNota.get(nota);
+        if (ids != null) {
+            ids.remover(id);
+            if (ids.isVazio()) {
+                porNota.remove(nota);
+            }
+        }
+    }
+
+    @Override
+    public void limpar() {
+        porNota.clear();
+        indexadas.clear();
+    }
+
+    /**
+     * Retorna uma página da ordenação por nota, considerando apenas as mídias do filtro.
+     *
+     * @param melhores {@code true} para começar pelas maiores notas, {@code false} pelas menores
+     * @param inicio posição da primeira mídia da página na ordenação completa
+     * @param quantidade número máximo de mídias na página
+     * @param filtro identificadores considerados
+     * @return identificadores da página, em ordem
+     */
+    public int[] pagina(boolean melhores, int inicio, int quantidade, MapaBits filtro) {
+        if (quantidade <= 0) {
+            return new int[0];
+        }
+        int[] pagina = new int[Math.min(quantidade, 64)];
+        int preenchidos = 0;
+        int pular = Math.max(inicio, 0);
+
+        for (MapaBits ids : (melhores ? porNota.descendingMap() : porNota).values()) {
+            MapaBits considerados = ids.e(filtro);
+            int tamanho = considerados.quantidade();
+            if (pular >= tamanho) {
+                pular -= tamanho;
+                continue;
+            }
+            int[] daNota = considerados.paraArray();
+            int fim = Math.min(tamanho, pular + quantidade - preenchidos);
+            if (pagina.length < preenchidos + fim - pular) {
+                pagina = Arrays.copyOf(pagina, Math.min(quantidade, Math.max(pagina.length * 2, preenchidos + fim - pular)));
+            }
+            System.arraycopy(daNota, pular, pagina, preenchidos, fim - pular);
+            preenchidos += fim - pular;
+            pular = 0;
+            if (preenchidos == quantidade) {
+                break;
+            }
+        }
+        return Arrays.copyOf(pagina, preenchidos);
+    }
+
+    /**
+     * Retorna a quantidade de notas distintas indexadas.
+     *
+     * @return tamanho do mapa de notas
+     */
+    public int getQuantidadeNotas() {
+        return porNota.size();
+    }
+}
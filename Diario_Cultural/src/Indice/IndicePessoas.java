@@ -0,0 +1,183 @@
+package Indice;
+
+import Model.Audiovisual;
+import Model.Filme;
+import Model.Livro;
+import Model.Midia;
+import Model.Serie;
+import Model.Temporada;
+import Service.Servicos;
+
+import java.util.*;
+
+/**
+ * Índice unificado das pessoas envolvidas nas mídias: autores dos livros, direção e roteiro
+ * dos filmes e o elenco de filmes, séries e temporadas.
+ *
+ * <p>Cada nome, normalizado pelas regras de {@link Servicos#normalizarTitulo(String)}, aponta
+ * para os seus vínculos: a mídia da coleção, o papel exercido e, para o elenco de uma
+ * temporada, a temporada. Assim, tudo em que uma pessoa trabalhou é obtido com uma única
+ * consulta, sem percorrer as mídias nem normalizar nomes a cada busca.</p>
+ */
+public class IndicePessoas implements IndiceMidias {
+
+    /**
+     * Papel de uma pessoa em uma mídia.
+     */
+    public enum Papel { AUTORIA, DIRECAO, ROTEIRO, ELENCO }
+
+    /**
+     * Participação de uma pessoa em uma mídia, como retornada pelo {@link CatalogoIndices}.
+     *
+     * @param midia livro, filme ou série em que a pessoa trabalhou
+     * @param temporada temporada em cujo elenco a pessoa está, ou {@code null} se o vínculo é com a própria mídia
+     * @param papel papel exercido
+     * @param categoria categoria do elenco, como cadastrada (apenas para {@link Papel#ELENCO})
+     */
+    public record Participacao(Midia midia, Temporada temporada, Papel papel, String categoria) {
+    }
+
+    /**
+     * Vínculo indexado de uma pessoa com uma mídia.
+     *
+     * @param id identificador da mídia da coleção (a série, no caso de uma temporada)
+     * @param idTemporada identificador da temporada, ou 0 se o vínculo é com a própria mídia
+     */
+    record Vinculo(int id, int idTemporada, Papel papel, String categoria, String categoriaNormalizada) {
+    }
+
+    /** Nome normalizado para os vínculos da pessoa, na ordem em que foram indexados */
+    private final Map<String, List<Vinculo>> porPessoa = new HashMap<>();
+
+    /** Nomes e vínculos indexados de cada mídia, para remover as entradas antigas quando eles mudam */
+    private final Map<Integer, Map<String, List<Vinculo>>> indexadas = new HashMap<>();
+
+    @Override
+    public void indexar(Midia midia) {
+        Map<String, List<Vinculo>> vinculos = vinculos(midia);
+        Map<String, List<Vinculo>> anteriores = indexadas.get(midia.getId());
+        if (anteriores != null) {
+            if (anteriores.equals(vinculos)) {
+                return;
+            }
+            remover(midia.getId());
+        }
+
+        vinculos.forEach((nome, daMidia) -> porPessoa.computeIfAbsent(nome, n -> new ArrayList<>()).addAll(daMidia));
+        indexadas.put(midia.getId(), vinculos);
+    }
+
+    @Override
+    public void remover(int id) {
+        Map<String, List<Vinculo>> vinculos = indexadas.remove(id);
+        if (vinculos == null) {
+            return;
+        }
+        for (String nome : vinculos.keySet()) {
+            List<Vinculo> daPessoa = porPessoa.get(nome);
+            daPessoa.removeIf(vinculo -> vinculo.id() == id);
+            if (daPessoa.isEmpty()) {
+                porPessoa.remove(nome);
+            }
+        }
+    }
+
+    @Override
+    public void limpar() {
+        porPessoa.clear();
+        indexadas.clear();
+    }
+
+    /**
+     * Retorna os vínculos de uma pessoa, em ordem de identificador da mídia.
+     *
+     * @param nome nome da pessoa (normalizado ou não)
+     * @return vínculos encontrados
+     */
+    List<Vinculo> buscar(String nome) {
+        List<Vinculo> vinculos = porPessoa.get(Servicos.normalizarTitulo(nome == null ? "" : nome));
+        if (vinculos == null) {
+            return List.of();
+        }
+        List<Vinculo> ordenados = new ArrayList<>(vinculos);
+        ordenados.sort(Comparator.comparingInt(Vinculo::id).thenComparingInt(Vinculo::idTemporada));
+        return ordenados;
+    }
+
+    /**
+     * Busca as mídias em que a pessoa exerceu um papel, inclusive no elenco de alguma temporada.
+     *
+     * @param nome nome da pessoa
+     * @param papel papel buscado
+     * @param categoria categoria do elenco, ou {@code null} para qualquer uma
+     * @return conjunto de identificadores das mídias da coleção
+     */
+    public MapaBits buscarPapel(String nome, Papel papel, String categoria) {
+        String categoriaBusca = categoria == null ? null : Servicos.normalizarTitulo(categoria);
+        MapaBits ids = new MapaBits();
+        for (Vinculo vinculo : porPessoa.getOrDefault(Servicos.normalizarTitulo(nome == null ? "" : nome), List.of())) {
+            if (vinculo.papel() == papel && (categoriaBusca == null || categoriaBusca.equals(vinculo.categoriaNormalizada()))) {
+                ids.adicionar(vinculo.id());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Retorna a quantidade de pessoas distintas indexadas.
+     *
+     * @return tamanho do dicionário de nomes
+     */
+    public int getQuantidadePessoas() {
+        return porPessoa.size();
+    }
+
+    /**
+     * Reúne os vínculos de uma mídia por nome normalizado, incluindo o elenco das temporadas de uma série.
+     */
+    private static Map<String, List<Vinculo>> vinculos(Midia midia) {
+        Map<String, List<Vinculo>> vinculos = new HashMap<>();
+        if (midia instanceof Livro livro) {
+            adicionarVinculo(vinculos, livro.getAutor(), new Vinculo(midia.getId(), 0, Papel.AUTORIA, null, null));
+        }
+        if (midia instanceof Filme filme) {
+            adicionarVinculo(vinculos, filme.getDirecao(), new Vinculo(midia.getId(), 0, Papel.DIRECAO, null, null));
+            adicionarVinculo(vinculos, filme.getRoteiro(), new Vinculo(midia.getId(), 0, Papel.ROTEIRO, null, null));
+        }
+        if (midia instanceof Audiovisual audiovisual) {
+            adicionarElenco(vinculos, audiovisual, midia.getId(), 0);
+        }
+        if (midia instanceof Serie serie && serie.getTemporadas() != null) {
+            for (Temporada temporada : serie.getTemporadas()) {
+                adicionarElenco(vinculos, temporada, midia.getId(), temporada.getId());
+            }
+        }
+        return vinculos;
+    }
+
+    private static void adicionarElenco(Map<String, List<Vinculo>> vinculos, Audiovisual audiovisual, int id, int idTemporada) {
+        if (audiovisual.getElenco() == null) {
+            return;
+        }
+        audiovisual.getElenco().forEach((categoria, nomes) -> {
+            if (nomes != null) {
+                Vinculo vinculo = new Vinculo(id, idTemporada, Papel.ELENCO, categoria,
+                        Servicos.normalizarTitulo(categoria == null ? "" : categoria));
+                nomes.forEach(nome -> adicionarVinculo(vinculos, nome, vinculo));
+            }
+        });
+    }
+
+    private static void adicionarVinculo(Map<String, List<Vinculo>> vinculos, String nome, Vinculo vinculo) {
+        if (nome == null) {
+            return;
+        }
+        String normalizado = Servicos.normalizarTitulo(nome);
+        if (!normalizado.isEmpty()) {
+            List<Vinculo> daPessoa = vinculos.computeIfAbsent(normalizado, n -> new ArrayList<>());
+            if (!daPessoa.contains(vinculo)) {
+                daPessoa.add(vinculo);
+            }
+        }
+    }
+}
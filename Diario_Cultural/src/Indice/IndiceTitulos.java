@@ -0,0 +1,226 @@
+package Indice;
+
+import Model.Midia;
+import Service.Servicos;
+
+import java.util.*;
+
+/**
+ * Índice invertido dos títulos das mídias.
+ *
+ * <p>O título é dividido em palavras (por espaços, hífens e barras) e cada palavra é normalizada pelas mesmas regras de
+ * {@link Servicos#normalizarTitulo(String)}. Cada palavra aponta para a lista ordenada
+ * das mídias que a contêm, e o título completo normalizado aponta para as mídias com
+ * exatamente aquele título. As palavras ficam em um mapa ordenado, o que permite
+ * encontrar todas as palavras que começam com um prefixo sem percorrer o dicionário.</p>
+ *
+ * <p>Três tipos de consulta são suportados:</p>
+ * <ul>
+ *     <li>exata: título completo igual ao buscado, como em {@code busca_titulo}</li>
+ *     <li>por palavras: o título contém todas as palavras buscadas</li>
+ *     <li>por prefixo: como a busca por palavras, mas a última palavra pode estar incompleta</li>
+ * </ul>
+ */
+public class IndiceTitulos implements IndiceMidias {
+
+    /**
+     * Quantas vezes as ocorrências das palavras com um prefixo podem superar as da
+     * palavra completa mais rara antes que a busca passe a conferir cada candidata
+     */
+    private static final int LIMITE_PREFIXO = 8;
+
+    /** Palavra normalizada para as mídias que a contêm */
+    private final NavigableMap<String, ListaIds> porPalavra = new TreeMap<>();
+
+    /** Título completo normalizado para as mídias com esse título */
+    private final Map<String, ListaIds> porTitulo = new HashMap<>();
+
+    /** Título indexado de cada mídia, para remover as entradas antigas quando ele muda */
+    private final Map<Integer, Entrada> indexadas = new HashMap<>();
+
+    private record Entrada(String titulo, String tituloNormalizado, String[] palavras) {
+    }
+
+    @Override
+    public void indexar(Midia midia) {
+        Entrada anterior = indexadas.get(midia.getId());
+        if (anterior != null) {
+            if (Objects.equals(anterior.titulo(), midia.getTitulo())) {
+                return;
+            }
+            remover(midia.getId());
+        }
+
+        Entrada entrada = new Entrada(midia.getTitulo(), midia.getTituloNormalizado(), palavras(midia.getTitulo()));
+        porTitulo.computeIfAbsent(entrada.tituloNormalizado(), t -> new ListaIds()).adicionar(midia.getId());
+        for (String palavra : entrada.palavras()) {
+            porPalavra.computeIfAbsent(palavra, p -> new ListaIds()).adicionar(midia.getId());
+        }
+        indexadas.put(midia.getId(), entrada);
+    }
+
+    @Override
+    public void remover(int id) {
+        Entrada entrada = indexadas.remove(id);
+        if (entrada == null) {
+            return;
+        }
+        removerOcorrencia(porTitulo, entrada.tituloNormalizado(), id);
+        for (String palavra : entrada.palavras()) {
+            removerOcorrencia(porPalavra, palavra, id);
+        }
+    }
+
+    @Override
+    public void limpar() {
+        porPalavra.clear();
+        porTitulo.clear();
+        indexadas.clear();
+    }
+
+    /**
+     * Busca as mídias cujo título normalizado é igual ao buscado.
+     *
+     * @param titulo título buscado
+     * @return identificadores encontrados, em ordem crescente
+     */
+    public int[] buscarExato(String titulo) {
+        ListaIds ids = porTitulo.get(Servicos.normalizarTitulo(titulo == null ? "" : titulo));
+        return ids == null ? new int[0] : ids.paraArray();
+    }
+
+    /**
+     * Busca as mídias cujo título contém todas as palavras da consulta, em qualquer ordem.
+     *
+     * @param consulta palavras buscadas
+     * @return identificadores encontrados, em ordem crescente
+     */
+    public int[] buscarPalavras(String consulta) {
+        String[] palavras = palavras(consulta);
+        if (palavras.length == 0) {
+            return new int[0];
+        }
+        List<ListaIds> listas = new ArrayList<>();
+        for (String palavra : palavras) {
+            ListaIds ids = porPalavra.get(palavra);
+            if (ids == null) {
+                return new int[0];
+            }
+            listas.add(ids);
+        }
+        return ListaIds.intersecao(listas);
+    }
+
+    /**
+     * Busca as mídias cujo título contém todas as palavras da consulta, considerando a
+     * última palavra como o início de uma palavra do título. Adequada para buscas
+     * feitas enquanto o usuário digita.
+     *
+     * @param consulta palavras buscadas, a última possivelmente incompleta
+     * @return identificadores encontrados, em ordem crescente
+     */
+    public int[] buscarPrefixo(String consulta) {
+        String[] palavras = palavras(consulta);
+        if (palavras.length == 0) {
+            return new int[0];
+        }
+        String prefixo = palavras[palavras.length - 1];
+
+        List<ListaIds> listas = new ArrayList<>();
+        for (int i = 0; i < palavras.length - 1; i++) {
+            ListaIds ids = porPalavra.get(palavras[i]);
+            if (ids == null) {
+                return new int[0];
+            }
+            listas.add(ids);
+        }
+        int limite = listas.isEmpty() ? Integer.MAX_VALUE : LIMITE_PREFIXO * listas.stream().mapToInt(ListaIds::tamanho).min().getAsInt();
+
+        // Se as palavras com o prefixo somarem poucas ocorrências em relação às palavras
+        // completas, a união delas entra na interseção; caso contrário, as mídias que
+        // contêm as palavras completas são conferidas uma a uma
+        List<ListaIds> comPrefixo = new ArrayList<>();
+        long ocorrencias = 0;
+        for (ListaIds ids : comPrefixo(prefixo).values()) {
+            ocorrencias += ids.tamanho();
+            if (ocorrencias > limite) {
+                comPrefixo = null;
+                break;
+            }
+            comPrefixo.add(ids);
+        }
+
+        if (comPrefixo != null) {
+            if (comPrefixo.isEmpty()) {
+                return new int[0];
+            }
+            listas.add(ListaIds.uniao(comPrefixo));
+            return ListaIds.intersecao(listas);
+        }
+
+        int[] candidatos = ListaIds.intersecao(listas);
+        int quantidade = 0;
+        for (int id : candidatos) {
+            for (String palavra : indexadas.get(id).palavras()) {
+                if (palavra.startsWith(prefixo)) {
+                    candidatos[quantidade++] = id;
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(candidatos, quantidade);
+    }
+
+    /**
+     * Retorna o número de palavras distintas no índice.
+     *
+     * @return tamanho do dicionário
+     */
+    public int getQuantidadePalavras() {
+        return porPalavra.size();
+    }
+
+    /**
+     * Divide um texto em palavras normalizadas, descartando as que ficam vazias
+     * após a normalização (pontuação isolada, por exemplo).
+     *
+     * @param texto texto a ser dividido
+     * @return palavras normalizadas, na ordem em que aparecem
+     */
+    public static String[] palavras(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return new String[0];
+        }
+        List<String> palavras = new ArrayList<>(4);
+        int inicio = -1;
+        for (int i = 0; i <= texto.length(); i++) {
+            if (i < texto.length() && !isSeparador(texto.charAt(i))) {
+                if (inicio < 0) {
+                    inicio = i;
+                }
+            } else if (inicio >= 0) {
+                String palavra = Servicos.normalizarTitulo(texto.substring(inicio, i));
+                if (!palavra.isEmpty()) {
+                    palavras.add(palavra);
+                }
+                inicio = -1;
+            }
+        }
+        return palavras.toArray(new String[0]);
+    }
+
+    private static boolean isSeparador(char c) {
+        return Character.isWhitespace(c) || c == '-' || c == '/';
+    }
+
+    private SortedMap<String, ListaIds> comPrefixo(String prefixo) {
+        return porPalavra.subMap(prefixo, prefixo + Character.MAX_VALUE);
+    }
+
+    private static void removerOcorrencia(Map<String, ListaIds> mapa, String chave, int id) {
+        ListaIds ids = mapa.get(chave);
+        if (ids != null && ids.remover(id) && ids.isVazia()) {
+            mapa.remove(chave);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package Indice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lista ordenada e sem repetições de identificadores de mídias, usada como
+ * lista de ocorrências dos índices.
+ *
+ * <p>Como os identificadores são atribuídos em ordem crescente, a inclusão de uma
+ * mídia recém-cadastrada é apenas um acréscimo ao final do vetor.</p>
+ */
+final class ListaIds {
+
+    /** Diferença de tamanho a partir da qual a interseção usa busca binária */
+    private static final int PROPORCAO_BUSCA_BINARIA = 16;
+
+    /** Tamanho até o qual a união é feita por ordenação, e não por mapa de bits */
+    private static final int LIMITE_UNIAO_ORDENADA = 4096;
+
+    private int[] ids = new int[2];
+    private int tamanho;
+
+    /**
+     * Inclui um identificador, mantendo a ordem.
+     *
+     * @param id identificador da mídia
+     */
+    void adicionar(int id) {
+        if (tamanho > 0 && ids[tamanho - 1] >= id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao >= 0) {
+                return;
+            }
+            inserir(-posicao - 1, id);
+            return;
+        }
+        inserir(tamanho, id);
+    }
+
+    /**
+     * Remove um identificador.
+     *
+     * @param id identificador da mídia
+     * @return {@code true} se o identificador estava na lista
+     */
+    boolean remover(int id) {
+        int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+        if (posicao < 0) {
+            return false;
+        }
+        System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+        tamanho--;
+        return true;
+    }
+
+    boolean contem(int id) {
+        return Arrays.binarySearch(ids, 0, tamanho, id) >= 0;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    boolean isVazia() {
+        return tamanho == 0;
+    }
+
+    int get(int indice) {
+        return ids[indice];
+    }
+
+    int[] paraArray() {
+        return Arrays.copyOf(ids, tamanho);
+    }
+
+    /**
+     * Calcula os identificadores presentes em todas as listas. As listas são
+     * combinadas da menor para a maior; cada combinação percorre as duas em paralelo
+     * quando têm tamanhos parecidos, ou procura os elementos da menor na maior por
+     * busca binária quando a diferença é grande.
+     *
+     * @param listas listas de ocorrências
+     * @return identificadores comuns, em ordem crescente
+     */
+    static int[] intersecao(List<ListaIds> listas) {
+        if (listas.isEmpty()) {
+            return new int[0];
+        }
+        List<ListaIds> ordenadas = new ArrayList<>(listas);
+        ordenadas.sort(Comparator.comparingInt(ListaIds::tamanho));
+
+        int[] resultado = ordenadas.getFirst().paraArray();
+        int quantidade = resultado.length;
+        for (int l = 1; l < ordenadas.size() && quantidade > 0; l++) {
+            ListaIds outra = ordenadas.get(l);
+            int mantidos = 0;
+            if ((long) quantidade * PROPORCAO_BUSCA_BINARIA < outra.tamanho) {
+                for (int i = 0; i < quantidade; i++) {
+                    if (outra.contem(resultado[i])) {
+                        resultado[mantidos++] = resultado[i];
+                    }
+                }
+            } else {
+                int j = 0;
+                for (int i = 0; i < quantidade && j < outra.tamanho; i++) {
+                    while (j < outra.tamanho && outra.ids[j] < resultado[i]) {
+                        j++;
+                    }
+                    if (j < outra.tamanho && outra.ids[j] == resultado[i]) {
+                        resultado[mantidos++] = resultado[i];
+                    }
+                }
+            }
+            quantidade = mantidos;
+        }
+        return Arrays.copyOf(resultado, quantidade);
+    }
+
+    /**
+     * Calcula os identificadores presentes em ao menos uma das listas.
+     *
+     * @param listas listas de ocorrências
+     * @return lista com a união, em ordem crescente
+     */
+    static ListaIds uniao(List<ListaIds> listas) {
+        if (listas.size() == 1) {
+            return listas.getFirst();
+        }
+        int total = 0;
+        for (ListaIds lista : listas) {
+            total += lista.tamanho;
+        }
+
+        ListaIds uniao = new ListaIds();
+        if (total <= LIMITE_UNIAO_ORDENADA) {
+            int[] ids = new int[total];
+            int posicao = 0;
+            for (ListaIds lista : listas) {
+                System.arraycopy(lista.ids, 0, ids, posicao, lista.tamanho);
+                posicao += lista.tamanho;
+            }
+            Arrays.sort(ids);
+            uniao.ids = ids;
+            for (int i = 0; i < total; i++) {
+                if (i == 0 || ids[i] != ids[i - 1]) {
+                    ids[uniao.tamanho++] = ids[i];
+                }
+            }
+        } else {
+            BitSet marcados = new BitSet();
+            for (ListaIds lista : listas) {
+                for (int i = 0; i < lista.tamanho; i++) {
+                    marcados.set(lista.ids[i]);
+                }
+            }
+            uniao.ids = marcados.stream().toArray();
+            uniao.tamanho = uniao.ids.length;
+        }
+        return uniao;
+    }
+
+    private void inserir(int posicao, int id) {
+        if (tamanho == ids.length) {
+            ids = Arrays.copyOf(ids, tamanho * 2);
+        }
+        System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+        ids[posicao] = id;
+        tamanho++;
+    }
+}
@@ -0,0 +1,464 @@
+package Indice;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto de identificadores de mídias representado como mapa de bits compactado.
+ *
+ * <p>Os identificadores são divididos em blocos de 65.536 valores, pelos 16 bits mais altos.
+ * Cada bloco guarda seus valores de uma de duas formas, escolhida pela quantidade:</p>
+ * <ul>
+ *     <li>até {@value #LIMITE_VETOR} valores: vetor ordenado dos 16 bits mais baixos
+ *     (2 bytes por valor), adequado a gêneros ou anos raros</li>
+ *     <li>acima disso: mapa de bits fixo de 8 KB, adequado a conjuntos densos</li>
+ * </ul>
+ * <p>Blocos sem nenhum valor não ocupam espaço. Interseção e união operam bloco a bloco,
+ * palavra a palavra nos mapas de bits, sem visitar identificadores ausentes dos dois lados.</p>
+ */
+public final class MapaBits {
+
+    /** Quantidade máxima de valores de um bloco guardado como vetor */
+    static final int LIMITE_VETOR = 4096;
+
+    private static final int PALAVRAS_BLOCO = 1024;
+
+    /** 16 bits mais altos de cada bloco, em ordem crescente */
+    private char[] chaves = new char[0];
+
+    /** Conteúdo dos blocos: {@code char[]} (vetor) ou {@code long[]} (mapa de bits) */
+    private Object[] blocos = new Object[0];
+
+    /** Quantidade de valores em cada bloco */
+    private int[] quantidades = new int[0];
+
+    private int tamanho;
+
+    /**
+     * Cria um conjunto vazio.
+     */
+    public MapaBits() {
+    }
+
+    /**
+     * Cria um conjunto com os identificadores informados, em qualquer ordem.
+     *
+     * @param ids identificadores
+     * @return novo conjunto
+     */
+    public static MapaBits de(int... ids) {
+        MapaBits mapa = new MapaBits();
+        for (int id : ids) {
+            mapa.adicionar(id);
+        }
+        return mapa;
+    }
+
+    /**
+     * Inclui um identificador.
+     *
+     * @param id identificador (não negativo)
+     * @return {@code true} se ele ainda não estava no conjunto
+     */
+    public boolean adicionar(int id) {
+        char chave = (char) (id >>> 16);
+        char valor = (char) id;
+        int posicao = Arrays.binarySearch(chaves, 0, tamanho, chave);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+            inserirBloco(posicao, chave, new char[]{valor}, 1);
+            return true;
+        }
+
+        if (blocos[posicao] instanceof long[] bits) {
+            long mascara = 1L << valor;
+            if ((bits[valor >>> 6] & mascara) != 0) {
+                return false;
+            }
+            bits[valor >>> 6] |= mascara;
+            quantidades[posicao]++;
+            return true;
+        }
+
+        char[] vetor = (char[]) blocos[posicao];
+        int quantidade = quantidades[posicao];
+        int indice = Arrays.binarySearch(vetor, 0, quantidade, valor);
+        if (indice >= 0) {
+            return false;
+        }
+        indice = -indice - 1;
+        if (quantidade == LIMITE_VETOR) {
+            long[] bits = paraBits(vetor, quantidade);
+            bits[valor >>> 6] |= 1L << valor;
+            blocos[posicao] = bits;
+        } else {
+            if (quantidade == vetor.length) {
+                vetor = Arrays.copyOf(vetor, Math.min(LIMITE_VETOR, quantidade * 2));
+                blocos[posicao] = vetor;
+            }
+            System.arraycopy(vetor, indice, vetor, indice + 1, quantidade - indice);
+            vetor[indice] = valor;
+        }
+        quantidades[posicao]++;
+        return true;
+    }
+
+    /**
+     * Remove um identificador.
+     *
+     * @param id identificador
+     * @return {@code true} se ele estava no conjunto
+     */
+    public boolean remover(int id) {
+        char chave = (char) (id >>> 16);
+        char valor = (char) id;
+        int posicao = Arrays.binarySearch(chaves, 0, tamanho, chave);
+        if (posicao < 0) {
+            return false;
+        }
+
+        if (blocos[posicao] instanceof long[] bits) {
+            long mascara = 1L << valor;
+            if ((bits[valor >>> 6] & mascara) == 0) {
+                return false;
+            }
+            bits[valor >>> 6] &= ~mascara;
+            if (--quantidades[posicao] == LIMITE_VETOR) {
+                blocos[posicao] = paraVetor(bits, LIMITE_VETOR);
+            }
+            return true;
+        }
+
+        char[] vetor = (char[]) blocos[posicao];
+        int quantidade = quantidades[posicao];
+        int indice = Arrays.binarySearch(vetor, 0, quantidade, valor);
+        if (indice < 0) {
+            return false;
+        }
+        System.arraycopy(vetor, indice + 1, vetor, indice, quantidade - indice - 1);
+        if (--quantidades[posicao] == 0) {
+            removerBloco(posicao);
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se um identificador pertence ao conjunto.
+     *
+     * @param id identificador
+     * @return {@code true} se pertence
+     */
+    public boolean contem(int id) {
+        int posicao = Arrays.binarySearch(chaves, 0, tamanho, (char) (id >>> 16));
+        if (posicao < 0) {
+            return false;
+        }
+        char valor = (char) id;
+        if (blocos[posicao] instanceof long[] bits) {
+            return (bits[valor >>> 6] & (1L << valor)) != 0;
+        }
+        return Arrays.binarySearch((char[]) blocos[posicao], 0, quantidades[posicao], valor) >= 0;
+    }
+
+    /**
+     * Retorna a quantidade de identificadores no conjunto.
+     *
+     * @return cardinalidade
+     */
+    public int quantidade() {
+        int total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += quantidades[i];
+        }
+        return total;
+    }
+
+    public boolean isVazio() {
+        return tamanho == 0;
+    }
+
+    /**
+     * Retorna uma cópia independente do conjunto.
+     *
+     * @return cópia
+     */
+    public MapaBits copia() {
+        MapaBits copia = new MapaBits();
+        copia.chaves = Arrays.copyOf(chaves, tamanho);
+        copia.quantidades = Arrays.copyOf(quantidades, tamanho);
+        copia.blocos = new Object[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            copia.blocos[i] = blocos[i] instanceof long[] bits ? bits.clone() : ((char[]) blocos[i]).clone();
+        }
+        copia.tamanho = tamanho;
+        return copia;
+    }
+
+    /**
+     * Calcula a interseção com outro conjunto, sem alterar nenhum dos dois.
+     *
+     * @param outro outro conjunto
+     * @return identificadores presentes nos dois
+     */
+    public MapaBits e(MapaBits outro) {
+        MapaBits resultado = new MapaBits();
+        int i = 0;
+        int j = 0;
+        while (i < tamanho && j < outro.tamanho) {
+            if (chaves[i] < outro.chaves[j]) {
+                i++;
+            } else if (chaves[i] > outro.chaves[j]) {
+                j++;
+            } else {
+                resultado.acrescentarBloco(chaves[i], interseccao(blocos[i], quantidades[i], outro.blocos[j], outro.quantidades[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula a união com outro conjunto, sem alterar nenhum dos dois.
+     *
+     * @param outro outro conjunto
+     * @return identificadores presentes em ao menos um dos dois
+     */
+    public MapaBits ou(MapaBits outro) {
+        MapaBits resultado = new MapaBits();
+        int i = 0;
+        int j = 0;
+        while (i < tamanho || j < outro.tamanho) {
+            if (j == outro.tamanho || i < tamanho && chaves[i] < outro.chaves[j]) {
+                resultado.acrescentarBloco(chaves[i], copiaBloco(blocos[i], quantidades[i]));
+                i++;
+            } else if (i == tamanho || chaves[i] > outro.chaves[j]) {
+                resultado.acrescentarBloco(outro.chaves[j], copiaBloco(outro.blocos[j], outro.quantidades[j]));
+                j++;
+            } else {
+                resultado.acrescentarBloco(chaves[i], uniao(blocos[i], quantidades[i], outro.blocos[j], outro.quantidades[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula a união de vários conjuntos.
+     *
+     * @param conjuntos conjuntos a unir
+     * @return identificadores presentes em ao menos um deles
+     */
+    public static MapaBits uniao(Iterable<MapaBits> conjuntos) {
+        MapaBits resultado = new MapaBits();
+        for (MapaBits conjunto : conjuntos) {
+            resultado.acumular(conjunto);
+        }
+        return resultado;
+    }
+
+    /**
+     * Percorre os identificadores em ordem crescente.
+     *
+     * @param acao ação executada para cada identificador
+     */
+    public void paraCada(IntConsumer acao) {
+        for (int i = 0; i < tamanho; i++) {
+            int base = chaves[i] << 16;
+            if (blocos[i] instanceof long[] bits) {
+                for (int p = 0; p < PALAVRAS_BLOCO; p++) {
+                    long palavra = bits[p];
+                    while (palavra != 0) {
+                        acao.accept(base | (p << 6) | Long.numberOfTrailingZeros(palavra));
+                        palavra &= palavra - 1;
+                    }
+                }
+            } else {
+                char[] vetor = (char[]) blocos[i];
+                for (int v = 0; v < quantidades[i]; v++) {
+                    acao.accept(base | vetor[v]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retorna os identificadores em ordem crescente.
+     *
+     * @return vetor com os identificadores
+     */
+    public int[] paraArray() {
+        int[] ids = new int[quantidade()];
+        int[] posicao = {0};
+        paraCada(id -> ids[posicao[0]++] = id);
+        return ids;
+    }
+
+    /**
+     * Resultado da combinação de dois blocos, com a quantidade de valores.
+     */
+    private record Bloco(Object conteudo, int quantidade) {
+    }
+
+    private static Bloco interseccao(Object a, int quantidadeA, Object b, int quantidadeB) {
+        if (a instanceof long[] bitsA && b instanceof long[] bitsB) {
+            long[] bits = new long[PALAVRAS_BLOCO];
+            int quantidade = 0;
+            for (int p = 0; p < PALAVRAS_BLOCO; p++) {
+                bits[p] = bitsA[p] & bitsB[p];
+                quantidade += Long.bitCount(bits[p]);
+            }
+            return quantidade <= LIMITE_VETOR ? new Bloco(paraVetor(bits, quantidade), quantidade) : new Bloco(bits, quantidade);
+        }
+        if (a instanceof long[] bits) {
+            return filtrar((char[]) b, quantidadeB, bits);
+        }
+        if (b instanceof long[] bits) {
+            return filtrar((char[]) a, quantidadeA, bits);
+        }
+
+        char[] vetorA = (char[]) a;
+        char[] vetorB = (char[]) b;
+        char[] vetor = new char[Math.min(quantidadeA, quantidadeB)];
+        int quantidade = 0;
+        int i = 0;
+        int j = 0;
+        while (i < quantidadeA && j < quantidadeB) {
+            if (vetorA[i] < vetorB[j]) {
+                i++;
+            } else if (vetorA[i] > vetorB[j]) {
+                j++;
+            } else {
+                vetor[quantidade++] = vetorA[i];
+                i++;
+                j++;
+            }
+        }
+        return new Bloco(vetor, quantidade);
+    }
+
+    private static Bloco uniao(Object a, int quantidadeA, Object b, int quantidadeB) {
+        if (a instanceof char[] vetorA && b instanceof char[] vetorB && quantidadeA + quantidadeB <= LIMITE_VETOR) {
+            char[] vetor = new char[quantidadeA + quantidadeB];
+            int quantidade = 0;
+            int i = 0;
+            int j = 0;
+            while (i < quantidadeA || j < quantidadeB) {
+                if (j == quantidadeB || i < quantidadeA && vetorA[i] < vetorB[j]) {
+                    vetor[quantidade++] = vetorA[i++];
+                } else if (i == quantidadeA || vetorA[i] > vetorB[j]) {
+                    vetor[quantidade++] = vetorB[j++];
+                } else {
+                    vetor[quantidade++] = vetorA[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new Bloco(vetor, quantidade);
+        }
+
+        long[] bits = a instanceof long[] bitsA ? bitsA.clone() : paraBits((char[]) a, quantidadeA);
+        if (b instanceof long[] bitsB) {
+            for (int p = 0; p < PALAVRAS_BLOCO; p++) {
+                bits[p] |= bitsB[p];
+            }
+        } else {
+            char[] vetorB = (char[]) b;
+            for (int v = 0; v < quantidadeB; v++) {
+                bits[vetorB[v] >>> 6] |= 1L << vetorB[v];
+            }
+        }
+        int quantidade = 0;
+        for (long palavra : bits) {
+            quantidade += Long.bitCount(palavra);
+        }
+        return quantidade <= LIMITE_VETOR ? new Bloco(paraVetor(bits, quantidade), quantidade) : new Bloco(bits, quantidade);
+    }
+
+    private static Bloco filtrar(char[] vetor, int quantidade, long[] bits) {
+        char[] filtrado = new char[quantidade];
+        int mantidos = 0;
+        for (int v = 0; v < quantidade; v++) {
+            if ((bits[vetor[v] >>> 6] & (1L << vetor[v])) != 0) {
+                filtrado[mantidos++] = vetor[v];
+            }
+        }
+        return new Bloco(filtrado, mantidos);
+    }
+
+    private static Bloco copiaBloco(Object bloco, int quantidade) {
+        return new Bloco(bloco instanceof long[] bits ? bits.clone() : Arrays.copyOf((char[]) bloco, quantidade), quantidade);
+    }
+
+    private static long[] paraBits(char[] vetor, int quantidade) {
+        long[] bits = new long[PALAVRAS_BLOCO];
+        for (int v = 0; v < quantidade; v++) {
+            bits[vetor[v] >>> 6] |= 1L << vetor[v];
+        }
+        return bits;
+    }
+
+    private static char[] paraVetor(long[] bits, int quantidade) {
+        char[] vetor = new char[quantidade];
+        int posicao = 0;
+        for (int p = 0; p < PALAVRAS_BLOCO; p++) {
+            long palavra = bits[p];
+            while (palavra != 0) {
+                vetor[posicao++] = (char) ((p << 6) | Long.numberOfTrailingZeros(palavra));
+                palavra &= palavra - 1;
+            }
+        }
+        return vetor;
+    }
+
+    /**
+     * Une outro conjunto a este, bloco a bloco, sem criar um novo conjunto.
+     */
+    private void acumular(MapaBits outro) {
+        for (int j = 0; j < outro.tamanho; j++) {
+            int posicao = Arrays.binarySearch(chaves, 0, tamanho, outro.chaves[j]);
+            if (posicao < 0) {
+                Bloco copia = copiaBloco(outro.blocos[j], outro.quantidades[j]);
+                inserirBloco(-posicao - 1, outro.chaves[j], copia.conteudo(), copia.quantidade());
+            } else {
+                Bloco unido = uniao(blocos[posicao], quantidades[posicao], outro.blocos[j], outro.quantidades[j]);
+                blocos[posicao] = unido.conteudo();
+                quantidades[posicao] = unido.quantidade();
+            }
+        }
+    }
+
+    /**
+     * Acrescenta ao final um bloco com chave maior que todas as existentes, ignorando blocos vazios.
+     */
+    private void acrescentarBloco(char chave, Bloco bloco) {
+        if (bloco.quantidade() > 0) {
+            inserirBloco(tamanho, chave, bloco.conteudo(), bloco.quantidade());
+        }
+    }
+
+    private void inserirBloco(int posicao, char chave, Object conteudo, int quantidade) {
+        if (tamanho == chaves.length) {
+            int capacidade = Math.max(4, tamanho * 2);
+            chaves = Arrays.copyOf(chaves, capacidade);
+            blocos = Arrays.copyOf(blocos, capacidade);
+            quantidades = Arrays.copyOf(quantidades, capacidade);
+        }
+        System.arraycopy(chaves, posicao, chaves, posicao + 1, tamanho - posicao);
+        System.arraycopy(blocos, posicao, blocos, posicao + 1, tamanho - posicao);
+        System.arraycopy(quantidades, posicao, quantidades, posicao + 1, tamanho - posicao);
+        chaves[posicao] = chave;
+        blocos[posicao] = conteudo;
+        quantidades[posicao] = quantidade;
+        tamanho++;
+    }
+
+    private void removerBloco(int posicao) {
+        System.arraycopy(chaves, posicao + 1, chaves, posicao, tamanho - posicao - 1);
+        System.arraycopy(blocos, posicao + 1, blocos, posicao, tamanho - posicao - 1);
+        System.arraycopy(quantidades, posicao + 1, quantidades, posicao, tamanho - posicao - 1);
+        tamanho--;
+        blocos[tamanho] = null;
+    }
+}
@@ -0,0 +1,584 @@
+package Indice;
+
+import Model.Audiovisual;
+import Model.Filme;
+import Model.Livro;
+import Model.Midia;
+import Service.Servicos;
+
+import java.util.*;
+
+/**
+ * Árvore de prefixos compactada com os títulos e os nomes de pessoas (autores, diretores,
+ * roteiristas e elenco) das mídias, usada para sugerir complementos enquanto o usuário digita.
+ *
+ * <p>Cada título ou nome é inserido uma vez para cada palavra, a partir dela até o fim do
+ * texto, já normalizado: "O Senhor dos Anéis" gera as chaves "osenhordosaneis",
+ * "senhordosaneis", "dosaneis" e "aneis". Assim, um prefixo digitado encontra o texto
+ * tanto pelo início quanto pelo início de qualquer palavra. Os nós guardam apenas o
+ * trecho que os diferencia do pai, e cada nó conhece o maior peso (quantidade de mídias)
+ * entre os textos abaixo dele, o que permite obter as N melhores sugestões visitando
+ * apenas os ramos mais pesados.</p>
+ */
+public class TrieSugestoes implements IndiceMidias {
+
+    /**
+     * Origem de uma sugestão.
+     */
+    public enum Tipo { TITULO, PESSOA }
+
+    /**
+     * Sugestão de complemento para o texto digitado.
+     *
+     * @param texto título ou nome, como foi cadastrado
+     * @param tipo origem do texto
+     * @param quantidade número de mídias com esse título ou com participação dessa pessoa
+     */
+    public record Sugestao(String texto, Tipo tipo, int quantidade) {
+    }
+
+    /**
+     * Título ou nome indexado, com as mídias em que aparece.
+     */
+    static final class Entrada {
+        final String texto;
+        final Tipo tipo;
+        final String[] chaves;
+        final long sequencia;
+        final ListaIds ids = new ListaIds();
+
+        Entrada(String texto, Tipo tipo, String[] chaves, long sequencia) {
+            this.texto = texto;
+            this.tipo = tipo;
+            this.chaves = chaves;
+            this.sequencia = sequencia;
+        }
+
+        int peso() {
+            return ids.tamanho();
+        }
+
+        boolean possuiPrefixo(String prefixo) {
+            for (String chave : chaves) {
+                if (chave.startsWith(prefixo)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Sugestao paraSugestao() {
+            return new Sugestao(texto, tipo, peso());
+        }
+    }
+
+    private static final Entrada[] SEM_ENTRADAS = new Entrada[0];
+    private static final char[] SEM_LETRAS = new char[0];
+    private static final No[] SEM_FILHOS = new No[0];
+
+    /**
+     * Ordem das entradas de um nó: mais mídias primeiro e, no empate, as incluídas antes.
+     * Uma entrada nova (com uma só mídia) vai sempre para o fim do nó, sem deslocar as demais.
+     */
+    private static final Comparator<Entrada> ORDEM_ENTRADAS = Comparator
+            .comparingInt(Entrada::peso).reversed()
+            .thenComparingLong(entrada -> entrada.sequencia);
+
+    /** Título ou nome de uma mídia, antes de ser associado a uma entrada */
+    private record Texto(Tipo tipo, String texto) {
+    }
+
+    private static final class No {
+        String rotulo;
+        char[] letras = SEM_LETRAS;
+        No[] filhos = SEM_FILHOS;
+
+        /** Entradas cujas chaves terminam neste nó, em {@link #ORDEM_ENTRADAS} */
+        Entrada[] entradas = SEM_ENTRADAS;
+        int quantidadeEntradas;
+        int pesoMaximo;
+
+        No(String rotulo) {
+            this.rotulo = rotulo;
+        }
+
+        No filho(char letra) {
+            int posicao = Arrays.binarySearch(letras, letra);
+            return posicao >= 0 ? filhos[posicao] : null;
+        }
+
+        void definirFilho(No filho) {
+            char letra = filho.rotulo.charAt(0);
+            int posicao = Arrays.binarySearch(letras, letra);
+            if (posicao >= 0) {
+                filhos[posicao] = filho;
+                return;
+            }
+            posicao = -posicao - 1;
+            letras = inserir(letras, posicao, letra);
+            No[] novos = new No[filhos.length + 1];
+            System.arraycopy(filhos, 0, novos, 0, posicao);
+            System.arraycopy(filhos, posicao, novos, posicao + 1, filhos.length - posicao);
+            novos[posicao] = filho;
+            filhos = novos;
+        }
+
+        void removerFilho(char letra) {
+            int posicao = Arrays.binarySearch(letras, letra);
+            if (posicao < 0) {
+                return;
+            }
+            char[] novasLetras = new char[letras.length - 1];
+            No[] novos = new No[filhos.length - 1];
+            System.arraycopy(letras, 0, novasLetras, 0, posicao);
+            System.arraycopy(letras, posicao + 1, novasLetras, posicao, letras.length - posicao - 1);
+            System.arraycopy(filhos, 0, novos, 0, posicao);
+            System.arraycopy(filhos, posicao + 1, novos, posicao, filhos.length - posicao - 1);
+            letras = novasLetras;
+            filhos = novos;
+        }
+
+        void adicionarEntrada(Entrada entrada) {
+            int posicao = Arrays.binarySearch(entradas, 0, quantidadeEntradas, entrada, ORDEM_ENTRADAS);
+            if (posicao >= 0) {
+                return;
+            }
+            posicao = -posicao - 1;
+            if (quantidadeEntradas == entradas.length) {
+                entradas = Arrays.copyOf(entradas, Math.max(1, quantidadeEntradas * 2));
+            }
+            System.arraycopy(entradas, posicao, entradas, posicao + 1, quantidadeEntradas - posicao);
+            entradas[posicao] = entrada;
+            quantidadeEntradas++;
+        }
+
+        void removerEntrada(Entrada entrada) {
+            int posicao = Arrays.binarySearch(entradas, 0, quantidadeEntradas, entrada, ORDEM_ENTRADAS);
+            if (posicao < 0) {
+                return;
+            }
+            System.arraycopy(entradas, posicao + 1, entradas, posicao, quantidadeEntradas - posicao - 1);
+            entradas[--quantidadeEntradas] = null;
+            if (quantidadeEntradas == 0) {
+                entradas = SEM_ENTRADAS;
+            }
+        }
+
+        boolean isVazio() {
+            return filhos.length == 0 && quantidadeEntradas == 0;
+        }
+
+        void recalcularPeso() {
+            int maior = quantidadeEntradas == 0 ? 0 : entradas[0].peso();
+            for (No filho : filhos) {
+                maior = Math.max(maior, filho.pesoMaximo);
+            }
+            pesoMaximo = maior;
+        }
+
+        private static char[] inserir(char[] letras, int posicao, char letra) {
+            char[] novas = new char[letras.length + 1];
+            System.arraycopy(letras, 0, novas, 0, posicao);
+            System.arraycopy(letras, posicao, novas, posicao + 1, letras.length - posicao);
+            novas[posicao] = letra;
+            return novas;
+        }
+    }
+
+    /**
+     * Item da fila de prioridade usada para montar as sugestões: um nó ainda não visitado
+     * ({@code posicao} negativa) ou a entrada na {@code posicao} indicada do nó.
+     *
+     * @param ordem ordem de inclusão na fila, para desempate
+     */
+    private record Item(int peso, No no, int posicao, long ordem) {
+
+        boolean isEntrada() {
+            return posicao >= 0;
+        }
+    }
+
+    /**
+     * Ordem da fila: maior peso primeiro. Em caso de empate, entradas já alcançadas saem
+     * antes dos nós, na ordem do próprio nó, e os nós são visitados em profundidade, para
+     * que a busca chegue logo a entradas em vez de abrir todos os ramos de mesmo peso.
+     */
+    private static final Comparator<Item> MAIS_PESADOS = Comparator
+            .comparingInt(Item::peso).reversed()
+            .thenComparing(item -> !item.isEntrada())
+            .thenComparing(Comparator.comparingLong(Item::ordem).reversed());
+
+    private final No raiz = new No("");
+
+    /** Entradas por tipo e texto normalizado */
+    private final Map<String, Entrada> entradas = new HashMap<>();
+
+    /** Entradas em que cada mídia aparece */
+    private final Map<Integer, List<Entrada>> porMidia = new HashMap<>();
+
+    /** Incrementada a cada alteração, para que consultas anteriores saibam se ainda valem */
+    private int versao;
+
+    /** Ordem de inclusão das entradas, usada no desempate entre sugestões */
+    private long sequencia;
+
+    @Override
+    public void indexar(Midia midia) {
+        Map<String, Texto> textos = textos(midia);
+        List<Entrada> anteriores = porMidia.get(midia.getId());
+        if (anteriores != null && anteriores.size() == textos.size()
+                && anteriores.stream().allMatch(e -> textos.containsKey(identificador(e.tipo, Servicos.normalizarTitulo(e.texto))))) {
+            return;
+        }
+        remover(midia.getId());
+
+        List<Entrada> daMidia = new ArrayList<>(textos.size());
+        for (Map.Entry<String, Texto> texto : textos.entrySet()) {
+            Entrada entrada = entradas.get(texto.getKey());
+            if (entrada == null) {
+                String original = texto.getValue().texto();
+                entrada = new Entrada(original, texto.getValue().tipo(), sufixos(original), sequencia++);
+                entrada.ids.adicionar(midia.getId());
+                entradas.put(texto.getKey(), entrada);
+                for (String chave : entrada.chaves) {
+                    inserir(raiz, chave, 0, entrada);
+                }
+            } else {
+                Entrada existente = entrada;
+                alterarPeso(entrada, () -> existente.ids.adicionar(midia.getId()));
+            }
+            daMidia.add(entrada);
+        }
+        if (!daMidia.isEmpty()) {
+            porMidia.put(midia.getId(), daMidia);
+        }
+        versao++;
+    }
+
+    @Override
+    public void remover(int id) {
+        List<Entrada> daMidia = porMidia.remove(id);
+        if (daMidia == null) {
+            return;
+        }
+        for (Entrada entrada : daMidia) {
+            if (entrada.peso() == 1) {
+                for (String chave : entrada.chaves) {
+                    remover(raiz, chave, 0, entrada);
+                }
+                entrada.ids.remover(id);
+                entradas.remove(identificador(entrada.tipo, Servicos.normalizarTitulo(entrada.texto)));
+            } else {
+                alterarPeso(entrada, () -> entrada.ids.remover(id));
+            }
+        }
+        versao++;
+    }
+
+    @Override
+    public void limpar() {
+        raiz.letras = SEM_LETRAS;
+        raiz.filhos = SEM_FILHOS;
+        raiz.entradas = SEM_ENTRADAS;
+        raiz.quantidadeEntradas = 0;
+        raiz.pesoMaximo = 0;
+        entradas.clear();
+        porMidia.clear();
+        versao++;
+    }
+
+    /**
+     * Retorna as sugestões mais relevantes para um prefixo, da que aparece em mais mídias
+     * para a que aparece em menos. No empate, as palavras que vêm antes em ordem alfabética
+     * são sugeridas primeiro.
+     *
+     * @param prefixo texto digitado
+     * @param limite número máximo de sugestões
+     * @return sugestões encontradas
+     */
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        return sugerirEntradas(Servicos.normalizarTitulo(prefixo == null ? "" : prefixo), limite).stream()
+                .map(Entrada::paraSugestao)
+                .toList();
+    }
+
+    /**
+     * Retorna as entradas mais relevantes para um prefixo já normalizado.
+     */
+    List<Entrada> sugerirEntradas(String prefixo, int limite) {
+        List<Entrada> resultado = new ArrayList<>();
+        No inicio = prefixo.isEmpty() ? null : localizar(prefixo);
+        if (inicio == null || limite <= 0) {
+            return resultado;
+        }
+
+        Set<Entrada> vistas = Collections.newSetFromMap(new IdentityHashMap<>());
+        PriorityQueue<Item> fila = new PriorityQueue<>(MAIS_PESADOS);
+        long ordem = 0;
+        fila.add(new Item(inicio.pesoMaximo, inicio, -1, ordem++));
+        while (!fila.isEmpty() && resultado.size() < limite) {
+            Item item = fila.poll();
+            No no = item.no();
+            if (item.isEntrada()) {
+                Entrada entrada = no.entradas[item.posicao()];
+                if (vistas.add(entrada)) {
+                    resultado.add(entrada);
+                }
+                int proxima = item.posicao() + 1;
+                if (proxima < no.quantidadeEntradas) {
+                    fila.add(new Item(no.entradas[proxima].peso(), no, proxima, item.ordem()));
+                }
+                continue;
+            }
+            if (no.quantidadeEntradas > 0) {
+                fila.add(new Item(no.entradas[0].peso(), no, 0, ordem++));
+            }
+            for (int i = no.filhos.length - 1; i >= 0; i--) {
+                fila.add(new Item(no.filhos[i].pesoMaximo, no.filhos[i], -1, ordem++));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Retorna as mídias com algum título ou nome que começa com o prefixo, considerando
+     * também o início de cada palavra.
+     *
+     * @param prefixo texto digitado
+     * @return identificadores encontrados, em ordem crescente
+     */
+    public int[] buscarIds(String prefixo) {
+        return buscarIdsNormalizado(Servicos.normalizarTitulo(prefixo == null ? "" : prefixo));
+    }
+
+    int[] buscarIdsNormalizado(String prefixo) {
+        No inicio = prefixo.isEmpty() ? null : localizar(prefixo);
+        if (inicio == null) {
+            return new int[0];
+        }
+        BitSet ids = new BitSet();
+        Deque<No> pendentes = new ArrayDeque<>();
+        pendentes.push(inicio);
+        while (!pendentes.isEmpty()) {
+            No no = pendentes.pop();
+            for (int e = 0; e < no.quantidadeEntradas; e++) {
+                Entrada entrada = no.entradas[e];
+                for (int i = 0; i < entrada.ids.tamanho(); i++) {
+                    ids.set(entrada.ids.get(i));
+                }
+            }
+            for (No filho : no.filhos) {
+                pendentes.push(filho);
+            }
+        }
+        return ids.stream().toArray();
+    }
+
+    /**
+     * Filtra identificadores encontrados para um prefixo anterior, mantendo apenas as
+     * mídias que também correspondem ao prefixo atual, que deve ser uma extensão do anterior.
+     */
+    int[] filtrarIds(int[] anteriores, String prefixo) {
+        int[] resultado = new int[anteriores.length];
+        int quantidade = 0;
+        for (int id : anteriores) {
+            List<Entrada> daMidia = porMidia.get(id);
+            if (daMidia != null && daMidia.stream().anyMatch(entrada -> entrada.possuiPrefixo(prefixo))) {
+                resultado[quantidade++] = id;
+            }
+        }
+        return Arrays.copyOf(resultado, quantidade);
+    }
+
+    int getVersao() {
+        return versao;
+    }
+
+    /**
+     * Retorna o número de títulos e nomes distintos na árvore.
+     *
+     * @return quantidade de entradas
+     */
+    public int getQuantidadeEntradas() {
+        return entradas.size();
+    }
+
+    /**
+     * Confere, sem consultar a árvore, se alguma chave de um título ou nome de pessoa da
+     * mídia começa com o prefixo. Dá o mesmo resultado da busca na árvore, mas vale também
+     * para mídias que não estão indexadas.
+     *
+     * @param midia mídia conferida
+     * @param prefixo início buscado, já normalizado
+     * @return {@code true} se o título, algum nome de pessoa ou uma de suas palavras começa com o prefixo
+     */
+    public static boolean possuiPrefixo(Midia midia, String prefixo) {
+        for (Texto texto : textos(midia).values()) {
+            for (String chave : sufixos(texto.texto())) {
+                if (chave.startsWith(prefixo)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reúne os títulos e nomes de pessoas de uma mídia, indexados por tipo e texto normalizado.
+     */
+    private static Map<String, Texto> textos(Midia midia) {
+        Map<String, Texto> textos = new LinkedHashMap<>();
+        adicionarTexto(textos, Tipo.TITULO, midia.getTitulo());
+        if (midia instanceof Livro livro) {
+            adicionarTexto(textos, Tipo.PESSOA, livro.getAutor());
+        }
+        if (midia instanceof Filme filme) {
+            adicionarTexto(textos, Tipo.PESSOA, filme.getDirecao());
+            adicionarTexto(textos, Tipo.PESSOA, filme.getRoteiro());
+        }
+        if (midia instanceof Audiovisual audiovisual && audiovisual.getElenco() != null) {
+            for (List<String> nomes : audiovisual.getElenco().values()) {
+                if (nomes != null) {
+                    nomes.forEach(nome -> adicionarTexto(textos, Tipo.PESSOA, nome));
+                }
+            }
+        }
+        return textos;
+    }
+
+    private static void adicionarTexto(Map<String, Texto> textos, Tipo tipo, String texto) {
+        if (texto == null) {
+            return;
+        }
+        String normalizado = Servicos.normalizarTitulo(texto);
+        if (!normalizado.isEmpty()) {
+            textos.putIfAbsent(identificador(tipo, normalizado), new Texto(tipo, texto.strip()));
+        }
+    }
+
+    private static String identificador(Tipo tipo, String normalizado) {
+        return tipo.ordinal() + normalizado;
+    }
+
+    /**
+     * Gera as chaves de um texto: o texto normalizado a partir de cada palavra.
+     */
+    private static String[] sufixos(String texto) {
+        String[] palavras = IndiceTitulos.palavras(texto);
+        LinkedHashSet<String> sufixos = new LinkedHashSet<>();
+        StringBuilder sufixo = new StringBuilder();
+        for (int i = palavras.length - 1; i >= 0; i--) {
+            sufixo.insert(0, palavras[i]);
+            sufixos.add(sufixo.toString());
+        }
+        List<String> chaves = new ArrayList<>(sufixos);
+        Collections.reverse(chaves);
+        return chaves.toArray(new String[0]);
+    }
+
+    /**
+     * Localiza o nó mais alto cujas chaves começam com o prefixo.
+     */
+    private No localizar(String prefixo) {
+        No no = raiz;
+        int posicao = 0;
+        while (posicao < prefixo.length()) {
+            No filho = no.filho(prefixo.charAt(posicao));
+            if (filho == null) {
+                return null;
+            }
+            int comparados = Math.min(filho.rotulo.length(), prefixo.length() - posicao);
+            if (!filho.rotulo.regionMatches(0, prefixo, posicao, comparados)) {
+                return null;
+            }
+            posicao += comparados;
+            no = filho;
+        }
+        return no;
+    }
+
+    private void inserir(No no, String chave, int posicao, Entrada entrada) {
+        if (posicao == chave.length()) {
+            no.adicionarEntrada(entrada);
+            no.pesoMaximo = Math.max(no.pesoMaximo, entrada.peso());
+            return;
+        }
+
+        No filho = no.filho(chave.charAt(posicao));
+        if (filho == null) {
+            filho = new No(chave.substring(posicao));
+            no.definirFilho(filho);
+            inserir(filho, chave, chave.length(), entrada);
+        } else {
+            int comum = 0;
+            int limite = Math.min(filho.rotulo.length(), chave.length() - posicao);
+            while (comum < limite && filho.rotulo.charAt(comum) == chave.charAt(posicao + comum)) {
+                comum++;
+            }
+            if (comum < filho.rotulo.length()) {
+                No intermediario = new No(filho.rotulo.substring(0, comum));
+                filho.rotulo = filho.rotulo.substring(comum);
+                intermediario.definirFilho(filho);
+                intermediario.recalcularPeso();
+                no.definirFilho(intermediario);
+                filho = intermediario;
+            }
+            inserir(filho, chave, posicao + comum, entrada);
+        }
+        no.pesoMaximo = Math.max(no.pesoMaximo, entrada.peso());
+    }
+
+    private void remover(No no, String chave, int posicao, Entrada entrada) {
+        if (posicao == chave.length()) {
+            no.removerEntrada(entrada);
+            no.recalcularPeso();
+            return;
+        }
+
+        No filho = no.filho(chave.charAt(posicao));
+        if (filho == null || !chave.startsWith(filho.rotulo, posicao)) {
+            return;
+        }
+        remover(filho, chave, posicao + filho.rotulo.length(), entrada);
+
+        if (filho.isVazio()) {
+            no.removerFilho(filho.rotulo.charAt(0));
+        } else if (filho.quantidadeEntradas == 0 && filho.filhos.length == 1) {
+            No neto = filho.filhos[0];
+            neto.rotulo = filho.rotulo + neto.rotulo;
+            no.definirFilho(neto);
+        }
+        no.recalcularPeso();
+    }
+
+    /**
+     * Altera as mídias de uma entrada que continua na árvore. A entrada é retirada dos
+     * nós onde suas chaves terminam, já que a ordem deles depende do peso, e recolocada
+     * depois da alteração, atualizando o peso máximo dos nós em cada caminho.
+     */
+    private void alterarPeso(Entrada entrada, Runnable alteracao) {
+        List<No> terminais = new ArrayList<>(entrada.chaves.length);
+        for (String chave : entrada.chaves) {
+            No no = localizar(chave);
+            no.removerEntrada(entrada);
+            terminais.add(no);
+        }
+        alteracao.run();
+        for (No no : terminais) {
+            no.adicionarEntrada(entrada);
+        }
+        for (String chave : entrada.chaves) {
+            recalcularCaminho(raiz, chave, 0);
+        }
+    }
+
+    private void recalcularCaminho(No no, String chave, int posicao) {
+        if (posicao < chave.length()) {
+            No filho = no.filho(chave.charAt(posicao));
+            if (filho != null && chave.startsWith(filho.rotulo, posicao)) {
+                recalcularCaminho(filho, chave, posicao + filho.rotulo.length());
+            }
+        }
+        no.recalcularPeso();
+    }
+}
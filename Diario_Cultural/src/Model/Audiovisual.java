@@ -2,6 +2,9 @@ package Model;
 
 import Service.Servicos;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +16,9 @@ import java.util.Map;
  * @see Midia
  */
 public class Audiovisual extends Midia {
+    /** Versão de serialização, fixada para manter a leitura dos arquivos já existentes. */
+    private static final long serialVersionUID = 461119529017740485L;
+
     /**
      * Mapa que representa o elenco da mídia audiovisual, organizado por categorias.
      * Permite agrupar atores e atrizes em diferentes papéis, como "Protagonistas" ou "Coadjuvantes".
@@ -37,6 +43,9 @@ public class Audiovisual extends Midia {
      */
     private List<String> ondeAssistir;
 
+    /** Elenco normalizado para buscas, recalculado quando o elenco muda */
+    private transient volatile ChaveNormalizada<Map<String, List<String>>> chaveElenco;
+
     /**
      * Construtor para criar uma nova mídia audiovisual.
      *
@@ -64,6 +73,34 @@ public class Audiovisual extends Midia {
         return elenco;
     }
 
+    /**
+     * Retorna o elenco com categorias e nomes normalizados para buscas, calculado
+     * apenas quando o elenco muda. Categorias que coincidem após a normalização
+     * têm seus membros reunidos.
+     *
+     * @return mapa imutável de categorias normalizadas e nomes normalizados
+     */
+    public Map<String, List<String>> getElencoNormalizado() {
+        Map<String, List<String>> atual = elenco;
+        int impressao = atual == null ? 0 : atual.hashCode();
+        ChaveNormalizada<Map<String, List<String>>> chave = chaveElenco;
+        if (chave == null || !chave.valePara(atual, impressao)) {
+            Map<String, List<String>> normalizado = new LinkedHashMap<>();
+            if (atual != null) {
+                atual.forEach((categoria, nomes) -> {
+                    List<String> membros = normalizado.computeIfAbsent(ChaveNormalizada.normalizar(categoria), c -> new ArrayList<>());
+                    if (nomes != null) {
+                        nomes.forEach(nome -> membros.add(ChaveNormalizada.normalizar(nome)));
+                    }
+                });
+            }
+            normalizado.replaceAll((categoria, membros) -> List.copyOf(membros));
+            chave = new ChaveNormalizada<>(atual, impressao, Collections.unmodifiableMap(normalizado));
+            chaveElenco = chave;
+        }
+        return chave.valor();
+    }
+
     /**
      * Retorna o título original da mídia.
      *
@@ -138,7 +175,8 @@ public class Audiovisual extends Midia {
      * @see Service.Servicos#normalizarTitulo(String)
      */
     public void removerOndeAssistir(String ondeAssistir) {
-        this.ondeAssistir.removeIf(g -> Servicos.normalizarTitulo(g).equalsIgnoreCase(Servicos.normalizarTitulo(ondeAssistir)));
+        String plataforma = Servicos.normalizarTitulo(ondeAssistir);
+        this.ondeAssistir.removeIf(g -> Servicos.normalizarTitulo(g).equalsIgnoreCase(plataforma));
     }
 
 }
\ No newline at end of file
@@ -10,6 +10,9 @@ import java.time.format.DateTimeFormatter;
  * à avaliação e ao consumo da mídia.
  */
 public class Avaliacao implements Serializable {
+    /** Versão de serialização, fixada para manter a leitura dos arquivos já existentes. */
+    private static final long serialVersionUID = -8992762151001420416L;
+
     /**
      * Nota atribuída à mídia, representada por um valor decimal.
      * Inicializado com 0.0, indica a avaliação geral da mídia.
@@ -106,6 +109,15 @@ public class Avaliacao implements Serializable {
         return dataConsumo.format(formatter);
     }
 
+    /**
+     * Retorna a data de consumo sem formatação
+     *
+     * @return data em que a mídia foi consumida, ou null se não informada
+     */
+    public LocalDate getDataConsumoLocalDate() {
+        return dataConsumo;
+    }
+
     /**
      * Define uma nova nota para a avaliação.
      *
@@ -0,0 +1,41 @@
+package Model;
+
+import Service.Servicos;
+
+/**
+ * Forma normalizada de um campo de mídia, usada como chave nas buscas.
+ *
+ * <p>Guarda, junto com o valor normalizado, a referência ao valor de origem e uma
+ * impressão do seu conteúdo (o {@code hashCode} de listas e mapas, que para strings
+ * já está em cache). A chave continua válida enquanto o campo apontar para o mesmo
+ * objeto com a mesma impressão; qualquer alteração, por setter ou diretamente na
+ * lista, faz com que ela seja recalculada no próximo acesso.</p>
+ *
+ * @param origem valor do campo no momento da normalização
+ * @param impressao impressão do conteúdo da origem
+ * @param valor forma normalizada
+ * @param <V> tipo da forma normalizada
+ */
+record ChaveNormalizada<V>(Object origem, int impressao, V valor) {
+
+    /**
+     * Verifica se a chave ainda corresponde ao valor atual do campo.
+     *
+     * @param atual valor atual do campo
+     * @param impressaoAtual impressão atual do conteúdo
+     * @return {@code true} se a forma normalizada pode ser reaproveitada
+     */
+    boolean valePara(Object atual, int impressaoAtual) {
+        return origem == atual && impressao == impressaoAtual;
+    }
+
+    /**
+     * Normaliza um texto com {@link Servicos#normalizarTitulo(String)}, tratando null como vazio.
+     *
+     * @param texto texto a ser normalizado
+     * @return texto normalizado
+     */
+    static String normalizar(String texto) {
+        return texto == null ? "" : Servicos.normalizarTitulo(texto);
+    }
+}
@@ -12,6 +12,9 @@ import java.util.Map;
  * @see Filme
  */
 public class Filme extends Audiovisual {
+    /** Versão de serialização, fixada para manter a leitura dos arquivos já existentes. */
+    private static final long serialVersionUID = 8022266650147903832L;
+
     /**
      * Duração total da mídia em minutos.
      * Representa o tempo de reprodução total do conteúdo.
@@ -32,6 +35,9 @@ public class Filme extends Audiovisual {
      */
     private String roteiro;
 
+    /** Nome do diretor normalizado para buscas, recalculado quando a direção muda */
+    private transient volatile ChaveNormalizada<String> chaveDirecao;
+
     /**
      * Construtor para criar um novo filme.
      *
@@ -72,6 +78,21 @@ public class Filme extends Audiovisual {
         return direcao;
     }
 
+    /**
+     * Retorna o nome do diretor(a) normalizado para buscas.
+     *
+     * @return direção normalizada (vazia se não informada)
+     */
+    public String getDirecaoNormalizada() {
+        String atual = direcao;
+        ChaveNormalizada<String> chave = chaveDirecao;
+        if (chave == null || !chave.valePara(atual, 0)) {
+            chave = new ChaveNormalizada<>(atual, 0, ChaveNormalizada.normalizar(atual));
+            chaveDirecao = chave;
+        }
+        return chave.valor();
+    }
+
     /**
      * Retorna nome do roteirista do filme
      *
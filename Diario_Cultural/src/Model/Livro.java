@@ -11,6 +11,9 @@ import java.util.List;
  * @see Midia
  */
 public class Livro extends Midia {
+    /** Versão de serialização, fixada para manter a leitura dos arquivos já existentes. */
+    private static final long serialVersionUID = -8552765756923596635L;
+
     /**
      * Nome do autor do livro.
      * Armazena o nome completo ou identificação do criador da obra literária.
@@ -47,6 +50,10 @@ public class Livro extends Midia {
      */
     private boolean possuiExemplar;
 
+    /** Autor e ISBN normalizados para buscas, recalculados quando os campos mudam */
+    private transient volatile ChaveNormalizada<String> chaveAutor;
+    private transient volatile ChaveNormalizada<String> chaveIsbn;
+
     /**
      * Construtor para criar um novo livro.
      *
@@ -93,6 +100,36 @@ public class Livro extends Midia {
         return isbn;
     }
 
+    /**
+     * Retorna o nome do autor normalizado para buscas.
+     *
+     * @return autor normalizado (vazio se não informado)
+     */
+    public String getAutorNormalizado() {
+        String atual = autor;
+        ChaveNormalizada<String> chave = chaveAutor;
+        if (chave == null || !chave.valePara(atual, 0)) {
+            chave = new ChaveNormalizada<>(atual, 0, ChaveNormalizada.normalizar(atual));
+            chaveAutor = chave;
+        }
+        return chave.valor();
+    }
+
+    /**
+     * Retorna o ISBN normalizado para buscas.
+     *
+     * @return ISBN normalizado (vazio se não informado)
+     */
+    public String getIsbnNormalizado() {
+        String atual = isbn;
+        ChaveNormalizada<String> chave = chaveIsbn;
+        if (chave == null || !chave.valePara(atual, 0)) {
+            chave = new ChaveNormalizada<>(atual, 0, ChaveNormalizada.normalizar(atual));
+            chaveIsbn = chave;
+        }
+        return chave.valor();
+    }
+
     /**
      * Retorna true se possui exemplar físico disponível, false caso contrário
      *
@@ -2,9 +2,14 @@ package Model;
 
 import Service.Servicos;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Classe base que representa uma mídia genérica no sistema.
@@ -12,6 +17,41 @@ import java.util.List;
  * como título, gêneros, ano de lançamento e avaliações.
  */
 public class Midia implements Serializable {
+    /**
+     * Versão de serialização, fixada no valor calculado para a estrutura original
+     * da classe. Sem ela, qualquer novo atributo tornaria ilegíveis os arquivos já salvos.
+     */
+    private static final long serialVersionUID = -113897663110879637L;
+
+    /**
+     * Sequência global usada para gerar os identificadores das mídias.
+     * É compartilhada por livros, filmes, séries e temporadas, de modo que
+     * nenhum identificador se repete entre as coleções.
+     */
+    private static final AtomicInteger SEQUENCIA_IDS = new AtomicInteger();
+
+    /** Protege {@link #cargasEmAndamento} e avisa quando ela chega a zero */
+    private static final Object CARGAS = new Object();
+
+    /**
+     * Quantidade de cargas paralelas em andamento. Enquanto houver alguma, ainda podem
+     * ser lidos ids maiores que o valor atual da sequência, então novos ids não são atribuídos.
+     */
+    private static int cargasEmAndamento = 0;
+
+    /** Sequência das versões de avaliações, compartilhada por todas as mídias */
+    private static final AtomicLong SEQUENCIA_AVALIACOES = new AtomicLong();
+
+    /** Avisado de cada mídia cujas avaliações mudaram, para quem guarda cópias delas */
+    private static volatile Consumer<Midia> observadorAvaliacoes;
+
+    /**
+     * Identificador único da mídia, usado para localizar o registro
+     * no journal de alterações sem depender da posição na lista.
+     * Vale 0 apenas em mídias lidas de arquivos anteriores a este campo.
+     */
+    private int id;
+
     /**
      * Título da mídia.
      */
@@ -43,6 +83,21 @@ public class Midia implements Serializable {
      */
     private boolean jaConsumiu = false;
 
+    /** Título normalizado para buscas, recalculado quando o título muda */
+    private transient volatile ChaveNormalizada<String> chaveTitulo;
+
+    /** Gêneros normalizados para buscas, recalculados quando a lista de gêneros muda */
+    private transient volatile ChaveNormalizada<List<String>> chaveGeneros;
+
+    /** Nota mais recente, mantida a cada mudança nas avaliações para ser lida sem percorrer a lista */
+    private transient float notaAtual;
+
+    /** Quantas vezes a nota mais recente mudou, para quem guarda uma cópia dela saber se está desatualizada */
+    private transient int versaoNota;
+
+    /** Versão das avaliações, tirada de {@link #SEQUENCIA_AVALIACOES} a cada mudança nelas ou na nota */
+    private transient volatile long versaoAvaliacoes;
+
     /**
      * Construtor para criar uma nova mídia.
      *
@@ -54,6 +109,111 @@ public class Midia implements Serializable {
         this.titulo = titulo;
         this.generos = generos;
         this.anoLancamento = anoLancamento;
+        this.id = SEQUENCIA_IDS.incrementAndGet();
+    }
+
+    /**
+     * Retorna o identificador único da mídia
+     *
+     * @return identificador da mídia (0 se ainda não atribuído)
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Atribui um identificador à mídia caso ela ainda não possua um.
+     * Necessário para mídias carregadas de arquivos gravados antes da
+     * existência do campo {@link #id}.
+     *
+     * <p>Se houver cargas em andamento, aguarda que terminem antes de atribuir o id, para
+     * que ele não repita um id ainda não lido de outra coleção. Por isso não deve ser
+     * chamado na thread de uma carga enquanto {@link #isCargaEmAndamento()} for verdadeiro.</p>
+     *
+     * @return {@code true} se um novo identificador foi atribuído
+     */
+    public boolean garantirId() {
+        if (id != 0) {
+            return false;
+        }
+        aguardarCargas();
+        id = SEQUENCIA_IDS.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Registra o início de uma carga que pode restaurar ids gravados. Até a chamada
+     * correspondente de {@link #concluirCarga()}, {@link #garantirId()} aguarda.
+     */
+    public static void iniciarCarga() {
+        synchronized (CARGAS) {
+            cargasEmAndamento++;
+        }
+    }
+
+    /**
+     * Registra o fim de uma carga iniciada por {@link #iniciarCarga()}.
+     */
+    public static void concluirCarga() {
+        synchronized (CARGAS) {
+            cargasEmAndamento--;
+            CARGAS.notifyAll();
+        }
+    }
+
+    /**
+     * Verifica se há cargas em andamento, durante as quais mídias lidas sem id
+     * devem ficar sem id até o fim de todas elas.
+     *
+     * @return {@code true} se alguma carga ainda não terminou
+     */
+    public static boolean isCargaEmAndamento() {
+        synchronized (CARGAS) {
+            return cargasEmAndamento > 0;
+        }
+    }
+
+    private static void aguardarCargas() {
+        synchronized (CARGAS) {
+            while (cargasEmAndamento > 0) {
+                try {
+                    CARGAS.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Restaura o identificador gravado em arquivo e avança a sequência,
+     * evitando que mídias criadas depois do carregamento repitam o id.
+     *
+     * @param id identificador lido do arquivo
+     */
+    public void restaurarId(int id) {
+        this.id = id;
+        SEQUENCIA_IDS.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Avança a sequência de identificadores sem alterar nenhuma mídia.
+     * Usado quando o maior id gravado é conhecido antes de as mídias serem lidas.
+     *
+     * @param id maior identificador já utilizado
+     */
+    public static void reservarIds(int id) {
+        SEQUENCIA_IDS.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Retorna o último identificador atribuído ou reservado.
+     *
+     * @return maior identificador em uso
+     */
+    public static int ultimoId() {
+        return SEQUENCIA_IDS.get();
     }
 
     /**
@@ -74,6 +234,42 @@ public class Midia implements Serializable {
         return generos;
     }
 
+    /**
+     * Retorna o título normalizado (sem acentos, espaços ou caracteres especiais),
+     * calculado apenas quando o título muda.
+     *
+     * @return título normalizado
+     * @see Servicos#normalizarTitulo(String)
+     */
+    public String getTituloNormalizado() {
+        String atual = titulo;
+        ChaveNormalizada<String> chave = chaveTitulo;
+        if (chave == null || !chave.valePara(atual, 0)) {
+            chave = new ChaveNormalizada<>(atual, 0, ChaveNormalizada.normalizar(atual));
+            chaveTitulo = chave;
+        }
+        return chave.valor();
+    }
+
+    /**
+     * Retorna os gêneros normalizados, na mesma ordem da lista de gêneros,
+     * calculados apenas quando a lista muda.
+     *
+     * @return lista imutável de gêneros normalizados
+     * @see Servicos#normalizarTitulo(String)
+     */
+    public List<String> getGenerosNormalizados() {
+        List<String> atual = generos;
+        int impressao = atual == null ? 0 : atual.hashCode();
+        ChaveNormalizada<List<String>> chave = chaveGeneros;
+        if (chave == null || !chave.valePara(atual, impressao)) {
+            List<String> normalizados = atual == null ? List.of() : atual.stream().map(ChaveNormalizada::normalizar).toList();
+            chave = new ChaveNormalizada<>(atual, impressao, normalizados);
+            chaveGeneros = chave;
+        }
+        return chave.valor();
+    }
+
     /**
      * Retorna o ano de lançamento/publicação da mídia
      *
@@ -147,7 +343,10 @@ public class Midia implements Serializable {
      *
      * @param genero gênero a ser removido
      */
-    public void removerGenero(String genero) { this.generos.removeIf(g -> Servicos.normalizarTitulo(g).equalsIgnoreCase(Servicos.normalizarTitulo(genero))); }
+    public void removerGenero(String genero) {
+        String generoNormalizado = Servicos.normalizarTitulo(genero);
+        this.generos.removeIf(g -> Servicos.normalizarTitulo(g).equalsIgnoreCase(generoNormalizado));
+    }
 
     /**
      * Define um novo ano de lançamento para a mídia.
@@ -165,6 +364,104 @@ public class Midia implements Serializable {
      */
     public void setAvaliacao(Avaliacao avaliacao) {
         avaliacoes.add(avaliacao);
+        sincronizarNota();
+    }
+
+    /**
+     * Substitui uma avaliação existente da mídia.
+     *
+     * @param indice posição da avaliação na lista de avaliações
+     * @param avaliacao nova avaliação
+     */
+    public void substituirAvaliacao(int indice, Avaliacao avaliacao) {
+        getAvaliacoes().set(indice, avaliacao);
+        sincronizarNota();
+    }
+
+    /**
+     * Remove uma avaliação da mídia.
+     *
+     * @param indice posição da avaliação na lista de avaliações
+     */
+    public void removerAvaliacao(int indice) {
+        getAvaliacoes().remove(indice);
+        sincronizarNota();
+    }
+
+    /**
+     * Retorna a nota mais recente da mídia: a da última avaliação ou, se não houver
+     * avaliações, a nota própria do tipo de mídia (zero, ou a média das temporadas de uma série).
+     *
+     * @return nota mais recente, já calculada
+     */
+    public float getNotaAtual() {
+        return notaAtual;
+    }
+
+    /**
+     * Retorna a versão da nota mais recente, incrementada sempre que ela muda.
+     *
+     * @return versão da nota
+     */
+    public int getVersaoNota() {
+        return versaoNota;
+    }
+
+    /**
+     * Retorna a versão das avaliações, que avança a cada sincronização da nota (e, numa série,
+     * a cada mudança nas avaliações das temporadas), mesmo quando a nota mais recente não muda.
+     * Sempre que {@link #getVersaoNota()} muda, esta também muda.
+     *
+     * @return versão das avaliações
+     */
+    public long getVersaoAvaliacoes() {
+        return versaoAvaliacoes;
+    }
+
+    /**
+     * Define quem é avisado, na thread que fez a alteração, de cada mídia cuja versão das
+     * avaliações avançou. O aviso deve ser rápido: apenas anotar a mídia para depois.
+     *
+     * @param observador destino dos avisos, ou {@code null} para não avisar ninguém
+     */
+    public static void setObservadorAvaliacoes(Consumer<Midia> observador) {
+        observadorAvaliacoes = observador;
+    }
+
+    /**
+     * Avança a versão das avaliações sem recalcular a nota e avisa o observador.
+     */
+    void avancarVersaoAvaliacoes() {
+        versaoAvaliacoes = SEQUENCIA_AVALIACOES.incrementAndGet();
+        Consumer<Midia> observador = observadorAvaliacoes;
+        if (observador != null) {
+            observador.accept(this);
+        }
+    }
+
+    /**
+     * Atualiza a nota mais recente a partir da lista de avaliações. Inclusões, substituições
+     * e remoções pelos métodos da mídia já a atualizam; deve ser chamado quando a lista ou
+     * a nota de uma avaliação é alterada diretamente, inclusive por subclasses que
+     * sobrescrevem {@link #setAvaliacao(Avaliacao)}.
+     */
+    public void sincronizarNota() {
+        List<Avaliacao> atuais = getAvaliacoes();
+        float nota = atuais == null || atuais.isEmpty() ? notaSemAvaliacoes() : atuais.getLast().getNota();
+        if (Float.compare(nota, notaAtual) != 0) {
+            notaAtual = nota;
+            versaoNota++;
+        }
+        avancarVersaoAvaliacoes();
+    }
+
+    /**
+     * Nota da mídia quando ela não possui avaliações.
+     *
+     * @return zero
+     */
+    protected float notaSemAvaliacoes() {
+        return 0.0f;
     }
 
     /**
@@ -186,6 +483,20 @@ public class Midia implements Serializable {
         return null;
     };
 
+    /**
+     * Restaura a mídia a partir do arquivo e avança a sequência de identificadores,
+     * evitando que mídias criadas depois do carregamento repitam um id já salvo.
+     *
+     * @param in fluxo de leitura da serialização
+     * @throws IOException se ocorrer erro de leitura
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        SEQUENCIA_IDS.accumulateAndGet(id, Math::max);
+        sincronizarNota();
+    }
+
     /**
      * Retorna uma representação em string da mídia.
      * Inclui título, ano de lançamento, gêneros e status de consumo.
@@ -1,6 +1,9 @@
 package Model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +14,9 @@ import java.util.Map;
  * e sistema de notas por temporada.
  */
 public class Serie extends Audiovisual{
+    /** Versão de serialização, fixada para manter a leitura dos arquivos já existentes. */
+    private static final long serialVersionUID = -2948500265095255640L;
+
     /**
      * Ano em que a série foi encerrada/finalizada.
      * Representa o ano último ano de produção ou transmissão da série.
@@ -41,6 +47,16 @@ public class Serie extends Audiovisual{
      */
     private float nota = 0.0f;
 
+    /**
+     * Soma das notas das últimas avaliações de cada temporada e quantidade de temporadas
+     * avaliadas, mantidas a cada avaliação incluída, substituída ou removida para que a
+     * nota média esteja sempre atualizada sem percorrer as temporadas.
+     *
+     * @see Temporada#sincronizarNota()
+     */
+    private transient double somaNotas;
+    private transient int temporadasAvaliadas;
+
     /**
      * Construtor para criar uma nova série.
      *
@@ -71,12 +87,14 @@ public class Serie extends Audiovisual{
     }
 
     /**
-     * Retorna lista de todas as temporadas da série
+     * Retorna lista de todas as temporadas da série, apenas para leitura. Temporadas são
+     * incluídas e removidas por {@link #addTemporada(Temporada)} e {@link #removerTemporada(int)},
+     * que mantêm a nota média da série.
      *
      * @return lista de todas as temporadas da série
      */
     public List<Temporada> getTemporadas() {
-        return temporadas;
+        return Collections.unmodifiableList(temporadas);
     }
 
     /**
@@ -85,9 +103,35 @@ public class Serie extends Audiovisual{
      * @param temporada objeto Temporada a ser adicionado
      */
     public void addTemporada(Temporada temporada) {
+        temporada.setSerieOrigem(this);
         temporadas.add(temporada);
     }
 
+    /**
+     * Remove uma temporada da série, retirando antes a nota dela da média.
+     *
+     * @param indice posição da temporada na lista de temporadas
+     * @return temporada removida
+     */
+    public Temporada removerTemporada(int indice) {
+        temporadas.get(indice).setSerieOrigem(null);
+        return temporadas.remove(indice);
+    }
+
+    /**
+     * Garante o identificador da série e de cada uma de suas temporadas.
+     *
+     * @return {@code true} se a série ou alguma temporada recebeu um novo identificador
+     */
+    @Override
+    public boolean garantirId() {
+        boolean atribuiu = super.garantirId();
+        for (Temporada t : temporadas) {
+            atribuiu |= t.garantirId();
+        }
+        return atribuiu;
+    }
+
     /**
      * Retorna nota média geral da série
      *
@@ -98,35 +142,57 @@ public class Serie extends Audiovisual{
     }
 
     /**
-     * Calcula e atualiza a nota média da série baseada nas notas
+     * Recalcula do zero a nota média da série baseada nas notas
      * das últimas avaliações de cada temporada.
      * A nota é calculada como média aritmética das notas das temporadas
-     * que possuem avaliações.
+     * que possuem avaliações, ou 0 se nenhuma foi avaliada.
+     * A nota já é mantida a cada avaliação das temporadas; este método
+     * apenas refaz a soma, por exemplo após alterar diretamente a nota de uma avaliação.
      */
     public void setNota() {
-        float notaMedia = 0;
-
-        if (! temporadas.isEmpty()) {
-
-            float notaSoma = 0;
-            int contador = 0;
-
-            for (Temporada t : temporadas) {
-
-                if (! t.getAvaliacoes().isEmpty()) {
-
-                    notaSoma += t.getAvaliacoes().getLast().getNota();
-                    contador += 1;
-
-                }
-
-            }
+        for (Temporada t : temporadas) {
+            t.setSerieOrigem(null);
+        }
+        somaNotas = 0;
+        temporadasAvaliadas = 0;
+        nota = 0.0f;
+        sincronizarNota();
 
-            notaMedia = notaSoma / contador;
+        for (Temporada t : temporadas) {
+            t.setSerieOrigem(this);
+        }
+    }
 
+    /**
+     * Troca a nota de uma temporada na média da série.
+     *
+     * @param anterior nota já contada da temporada, ou null se ela não era contada
+     * @param atual nova nota da temporada, ou null se ela não possui mais avaliações
+     */
+    void contarNotaTemporada(Float anterior, Float atual) {
+        if (anterior != null) {
+            somaNotas -= anterior;
+            temporadasAvaliadas--;
+        }
+        if (atual != null) {
+            somaNotas += atual;
+            temporadasAvaliadas++;
         }
+        if (temporadasAvaliadas == 0) {
+            somaNotas = 0;
+        }
+        nota = temporadasAvaliadas == 0 ? 0.0f : (float) (somaNotas / temporadasAvaliadas);
+        sincronizarNota();
+    }
 
-        this.nota = notaMedia;
+    /**
+     * Sem avaliações próprias, a nota mais recente da série é a média das temporadas.
+     *
+     * @return nota média da série
+     */
+    @Override
+    protected float notaSemAvaliacoes() {
+        return nota;
     }
 
     /**
@@ -137,6 +203,19 @@ public class Serie extends Audiovisual{
         temporadas.sort(Comparator.comparingInt(Temporada::getNumeroTemporada));
     }
 
+    /**
+     * Restaura a série a partir do arquivo, refaz a referência de cada temporada
+     * para a série, que não é gravada, e recalcula a nota média.
+     *
+     * @param in fluxo de leitura da serialização
+     * @throws IOException se ocorrer erro de leitura
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        setNota();
+    }
+
     /**
      * Sobrescreve o método da classe base para retornar o tipo específico da mídia.
      *
@@ -2,6 +2,7 @@ package Model;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Classe que representa uma temporada de uma série de TV no sistema, estendendo a classe Audiovisual.
@@ -13,6 +14,9 @@ import java.util.Map;
  * @see Serie
  */
 public class Temporada extends Audiovisual {
+    /** Versão de serialização, fixada para manter a leitura dos arquivos já existentes. */
+    private static final long serialVersionUID = -6201163400902505494L;
+
     /**
      * Número sequencial que identifica a temporada dentro de uma série.
      * Representa a ordem cronológica ou de produção da temporada.
@@ -29,6 +33,20 @@ public class Temporada extends Audiovisual {
      */
     private int quantidadeEpisodios;
 
+    /**
+     * Série à qual a temporada pertence.
+     * Não é gravada em arquivo: é restaurada pela própria série ao ser carregada.
+     *
+     * @see Serie#addTemporada(Temporada)
+     */
+    private transient Serie serieOrigem;
+
+    /**
+     * Nota desta temporada já somada à nota da série, ou null se ela não foi contada.
+     * Permite à série trocar a nota antiga pela nova sem percorrer as temporadas.
+     */
+    private transient Float notaContada;
+
     /**
      * Construtor para criar uma nova temporada.
      *
@@ -84,6 +102,48 @@ public class Temporada extends Audiovisual {
         this.quantidadeEpisodios = quantidadeEpisodios;
     }
 
+    /**
+     * Retorna a série à qual a temporada pertence
+     *
+     * @return série da temporada, ou null se ainda não foi adicionada a uma série
+     */
+    public Serie getSerieOrigem() {
+        return serieOrigem;
+    }
+
+    /**
+     * Define a série à qual a temporada pertence.
+     *
+     * @param serieOrigem série da temporada
+     */
+    void setSerieOrigem(Serie serieOrigem) {
+        if (this.serieOrigem != null && notaContada != null) {
+            this.serieOrigem.contarNotaTemporada(notaContada, null);
+        }
+        this.serieOrigem = serieOrigem;
+        this.notaContada = null;
+        sincronizarNota();
+    }
+
+    /**
+     * Atualiza a nota mais recente da temporada e, se ela mudou desde a última
+     * sincronização, troca a nota da temporada na média da série. Em todo caso, avança
+     * a versão das avaliações da série.
+     */
+    @Override
+    public void sincronizarNota() {
+        super.sincronizarNota();
+        if (serieOrigem == null) {
+            return;
+        }
+        Float atual = getAvaliacoes().isEmpty() ? null : getNotaAtual();
+        if (!Objects.equals(atual, notaContada)) {
+            serieOrigem.contarNotaTemporada(notaContada, atual);
+            notaContada = atual;
+        }
+        serieOrigem.avancarVersaoAvaliacoes();
+    }
+
     /**
      * Sobrescreve o método toString() para retornar uma representação em texto da temporada.
      * Inclui o número da temporada, quantidade de episódios e avaliações registradas.
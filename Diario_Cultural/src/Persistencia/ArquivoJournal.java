@@ -0,0 +1,562 @@
+package Persistencia;
+
+import Model.Midia;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Armazenamento de uma coleção de mídias composto por um snapshot completo
+ * e um journal de alterações gravado apenas por acréscimo (append-only).
+ *
+ * <p>Em vez de reescrever a coleção inteira a cada cadastro, edição ou remoção,
+ * cada operação é registrada no journal com custo proporcional apenas à mídia
+ * afetada. No carregamento, o journal é reaplicado sobre o último snapshot.
+ * Quando o journal cresce demais em relação à coleção, ele é compactado:
+ * um novo snapshot é gravado e o journal é descartado.</p>
+ *
+ * <p>O journal começa com um cabeçalho que o liga ao snapshot sobre o qual foi escrito:</p>
+ * <pre>
+ *   byte[4] assinatura "DCJN"
+ *   long    geração do snapshot
+ * </pre>
+ *
+ * <p>Cada snapshot é gravado com uma geração maior que a de qualquer snapshot ou journal
+ * anterior. Se a gravação for interrompida entre a troca do snapshot e a exclusão do
+ * journal, o journal antigo tem geração menor que a do snapshot e é descartado no
+ * carregamento em vez de desfazer alterações já contidas no snapshot. Journals gravados
+ * antes do cabeçalho têm geração zero.</p>
+ *
+ * <p>Formato de cada entrada do journal:</p>
+ * <pre>
+ *   byte  operação
+ *   int   id da mídia
+ *   int   tamanho dos dados
+ *   long  CRC32 dos dados
+ *   byte[] mídia serializada (vazio na remoção)
+ * </pre>
+ *
+ * <p>Snapshot e entradas são gravados no {@link FormatoArquivo} configurado. Na leitura,
+ * o formato de cada trecho é reconhecido pelos primeiros bytes, então arquivos gravados
+ * em formatos diferentes convivem sem conversão prévia.</p>
+ *
+ * <p>Uma entrada incompleta ou com CRC divergente (gravação interrompida) encerra
+ * a leitura; o trecho inválido é truncado para que novas entradas não fiquem
+ * depois de lixo. Cada lote de entradas acrescentado ao journal é forçado ao disco
+ * antes de ser considerado gravado, como o snapshot em {@link ArquivoSeguro}.</p>
+ *
+ * <p>O snapshot é gravado por {@link ArquivoSeguro}: a substituição é atômica e, se o
+ * snapshot estiver corrompido, a versão anterior é carregada e o journal é reaplicado
+ * sobre ela.</p>
+ *
+ * @param <T> tipo de mídia armazenada
+ */
+public class ArquivoJournal<T extends Midia> {
+
+    /**
+     * Operações que podem ser registradas no journal.
+     */
+    public enum Operacao {
+        INCLUSAO(1), ALTERACAO(2), REMOCAO(3);
+
+        private final byte codigo;
+
+        Operacao(int codigo) {
+            this.codigo = (byte) codigo;
+        }
+
+        static Operacao deCodigo(int codigo) {
+            for (Operacao op : values()) {
+                if (op.codigo == codigo) {
+                    return op;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Quantidade mínima de entradas no journal antes de considerar uma compactação */
+    private static final int LIMITE_MINIMO_COMPACTACAO = 256;
+
+    /** Assinatura do cabeçalho do journal, distinta dos códigos de operação */
+    private static final byte[] ASSINATURA_JOURNAL = {'D', 'C', 'J', 'N'};
+
+    /** Tamanho do cabeçalho do journal, em bytes */
+    private static final int TAMANHO_CABECALHO_JOURNAL = ASSINATURA_JOURNAL.length + 8;
+
+    /** Geração de um journal com cabeçalho incompleto, menor que a de qualquer snapshot */
+    private static final long GERACAO_INVALIDA = -1;
+
+    private final File arquivoSnapshot;
+    private final File arquivoJournal;
+
+    /** Formato usado nas próximas gravações */
+    private FormatoArquivo formato;
+
+    /** Entradas válidas presentes no journal desde o último snapshot */
+    private int entradasNoJournal = 0;
+
+    /**
+     * Operações agendadas e ainda não gravadas, indexadas pelo id da mídia.
+     * Várias operações sobre a mesma mídia são combinadas em uma só.
+     */
+    private final Map<Integer, Pendente> pendentes = new LinkedHashMap<>();
+
+    /** Coleção completa codificada na compactação e ainda não gravada, ou null */
+    private byte[] snapshotPendente;
+
+    /** Geração do snapshot atual, ou -1 enquanto não tiver sido lida do disco */
+    private long geracao = -1;
+
+    /** Tamanho do journal até a última entrada gravada por completo, ou -1 se desconhecido */
+    private long tamanhoJournal = -1;
+
+    /**
+     * Operação aguardando gravação no journal.
+     *
+     * @param operacao operação efetiva após a combinação
+     * @param id id da mídia afetada
+     * @param dados mídia codificada no momento do agendamento (vazio na remoção)
+     */
+    private record Pendente(Operacao operacao, int id, byte[] dados) {
+    }
+
+    /**
+     * Cria o armazenamento a partir dos caminhos do snapshot e do journal,
+     * gravando no formato padrão ({@link FormatoArquivo#padrao()}).
+     *
+     * @param caminhoSnapshot arquivo com a coleção completa
+     * @param caminhoJournal arquivo com as alterações posteriores ao snapshot
+     */
+    public ArquivoJournal(String caminhoSnapshot, String caminhoJournal) {
+        this(caminhoSnapshot, caminhoJournal, FormatoArquivo.padrao());
+    }
+
+    /**
+     * Cria o armazenamento a partir dos caminhos do snapshot e do journal.
+     *
+     * @param caminhoSnapshot arquivo com a coleção completa
+     * @param caminhoJournal arquivo com as alterações posteriores ao snapshot
+     * @param formato formato usado nas gravações
+     */
+    public ArquivoJournal(String caminhoSnapshot, String caminhoJournal, FormatoArquivo formato) {
+        this.arquivoSnapshot = new File(caminhoSnapshot);
+        this.arquivoJournal = new File(caminhoJournal);
+        this.formato = formato;
+    }
+
+    /**
+     * Retorna o formato usado nas gravações.
+     *
+     * @return formato atual
+     */
+    public synchronized FormatoArquivo getFormato() {
+        return formato;
+    }
+
+    /**
+     * Define o formato das próximas gravações. Arquivos já existentes continuam
+     * legíveis e são convertidos na próxima gravação do snapshot.
+     *
+     * @param formato novo formato
+     */
+    public synchronized void setFormato(FormatoArquivo formato) {
+        this.formato = formato;
+    }
+
+    /**
+     * Grava a coleção completa no snapshot e descarta o journal,
+     * que passa a estar contido no novo snapshot.
+     *
+     * @param midias coleção completa a ser gravada
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public synchronized void salvarSnapshot(List<T> midias) throws IOException {
+        gravarSnapshot(out -> formato.gravar(midias, out));
+        pendentes.clear();
+        snapshotPendente = null;
+        descartarJournal();
+    }
+
+    /**
+     * Carrega o snapshot e reaplica as operações do journal sobre ele.
+     *
+     * <p>O snapshot e as operações agendadas e ainda não gravados são gravados antes
+     * da leitura. Um journal sem snapshot (nem cópia de segurança) é considerado órfão
+     * e descartado. Se o snapshot
+     * contiver mídias sem identificador (arquivos antigos), os ids são atribuídos
+     * e um novo snapshot é gravado para que o journal possa referenciá-los. Durante
+     * cargas paralelas ({@link Midia#isCargaEmAndamento()}), essas mídias ficam sem id,
+     * para quem conduz as cargas atribuí-los depois que todas terminarem.</p>
+     *
+     * @return coleção reconstruída
+     * @throws IOException se o snapshot não existir ou não puder ser lido
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    public synchronized List<T> carregar() throws IOException, ClassNotFoundException {
+        if (!ArquivoSeguro.existe(arquivoSnapshot)) {
+            descartarJournal();
+            pendentes.clear();
+            snapshotPendente = null;
+            throw new FileNotFoundException(arquivoSnapshot.getPath());
+        }
+        gravarPendentes();
+
+        ArquivoSeguro.Lido<List<T>> lido = ArquivoSeguro.lerComGeracao(arquivoSnapshot, FormatoArquivo::ler);
+        List<T> snapshot = lido.conteudo();
+        geracao = Math.max(geracao, lido.geracao());
+
+        boolean adiarIds = Midia.isCargaEmAndamento();
+        boolean idsAtribuidos = false;
+        int semId = 0;
+        Map<Integer, T> porId = new LinkedHashMap<>();
+        for (T midia : snapshot) {
+            if (!adiarIds) {
+                idsAtribuidos |= midia.garantirId();
+            }
+            // Chaves negativas mantêm a posição das mídias sem id, que o journal não referencia
+            porId.put(midia.getId() != 0 ? midia.getId() : --semId, midia);
+        }
+
+        entradasNoJournal = reaplicarJournal(porId, lido.geracao());
+
+        List<T> colecao = new ArrayList<>(porId.values());
+        if (idsAtribuidos) {
+            salvarSnapshot(colecao);
+        }
+        return colecao;
+    }
+
+    /**
+     * Agenda uma operação para ser gravada depois, por {@link #gravarPendentes()}.
+     *
+     * <p>Deve ser chamado na thread que alterou a coleção: a mídia é codificada aqui,
+     * com o estado que tem no momento, e a gravação usa apenas esses bytes. Operações
+     * seguidas sobre a mesma mídia são combinadas na posição da primeira: uma inclusão
+     * seguida de alterações continua sendo uma única inclusão, e uma inclusão seguida de
+     * remoção se anula.</p>
+     *
+     * <p>Se ainda não houver snapshot, a coleção é gravada imediatamente, pois não há
+     * sobre o que acrescentar o journal. Se o journal atingir o limite de compactação,
+     * a coleção inteira é codificada aqui e gravada como novo snapshot na próxima
+     * gravação, mantendo o custo amortizado de cada operação constante.</p>
+     *
+     * @param operacao tipo de operação realizada
+     * @param midia mídia afetada
+     * @param colecao coleção completa, já com a operação aplicada
+     * @throws IOException se for necessário gravar o snapshot e ocorrer erro de escrita
+     */
+    public synchronized void agendar(Operacao operacao, T midia, List<T> colecao) throws IOException {
+        if (!arquivoSnapshot.exists()) {
+            salvarSnapshot(colecao);
+            return;
+        }
+
+        byte[] dados = operacao == Operacao.REMOCAO ? new byte[0] : formato.codificar(midia);
+        pendentes.compute(midia.getId(), (id, anterior) -> {
+            if (anterior == null || anterior.operacao() != Operacao.INCLUSAO) {
+                return new Pendente(operacao, id, dados);
+            }
+            return operacao == Operacao.REMOCAO ? null : new Pendente(Operacao.INCLUSAO, id, dados);
+        });
+
+        int entradas = snapshotPendente != null ? 0 : entradasNoJournal;
+        if (entradas + pendentes.size() >= limiteCompactacao(colecao.size())) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            formato.gravar(colecao, bytes);
+            snapshotPendente = bytes.toByteArray();
+            pendentes.clear();
+        }
+    }
+
+    /**
+     * Grava de uma só vez o snapshot e as operações agendadas. Pode ser chamado em
+     * qualquer thread, pois grava apenas o conteúdo já codificado no agendamento.
+     *
+     * <p>Em caso de erro, o snapshot e as operações continuam agendados para a próxima
+     * gravação; reaplicar uma entrada já gravada não altera o resultado do carregamento.
+     * Se o snapshot foi gravado mas o journal antigo não pôde ser excluído, a exclusão é
+     * repetida antes do próximo acréscimo.</p>
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public synchronized void gravarPendentes() throws IOException {
+        if (snapshotPendente != null) {
+            byte[] snapshot = snapshotPendente;
+            gravarSnapshot(out -> out.write(snapshot));
+            snapshotPendente = null;
+            descartarJournal();
+        }
+        gravarPendentesNoJournal();
+    }
+
+    /**
+     * Retorna a quantidade de operações agendadas e ainda não gravadas.
+     *
+     * @return número de operações pendentes
+     */
+    public synchronized int getOperacoesPendentes() {
+        return pendentes.size();
+    }
+
+    /**
+     * Retorna a quantidade de entradas acumuladas no journal desde o último snapshot.
+     *
+     * @return número de entradas no journal
+     */
+    public synchronized int getEntradasNoJournal() {
+        return entradasNoJournal;
+    }
+
+    /**
+     * Lê o journal e aplica cada operação sobre o mapa de mídias indexado por id.
+     * O mapa preserva a ordem de inserção, de modo que alterações mantêm a posição
+     * original da mídia e inclusões vão para o fim, como na lista em memória.
+     *
+     * <p>Um journal de geração anterior à do snapshot lido já está contido nele
+     * e é descartado sem ser aplicado.</p>
+     *
+     * @param porId mídias do snapshot indexadas pelo identificador
+     * @param geracaoSnapshot geração do snapshot lido
+     * @return quantidade de entradas válidas aplicadas
+     * @throws IOException se ocorrer erro de leitura, ou se um journal antigo não puder ser excluído
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    @SuppressWarnings("unchecked")
+    private int reaplicarJournal(Map<Integer, T> porId, long geracaoSnapshot) throws IOException, ClassNotFoundException {
+        if (!arquivoJournal.exists()) {
+            return 0;
+        }
+        if (geracaoJournal() < geracaoSnapshot) {
+            System.err.println("Journal " + arquivoJournal + " anterior ao snapshot descartado.");
+            descartarJournal();
+            return 0;
+        }
+
+        int entradas = 0;
+        long bytesValidos = possuiCabecalho() ? TAMANHO_CABECALHO_JOURNAL : 0;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(arquivoJournal)))) {
+            in.skipNBytes(bytesValidos);
+            while (true) {
+                int codigo = in.read();
+                if (codigo < 0) {
+                    break;
+                }
+
+                Operacao operacao = Operacao.deCodigo(codigo);
+                if (operacao == null) {
+                    break;
+                }
+
+                int id;
+                byte[] dados;
+                long crcGravado;
+                try {
+                    id = in.readInt();
+                    int tamanho = in.readInt();
+                    crcGravado = in.readLong();
+                    if (tamanho < 0) {
+                        break;
+                    }
+                    dados = new byte[tamanho];
+                    in.readFully(dados);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(dados);
+                if (crc.getValue() != crcGravado) {
+                    break;
+                }
+
+                switch (operacao) {
+                    case INCLUSAO -> porId.put(id, (T) FormatoArquivo.decodificar(dados));
+                    case ALTERACAO -> {
+                        if (porId.containsKey(id)) {
+                            porId.put(id, (T) FormatoArquivo.decodificar(dados));
+                        }
+                    }
+                    case REMOCAO -> porId.remove(id);
+                }
+
+                entradas++;
+                bytesValidos += 1 + 4 + 4 + 8 + dados.length;
+            }
+        }
+
+        if (bytesValidos < arquivoJournal.length()) {
+            try (RandomAccessFile raf = new RandomAccessFile(arquivoJournal, "rw")) {
+                raf.setLength(bytesValidos);
+            }
+        }
+        tamanhoJournal = bytesValidos;
+
+        return entradas;
+    }
+
+    /**
+     * Acrescenta ao journal as operações agendadas, abrindo o arquivo uma única vez.
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    private void gravarPendentesNoJournal() throws IOException {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        acrescentar(pendentes.values());
+        entradasNoJournal += pendentes.size();
+        pendentes.clear();
+    }
+
+    /**
+     * Acrescenta um lote de entradas ao fim do journal e só retorna depois que elas
+     * estiverem no disco.
+     *
+     * <p>Se a gravação falhar, o journal é truncado de volta ao tamanho anterior ao lote,
+     * para que a nova tentativa não fique depois de uma entrada incompleta, que encerraria
+     * a leitura no carregamento e descartaria as entradas seguintes. Se nem a truncagem
+     * for possível, ela é repetida antes da próxima gravação.</p>
+     *
+     * @param entradas operações a serem gravadas, na ordem
+     * @throws IOException se ocorrer erro de escrita
+     */
+    private void acrescentar(Collection<Pendente> entradas) throws IOException {
+        if (arquivoJournal.exists() && geracaoJournal() < geracaoAtual()) {
+            descartarJournal();
+        }
+        try (FileOutputStream arquivo = new FileOutputStream(arquivoJournal, true)) {
+            FileChannel canal = arquivo.getChannel();
+            if (tamanhoJournal >= 0 && canal.size() > tamanhoJournal) {
+                canal.truncate(tamanhoJournal);
+            }
+            long tamanhoAnterior = canal.size();
+            try {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(arquivo));
+                if (tamanhoAnterior == 0) {
+                    out.write(ASSINATURA_JOURNAL);
+                    out.writeLong(geracaoAtual());
+                }
+                for (Pendente pendente : entradas) {
+                    escreverEntrada(out, pendente);
+                }
+                out.flush();
+                canal.force(false);
+            } catch (IOException e) {
+                tamanhoJournal = tamanhoAnterior;
+                try {
+                    canal.truncate(tamanhoAnterior);
+                } catch (IOException erroTruncagem) {
+                    e.addSuppressed(erroTruncagem);
+                }
+                throw e;
+            }
+            tamanhoJournal = canal.size();
+        }
+    }
+
+    /**
+     * Escreve uma entrada do journal no formato descrito na documentação da classe.
+     *
+     * @param out fluxo do journal
+     * @param pendente operação com a mídia já codificada
+     * @throws IOException se ocorrer erro de escrita
+     */
+    private static void escreverEntrada(DataOutputStream out, Pendente pendente) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(pendente.dados());
+
+        out.writeByte(pendente.operacao().codigo);
+        out.writeInt(pendente.id());
+        out.writeInt(pendente.dados().length);
+        out.writeLong(crc.getValue());
+        out.write(pendente.dados());
+    }
+
+    /**
+     * Grava o snapshot com uma geração maior que a do snapshot e a do journal atuais,
+     * de modo que o journal existente passe a ser reconhecido como antigo.
+     *
+     * @param conteudo escrita da coleção completa
+     * @throws IOException se ocorrer erro de escrita
+     */
+    private void gravarSnapshot(ArquivoSeguro.Escrita conteudo) throws IOException {
+        long anterior = Math.max(geracaoAtual(), ArquivoSeguro.geracao(arquivoSnapshot));
+        long proxima = Math.max(anterior, arquivoJournal.exists() ? geracaoJournal() : 0) + 1;
+        ArquivoSeguro.gravar(arquivoSnapshot, proxima, conteudo);
+        geracao = proxima;
+    }
+
+    /**
+     * Retorna a geração do snapshot atual, lendo-a do cabeçalho na primeira vez.
+     *
+     * @return geração do snapshot
+     */
+    private long geracaoAtual() {
+        if (geracao < 0) {
+            geracao = ArquivoSeguro.geracao(arquivoSnapshot);
+        }
+        return geracao;
+    }
+
+    /**
+     * Lê a geração registrada no cabeçalho do journal.
+     *
+     * @return geração do journal, zero se ele não tiver cabeçalho (formato anterior)
+     *         ou {@link #GERACAO_INVALIDA} se o cabeçalho estiver incompleto
+     * @throws IOException se ocorrer erro de leitura
+     */
+    private long geracaoJournal() throws IOException {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(arquivoJournal))) {
+            byte[] assinatura = in.readNBytes(ASSINATURA_JOURNAL.length);
+            if (assinatura.length == 0 || assinatura[0] != ASSINATURA_JOURNAL[0]) {
+                return 0;
+            }
+            if (!Arrays.equals(assinatura, ASSINATURA_JOURNAL)) {
+                return GERACAO_INVALIDA;
+            }
+            return in.readLong();
+        } catch (EOFException e) {
+            return GERACAO_INVALIDA;
+        }
+    }
+
+    private boolean possuiCabecalho() throws IOException {
+        try (InputStream in = new FileInputStream(arquivoJournal)) {
+            return in.read() == ASSINATURA_JOURNAL[0];
+        }
+    }
+
+    /**
+     * Remove o arquivo de journal e zera o contador de entradas.
+     *
+     * @throws IOException se o journal existir e não puder ser excluído
+     */
+    private void descartarJournal() throws IOException {
+        if (arquivoJournal.exists() && !arquivoJournal.delete()) {
+            throw new IOException("Não foi possível excluir o journal " + arquivoJournal);
+        }
+        entradasNoJournal = 0;
+        tamanhoJournal = 0;
+    }
+
+    /**
+     * Calcula a partir de quantas entradas o journal deve ser compactado.
+     * O limite acompanha o tamanho da coleção, de modo que a regravação completa
+     * acontece no máximo uma vez a cada N operações.
+     *
+     * @param tamanhoColecao quantidade de mídias na coleção
+     * @return número de entradas que dispara a compactação
+     */
+    private static int limiteCompactacao(int tamanhoColecao) {
+        return Math.max(LIMITE_MINIMO_COMPACTACAO, tamanhoColecao);
+    }
+}
@@ -0,0 +1,459 @@
+package Persistencia;
+
+import Model.Midia;
+import Persistencia.ArquivoSeguro.ArquivoCorrompidoException;
+import Persistencia.ServicoPersistencia.Colecao;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Arquivo único, mapeado em memória, com as mídias de todas as coleções do diário.
+ *
+ * <p>Abrir o arquivo lê apenas o cabeçalho e o índice; nenhuma mídia é decodificada.
+ * Cada coleção é exposta como uma {@link ListaMapeada}, que decodifica um registro
+ * somente quando ele é acessado pela primeira vez. Registros nunca acessados são
+ * copiados byte a byte na próxima gravação, sem passar pelo codec.</p>
+ *
+ * <p>Estrutura do arquivo:</p>
+ * <pre>
+ *   cabeçalho (32 bytes)
+ *     byte[4] assinatura "DCMM"
+ *     int     versão
+ *     long    posição do índice
+ *     int     quantidade de registros
+ *     int     CRC32 do índice
+ *     int     maior id de mídia utilizado
+ *     int     reservado
+ *   registros, cada um com cabeçalho fixo de 16 bytes
+ *     byte    coleção
+ *     byte[3] reservado
+ *     int     id da mídia
+ *     int     tamanho dos dados
+ *     int     CRC32 dos dados
+ *     byte[]  mídia codificada por {@link CodecMidias}
+ *   índice, 13 bytes por registro
+ *     byte    coleção
+ *     int     id da mídia
+ *     long    posição do registro
+ * </pre>
+ *
+ * <p>Cada alteração é registrada na thread que a fez ({@link #registrar(Colecao, Midia)}):
+ * a ordem da coleção e a mídia alterada, já codificada, ficam guardadas até a próxima
+ * gravação, que pode acontecer em outra thread sem ler as listas nem as mídias em uso.
+ * O novo arquivo é montado em memória com os registros alterados e cópias byte a byte
+ * dos demais, gravado em um arquivo temporário e renomeado sobre o anterior. Antes da
+ * renomeação, as listas passam a apontar para o arquivo novo e o mapeamento anterior é
+ * liberado, pois alguns sistemas não permitem substituir um arquivo mapeado.</p>
+ *
+ * <p>Uma instância é compartilhada por todos os repositórios que usam o mesmo caminho
+ * ({@link #de(String)}).</p>
+ */
+public final class ArquivoMapeado {
+
+    private static final byte[] ASSINATURA = {'D', 'C', 'M', 'M'};
+    private static final int VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = 32;
+    private static final int TAMANHO_REGISTRO = 16;
+    private static final int TAMANHO_ENTRADA_INDICE = 13;
+
+    /** Instâncias abertas, uma por caminho */
+    private static final Map<String, ArquivoMapeado> abertos = new HashMap<>();
+
+    private final File arquivo;
+
+    /** Coleções em uso, expostas aos repositórios */
+    private final Map<Colecao, ListaMapeada<?>> colecoes = new EnumMap<>(Colecao.class);
+
+    /** Conteúdo mapeado do arquivo atual, ou null se ainda não foi mapeado */
+    private MappedByteBuffer mapa;
+
+    /** Índice do arquivo mapeado, separado por coleção */
+    private final Map<Colecao, List<Registro>> indice = new EnumMap<>(Colecao.class);
+
+    /** Registros do arquivo mapeado pelo id da mídia */
+    private final Map<Integer, Registro> registrosPorId = new HashMap<>();
+
+    /** Alterações registradas e ainda não gravadas, por coleção */
+    private final Map<Colecao, Alteracao> alteracoes = new EnumMap<>(Colecao.class);
+
+    /** Data de modificação e tamanho do arquivo no momento do mapeamento */
+    private long mapeadoEm = -1;
+    private long tamanhoMapeado = -1;
+
+    /**
+     * Registro de uma mídia dentro do arquivo mapeado, ainda não decodificado.
+     *
+     * @param mapa conteúdo mapeado onde o registro está
+     * @param posicao posição do cabeçalho do registro
+     */
+    record Registro(ByteBuffer mapa, int posicao) {
+
+        int id() {
+            return mapa.getInt(posicao + 4);
+        }
+
+        int tamanho() {
+            return TAMANHO_REGISTRO + mapa.getInt(posicao + 8);
+        }
+
+        /**
+         * Decodifica a mídia, conferindo o CRC dos dados.
+         *
+         * @return mídia decodificada
+         * @throws UncheckedIOException se o registro estiver corrompido
+         */
+        Midia decodificar() {
+            int tamanho = mapa.getInt(posicao + 8);
+            int crcGravado = mapa.getInt(posicao + 12);
+            byte[] dados = new byte[tamanho];
+            mapa.get(posicao + TAMANHO_REGISTRO, dados);
+
+            CRC32 crc = new CRC32();
+            crc.update(dados);
+            try {
+                if ((int) crc.getValue() != crcGravado) {
+                    throw new ArquivoCorrompidoException("Registro na posição " + posicao + " com CRC divergente");
+                }
+                return CodecMidias.decodificar(dados);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Copia o registro completo (cabeçalho e dados), sem decodificá-lo.
+         */
+        void copiar(ByteArrayOutputStream destino) {
+            byte[] bytes = new byte[tamanho()];
+            mapa.get(posicao, bytes);
+            destino.write(bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Alterações de uma coleção aguardando gravação.
+     *
+     * @param ordem ids das mídias da coleção, na ordem da lista no momento do registro
+     * @param codificadas mídias alteradas ou incluídas, já codificadas, pelo id
+     */
+    private record Alteracao(List<Integer> ordem, Map<Integer, byte[]> codificadas) {
+    }
+
+    private ArquivoMapeado(File arquivo) {
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * Retorna a instância associada a um caminho, criando-a se necessário.
+     *
+     * @param caminho caminho do arquivo
+     * @return arquivo mapeado compartilhado
+     */
+    public static synchronized ArquivoMapeado de(String caminho) {
+        return abertos.computeIfAbsent(new File(caminho).getAbsolutePath(), c -> new ArquivoMapeado(new File(c)));
+    }
+
+    /**
+     * Retorna a coleção em uso, criando uma coleção vazia se ela ainda não foi aberta.
+     *
+     * @param colecao coleção desejada
+     * @param <T> tipo de mídia da coleção
+     * @return lista da coleção
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends Midia> ListaMapeada<T> getLista(Colecao colecao) {
+        return (ListaMapeada<T>) colecoes.computeIfAbsent(colecao, c -> new ListaMapeada<>(this, new ArrayList<>()));
+    }
+
+    /**
+     * Lê a coleção do arquivo, substituindo o conteúdo da coleção em uso. Apenas o índice
+     * é lido; as mídias são decodificadas quando acessadas. Alterações da coleção ainda
+     * não gravadas são descartadas.
+     *
+     * @param colecao coleção desejada
+     * @throws FileNotFoundException se o arquivo não existir
+     * @throws IOException se o cabeçalho ou o índice estiverem corrompidos
+     */
+    public synchronized void abrir(Colecao colecao) throws IOException {
+        if (!arquivo.exists()) {
+            throw new FileNotFoundException(arquivo.getPath());
+        }
+        if (mapa == null || arquivo.lastModified() != mapeadoEm || arquivo.length() != tamanhoMapeado) {
+            mapear(arquivo);
+        }
+        getLista(colecao).substituir(indice.get(colecao));
+        alteracoes.remove(colecao);
+    }
+
+    /**
+     * Registra uma operação já aplicada à lista da coleção. Deve ser chamado na thread
+     * que alterou a lista: a ordem da coleção e a mídia, se ainda fizer parte dela, são
+     * copiadas e codificadas aqui, para que a gravação não precise lê-las depois.
+     *
+     * @param colecao coleção alterada
+     * @param midia mídia incluída, alterada ou removida
+     * @throws IOException se a mídia não puder ser codificada
+     */
+    public synchronized void registrar(Colecao colecao, Midia midia) throws IOException {
+        Alteracao alteracao = capturar(colecao, false);
+        if (getLista(colecao).indexOf(midia) >= 0) {
+            alteracao.codificadas().put(midia.getId(), CodecMidias.codificar(midia));
+        } else {
+            alteracao.codificadas().remove(midia.getId());
+        }
+    }
+
+    /**
+     * Grava todas as coleções em uso, codificando todas as mídias já decodificadas.
+     * Deve ser chamado na thread que altera as listas.
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public void salvar() throws IOException {
+        synchronized (this) {
+            for (Colecao colecao : colecoes.keySet()) {
+                capturar(colecao, true);
+            }
+        }
+        gravar();
+    }
+
+    /**
+     * Grava as alterações registradas em um novo arquivo e passa a usá-lo.
+     *
+     * <p>Pode ser chamado em qualquer thread: usa apenas as alterações já codificadas e
+     * os registros do arquivo atual, copiados sem decodificação. A escrita em disco
+     * acontece sem impedir o acesso às listas. Em caso de erro, as alterações continuam
+     * registradas para a próxima gravação.</p>
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public void gravar() throws IOException {
+        ByteArrayOutputStream registros = new ByteArrayOutputStream();
+        ByteArrayOutputStream indiceNovo = new ByteArrayOutputStream();
+        DataOutputStream outIndice = new DataOutputStream(indiceNovo);
+        Map<Integer, Integer> novasPosicoes = new HashMap<>();
+        Map<Colecao, Alteracao> gravadas;
+
+        synchronized (this) {
+            if (mapa == null && arquivo.exists()) {
+                mapear(arquivo);
+            }
+            if (alteracoes.isEmpty() && mapa != null) {
+                return;
+            }
+            gravadas = new EnumMap<>(alteracoes);
+            alteracoes.clear();
+
+            for (Colecao colecao : Colecao.values()) {
+                Alteracao alteracao = gravadas.get(colecao);
+                List<Integer> ordem = alteracao != null ? alteracao.ordem() : indice.getOrDefault(colecao, List.of()).stream().map(Registro::id).toList();
+                for (int id : ordem) {
+                    int posicao = TAMANHO_CABECALHO + registros.size();
+                    byte[] dados = alteracao != null ? alteracao.codificadas().get(id) : null;
+                    if (dados != null) {
+                        escreverRegistro(registros, colecao, id, dados);
+                    } else if (registrosPorId.containsKey(id)) {
+                        registrosPorId.get(id).copiar(registros);
+                    } else {
+                        continue;
+                    }
+                    novasPosicoes.put(id, posicao);
+                    outIndice.writeByte(colecao.ordinal());
+                    outIndice.writeInt(id);
+                    outIndice.writeLong(posicao);
+                }
+            }
+        }
+
+        byte[] bytesIndice = indiceNovo.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytesIndice);
+
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+        cabecalho.put(ASSINATURA);
+        cabecalho.putInt(VERSAO);
+        cabecalho.putLong(TAMANHO_CABECALHO + (long) registros.size());
+        cabecalho.putInt(novasPosicoes.size());
+        cabecalho.putInt((int) crc.getValue());
+        cabecalho.putInt(Midia.ultimoId());
+        cabecalho.putInt(0);
+
+        File temporario = new File(arquivo.getPath() + ".tmp");
+        try {
+            try (FileOutputStream saida = new FileOutputStream(temporario)) {
+                OutputStream out = new BufferedOutputStream(saida);
+                out.write(cabecalho.array());
+                registros.writeTo(out);
+                out.write(bytesIndice);
+                out.flush();
+                saida.getFD().sync();
+            }
+
+            synchronized (this) {
+                MappedByteBuffer anterior = mapa;
+                mapear(temporario);
+                boolean remapeadas = true;
+                for (ListaMapeada<?> lista : colecoes.values()) {
+                    remapeadas &= lista.remapear(mapa, novasPosicoes);
+                }
+                if (anterior != null && remapeadas) {
+                    liberar(anterior);
+                }
+                try {
+                    Files.move(temporario.toPath(), arquivo.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporario.toPath(), arquivo.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                mapeadoEm = arquivo.lastModified();
+                tamanhoMapeado = arquivo.length();
+            }
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                gravadas.forEach(this::devolver);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Guarda a ordem atual de uma coleção entre as alterações pendentes, codificando as
+     * mídias decodificadas que não estão no arquivo nem entre as alterações, ou todas as
+     * decodificadas, se solicitado. Deve ser chamado com a trava obtida.
+     *
+     * @param colecao coleção alterada
+     * @param todas {@code true} para codificar todas as mídias decodificadas
+     * @return alterações pendentes da coleção
+     * @throws IOException se alguma mídia não puder ser codificada
+     */
+    private Alteracao capturar(Colecao colecao, boolean todas) throws IOException {
+        Alteracao anterior = alteracoes.get(colecao);
+        Map<Integer, byte[]> codificadas = anterior != null ? anterior.codificadas() : new HashMap<>();
+        List<Integer> ordem = new ArrayList<>();
+        for (Object item : getLista(colecao).itens()) {
+            if (item instanceof Registro registro) {
+                ordem.add(registro.id());
+                continue;
+            }
+            Midia midia = (Midia) item;
+            midia.garantirId();
+            ordem.add(midia.getId());
+            if (todas || !codificadas.containsKey(midia.getId()) && !registrosPorId.containsKey(midia.getId())) {
+                codificadas.put(midia.getId(), CodecMidias.codificar(midia));
+            }
+        }
+        Alteracao alteracao = new Alteracao(ordem, codificadas);
+        alteracoes.put(colecao, alteracao);
+        return alteracao;
+    }
+
+    /**
+     * Devolve às pendentes as alterações de uma gravação que falhou, sem sobrescrever as
+     * registradas depois dela. Deve ser chamado com a trava obtida.
+     */
+    private void devolver(Colecao colecao, Alteracao gravada) {
+        Alteracao posterior = alteracoes.get(colecao);
+        if (posterior == null) {
+            alteracoes.put(colecao, gravada);
+            return;
+        }
+        Map<Integer, byte[]> codificadas = new HashMap<>(gravada.codificadas());
+        codificadas.putAll(posterior.codificadas());
+        alteracoes.put(colecao, new Alteracao(posterior.ordem(), codificadas));
+    }
+
+    /**
+     * Mapeia um arquivo em memória e lê seu índice, que passa a ser o índice atual.
+     *
+     * @param origem arquivo a ser mapeado
+     */
+    private void mapear(File origem) throws IOException {
+        try (FileChannel canal = FileChannel.open(origem.toPath(), StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_CABECALHO || tamanho > Integer.MAX_VALUE) {
+                throw new ArquivoCorrompidoException(origem + ": tamanho inválido");
+            }
+            MappedByteBuffer novoMapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+
+            byte[] assinatura = new byte[ASSINATURA.length];
+            novoMapa.get(0, assinatura);
+            if (!Arrays.equals(assinatura, ASSINATURA) || novoMapa.getInt(4) > VERSAO) {
+                throw new ArquivoCorrompidoException(origem + ": formato não reconhecido");
+            }
+            long posicaoIndice = novoMapa.getLong(8);
+            int quantidade = novoMapa.getInt(16);
+            int crcIndice = novoMapa.getInt(20);
+            if (posicaoIndice + (long) quantidade * TAMANHO_ENTRADA_INDICE != tamanho) {
+                throw new ArquivoCorrompidoException(origem + ": índice incompleto");
+            }
+
+            byte[] bytesIndice = new byte[quantidade * TAMANHO_ENTRADA_INDICE];
+            novoMapa.get((int) posicaoIndice, bytesIndice);
+            CRC32 crc = new CRC32();
+            crc.update(bytesIndice);
+            if ((int) crc.getValue() != crcIndice) {
+                throw new ArquivoCorrompidoException(origem + ": CRC do índice divergente");
+            }
+
+            indice.clear();
+            registrosPorId.clear();
+            for (Colecao colecao : Colecao.values()) {
+                indice.put(colecao, new ArrayList<>());
+            }
+            ByteBuffer entradas = ByteBuffer.wrap(bytesIndice);
+            for (int i = 0; i < quantidade; i++) {
+                Colecao colecao = Colecao.values()[entradas.get()];
+                int id = entradas.getInt();
+                int posicao = (int) entradas.getLong();
+                Registro registro = new Registro(novoMapa, posicao);
+                indice.get(colecao).add(registro);
+                registrosPorId.put(id, registro);
+            }
+
+            Midia.reservarIds(novoMapa.getInt(24));
+            mapa = novoMapa;
+            mapeadoEm = origem.lastModified();
+            tamanhoMapeado = tamanho;
+        }
+    }
+
+    /**
+     * Desfaz um mapeamento que não é mais referenciado por nenhuma lista, sem esperar
+     * pelo coletor de lixo. Se a JVM não permitir, o mapeamento é liberado pelo coletor.
+     *
+     * @param mapeamento mapeamento a ser liberado
+     */
+    private static void liberar(MappedByteBuffer mapeamento) {
+        try {
+            Field campo = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+            campo.setAccessible(true);
+            Object unsafe = campo.get(null);
+            unsafe.getClass().getMethod("invokeCleaner", ByteBuffer.class).invoke(unsafe, mapeamento);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Sem acesso ao Unsafe, o mapeamento continua válido até ser coletado
+        }
+    }
+
+    private static void escreverRegistro(ByteArrayOutputStream destino, Colecao colecao, int id, byte[] dados) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+
+        DataOutputStream out = new DataOutputStream(destino);
+        out.writeByte(colecao.ordinal());
+        out.write(new byte[3]);
+        out.writeInt(id);
+        out.writeInt(dados.length);
+        out.writeInt((int) crc.getValue());
+        out.write(dados);
+    }
+}
@@ -0,0 +1,346 @@
+package Persistencia;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Gravação e leitura de arquivos à prova de interrupções.
+ *
+ * <p>Um arquivo nunca é sobrescrito diretamente. O novo conteúdo é gravado em um
+ * arquivo temporário, sincronizado com o disco ({@code fsync}) e só então renomeado
+ * sobre o original, de modo que uma queda no meio da escrita deixa intacta a versão
+ * anterior. A versão substituída é mantida como cópia de segurança ({@code .bak}),
+ * usada na leitura caso o arquivo principal esteja ausente ou corrompido.</p>
+ *
+ * <p>Cabeçalho gravado antes do conteúdo:</p>
+ * <pre>
+ *   byte[4] assinatura "DCSF"
+ *   int     versão do cabeçalho
+ *   long    tamanho do conteúdo
+ *   long    CRC32 da geração e do conteúdo
+ *   long    geração (a partir da versão 2)
+ * </pre>
+ *
+ * <p>Um arquivo truncado é detectado apenas comparando o tamanho registrado com o
+ * tamanho do arquivo, e o CRC é conferido antes de qualquer desserialização.
+ * Arquivos gravados antes da introdução do cabeçalho continuam legíveis, sem verificação,
+ * assim como os da versão 1, cujo CRC cobre apenas o conteúdo e cuja geração é zero.</p>
+ *
+ * <p>A geração é um número escolhido por quem grava, que permite relacionar o arquivo
+ * a outros gravados depois dele (ver {@link ArquivoJournal}).</p>
+ */
+public final class ArquivoSeguro {
+
+    /** Assinatura gravada no início de todo arquivo com cabeçalho */
+    private static final byte[] ASSINATURA = {'D', 'C', 'S', 'F'};
+
+    /** Versão atual do cabeçalho */
+    private static final int VERSAO = 2;
+
+    /** Tamanho do cabeçalho da versão 1, sem a geração, em bytes */
+    private static final int TAMANHO_CABECALHO_V1 = ASSINATURA.length + 4 + 8 + 8;
+
+    /** Tamanho do cabeçalho atual, em bytes */
+    private static final int TAMANHO_CABECALHO = TAMANHO_CABECALHO_V1 + 8;
+
+    private static final String EXTENSAO_TEMPORARIA = ".tmp";
+    private static final String EXTENSAO_BACKUP = ".bak";
+
+    /**
+     * Escreve o conteúdo de um arquivo.
+     */
+    @FunctionalInterface
+    public interface Escrita {
+        void escrever(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Interpreta o conteúdo lido de um arquivo.
+     *
+     * @param <R> tipo do resultado
+     */
+    @FunctionalInterface
+    public interface Leitura<R> {
+        R ler(InputStream in) throws IOException, ClassNotFoundException;
+    }
+
+    /**
+     * Indica que um arquivo está truncado ou que seu conteúdo não confere com o CRC gravado.
+     */
+    public static class ArquivoCorrompidoException extends IOException {
+        private static final long serialVersionUID = 4218530975361042187L;
+
+        public ArquivoCorrompidoException(String mensagem) {
+            super(mensagem);
+        }
+    }
+
+    /**
+     * Conteúdo interpretado de um arquivo e a geração registrada no cabeçalho
+     * da versão efetivamente lida (principal ou cópia de segurança).
+     *
+     * @param conteudo conteúdo interpretado
+     * @param geracao geração gravada, ou zero em arquivos sem geração
+     * @param <R> tipo do conteúdo
+     */
+    public record Lido<R>(R conteudo, long geracao) {
+    }
+
+    /** Conteúdo sem o cabeçalho e a geração registrada */
+    private record Conteudo(byte[] dados, long geracao) {
+    }
+
+    private ArquivoSeguro() {
+    }
+
+    /**
+     * Substitui atomicamente o conteúdo de um arquivo, com geração zero.
+     *
+     * @param destino arquivo a ser gravado
+     * @param conteudo escrita do conteúdo
+     * @throws IOException se ocorrer erro de escrita
+     * @see #gravar(File, long, Escrita)
+     */
+    public static void gravar(File destino, Escrita conteudo) throws IOException {
+        gravar(destino, 0, conteudo);
+    }
+
+    /**
+     * Substitui atomicamente o conteúdo de um arquivo.
+     *
+     * <p>O arquivo atual só passa a ser a cópia de segurança se tiver cabeçalho e o CRC
+     * do conteúdo conferir. Um arquivo atual corrompido, ou sem cabeçalho e portanto sem
+     * como ser verificado, não substitui a cópia de segurança existente.</p>
+     *
+     * @param destino arquivo a ser gravado
+     * @param geracao geração registrada no cabeçalho
+     * @param conteudo escrita do conteúdo
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public static void gravar(File destino, long geracao, Escrita conteudo) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        conteudo.escrever(bytes);
+        byte[] dados = bytes.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytesGeracao(geracao));
+        crc.update(dados);
+
+        File temporario = new File(destino.getPath() + EXTENSAO_TEMPORARIA);
+        try (FileOutputStream arquivo = new FileOutputStream(temporario)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(arquivo));
+            out.write(ASSINATURA);
+            out.writeInt(VERSAO);
+            out.writeLong(dados.length);
+            out.writeLong(crc.getValue());
+            out.writeLong(geracao);
+            out.write(dados);
+            out.flush();
+            arquivo.getFD().sync();
+        }
+
+        if (destino.exists() && integro(destino)) {
+            Files.move(destino.toPath(), backup(destino).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        try {
+            Files.move(temporario.toPath(), destino.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporario.toPath(), destino.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        sincronizarDiretorio(destino);
+    }
+
+    /**
+     * Lê um arquivo, recorrendo à cópia de segurança se o arquivo principal estiver
+     * ausente, corrompido ou não puder ser interpretado.
+     *
+     * @param arquivo arquivo principal
+     * @param leitura interpretação do conteúdo
+     * @param <R> tipo do resultado
+     * @return conteúdo interpretado
+     * @throws IOException se nenhuma das versões puder ser lida
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    public static <R> R ler(File arquivo, Leitura<R> leitura) throws IOException, ClassNotFoundException {
+        return lerComGeracao(arquivo, leitura).conteudo();
+    }
+
+    /**
+     * Lê um arquivo como {@link #ler(File, Leitura)}, retornando também a geração
+     * da versão que foi efetivamente lida.
+     *
+     * @param arquivo arquivo principal
+     * @param leitura interpretação do conteúdo
+     * @param <R> tipo do resultado
+     * @return conteúdo interpretado e sua geração
+     * @throws IOException se nenhuma das versões puder ser lida
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    public static <R> Lido<R> lerComGeracao(File arquivo, Leitura<R> leitura) throws IOException, ClassNotFoundException {
+        File backup = backup(arquivo);
+        try {
+            return interpretar(lerConteudo(arquivo), leitura);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            if (!backup.exists()) {
+                throw e;
+            }
+            System.err.println("Não foi possível ler " + arquivo + " (" + e.getMessage() + "). Usando a versão anterior.");
+            return interpretar(lerConteudo(backup), leitura);
+        }
+    }
+
+    /**
+     * Retorna a geração registrada no cabeçalho do arquivo principal, sem ler o conteúdo.
+     *
+     * @param arquivo arquivo principal
+     * @return geração gravada, ou zero se o arquivo não existir ou não tiver geração
+     */
+    public static long geracao(File arquivo) {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(arquivo))) {
+            if (!possuiAssinatura(in.readNBytes(ASSINATURA.length)) || in.readInt() < 2) {
+                return 0;
+            }
+            in.readLong();
+            in.readLong();
+            return in.readLong();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Verifica se existe alguma versão do arquivo, principal ou cópia de segurança.
+     *
+     * @param arquivo arquivo principal
+     * @return {@code true} se alguma das versões existir
+     */
+    public static boolean existe(File arquivo) {
+        return arquivo.exists() || backup(arquivo).exists();
+    }
+
+    /**
+     * Exclui o arquivo e sua cópia de segurança.
+     *
+     * @param arquivo arquivo principal
+     */
+    public static void excluir(File arquivo) {
+        arquivo.delete();
+        backup(arquivo).delete();
+        new File(arquivo.getPath() + EXTENSAO_TEMPORARIA).delete();
+    }
+
+    /**
+     * Retorna o arquivo usado como cópia de segurança.
+     *
+     * @param arquivo arquivo principal
+     * @return cópia de segurança correspondente
+     */
+    public static File backup(File arquivo) {
+        return new File(arquivo.getPath() + EXTENSAO_BACKUP);
+    }
+
+    /**
+     * Lê o conteúdo de um arquivo, validando o cabeçalho e o CRC quando presentes.
+     *
+     * @param arquivo arquivo a ser lido
+     * @return conteúdo sem o cabeçalho e geração registrada
+     * @throws ArquivoCorrompidoException se o arquivo estiver truncado ou o CRC não conferir
+     * @throws IOException se ocorrer erro de leitura
+     */
+    private static Conteudo lerConteudo(File arquivo) throws IOException {
+        byte[] bytes = Files.readAllBytes(arquivo.toPath());
+        if (!possuiAssinatura(bytes)) {
+            return new Conteudo(bytes, 0);
+        }
+        if (bytes.length < TAMANHO_CABECALHO_V1) {
+            throw new ArquivoCorrompidoException(arquivo + ": cabeçalho incompleto");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, ASSINATURA.length, TAMANHO_CABECALHO_V1));
+        int versao = in.readInt();
+        long tamanho = in.readLong();
+        long crcGravado = in.readLong();
+        if (versao > VERSAO) {
+            throw new ArquivoCorrompidoException(arquivo + ": versão " + versao + " não suportada");
+        }
+        int cabecalho = versao < 2 ? TAMANHO_CABECALHO_V1 : TAMANHO_CABECALHO;
+        if (bytes.length < cabecalho) {
+            throw new ArquivoCorrompidoException(arquivo + ": cabeçalho incompleto");
+        }
+        if (tamanho != bytes.length - cabecalho) {
+            throw new ArquivoCorrompidoException(arquivo + ": tamanho esperado " + tamanho + ", encontrado " + (bytes.length - cabecalho));
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes, TAMANHO_CABECALHO_V1, bytes.length - TAMANHO_CABECALHO_V1);
+        if (crc.getValue() != crcGravado) {
+            throw new ArquivoCorrompidoException(arquivo + ": CRC divergente");
+        }
+        long geracao = versao < 2 ? 0 : new DataInputStream(new ByteArrayInputStream(bytes, TAMANHO_CABECALHO_V1, 8)).readLong();
+        return new Conteudo(Arrays.copyOfRange(bytes, cabecalho, bytes.length), geracao);
+    }
+
+    private static <R> Lido<R> interpretar(Conteudo conteudo, Leitura<R> leitura) throws IOException, ClassNotFoundException {
+        return new Lido<>(leitura.ler(new ByteArrayInputStream(conteudo.dados())), conteudo.geracao());
+    }
+
+    private static byte[] bytesGeracao(long geracao) {
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) geracao;
+            geracao >>>= 8;
+        }
+        return bytes;
+    }
+
+    /**
+     * Confere se um arquivo tem cabeçalho e se seu conteúdo confere com o tamanho e o CRC
+     * registrados. Arquivos sem cabeçalho não podem ser verificados e não são considerados íntegros.
+     */
+    private static boolean integro(File arquivo) {
+        try (InputStream in = new FileInputStream(arquivo)) {
+            if (!possuiAssinatura(in.readNBytes(ASSINATURA.length))) {
+                return false;
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        try {
+            lerConteudo(arquivo);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean possuiAssinatura(byte[] bytes) {
+        if (bytes.length < ASSINATURA.length) {
+            return false;
+        }
+        for (int i = 0; i < ASSINATURA.length; i++) {
+            if (bytes[i] != ASSINATURA[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sincroniza o diretório para que a renomeação também seja persistida.
+     * Nem todo sistema permite abrir diretórios, então falhas são ignoradas.
+     */
+    private static void sincronizarDiretorio(File arquivo) {
+        File diretorio = arquivo.getAbsoluteFile().getParentFile();
+        try (FileChannel canal = FileChannel.open(diretorio.toPath(), StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // sem suporte no sistema de arquivos
+        }
+    }
+}
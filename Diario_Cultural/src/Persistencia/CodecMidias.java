@@ -0,0 +1,469 @@
+package Persistencia;
+
+import Model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Codec binário versionado para as mídias do sistema, usado no lugar da
+ * serialização padrão do Java.
+ *
+ * <p>A serialização padrão grava descritores de classe e resolve os campos por
+ * reflexão, o que aumenta o tamanho dos arquivos e o tempo de leitura. Este codec
+ * conhece a estrutura de cada classe do pacote Model e grava os campos diretamente,
+ * com inteiros de tamanho variável. Strings repetidas (gêneros, plataformas, nomes
+ * do elenco, autores) são gravadas uma única vez em uma tabela no início do arquivo
+ * e referenciadas pelo índice.</p>
+ *
+ * <p>Estrutura do arquivo:</p>
+ * <pre>
+ *   byte[4] assinatura "DCMB"
+ *   byte    versão do formato
+ *   varint  quantidade de strings, seguida de cada string (varint tamanho + UTF-8)
+ *   varint  quantidade de mídias, seguida de cada registro (byte tipo + campos)
+ * </pre>
+ *
+ * <p>Referências a strings, listas e mapas usam o valor 0 para {@code null}.</p>
+ */
+public final class CodecMidias {
+
+    /** Assinatura gravada no início de todo arquivo neste formato */
+    private static final byte[] ASSINATURA = {'D', 'C', 'M', 'B'};
+
+    /** Versão atual do formato. Deve ser incrementada a cada mudança na estrutura. */
+    private static final int VERSAO = 1;
+
+    private static final byte TIPO_LIVRO = 1;
+    private static final byte TIPO_FILME = 2;
+    private static final byte TIPO_SERIE = 3;
+    private static final byte TIPO_TEMPORADA = 4;
+
+    private CodecMidias() {
+    }
+
+    /**
+     * Verifica se os primeiros bytes de um arquivo correspondem a este formato.
+     *
+     * @param cabecalho primeiros bytes lidos do arquivo
+     * @return {@code true} se o cabeçalho contém a assinatura do codec
+     */
+    public static boolean reconhece(byte[] cabecalho) {
+        if (cabecalho.length < ASSINATURA.length) {
+            return false;
+        }
+        for (int i = 0; i < ASSINATURA.length; i++) {
+            if (cabecalho[i] != ASSINATURA[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna a quantidade de bytes necessária para reconhecer o formato.
+     *
+     * @return tamanho da assinatura
+     */
+    public static int tamanhoAssinatura() {
+        return ASSINATURA.length;
+    }
+
+    /**
+     * Grava uma coleção de mídias no fluxo informado.
+     *
+     * @param midias mídias a serem gravadas
+     * @param saida fluxo de destino (não é fechado)
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public static void escrever(List<? extends Midia> midias, OutputStream saida) throws IOException {
+        Escritor escritor = new Escritor();
+        escritor.inteiro(midias.size());
+        for (Midia midia : midias) {
+            escritor.midia(midia);
+        }
+        escritor.gravarEm(saida);
+    }
+
+    /**
+     * Lê uma coleção de mídias gravada por {@link #escrever(List, OutputStream)}.
+     *
+     * @param entrada fluxo de origem (não é fechado)
+     * @param <T> tipo de mídia esperado
+     * @return lista mutável com as mídias lidas
+     * @throws IOException se o conteúdo não estiver no formato ou for de versão mais nova
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Midia> List<T> ler(InputStream entrada) throws IOException {
+        Leitor leitor = new Leitor(entrada);
+        int quantidade = leitor.inteiro();
+        List<T> midias = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            midias.add((T) leitor.midia());
+        }
+        return midias;
+    }
+
+    /**
+     * Codifica uma única mídia, no mesmo formato de uma coleção com um elemento.
+     *
+     * @param midia mídia a ser codificada
+     * @return bytes da mídia codificada
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public static byte[] codificar(Midia midia) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        escrever(List.of(midia), bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodifica uma mídia gravada por {@link #codificar(Midia)}.
+     *
+     * @param dados bytes da mídia codificada
+     * @return mídia decodificada
+     * @throws IOException se os dados forem inválidos
+     */
+    public static Midia decodificar(byte[] dados) throws IOException {
+        List<Midia> midias = ler(new ByteArrayInputStream(dados));
+        if (midias.size() != 1) {
+            throw new StreamCorruptedException("Registro com " + midias.size() + " mídias");
+        }
+        return midias.get(0);
+    }
+
+    /**
+     * Monta o corpo do arquivo em memória enquanto registra as strings encontradas,
+     * já que a tabela de strings precisa ser gravada antes dos registros.
+     */
+    private static final class Escritor {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream corpo = new DataOutputStream(bytes);
+        private final Map<String, Integer> tabela = new LinkedHashMap<>();
+
+        void gravarEm(OutputStream saida) throws IOException {
+            DataOutputStream out = new DataOutputStream(saida);
+            out.write(ASSINATURA);
+            out.writeByte(VERSAO);
+            escreverVarint(out, tabela.size());
+            for (String s : tabela.keySet()) {
+                byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+                escreverVarint(out, utf8.length);
+                out.write(utf8);
+            }
+            corpo.flush();
+            bytes.writeTo(out);
+            out.flush();
+        }
+
+        void midia(Midia midia) throws IOException {
+            if (midia instanceof Livro livro) {
+                corpo.writeByte(TIPO_LIVRO);
+                camposMidia(livro);
+                texto(livro.getAutor());
+                texto(livro.getEditora());
+                texto(livro.getIsbn());
+                corpo.writeBoolean(livro.getPossuiExemplar());
+            } else if (midia instanceof Filme filme) {
+                corpo.writeByte(TIPO_FILME);
+                camposAudiovisual(filme);
+                inteiro(filme.getDuracao());
+                texto(filme.getDirecao());
+                texto(filme.getRoteiro());
+            } else if (midia instanceof Serie serie) {
+                corpo.writeByte(TIPO_SERIE);
+                camposAudiovisual(serie);
+                inteiro(serie.getAnoEncerramento());
+                corpo.writeFloat(serie.getNota());
+                inteiro(serie.getTemporadas().size());
+                for (Temporada temporada : serie.getTemporadas()) {
+                    temporada(temporada);
+                }
+            } else if (midia instanceof Temporada temporada) {
+                corpo.writeByte(TIPO_TEMPORADA);
+                temporada(temporada);
+            } else {
+                throw new NotSerializableException(midia.getClass().getName());
+            }
+        }
+
+        private void temporada(Temporada temporada) throws IOException {
+            camposAudiovisual(temporada);
+            inteiro(temporada.getNumeroTemporada());
+            inteiro(temporada.getQuantidadeEpisodios());
+        }
+
+        private void camposMidia(Midia midia) throws IOException {
+            inteiro(midia.getId());
+            texto(midia.getTitulo());
+            lista(midia.getGeneros());
+            inteiro(midia.getAnoLancamento());
+            corpo.writeBoolean(midia.getJa_Consumiu());
+            List<Avaliacao> avaliacoes = midia.getAvaliacoes();
+            inteiro(avaliacoes.size());
+            for (Avaliacao avaliacao : avaliacoes) {
+                corpo.writeFloat(avaliacao.getNota());
+                texto(avaliacao.getAvaliacao());
+                texto(avaliacao.getDataAvaliacao());
+                LocalDate dataConsumo = avaliacao.getDataConsumoLocalDate();
+                corpo.writeBoolean(dataConsumo != null);
+                if (dataConsumo != null) {
+                    inteiroLongo(dataConsumo.toEpochDay());
+                }
+            }
+        }
+
+        private void camposAudiovisual(Audiovisual audiovisual) throws IOException {
+            camposMidia(audiovisual);
+            texto(audiovisual.getTituloOriginal());
+            lista(audiovisual.getOndeAssistir());
+            Map<String, List<String>> elenco = audiovisual.getElenco();
+            if (elenco == null) {
+                escreverVarint(corpo, 0);
+                return;
+            }
+            escreverVarint(corpo, elenco.size() + 1);
+            for (Map.Entry<String, List<String>> categoria : elenco.entrySet()) {
+                texto(categoria.getKey());
+                lista(categoria.getValue());
+            }
+        }
+
+        private void texto(String s) throws IOException {
+            if (s == null) {
+                escreverVarint(corpo, 0);
+                return;
+            }
+            Integer indice = tabela.get(s);
+            if (indice == null) {
+                indice = tabela.size();
+                tabela.put(s, indice);
+            }
+            escreverVarint(corpo, indice + 1);
+        }
+
+        private void lista(List<String> valores) throws IOException {
+            if (valores == null) {
+                escreverVarint(corpo, 0);
+                return;
+            }
+            escreverVarint(corpo, valores.size() + 1);
+            for (String valor : valores) {
+                texto(valor);
+            }
+        }
+
+        void inteiro(int valor) throws IOException {
+            escreverVarint(corpo, (valor << 1) ^ (valor >> 31));
+        }
+
+        private void inteiroLongo(long valor) throws IOException {
+            long zigzag = (valor << 1) ^ (valor >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                corpo.writeByte((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            corpo.writeByte((int) zigzag);
+        }
+    }
+
+    /**
+     * Lê o cabeçalho e a tabela de strings e reconstrói os registros na mesma
+     * ordem em que foram gravados.
+     */
+    private static final class Leitor {
+        private final DataInputStream in;
+        private final String[] tabela;
+
+        Leitor(InputStream entrada) throws IOException {
+            this.in = new DataInputStream(entrada);
+            byte[] assinatura = new byte[ASSINATURA.length];
+            in.readFully(assinatura);
+            if (!reconhece(assinatura)) {
+                throw new StreamCorruptedException("Arquivo não está no formato binário compacto");
+            }
+            int versao = in.readUnsignedByte();
+            if (versao > VERSAO) {
+                throw new InvalidClassException("Versão do formato não suportada: " + versao);
+            }
+            tabela = new String[lerVarint(in)];
+            for (int i = 0; i < tabela.length; i++) {
+                byte[] utf8 = new byte[lerVarint(in)];
+                in.readFully(utf8);
+                tabela[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+        }
+
+        Midia midia() throws IOException {
+            byte tipo = in.readByte();
+            switch (tipo) {
+                case TIPO_LIVRO -> {
+                    CamposMidia base = camposMidia();
+                    String autor = texto();
+                    String editora = texto();
+                    String isbn = texto();
+                    boolean possui = in.readBoolean();
+                    Livro livro = new Livro(base.titulo, base.generos, base.ano, autor, isbn, possui, editora);
+                    return base.aplicarEm(livro);
+                }
+                case TIPO_FILME -> {
+                    CamposAudiovisual base = camposAudiovisual();
+                    int duracao = inteiro();
+                    String direcao = texto();
+                    String roteiro = texto();
+                    Filme filme = new Filme(base.midia.titulo, base.midia.generos, base.midia.ano, duracao,
+                            direcao, roteiro, base.elenco, base.tituloOriginal, base.ondeAssistir);
+                    return base.midia.aplicarEm(filme);
+                }
+                case TIPO_SERIE -> {
+                    CamposAudiovisual base = camposAudiovisual();
+                    int anoEncerramento = inteiro();
+                    in.readFloat(); // nota média gravada; é recalculada ao adicionar as temporadas
+                    Serie serie = new Serie(base.midia.titulo, base.midia.generos, base.midia.ano, anoEncerramento,
+                            base.elenco, base.tituloOriginal, base.ondeAssistir);
+                    int temporadas = inteiro();
+                    for (int i = 0; i < temporadas; i++) {
+                        serie.addTemporada(temporada());
+                    }
+                    return base.midia.aplicarEm(serie);
+                }
+                case TIPO_TEMPORADA -> {
+                    return temporada();
+                }
+                default -> throw new StreamCorruptedException("Tipo de registro desconhecido: " + tipo);
+            }
+        }
+
+        private Temporada temporada() throws IOException {
+            CamposAudiovisual base = camposAudiovisual();
+            int numero = inteiro();
+            int episodios = inteiro();
+            Temporada temporada = new Temporada(base.midia.titulo, base.midia.generos, base.midia.ano, base.elenco,
+                    base.tituloOriginal, base.ondeAssistir, numero, episodios);
+            return base.midia.aplicarEm(temporada);
+        }
+
+        private CamposMidia camposMidia() throws IOException {
+            CamposMidia campos = new CamposMidia();
+            campos.id = inteiro();
+            campos.titulo = texto();
+            campos.generos = lista();
+            campos.ano = inteiro();
+            campos.jaConsumiu = in.readBoolean();
+            int quantidade = inteiro();
+            campos.avaliacoes = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                float nota = in.readFloat();
+                String comentario = texto();
+                String dataAvaliacao = texto();
+                LocalDate dataConsumo = in.readBoolean() ? LocalDate.ofEpochDay(inteiroLongo()) : null;
+                campos.avaliacoes.add(new Avaliacao(nota, comentario, dataAvaliacao, dataConsumo));
+            }
+            return campos;
+        }
+
+        private CamposAudiovisual camposAudiovisual() throws IOException {
+            CamposAudiovisual campos = new CamposAudiovisual();
+            campos.midia = camposMidia();
+            campos.tituloOriginal = texto();
+            campos.ondeAssistir = lista();
+            int tamanho = lerVarint(in);
+            if (tamanho > 0) {
+                campos.elenco = new LinkedHashMap<>();
+                for (int i = 0; i < tamanho - 1; i++) {
+                    String categoria = texto();
+                    campos.elenco.put(categoria, lista());
+                }
+            }
+            return campos;
+        }
+
+        private String texto() throws IOException {
+            int indice = lerVarint(in);
+            if (indice == 0) {
+                return null;
+            }
+            if (indice > tabela.length) {
+                throw new StreamCorruptedException("Referência de string inválida: " + indice);
+            }
+            return tabela[indice - 1];
+        }
+
+        private List<String> lista() throws IOException {
+            int tamanho = lerVarint(in);
+            if (tamanho == 0) {
+                return null;
+            }
+            List<String> valores = new ArrayList<>(tamanho - 1);
+            for (int i = 0; i < tamanho - 1; i++) {
+                valores.add(texto());
+            }
+            return valores;
+        }
+
+        private int inteiro() throws IOException {
+            int zigzag = lerVarint(in);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        private long inteiroLongo() throws IOException {
+            long zigzag = 0;
+            for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+                int b = in.readUnsignedByte();
+                zigzag |= (long) (b & 0x7F) << deslocamento;
+                if ((b & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new StreamCorruptedException("Inteiro mal formado");
+        }
+    }
+
+    /** Campos comuns a todas as mídias, lidos antes de a instância ser criada */
+    private static final class CamposMidia {
+        int id;
+        String titulo;
+        List<String> generos;
+        int ano;
+        boolean jaConsumiu;
+        List<Avaliacao> avaliacoes;
+
+        <M extends Midia> M aplicarEm(M midia) {
+            midia.restaurarId(id);
+            midia.setJaConsumiu(jaConsumiu);
+            midia.getAvaliacoes().addAll(avaliacoes);
+            midia.sincronizarNota();
+            return midia;
+        }
+    }
+
+    /** Campos comuns aos audiovisuais, lidos antes de a instância ser criada */
+    private static final class CamposAudiovisual {
+        CamposMidia midia;
+        String tituloOriginal;
+        List<String> ondeAssistir;
+        Map<String, List<String>> elenco;
+    }
+
+    private static void escreverVarint(DataOutput out, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            out.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        out.writeByte(valor);
+    }
+
+    private static int lerVarint(DataInput in) throws IOException {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            int b = in.readUnsignedByte();
+            valor |= (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new StreamCorruptedException("Inteiro mal formado");
+    }
+}
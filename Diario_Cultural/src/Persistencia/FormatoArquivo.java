@@ -0,0 +1,116 @@
+package Persistencia;
+
+import Model.Midia;
+
+import java.io.*;
+import java.util.List;
+
+/**
+ * Formatos disponíveis para gravar as coleções de mídias em arquivo.
+ *
+ * <p>O formato escolhido vale apenas para a escrita. Na leitura, o formato de cada
+ * arquivo é reconhecido pelos seus primeiros bytes, de modo que arquivos gravados
+ * em qualquer um dos formatos continuam legíveis.</p>
+ */
+public enum FormatoArquivo {
+
+    /** Serialização padrão do Java ({@link java.io.ObjectOutputStream}) */
+    SERIALIZACAO_JAVA,
+
+    /** Codec binário próprio, com tabela de strings ({@link CodecMidias}) */
+    BINARIO_COMPACTO;
+
+    /** Propriedade de sistema que permite escolher o formato ao iniciar a aplicação */
+    public static final String PROPRIEDADE = "diario.formato";
+
+    /**
+     * Retorna o formato padrão de escrita. Pode ser alterado pela propriedade
+     * de sistema {@value #PROPRIEDADE} (ex: {@code -Ddiario.formato=SERIALIZACAO_JAVA}).
+     *
+     * @return formato configurado, ou {@link #BINARIO_COMPACTO} se não informado ou inválido
+     */
+    public static FormatoArquivo padrao() {
+        String valor = System.getProperty(PROPRIEDADE);
+        if (valor != null) {
+            for (FormatoArquivo formato : values()) {
+                if (formato.name().equalsIgnoreCase(valor.trim())) {
+                    return formato;
+                }
+            }
+        }
+        return BINARIO_COMPACTO;
+    }
+
+    /**
+     * Grava uma coleção neste formato.
+     *
+     * @param midias coleção a ser gravada
+     * @param out fluxo de destino (não é fechado)
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public void gravar(List<? extends Midia> midias, OutputStream out) throws IOException {
+        if (this == BINARIO_COMPACTO) {
+            CodecMidias.escrever(midias, out);
+        } else {
+            ObjectOutputStream oos = new ObjectOutputStream(out);
+            oos.writeObject(midias);
+            oos.flush();
+        }
+    }
+
+    /**
+     * Codifica uma única mídia neste formato.
+     *
+     * @param midia mídia a ser codificada
+     * @return bytes da mídia
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public byte[] codificar(Midia midia) throws IOException {
+        if (this == BINARIO_COMPACTO) {
+            return CodecMidias.codificar(midia);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(midia);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Lê uma coleção reconhecendo o formato pela assinatura no início do fluxo.
+     *
+     * @param in fluxo de origem, com suporte a {@link InputStream#mark(int)}
+     * @param <T> tipo de mídia da coleção
+     * @return coleção lida
+     * @throws IOException se ocorrer erro de leitura
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Midia> List<T> ler(InputStream in) throws IOException, ClassNotFoundException {
+        byte[] cabecalho = new byte[CodecMidias.tamanhoAssinatura()];
+        in.mark(cabecalho.length);
+        int lidos = in.readNBytes(cabecalho, 0, cabecalho.length);
+        in.reset();
+        if (lidos == cabecalho.length && CodecMidias.reconhece(cabecalho)) {
+            return CodecMidias.ler(in);
+        }
+        return (List<T>) new ObjectInputStream(in).readObject();
+    }
+
+    /**
+     * Decodifica uma única mídia, reconhecendo o formato pela assinatura.
+     *
+     * @param dados bytes gerados por {@link #codificar(Midia)}
+     * @return mídia decodificada
+     * @throws IOException se ocorrer erro de leitura
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    public static Midia decodificar(byte[] dados) throws IOException, ClassNotFoundException {
+        if (CodecMidias.reconhece(dados)) {
+            return CodecMidias.decodificar(dados);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(dados))) {
+            return (Midia) ois.readObject();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package Persistencia;
+
+import Model.Midia;
+import Persistencia.ArquivoMapeado.Registro;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Lista de mídias de uma coleção do {@link ArquivoMapeado}, decodificadas sob demanda.
+ *
+ * <p>Cada posição guarda a mídia já decodificada ou apenas a referência ao registro
+ * no arquivo. A decodificação acontece no primeiro acesso à posição, e a mídia
+ * decodificada substitui a referência. Todas as operações são sincronizadas com o
+ * arquivo, que precisa de uma visão consistente das listas ao gravar.</p>
+ *
+ * <p>Como as mídias usam igualdade por identidade, {@link #indexOf(Object)} e
+ * {@link #remove(Object)} não decodificam os registros ainda não acessados:
+ * um objeto em uso nunca corresponde a um registro que ainda não foi lido.</p>
+ *
+ * @param <T> tipo de mídia da coleção
+ */
+public class ListaMapeada<T extends Midia> extends AbstractList<T> implements RandomAccess {
+
+    private final Object trava;
+
+    /** Mídias decodificadas ou registros ainda não lidos */
+    private final List<Object> itens;
+
+    ListaMapeada(Object trava, List<?> itens) {
+        this.trava = trava;
+        this.itens = new ArrayList<>(itens);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int indice) {
+        synchronized (trava) {
+            Object item = itens.get(indice);
+            if (item instanceof Registro registro) {
+                T midia = (T) registro.decodificar();
+                itens.set(indice, midia);
+                return midia;
+            }
+            return (T) item;
+        }
+    }
+
+    @Override
+    public T set(int indice, T midia) {
+        synchronized (trava) {
+            T anterior = get(indice);
+            itens.set(indice, midia);
+            return anterior;
+        }
+    }
+
+    @Override
+    public void add(int indice, T midia) {
+        synchronized (trava) {
+            itens.add(indice, midia);
+            modCount++;
+        }
+    }
+
+    @Override
+    public T remove(int indice) {
+        synchronized (trava) {
+            T removida = get(indice);
+            itens.remove(indice);
+            modCount++;
+            return removida;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (trava) {
+            itens.clear();
+            modCount++;
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (trava) {
+            return itens.size();
+        }
+    }
+
+    /**
+     * Copia a lista inteira com a trava obtida, de modo que a cópia (feita, por exemplo,
+     * por {@code new ArrayList<>(lista)}) não percebe pela metade uma alteração feita em
+     * outra thread.
+     */
+    @Override
+    public Object[] toArray() {
+        synchronized (trava) {
+            Object[] copia = new Object[itens.size()];
+            for (int i = 0; i < copia.length; i++) {
+                copia[i] = get(i);
+            }
+            return copia;
+        }
+    }
+
+    @Override
+    public int indexOf(Object objeto) {
+        synchronized (trava) {
+            for (int i = 0; i < itens.size(); i++) {
+                if (itens.get(i) == objeto) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    @Override
+    public int lastIndexOf(Object objeto) {
+        synchronized (trava) {
+            for (int i = itens.size() - 1; i >= 0; i--) {
+                if (itens.get(i) == objeto) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean remove(Object objeto) {
+        synchronized (trava) {
+            int indice = indexOf(objeto);
+            if (indice < 0) {
+                return false;
+            }
+            itens.remove(indice);
+            modCount++;
+            return true;
+        }
+    }
+
+    /**
+     * Retorna quantas mídias da lista já foram decodificadas.
+     *
+     * @return número de posições decodificadas
+     */
+    public int getDecodificadas() {
+        synchronized (trava) {
+            return (int) itens.stream().filter(item -> !(item instanceof Registro)).count();
+        }
+    }
+
+    /**
+     * Substitui o conteúdo da lista pelos registros de um arquivo recém-aberto.
+     *
+     * @param registros registros da coleção no arquivo
+     */
+    void substituir(List<Registro> registros) {
+        synchronized (trava) {
+            itens.clear();
+            itens.addAll(registros);
+            modCount++;
+        }
+    }
+
+    /**
+     * Retorna o conteúdo bruto da lista, para gravação. Deve ser chamado com a trava obtida.
+     */
+    List<Object> itens() {
+        return itens;
+    }
+
+    /**
+     * Aponta os registros ainda não lidos para o arquivo recém-gravado.
+     *
+     * @param novo mapeamento do novo arquivo
+     * @param novasPosicoes posição de cada mídia no novo arquivo, pelo id
+     * @return {@code true} se nenhum registro continuou apontando para o arquivo anterior
+     */
+    boolean remapear(ByteBuffer novo, Map<Integer, Integer> novasPosicoes) {
+        synchronized (trava) {
+            boolean todos = true;
+            for (int i = 0; i < itens.size(); i++) {
+                if (itens.get(i) instanceof Registro registro) {
+                    Integer posicao = novasPosicoes.get(registro.id());
+                    if (posicao != null) {
+                        itens.set(i, new Registro(novo, posicao));
+                    } else {
+                        todos = false;
+                    }
+                }
+            }
+            return todos;
+        }
+    }
+}
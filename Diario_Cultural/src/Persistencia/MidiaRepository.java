@@ -0,0 +1,94 @@
+package Persistencia;
+
+import Model.Midia;
+import Persistencia.ArquivoJournal.Operacao;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Repositório de uma coleção de mídias: mantém a coleção em memória e define
+ * como ela é persistida.
+ *
+ * <p>Os controladores alteram a lista retornada por {@link #getMidias()} e informam
+ * cada operação realizada por {@link #registrar(Operacao, Midia)}. Cabe a cada
+ * implementação decidir o que gravar e quando, de modo que o mecanismo de
+ * armazenamento pode ser trocado sem alterar controladores nem telas.</p>
+ *
+ * <p>{@link #registrar(Operacao, Midia)} é chamado na thread que alterou a coleção, e
+ * {@link #gravarPendentes()} pode ser executado depois em outra thread. Por isso, cada
+ * implementação copia ou codifica no registro tudo o que precisar gravar, e a gravação
+ * das pendentes não lê a coleção nem as mídias em uso.</p>
+ *
+ * @param <T> tipo de mídia armazenada
+ * @see Repositorios
+ */
+public interface MidiaRepository<T extends Midia> {
+
+    /**
+     * Retorna a coleção mantida em memória. A lista pode ser alterada diretamente;
+     * as alterações devem ser informadas por {@link #registrar(Operacao, Midia)}.
+     *
+     * @return coleção atual
+     */
+    List<T> getMidias();
+
+    /**
+     * Informa uma operação já aplicada à coleção em memória. Deve ser chamado na thread
+     * que alterou a coleção.
+     *
+     * @param operacao tipo de operação realizada
+     * @param midia mídia afetada
+     * @throws IOException se a implementação gravar imediatamente e ocorrer erro de escrita
+     */
+    void registrar(Operacao operacao, T midia) throws IOException;
+
+    /**
+     * Grava as operações registradas e ainda não persistidas. Pode ser chamado em qualquer
+     * thread. Em caso de erro, as operações continuam pendentes.
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    void gravarPendentes() throws IOException;
+
+    /**
+     * Retorna a quantidade de operações registradas e ainda não persistidas.
+     *
+     * @return número de operações pendentes
+     */
+    int getOperacoesPendentes();
+
+    /**
+     * Grava a coleção completa, descartando as operações pendentes.
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    void salvar() throws IOException;
+
+    /**
+     * Substitui a coleção em memória pela última coleção persistida.
+     *
+     * @throws IOException se não houver coleção persistida ou ocorrer erro de leitura
+     * @throws ClassNotFoundException se alguma classe serializada não for encontrada
+     */
+    void carregar() throws IOException, ClassNotFoundException;
+
+    /**
+     * Define o formato das próximas gravações. Implementações que não gravam
+     * em arquivo ignoram o formato.
+     *
+     * @param formato formato de gravação
+     */
+    default void setFormato(FormatoArquivo formato) {
+    }
+
+    /**
+     * Indica se as mídias da coleção são decodificadas apenas quando acessadas. Nesse caso,
+     * percorrer a coleção inteira logo após a carga desfaria a economia da carga.
+     *
+     * @return {@code true} se a decodificação é feita sob demanda
+     */
+    default boolean isDecodificacaoSobDemanda() {
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package Persistencia;
+
+import Model.Midia;
+import Persistencia.ArquivoJournal.Operacao;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repositório gravado em snapshot e journal de alterações ({@link ArquivoJournal}).
+ * Cada operação grava apenas a mídia afetada; a coleção completa só é regravada
+ * na compactação do journal.
+ *
+ * @param <T> tipo de mídia armazenada
+ */
+public class RepositorioJournal<T extends Midia> implements MidiaRepository<T> {
+
+    private final ArquivoJournal<T> armazenamento;
+    private List<T> midias = new ArrayList<>();
+
+    /**
+     * Cria o repositório a partir dos caminhos do snapshot e do journal.
+     *
+     * @param caminhoSnapshot arquivo com a coleção completa
+     * @param caminhoJournal arquivo com as alterações posteriores ao snapshot
+     */
+    public RepositorioJournal(String caminhoSnapshot, String caminhoJournal) {
+        this.armazenamento = new ArquivoJournal<>(caminhoSnapshot, caminhoJournal);
+    }
+
+    @Override
+    public List<T> getMidias() {
+        return midias;
+    }
+
+    @Override
+    public void registrar(Operacao operacao, T midia) throws IOException {
+        armazenamento.agendar(operacao, midia, midias);
+    }
+
+    @Override
+    public void gravarPendentes() throws IOException {
+        armazenamento.gravarPendentes();
+    }
+
+    @Override
+    public int getOperacoesPendentes() {
+        return armazenamento.getOperacoesPendentes();
+    }
+
+    @Override
+    public void salvar() throws IOException {
+        armazenamento.salvarSnapshot(midias);
+    }
+
+    @Override
+    public void carregar() throws IOException, ClassNotFoundException {
+        midias = armazenamento.carregar();
+    }
+
+    @Override
+    public void setFormato(FormatoArquivo formato) {
+        armazenamento.setFormato(formato);
+    }
+}
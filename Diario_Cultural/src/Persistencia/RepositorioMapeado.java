@@ -0,0 +1,78 @@
+package Persistencia;
+
+import Model.Midia;
+import Persistencia.ArquivoJournal.Operacao;
+import Persistencia.ServicoPersistencia.Colecao;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Repositório de uma coleção guardada no arquivo mapeado em memória compartilhado
+ * por todas as coleções ({@link ArquivoMapeado}). O carregamento lê apenas o índice
+ * do arquivo, e cada mídia é decodificada no primeiro acesso. Cada operação registrada
+ * codifica apenas a mídia afetada; as demais são copiadas do arquivo na gravação.
+ *
+ * @param <T> tipo de mídia armazenada
+ */
+public class RepositorioMapeado<T extends Midia> implements MidiaRepository<T> {
+
+    private final ArquivoMapeado arquivo;
+    private final Colecao colecao;
+    private final AtomicInteger operacoesPendentes = new AtomicInteger();
+
+    /**
+     * Cria o repositório de uma coleção dentro de um arquivo mapeado.
+     *
+     * @param arquivo arquivo compartilhado entre as coleções
+     * @param colecao coleção mantida por este repositório
+     */
+    public RepositorioMapeado(ArquivoMapeado arquivo, Colecao colecao) {
+        this.arquivo = arquivo;
+        this.colecao = colecao;
+    }
+
+    @Override
+    public List<T> getMidias() {
+        return arquivo.getLista(colecao);
+    }
+
+    @Override
+    public void registrar(Operacao operacao, T midia) throws IOException {
+        arquivo.registrar(colecao, midia);
+        operacoesPendentes.incrementAndGet();
+    }
+
+    @Override
+    public void gravarPendentes() throws IOException {
+        int pendentes = operacoesPendentes.get();
+        if (pendentes > 0) {
+            arquivo.gravar();
+            operacoesPendentes.addAndGet(-pendentes);
+        }
+    }
+
+    @Override
+    public int getOperacoesPendentes() {
+        return operacoesPendentes.get();
+    }
+
+    @Override
+    public void salvar() throws IOException {
+        int pendentes = operacoesPendentes.get();
+        arquivo.salvar();
+        operacoesPendentes.addAndGet(-pendentes);
+    }
+
+    @Override
+    public void carregar() throws IOException {
+        arquivo.abrir(colecao);
+        operacoesPendentes.set(0);
+    }
+
+    @Override
+    public boolean isDecodificacaoSobDemanda() {
+        return true;
+    }
+}
@@ -0,0 +1,70 @@
+package Persistencia;
+
+import Model.Midia;
+import Persistencia.ArquivoJournal.Operacao;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repositório mantido apenas em memória, sem acesso a disco. Destinado a testes:
+ * gravar guarda uma cópia da coleção, que é restaurada ao carregar. Cada operação
+ * registrada copia a lista, e a gravação das pendentes guarda a última cópia.
+ *
+ * @param <T> tipo de mídia armazenada
+ */
+public class RepositorioMemoria<T extends Midia> implements MidiaRepository<T> {
+
+    private List<T> midias = new ArrayList<>();
+
+    /** Última coleção gravada, ou null se nada foi gravado */
+    private List<T> gravadas;
+
+    private int operacoesPendentes = 0;
+
+    /** Cópia da coleção feita na última operação registrada e ainda não gravada, ou null */
+    private List<T> copiaPendente;
+
+    @Override
+    public List<T> getMidias() {
+        return midias;
+    }
+
+    @Override
+    public synchronized void registrar(Operacao operacao, T midia) {
+        copiaPendente = new ArrayList<>(midias);
+        operacoesPendentes++;
+    }
+
+    @Override
+    public synchronized void gravarPendentes() {
+        if (copiaPendente != null) {
+            gravadas = copiaPendente;
+            copiaPendente = null;
+            operacoesPendentes = 0;
+        }
+    }
+
+    @Override
+    public synchronized int getOperacoesPendentes() {
+        return operacoesPendentes;
+    }
+
+    @Override
+    public synchronized void salvar() {
+        gravadas = new ArrayList<>(midias);
+        copiaPendente = null;
+        operacoesPendentes = 0;
+    }
+
+    @Override
+    public synchronized void carregar() throws FileNotFoundException {
+        if (gravadas == null) {
+            throw new FileNotFoundException("Nenhuma coleção gravada em memória");
+        }
+        midias = new ArrayList<>(gravadas);
+        copiaPendente = null;
+        operacoesPendentes = 0;
+    }
+}
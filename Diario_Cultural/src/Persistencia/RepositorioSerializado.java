@@ -0,0 +1,90 @@
+package Persistencia;
+
+import Model.Midia;
+import Persistencia.ArquivoJournal.Operacao;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repositório gravado em um único arquivo com a coleção completa, regravado
+ * inteiro sempre que houver operações pendentes. É o mecanismo original do
+ * sistema, mantido para comparação com os demais. Cada operação registrada codifica
+ * a coleção inteira, que é gravada depois pela gravação das pendentes.
+ *
+ * @param <T> tipo de mídia armazenada
+ */
+public class RepositorioSerializado<T extends Midia> implements MidiaRepository<T> {
+
+    private final File arquivo;
+    private FormatoArquivo formato;
+    private List<T> midias = new ArrayList<>();
+    private int operacoesPendentes = 0;
+
+    /** Coleção codificada na última operação registrada e ainda não gravada, ou null */
+    private byte[] conteudoPendente;
+
+    /**
+     * Cria o repositório gravando no formato padrão ({@link FormatoArquivo#padrao()}).
+     *
+     * @param caminho arquivo com a coleção completa
+     */
+    public RepositorioSerializado(String caminho) {
+        this.arquivo = new File(caminho);
+        this.formato = FormatoArquivo.padrao();
+    }
+
+    @Override
+    public List<T> getMidias() {
+        return midias;
+    }
+
+    @Override
+    public synchronized void registrar(Operacao operacao, T midia) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        formato.gravar(midias, bytes);
+        conteudoPendente = bytes.toByteArray();
+        operacoesPendentes++;
+    }
+
+    @Override
+    public synchronized void gravarPendentes() throws IOException {
+        if (conteudoPendente != null) {
+            byte[] conteudo = conteudoPendente;
+            ArquivoSeguro.gravar(arquivo, out -> out.write(conteudo));
+            conteudoPendente = null;
+            operacoesPendentes = 0;
+        }
+    }
+
+    @Override
+    public synchronized int getOperacoesPendentes() {
+        return operacoesPendentes;
+    }
+
+    @Override
+    public synchronized void salvar() throws IOException {
+        ArquivoSeguro.gravar(arquivo, out -> formato.gravar(midias, out));
+        conteudoPendente = null;
+        operacoesPendentes = 0;
+    }
+
+    @Override
+    public synchronized void carregar() throws IOException, ClassNotFoundException {
+        if (!ArquivoSeguro.existe(arquivo)) {
+            throw new FileNotFoundException(arquivo.getPath());
+        }
+        midias = ArquivoSeguro.ler(arquivo, FormatoArquivo::ler);
+        conteudoPendente = null;
+        operacoesPendentes = 0;
+    }
+
+    @Override
+    public synchronized void setFormato(FormatoArquivo formato) {
+        this.formato = formato;
+    }
+}
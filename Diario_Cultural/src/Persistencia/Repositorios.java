@@ -0,0 +1,93 @@
+package Persistencia;
+
+import Model.Midia;
+import Persistencia.ServicoPersistencia.Colecao;
+
+import java.io.File;
+
+/**
+ * Cria os repositórios das coleções conforme a configuração da aplicação.
+ *
+ * <p>O tipo de repositório e o diretório dos arquivos podem ser escolhidos pelas
+ * propriedades de sistema {@value #PROPRIEDADE_TIPO} e {@value #PROPRIEDADE_DIRETORIO}
+ * (ex: {@code -Ddiario.repositorio=SERIALIZADO -Ddiario.diretorio=/tmp/diario}).</p>
+ */
+public final class Repositorios {
+
+    /**
+     * Mecanismos de armazenamento disponíveis.
+     */
+    public enum Tipo {
+        /** Coleção completa regravada a cada alteração ({@link RepositorioSerializado}) */
+        SERIALIZADO,
+        /** Snapshot com journal de alterações ({@link RepositorioJournal}) */
+        JOURNAL,
+        /** Arquivo único mapeado em memória, com decodificação sob demanda ({@link RepositorioMapeado}) */
+        MAPEADO,
+        /** Apenas em memória, para testes ({@link RepositorioMemoria}) */
+        MEMORIA
+    }
+
+    /** Propriedade de sistema que define o tipo de repositório */
+    public static final String PROPRIEDADE_TIPO = "diario.repositorio";
+
+    /** Propriedade de sistema que define o diretório dos arquivos */
+    public static final String PROPRIEDADE_DIRETORIO = "diario.diretorio";
+
+    /** Arquivo único usado pelo repositório {@link Tipo#MAPEADO} */
+    private static final String ARQUIVO_MAPEADO = "diario.mmap";
+
+    /** Diretório onde as coleções são gravadas */
+    public static final String DIRETORIO = System.getProperty(PROPRIEDADE_DIRETORIO, "src/arquivos");
+
+    private Repositorios() {
+    }
+
+    /**
+     * Retorna o tipo de repositório configurado.
+     *
+     * @return tipo informado em {@value #PROPRIEDADE_TIPO}, ou {@link Tipo#JOURNAL} se não informado ou inválido
+     */
+    public static Tipo tipoPadrao() {
+        String valor = System.getProperty(PROPRIEDADE_TIPO);
+        if (valor != null) {
+            for (Tipo tipo : Tipo.values()) {
+                if (tipo.name().equalsIgnoreCase(valor.trim())) {
+                    return tipo;
+                }
+            }
+        }
+        return Tipo.JOURNAL;
+    }
+
+    /**
+     * Cria um repositório do tipo configurado.
+     *
+     * @param nome nome da coleção, usado nos nomes dos arquivos (ex: "livros")
+     * @param <T> tipo de mídia armazenada
+     * @return novo repositório
+     */
+    public static <T extends Midia> MidiaRepository<T> criar(String nome) {
+        return criar(tipoPadrao(), nome);
+    }
+
+    /**
+     * Cria um repositório do tipo informado, gravando em {@link #DIRETORIO}.
+     *
+     * @param tipo mecanismo de armazenamento
+     * @param nome nome da coleção, usado nos nomes dos arquivos (ex: "livros"); no repositório
+     *             mapeado, deve corresponder a uma {@link Colecao}
+     * @param <T> tipo de mídia armazenada
+     * @return novo repositório
+     */
+    public static <T extends Midia> MidiaRepository<T> criar(Tipo tipo, String nome) {
+        String base = DIRETORIO + File.separator + nome;
+        return switch (tipo) {
+            case SERIALIZADO -> new RepositorioSerializado<>(base + ".dat");
+            case JOURNAL -> new RepositorioJournal<>(base + ".dat", base + ".journal");
+            case MAPEADO -> new RepositorioMapeado<>(ArquivoMapeado.de(DIRETORIO + File.separator + ARQUIVO_MAPEADO),
+                    Colecao.valueOf(nome.toUpperCase()));
+            case MEMORIA -> new RepositorioMemoria<>();
+        };
+    }
+}
@@ -0,0 +1,215 @@
+package Persistencia;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Serviço de gravação em segundo plano (write-behind) das coleções de mídias.
+ *
+ * <p>Os controladores avisam o serviço sempre que uma coleção é alterada, em vez de
+ * gravar no disco na própria thread da interface. O serviço agenda uma única gravação
+ * por coleção dentro de uma janela de tempo: avisos que chegam enquanto a gravação
+ * ainda está agendada são absorvidos por ela. Todas as gravações são executadas em
+ * uma única thread, de modo que nunca há duas escritas simultâneas no mesmo arquivo.</p>
+ *
+ * <p>A gravação não lê as coleções em uso: os repositórios copiam ou codificam cada
+ * alteração na thread que a fez ({@link MidiaRepository#registrar}), e a gravação
+ * agendada escreve apenas esse conteúdo. Uma gravação que falha continua agendada e é
+ * tentada novamente; a última falha de cada coleção fica disponível em
+ * {@link #getFalha(Colecao)}.</p>
+ *
+ * <p>Ao encerrar a aplicação, {@link #descarregar()} deve ser chamado para gravar
+ * imediatamente tudo o que ainda estiver agendado.</p>
+ */
+public final class ServicoPersistencia {
+
+    /**
+     * Coleções de mídias do sistema, cada uma gravada em seus próprios arquivos.
+     */
+    public enum Colecao {
+        LIVROS, FILMES, SERIES
+    }
+
+    /** Propriedade de sistema que define a janela de agrupamento, em milissegundos */
+    public static final String PROPRIEDADE_JANELA = "diario.janelaGravacao";
+
+    /** Janela de agrupamento padrão, em milissegundos */
+    private static final long JANELA_PADRAO_MS = 500;
+
+    /** Intervalo mínimo antes de tentar novamente uma gravação que falhou, em milissegundos */
+    private static final long INTERVALO_NOVA_TENTATIVA_MS = 1_000;
+
+    private static final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "diario-persistencia");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Gravações agendadas e ainda não executadas, uma por coleção */
+    private static final Map<Colecao, Agendamento> agendadas = new EnumMap<>(Colecao.class);
+
+    /** Última falha de gravação de cada coleção, removida quando uma gravação é concluída */
+    private static final Map<Colecao, Exception> falhas = new EnumMap<>(Colecao.class);
+
+    private static long janelaMs = Long.getLong(PROPRIEDADE_JANELA, JANELA_PADRAO_MS);
+
+    /**
+     * Gravação de uma coleção no disco.
+     */
+    @FunctionalInterface
+    public interface Gravacao {
+        void gravar() throws IOException;
+    }
+
+    /**
+     * Gravação agendada de uma coleção.
+     *
+     * @param gravador ação que grava a coleção
+     * @param futuro execução agendada no executor
+     */
+    private record Agendamento(Gravacao gravador, ScheduledFuture<?> futuro) {
+    }
+
+    private ServicoPersistencia() {
+    }
+
+    /**
+     * Marca uma coleção como alterada e agenda sua gravação para o fim da janela atual.
+     * Se já houver uma gravação agendada para a coleção, nenhuma nova é criada.
+     *
+     * @param colecao coleção alterada
+     * @param gravador ação que grava a coleção no disco
+     */
+    public static synchronized void marcarAlterado(Colecao colecao, Gravacao gravador) {
+        if (agendadas.containsKey(colecao)) {
+            return;
+        }
+        agendar(colecao, gravador, janelaMs);
+    }
+
+    /**
+     * Executa imediatamente, e aguarda, todas as gravações ainda agendadas.
+     * Deve ser chamado ao encerrar a aplicação. Gravações que falharem continuam
+     * agendadas, e a falha fica disponível em {@link #getFalha(Colecao)}.
+     *
+     * @return {@code true} se todas as gravações foram concluídas, {@code false} caso contrário
+     */
+    public static boolean descarregar() {
+        Map<Colecao, Agendamento> pendentes;
+        synchronized (ServicoPersistencia.class) {
+            pendentes = new EnumMap<>(agendadas);
+            agendadas.clear();
+        }
+
+        for (Agendamento agendamento : pendentes.values()) {
+            agendamento.futuro().cancel(false);
+        }
+
+        try {
+            return executor.submit(() -> {
+                boolean concluidas = true;
+                for (Map.Entry<Colecao, Agendamento> pendente : pendentes.entrySet()) {
+                    concluidas &= gravar(pendente.getKey(), pendente.getValue().gravador());
+                }
+                return concluidas;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Retorna a última falha de gravação de uma coleção, se a coleção ainda não foi
+     * gravada com sucesso depois dela.
+     *
+     * @param colecao coleção consultada
+     * @return exceção lançada pela gravação, ou null se não houver falha pendente
+     */
+    public static synchronized Exception getFalha(Colecao colecao) {
+        return falhas.get(colecao);
+    }
+
+    /**
+     * Retorna a janela de agrupamento das gravações.
+     *
+     * @return janela em milissegundos
+     */
+    public static synchronized long getJanelaMs() {
+        return janelaMs;
+    }
+
+    /**
+     * Define a janela de agrupamento das gravações. Vale para as próximas gravações agendadas.
+     *
+     * @param janelaMs janela em milissegundos (0 grava assim que possível)
+     */
+    public static synchronized void setJanelaMs(long janelaMs) {
+        if (janelaMs < 0) {
+            throw new IllegalArgumentException("Janela negativa: " + janelaMs);
+        }
+        ServicoPersistencia.janelaMs = janelaMs;
+    }
+
+    /**
+     * Verifica se uma coleção possui gravação agendada.
+     *
+     * @param colecao coleção consultada
+     * @return {@code true} se houver gravação aguardando execução
+     */
+    public static synchronized boolean isAgendado(Colecao colecao) {
+        return agendadas.containsKey(colecao);
+    }
+
+    /**
+     * Agenda a gravação de uma coleção. Deve ser chamado com a trava da classe obtida.
+     */
+    private static void agendar(Colecao colecao, Gravacao gravador, long atrasoMs) {
+        ScheduledFuture<?> futuro = executor.schedule(() -> executar(colecao), atrasoMs, TimeUnit.MILLISECONDS);
+        agendadas.put(colecao, new Agendamento(gravador, futuro));
+    }
+
+    /**
+     * Executa a gravação agendada de uma coleção, liberando o agendamento antes,
+     * para que alterações feitas durante a escrita gerem uma nova gravação.
+     */
+    private static void executar(Colecao colecao) {
+        Agendamento agendamento;
+        synchronized (ServicoPersistencia.class) {
+            agendamento = agendadas.remove(colecao);
+        }
+        if (agendamento != null) {
+            gravar(colecao, agendamento.gravador());
+        }
+    }
+
+    /**
+     * Executa uma gravação. Em caso de erro, registra a falha e agenda uma nova tentativa,
+     * a menos que outra gravação da coleção já esteja agendada.
+     *
+     * @return {@code true} se a gravação foi concluída
+     */
+    private static boolean gravar(Colecao colecao, Gravacao gravador) {
+        try {
+            gravador.gravar();
+            synchronized (ServicoPersistencia.class) {
+                falhas.remove(colecao);
+            }
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            synchronized (ServicoPersistencia.class) {
+                falhas.put(colecao, e);
+                if (!agendadas.containsKey(colecao)) {
+                    agendar(colecao, gravador, Math.max(janelaMs, INTERVALO_NOVA_TENTATIVA_MS));
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package Service;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.SerieController;
+import Indice.CatalogoIndices;
+import Model.Midia;
+import Persistencia.MidiaRepository;
+import Persistencia.ServicoPersistencia.Colecao;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Carrega as três coleções de mídias (livros, filmes e séries) em paralelo na inicialização.
+ *
+ * <p>Cada coleção é lida em sua própria thread virtual, de modo que o tempo total de
+ * inicialização passa a ser o da maior coleção, e não a soma das três. O resultado de
+ * cada carga (sucesso, duração e eventual erro) fica disponível individualmente assim
+ * que termina, e {@link #getPronto()} é concluído quando as três terminam.</p>
+ *
+ * <p>Depois de cada carga bem-sucedida, os índices de busca da coleção são montados em
+ * outra thread virtual, sem atrasar a exibição das mídias. {@link #getPronto()} só é
+ * concluído quando os índices também estão prontos, de modo que quem altera as coleções
+ * depois dele (como o cadastro das mídias predefinidas) não concorre com a montagem.
+ * Coleções decodificadas sob demanda são indexadas apenas na primeira consulta.</p>
+ *
+ * <p>Mídias lidas de arquivos antigos, sem id, só recebem um id depois que as três cargas
+ * terminam ({@link Midia#iniciarCarga()}), pois antes disso outra coleção ainda pode
+ * restaurar um id maior que o valor atual da sequência. A coleção é então gravada de novo
+ * com os ids atribuídos, antes da montagem dos índices.</p>
+ *
+ * <pre>
+ *   CarregadorInicial carga = CarregadorInicial.iniciar();
+ *   Map&lt;Colecao, ResultadoCarga&gt; resultados = carga.getPronto().join();
+ * </pre>
+ */
+public final class CarregadorInicial {
+
+    /**
+     * Resultado da carga de uma coleção.
+     *
+     * @param colecao coleção carregada
+     * @param sucesso {@code true} se o arquivo foi lido com sucesso
+     * @param duracaoMs tempo gasto na carga, em milissegundos
+     * @param erro exceção lançada ao ler um arquivo existente, ou null se a carga
+     *             teve sucesso ou não havia arquivo salvo
+     */
+    public record ResultadoCarga(Colecao colecao, boolean sucesso, long duracaoMs, Throwable erro) {
+
+        /**
+         * Retorna uma linha de relatório com o resultado da carga.
+         *
+         * @return descrição do resultado
+         */
+        @Override
+        public String toString() {
+            String situacao = sucesso ? "carregado" : erro != null ? "falhou (" + erro + ")" : "sem arquivo salvo";
+            return String.format("%s: %s em %d ms", colecao, situacao, duracaoMs);
+        }
+    }
+
+    private final Map<Colecao, CompletableFuture<ResultadoCarga>> cargas = new EnumMap<>(Colecao.class);
+    private final CompletableFuture<Map<Colecao, ResultadoCarga>> pronto;
+
+    private CarregadorInicial() {
+        Midia.iniciarCarga();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        cargas.put(Colecao.LIVROS, carregar(Colecao.LIVROS, LivroController::carregarLivros, executor));
+        cargas.put(Colecao.FILMES, carregar(Colecao.FILMES, FilmeController::carregarFilmes, executor));
+        cargas.put(Colecao.SERIES, carregar(Colecao.SERIES, SerieController::carregarSeries, executor));
+        executor.shutdown();
+        CompletableFuture.allOf(cargas.values().toArray(CompletableFuture<?>[]::new))
+                .whenComplete((v, e) -> Midia.concluirCarga());
+
+        Executor indexacao = tarefa -> Thread.ofVirtual().start(tarefa);
+        CompletableFuture<?>[] preparos = cargas.values().stream()
+                .map(carga -> carga.thenAcceptAsync(CarregadorInicial::prepararIndices, indexacao))
+                .toArray(CompletableFuture<?>[]::new);
+
+        pronto = CompletableFuture.allOf(preparos).thenApply(v -> {
+            Map<Colecao, ResultadoCarga> resultados = new EnumMap<>(Colecao.class);
+            cargas.forEach((colecao, carga) -> resultados.put(colecao, carga.join()));
+            return resultados;
+        });
+    }
+
+    /**
+     * Inicia a carga das três coleções em paralelo e retorna imediatamente.
+     *
+     * @return carregador com o andamento das cargas
+     */
+    public static CarregadorInicial iniciar() {
+        return new CarregadorInicial();
+    }
+
+    /**
+     * Retorna a carga de uma coleção específica, concluída assim que ela termina,
+     * independentemente das demais.
+     *
+     * @param colecao coleção desejada
+     * @return futuro com o resultado da carga
+     */
+    public CompletableFuture<ResultadoCarga> getCarga(Colecao colecao) {
+        return cargas.get(colecao);
+    }
+
+    /**
+     * Retorna o sinal de conclusão das três cargas.
+     *
+     * @return futuro concluído com o resultado de cada coleção quando todas terminarem
+     */
+    public CompletableFuture<Map<Colecao, ResultadoCarga>> getPronto() {
+        return pronto;
+    }
+
+    /**
+     * Verifica se nenhuma coleção tem arquivo salvo, situação em que o sistema
+     * é preenchido com as mídias predefinidas. Uma coleção cujo arquivo existe mas
+     * não pôde ser lido impede o preenchimento, para que as mídias predefinidas não
+     * sejam gravadas por cima dos dados do usuário.
+     *
+     * @param resultados resultados das cargas
+     * @return {@code true} se nenhuma coleção foi carregada e nenhuma falhou com erro
+     */
+    public static boolean nenhumaCarregada(Map<Colecao, ResultadoCarga> resultados) {
+        return resultados.values().stream().noneMatch(r -> r.sucesso() || r.erro() != null);
+    }
+
+    /**
+     * Monta um relatório com o resultado e o tempo de cada coleção.
+     *
+     * @param resultados resultados das cargas
+     * @return relatório com uma linha por coleção
+     */
+    public static String relatorio(Map<Colecao, ResultadoCarga> resultados) {
+        StringBuilder sb = new StringBuilder("Carga inicial:");
+        resultados.values().forEach(r -> sb.append("\n  ").append(r));
+        return sb.toString();
+    }
+
+    /**
+     * Monta os índices de uma coleção carregada com sucesso. Uma falha aqui não impede a
+     * inicialização: a coleção é indexada novamente na primeira consulta.
+     *
+     * @param resultado resultado da carga da coleção
+     */
+    private static void prepararIndices(ResultadoCarga resultado) {
+        if (!resultado.sucesso() || repositorio(resultado.colecao()).isDecodificacaoSobDemanda()) {
+            return;
+        }
+        atribuirIdsFaltantes(repositorio(resultado.colecao()));
+        try {
+            CatalogoIndices.preparar(resultado.colecao());
+        } catch (RuntimeException e) {
+            CatalogoIndices.invalidar(resultado.colecao());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Atribui ids às mídias lidas sem id e grava a coleção para que o journal possa
+     * referenciá-las. {@link Midia#garantirId()} aguarda o fim das três cargas.
+     *
+     * @param repositorio repositório da coleção carregada
+     */
+    private static void atribuirIdsFaltantes(MidiaRepository<?> repositorio) {
+        boolean atribuidos = false;
+        for (Midia midia : new ArrayList<>(repositorio.getMidias())) {
+            atribuidos |= midia.garantirId();
+        }
+        if (atribuidos) {
+            try {
+                repositorio.salvar();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static MidiaRepository<?> repositorio(Colecao colecao) {
+        return switch (colecao) {
+            case LIVROS -> LivroController.getRepositorio();
+            case FILMES -> FilmeController.getRepositorio();
+            case SERIES -> SerieController.getRepositorio();
+        };
+    }
+
+    private static CompletableFuture<ResultadoCarga> carregar(Colecao colecao, BooleanSupplier carga, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            long inicio = System.nanoTime();
+            try {
+                boolean sucesso = carga.getAsBoolean();
+                return new ResultadoCarga(colecao, sucesso, (System.nanoTime() - inicio) / 1_000_000, null);
+            } catch (RuntimeException e) {
+                return new ResultadoCarga(colecao, false, (System.nanoTime() - inicio) / 1_000_000, e);
+            }
+        }, executor);
+    }
+}
@@ -122,14 +122,76 @@ public class Servicos {
 
     }
 
+    /** Marca, na tabela de normalização, caracteres que são descartados */
+    private static final char REMOVER = 0;
+
+    /** Marca, na tabela de normalização, caracteres que exigem a normalização completa */
+    private static final char NORMALIZACAO_COMPLETA = 0xFFFF;
+
+    /**
+     * Resultado da normalização de cada caractere dos blocos latinos (até U+024F),
+     * calculado uma única vez com {@link #normalizarCompleto(String)}.
+     */
+    private static final char[] TABELA_NORMALIZACAO = new char[0x250];
+
+    static {
+        for (char c = 0; c < TABELA_NORMALIZACAO.length; c++) {
+            String normalizado = normalizarCompleto(String.valueOf(c));
+            TABELA_NORMALIZACAO[c] = switch (normalizado.length()) {
+                case 0 -> REMOVER;
+                case 1 -> normalizado.charAt(0);
+                default -> NORMALIZACAO_COMPLETA;
+            };
+        }
+    }
+
     /**
      * Normaliza um título removendo acentos, caracteres especiais e espaços.
      * Útil para comparações e buscas insensíveis a esses elementos.
      *
+     * <p>Textos formados apenas por caracteres latinos são convertidos caractere a caractere
+     * pela tabela {@link #TABELA_NORMALIZACAO}, sem expressões regulares. Se o texto já estiver
+     * normalizado, ele próprio é retornado, sem nenhuma alocação. Os demais textos passam
+     * pela normalização completa, com o mesmo resultado.</p>
+     *
      * @param titulo título a ser normalizado
      * @return texto normalizado sem acentos, caracteres especiais ou espaços
      */
     public static String normalizarTitulo(String titulo) {
+        int tamanho = titulo.length();
+        char[] saida = null;
+        int escritos = 0;
+
+        for (int i = 0; i < tamanho; i++) {
+            char c = titulo.charAt(i);
+            if (c >= TABELA_NORMALIZACAO.length || TABELA_NORMALIZACAO[c] == NORMALIZACAO_COMPLETA) {
+                return normalizarCompleto(titulo);
+            }
+            char convertido = TABELA_NORMALIZACAO[c];
+            if (saida == null) {
+                if (convertido == c && c != REMOVER) {
+                    continue;
+                }
+                saida = new char[tamanho];
+                titulo.getChars(0, i, saida, 0);
+                escritos = i;
+            }
+            if (convertido != REMOVER) {
+                saida[escritos++] = convertido;
+            }
+        }
+
+        return saida == null ? titulo : new String(saida, 0, escritos);
+    }
+
+    /**
+     * Normalização por decomposição Unicode e expressões regulares, usada para montar
+     * a tabela e para textos com caracteres fora dos blocos latinos.
+     *
+     * @param titulo título a ser normalizado
+     * @return texto normalizado sem acentos, caracteres especiais ou espaços
+     */
+    private static String normalizarCompleto(String titulo) {
         String normalizado = Normalizer.normalize(titulo, Normalizer.Form.NFD).replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
 
         normalizado = normalizado.replaceAll("[^\\p{L}\\p{Nd} ]+", "");
@@ -188,42 +250,57 @@ public class Servicos {
      * Salva a lista de livros no sistema, exibindo mensagens de progresso.
      * 
      * Este método imprime uma mensagem de aviso antes de iniciar o salvamento,
-     * chama o método de salvamento da classe LivroController e confirma o sucesso.
+     * chama o método de salvamento da classe LivroController e informa se foi concluído.
+     * Apenas as alterações feitas desde a última gravação são escritas; se
+     * nada mudou, o arquivo não é tocado.
      * 
-     * @see LivroController#salvarLivros()
+     * @see LivroController#salvarAlteracoes()
      */
     public static void salvandoLivros() {
         System.out.println("Salvando💾...Não desligue o computador enquanto isso.");
-        LivroController.salvarLivros();
-        System.out.println("Salvo com sucesso.");
+        if (LivroController.salvarAlteracoes()) {
+            System.out.println("Salvo com sucesso.");
+        } else {
+            System.out.println("Erro ao salvar. As alterações continuam pendentes.");
+        }
     }
 
     /**
      * Salva a lista de filmes no sistema, exibindo mensagens de progresso.
      * 
      * Este método imprime uma mensagem de aviso antes de iniciar o salvamento,
-     * chama o método de salvamento da classe FilmeController e confirma o sucesso.
+     * chama o método de salvamento da classe FilmeController e informa se foi concluído.
+     * Apenas as alterações feitas desde a última gravação são escritas; se
+     * nada mudou, o arquivo não é tocado.
      * 
-     * @see FilmeController#salvarFilmes()
+     * @see FilmeController#salvarAlteracoes()
      */
     public static void salvandoFilmes() {
         System.out.println("Salvando💾...Não desligue o computador enquanto isso.");
-        FilmeController.salvarFilmes();
-        System.out.println("Salvo com sucesso.");
+        if (FilmeController.salvarAlteracoes()) {
+            System.out.println("Salvo com sucesso.");
+        } else {
+            System.out.println("Erro ao salvar. As alterações continuam pendentes.");
+        }
     }
 
     /**
      * Salva a lista de séries no sistema, exibindo mensagens de progresso.
      * 
      * Este método imprime uma mensagem de aviso antes de iniciar o salvamento,
-     * chama o método de salvamento da classe SerieController e confirma o sucesso.
+     * chama o método de salvamento da classe SerieController e informa se foi concluído.
+     * Apenas as alterações feitas desde a última gravação são escritas; se
+     * nada mudou, o arquivo não é tocado.
      * 
-     * @see SerieController#salvarSeries()
+     * @see SerieController#salvarAlteracoes()
      */
     public static void salvandoSeries() {
         System.out.println("Salvando💾...Não desligue o computador enquanto isso.");
-        SerieController.salvarSeries();
-        System.out.println("Salvo com sucesso.");
+        if (SerieController.salvarAlteracoes()) {
+            System.out.println("Salvo com sucesso.");
+        } else {
+            System.out.println("Erro ao salvar. As alterações continuam pendentes.");
+        }
     }
 
 }
\ No newline at end of file
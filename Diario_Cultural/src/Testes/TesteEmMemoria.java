@@ -0,0 +1,53 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.SerieController;
+import Model.Filme;
+import Model.Livro;
+import Model.Serie;
+import Persistencia.MidiaRepository;
+import Persistencia.RepositorioMemoria;
+import Persistencia.ServicoPersistencia;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+/**
+ * Base dos testes que cadastram mídias pelos controladores sem testar a persistência.
+ *
+ * <p>Antes de cada teste, os repositórios dos três controladores são trocados por
+ * repositórios vazios em memória ({@link RepositorioMemoria}), de modo que os cadastros
+ * feitos na preparação não gravem nos arquivos de {@code src/arquivos}. Depois de cada
+ * teste, as gravações pendentes são concluídas e os repositórios originais restaurados.
+ * As mídias de cada teste continuam sendo cadastradas pela própria classe de teste.</p>
+ */
+abstract class TesteEmMemoria {
+
+    private MidiaRepository<Livro> livrosOriginal;
+    private MidiaRepository<Filme> filmesOriginal;
+    private MidiaRepository<Serie> seriesOriginal;
+
+    /**
+     * Instala repositórios vazios em memória nos três controladores.
+     */
+    @BeforeEach
+    void instalarRepositoriosEmMemoria() {
+        livrosOriginal = LivroController.getRepositorio();
+        filmesOriginal = FilmeController.getRepositorio();
+        seriesOriginal = SerieController.getRepositorio();
+        LivroController.setRepositorio(new RepositorioMemoria<>());
+        FilmeController.setRepositorio(new RepositorioMemoria<>());
+        SerieController.setRepositorio(new RepositorioMemoria<>());
+    }
+
+    /**
+     * Conclui as gravações agendadas durante o teste e restaura os repositórios originais.
+     */
+    @AfterEach
+    void restaurarRepositorios() {
+        ServicoPersistencia.descarregar();
+        LivroController.setRepositorio(livrosOriginal);
+        FilmeController.setRepositorio(filmesOriginal);
+        SerieController.setRepositorio(seriesOriginal);
+    }
+}
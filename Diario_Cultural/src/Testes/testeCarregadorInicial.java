@@ -0,0 +1,101 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.SerieController;
+import Model.Filme;
+import Model.Livro;
+import Model.Serie;
+import Persistencia.ServicoPersistencia.Colecao;
+import Service.CarregadorInicial;
+import Service.CarregadorInicial.ResultadoCarga;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para a carga paralela das coleções na inicialização.
+ * Verifica se as três coleções são carregadas, se cada carga informa seu
+ * resultado individualmente e se o sinal de conclusão reúne todas.
+ *
+ * @see CarregadorInicial
+ */
+class testeCarregadorInicial {
+
+    private List<Livro> livros;
+    private List<Filme> filmes;
+    private List<Serie> series;
+
+    /**
+     * Guarda o conteúdo atual das coleções, que a carga substitui.
+     */
+    @BeforeEach
+    void setUp() {
+        livros = new ArrayList<>(LivroController.getLivros());
+        filmes = new ArrayList<>(FilmeController.getFilmes());
+        series = new ArrayList<>(SerieController.getSeries());
+    }
+
+    /**
+     * Restaura o conteúdo das coleções para não afetar os demais testes.
+     */
+    @AfterEach
+    void tearDown() {
+        LivroController.getLivros().clear();
+        LivroController.getLivros().addAll(livros);
+        FilmeController.getFilmes().clear();
+        FilmeController.getFilmes().addAll(filmes);
+        SerieController.getSeries().clear();
+        SerieController.getSeries().addAll(series);
+    }
+
+    /**
+     * Testa se o sinal de conclusão traz o resultado das três coleções
+     * e se cada carga individual já está concluída nesse momento.
+     */
+    @Test
+    void testeCarregarTresColecoes() throws Exception {
+        CarregadorInicial carga = CarregadorInicial.iniciar();
+
+        Map<Colecao, ResultadoCarga> resultados = carga.getPronto().get(10, TimeUnit.SECONDS);
+
+        assertEquals(3, resultados.size());
+        for (Colecao colecao : Colecao.values()) {
+            ResultadoCarga resultado = resultados.get(colecao);
+            assertAll("Verificação da carga de " + colecao,
+                    () -> assertEquals(colecao, resultado.colecao()),
+                    () -> assertTrue(resultado.duracaoMs() >= 0),
+                    () -> assertNull(resultado.erro()),
+                    () -> assertTrue(carga.getCarga(colecao).isDone())
+            );
+        }
+    }
+
+    /**
+     * Testa a verificação usada para decidir pelo cadastro das mídias predefinidas.
+     */
+    @Test
+    void testeNenhumaCarregada() {
+        Map<Colecao, ResultadoCarga> falhas = Map.of(
+                Colecao.LIVROS, new ResultadoCarga(Colecao.LIVROS, false, 1, null),
+                Colecao.FILMES, new ResultadoCarga(Colecao.FILMES, false, 1, null));
+        Map<Colecao, ResultadoCarga> parcial = Map.of(
+                Colecao.LIVROS, new ResultadoCarga(Colecao.LIVROS, true, 1, null),
+                Colecao.FILMES, new ResultadoCarga(Colecao.FILMES, false, 1, null));
+
+        Map<Colecao, ResultadoCarga> ilegivel = Map.of(
+                Colecao.LIVROS, new ResultadoCarga(Colecao.LIVROS, false, 1, new UncheckedIOException(new IOException("CRC divergente"))),
+                Colecao.FILMES, new ResultadoCarga(Colecao.FILMES, false, 1, null));
+
+        assertTrue(CarregadorInicial.nenhumaCarregada(falhas));
+        assertFalse(CarregadorInicial.nenhumaCarregada(parcial));
+        assertFalse(CarregadorInicial.nenhumaCarregada(ilegivel), "Um arquivo ilegível não deve ser tratado como ausente");
+    }
+}
@@ -0,0 +1,111 @@
+package Testes;
+
+import Model.*;
+import Persistencia.CodecMidias;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o codec binário das mídias.
+ * Verifica se livros, filmes e séries com temporadas e avaliações são
+ * reconstruídos com os mesmos dados após a gravação, e se o arquivo gerado
+ * é menor que o da serialização padrão do Java.
+ *
+ * @see CodecMidias
+ */
+class testeCodecMidias {
+
+    private List<Midia> midias;
+
+    /**
+     * Monta uma coleção com um exemplar de cada tipo de mídia.
+     */
+    @BeforeEach
+    void setUp() {
+        Livro livro = new Livro("Dom Casmurro", new ArrayList<>(List.of("Romance", "Drama")), 1899,
+                "Machado de Assis", "9788535910663", true, "Companhia das Letras");
+        livro.setJaConsumiu(true);
+        livro.setAvaliacao(new Avaliacao(4.5f, "Excelente", "10/05/2025", LocalDate.of(2025, 5, 1)));
+
+        Map<String, List<String>> elenco = new HashMap<>();
+        elenco.put("Protagonistas", new ArrayList<>(List.of("Keanu Reeves", "Carrie-Anne Moss")));
+        Filme filme = new Filme("Matrix", new ArrayList<>(List.of("Ficção", "Ação")), 1999, 136,
+                "Wachowski", "Wachowski", elenco, "The Matrix", new ArrayList<>(List.of("Netflix")));
+        filme.setAvaliacao(new Avaliacao(5.0f, null, "11/05/2025", LocalDate.of(2025, 5, 3)));
+
+        Serie serie = new Serie("Dark", new ArrayList<>(List.of("Ficção", "Drama")), 2017, 2020,
+                new HashMap<>(), "Dark", new ArrayList<>(List.of("Netflix")));
+        Temporada temporada = new Temporada("Dark", serie.getGeneros(), 2017, new HashMap<>(), "Dark",
+                new ArrayList<>(List.of("Netflix")), 1, 10);
+        temporada.setAvaliacao(new Avaliacao(4.0f, "Confusa", "12/05/2025", LocalDate.of(2025, 5, 2)));
+        serie.addTemporada(temporada);
+        serie.setNota();
+
+        midias = new ArrayList<>(List.of(livro, filme, serie));
+    }
+
+    /**
+     * Testa se todas as mídias mantêm seus dados, identificadores e avaliações
+     * após serem gravadas e lidas pelo codec.
+     */
+    @Test
+    void testeGravarELerColecao() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodecMidias.escrever(midias, bytes);
+
+        List<Midia> lidas = CodecMidias.ler(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(midias.size(), lidas.size());
+        for (int i = 0; i < midias.size(); i++) {
+            Midia original = midias.get(i);
+            Midia lida = lidas.get(i);
+            assertAll("Verificação da mídia " + original.getTitulo(),
+                    () -> assertEquals(original.getClass(), lida.getClass()),
+                    () -> assertEquals(original.getId(), lida.getId()),
+                    () -> assertEquals(original.getAvaliacoes().size(), lida.getAvaliacoes().size()),
+                    () -> assertEquals(original.toString(), lida.toString())
+            );
+        }
+
+        Serie serie = (Serie) lidas.get(2);
+        assertEquals(1, serie.getTemporadas().size());
+        assertEquals("02/05/2025", serie.getTemporadas().get(0).getAvaliacoes().get(0).getDataConsumo());
+        assertNull(lidas.get(1).getAvaliacoes().get(0).getAvaliacao());
+    }
+
+    /**
+     * Testa se as listas lidas pelo codec podem ser modificadas.
+     */
+    @Test
+    void testeListasLidasSaoMutaveis() throws Exception {
+        Midia livro = CodecMidias.decodificar(CodecMidias.codificar(midias.get(0)));
+
+        livro.setGenero("Clássico");
+
+        assertEquals(List.of("Romance", "Drama", "Clássico"), livro.getGeneros());
+    }
+
+    /**
+     * Testa se o codec gera um arquivo menor que a serialização padrão do Java.
+     */
+    @Test
+    void testeTamanhoMenorQueSerializacao() throws Exception {
+        ByteArrayOutputStream serializado = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(serializado)) {
+            oos.writeObject(midias);
+        }
+
+        ByteArrayOutputStream codificado = new ByteArrayOutputStream();
+        CodecMidias.escrever(midias, codificado);
+
+        assertTrue(codificado.size() < serializado.size(),
+                "Codec gerou " + codificado.size() + " bytes contra " + serializado.size());
+    }
+}
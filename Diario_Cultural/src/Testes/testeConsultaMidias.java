@@ -0,0 +1,162 @@
+package Testes;
+
+import Controller.ConsultaMidias;
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Model.Avaliacao;
+import Model.Livro;
+import Model.Midia;
+import Persistencia.ServicoPersistencia.Colecao;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para as consultas compostas.
+ * Verifica a combinação de texto, gênero, intervalo de anos, tipo, consumo e nota,
+ * a ordenação por avaliação e se a consulta sobre uma lista qualquer, conferida mídia
+ * a mídia, chega ao mesmo resultado da consulta pelos índices.
+ *
+ * @see ConsultaMidias
+ */
+class testeConsultaMidias extends TesteEmMemoria {
+
+    private LivroController livroController;
+
+    @BeforeEach
+    void setUp() {
+        livroController = new LivroController();
+        livroController.cadastrarLivro("O Hobbit", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1937, "978-8595084742", false);
+        livroController.cadastrarLivro("O Silmarillion", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1977, "978-8595084759", false);
+        livroController.cadastrarLivro("Torto Arado", "Itamar Vieira Junior", "Todavia", new ArrayList<>(List.of("Romance")), 2019, "978-6580309313", false);
+        livroController.cadastrarLivro("Dom Casmurro", "Machado de Assis", "Garnier", new ArrayList<>(List.of("Romance")), 1899, "978-8544001820", false);
+
+        new FilmeController().cadastrarFilme("O Senhor dos Anéis", new ArrayList<>(List.of("Fantasia")), 2001, 178,
+                "Peter Jackson", "Fran Walsh", new HashMap<>(), "The Lord of the Rings", new ArrayList<>());
+
+        List<Livro> livros = LivroController.getLivros();
+        MidiaController.setAvaliacao(livros.get(0), new Avaliacao(4, "Ótimo", null));
+        MidiaController.setAvaliacao(livros.get(2), new Avaliacao(5, "Excelente", null));
+        MidiaController.setAvaliacao(livros.get(3), new Avaliacao(3, "Bom", null));
+        MidiaController.setJaConsumiu(livros.get(0), true);
+        MidiaController.setJaConsumiu(livros.get(1), false);
+        MidiaController.setJaConsumiu(livros.get(2), true);
+        MidiaController.setJaConsumiu(livros.get(3), true);
+    }
+
+    /**
+     * Testa a combinação dos critérios com índice (texto, gênero e ano) e sem índice
+     * (consumo e nota), e a restrição por tipo de mídia.
+     */
+    @Test
+    void testeCombinacaoDeCriterios() {
+        ConsultaMidias fantasia = new ConsultaMidias();
+        fantasia.setGenero("fantasia");
+        assertEquals(List.of("O Hobbit", "O Silmarillion", "O Senhor dos Anéis"), titulos(fantasia.executar()));
+
+        fantasia.setTipos(Colecao.LIVROS);
+        fantasia.setIntervaloAnos(null, 1950);
+        assertEquals(List.of("O Hobbit"), titulos(fantasia.executar()));
+
+        ConsultaMidias consumidos = new ConsultaMidias(LivroController.getLivros());
+        consumidos.setJaConsumiu(true);
+        consumidos.setIntervaloNota(4f, null);
+        assertEquals(List.of("O Hobbit", "Torto Arado"), titulos(consumidos.executar()));
+
+        ConsultaMidias texto = new ConsultaMidias();
+        texto.setTexto("tolk");
+        texto.setIntervaloAnos(1970, 1980);
+        assertEquals(List.of("O Silmarillion"), titulos(texto.executar()));
+
+        texto.setTexto("978-65");
+        texto.setIntervaloAnos(null, null);
+        assertEquals(List.of("Torto Arado"), titulos(texto.executar()));
+
+        ConsultaMidias vazia = new ConsultaMidias(FilmeController.getFilmes());
+        vazia.setTipos(Colecao.LIVROS);
+        assertTrue(vazia.executar().isEmpty());
+    }
+
+    /**
+     * Testa a ordenação pela nota mais recente.
+     */
+    @Test
+    void testeOrdenacao() {
+        ConsultaMidias consulta = new ConsultaMidias(LivroController.getLivros());
+        consulta.setGenero("Romance");
+
+        consulta.setOrdenacao(ConsultaMidias.Ordenacao.BEM_AVALIADOS);
+        assertEquals(List.of("Torto Arado", "Dom Casmurro"), titulos(consulta.executar()));
+
+        consulta.setOrdenacao(ConsultaMidias.Ordenacao.MAL_AVALIADOS);
+        assertEquals(List.of("Dom Casmurro", "Torto Arado"), titulos(consulta.executar()));
+    }
+
+    /**
+     * Testa se a consulta sobre uma cópia das listas, conferida mídia a mídia, chega ao
+     * mesmo resultado da consulta pelos índices, inclusive com muitos candidatos.
+     */
+    @Test
+    void testeIndiceIgualConferencia() {
+        for (int i = 0; i < 600; i++) {
+            livroController.cadastrarLivro("Volume " + i, "Autor " + (i % 7), "Editora", new ArrayList<>(List.of(i % 2 == 0 ? "Fantasia" : "Romance")),
+                    1900 + i % 120, "isbn-" + i, false);
+            MidiaController.setJaConsumiu(LivroController.getLivros().getLast(), i % 3 == 0);
+        }
+        List<Midia> todas = new ArrayList<>(LivroController.getLivros());
+        todas.addAll(FilmeController.getFilmes());
+
+        ConsultaMidias pelosIndices = new ConsultaMidias();
+        ConsultaMidias conferida = new ConsultaMidias(todas);
+        for (ConsultaMidias consulta : List.of(pelosIndices, conferida)) {
+            consulta.setTexto("vol");
+            consulta.setGenero("Fantasia");
+            consulta.setIntervaloAnos(1950, 2010);
+            consulta.setJaConsumiu(false);
+        }
+
+        List<Midia> esperado = todas.stream()
+                .filter(m -> m.getTitulo().startsWith("Volume") && m.getGeneros().contains("Fantasia")
+                        && m.getAnoLancamento() >= 1950 && m.getAnoLancamento() <= 2010 && !m.getJa_Consumiu())
+                .toList();
+        assertFalse(esperado.isEmpty());
+        assertEquals(esperado, pelosIndices.executar());
+        assertEquals(esperado, conferida.executar());
+    }
+
+    /**
+     * Testa se, sobre uma lista de mídias que não estão cadastradas em nenhum controlador,
+     * o texto é conferido no título, nos nomes de pessoas e no ISBN de cada mídia.
+     */
+    @Test
+    void testeTextoEmMidiasNaoCadastradas() {
+        List<Livro> avulsos = List.of(
+                new Livro("Memórias Póstumas de Brás Cubas", new ArrayList<>(List.of("Romance")), 1881, "Machado de Assis", "978-8535910667", false, "Penguin"),
+                new Livro("Vidas Secas", new ArrayList<>(List.of("Romance")), 1938, "Graciliano Ramos", "978-8501114921", false, "Record"));
+
+        ConsultaMidias titulo = new ConsultaMidias(avulsos);
+        titulo.setTexto("postumas");
+        assertEquals(List.of("Memórias Póstumas de Brás Cubas"), titulos(titulo.executar()));
+
+        ConsultaMidias pessoa = new ConsultaMidias(avulsos);
+        pessoa.setTexto("ramos");
+        assertEquals(List.of("Vidas Secas"), titulos(pessoa.executar()));
+
+        ConsultaMidias isbn = new ConsultaMidias(avulsos);
+        isbn.setTexto("97885011");
+        assertEquals(List.of("Vidas Secas"), titulos(isbn.executar()));
+
+        ConsultaMidias cadastrado = new ConsultaMidias(avulsos);
+        cadastrado.setTexto("hobbit");
+        assertTrue(cadastrado.executar().isEmpty(), "Uma mídia cadastrada fora da lista foi encontrada");
+    }
+
+    private static List<String> titulos(List<? extends Midia> midias) {
+        return midias.stream().map(Midia::getTitulo).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package Testes;
+
+import Controller.LivroController;
+import Controller.MidiaController;
+import Controller.SerieController;
+import Indice.CatalogoIndices;
+import Model.Livro;
+import Model.Serie;
+import Persistencia.ServicoPersistencia.Colecao;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o índice de anos.
+ * Verifica as buscas por ano exato e por intervalo, a contagem por década e a busca
+ * das séries em exibição em um ano, inclusive após alterações feitas pelos controladores.
+ *
+ * @see CatalogoIndices
+ */
+class testeIndiceAnos extends TesteEmMemoria {
+
+    private LivroController livroController;
+    private SerieController serieController;
+
+    @BeforeEach
+    void setUp() {
+        livroController = new LivroController();
+        serieController = new SerieController();
+        livroController.cadastrarLivro("Neuromancer", "William Gibson", "Aleph", new ArrayList<>(List.of("Ficção Científica")), 1984, "978-0", false);
+        livroController.cadastrarLivro("Jurassic Park", "Michael Crichton", "Aleph", new ArrayList<>(List.of("Ficção Científica")), 1990, "978-1", false);
+        livroController.cadastrarLivro("Ensaio sobre a Cegueira", "José Saramago", "Caminho", new ArrayList<>(List.of("Romance")), 1995, "978-2", false);
+        serieController.cadastrarSerie("Friends", new ArrayList<>(List.of("Comédia")), 1994, 2004, new HashMap<>(), "Friends", new ArrayList<>());
+        serieController.cadastrarSerie("Os Simpsons", new ArrayList<>(List.of("Animação")), 1989, 0, new HashMap<>(), "The Simpsons", new ArrayList<>());
+    }
+
+    /**
+     * Testa as buscas por ano exato e por intervalo e a contagem por década.
+     */
+    @Test
+    void testeBuscasPorAno() {
+        List<Livro> livros = LivroController.getLivros();
+
+        assertAll("Verificação das buscas",
+                () -> assertEquals(List.of(livros.get(1)), MidiaController.busca_ano(1990, livros)),
+                () -> assertEquals(List.of(livros.get(1)), MidiaController.filtrarPorAno(livros, 1990)),
+                () -> assertEquals(List.of(livros.get(1), livros.get(2)), MidiaController.busca_intervalo_anos(1990, 1999, livros)),
+                () -> assertTrue(MidiaController.busca_intervalo_anos(1999, 1990, livros).isEmpty()),
+                () -> assertEquals(List.of(livros.get(0)), MidiaController.busca_intervalo_anos(1980, 1989, new ArrayList<>(livros))),
+                () -> assertEquals(Map.of(1980, 1, 1990, 2), CatalogoIndices.contarPorDecada(Colecao.LIVROS)),
+                () -> assertEquals(Map.of(1980, 2, 1990, 3), CatalogoIndices.contarPorDecada())
+        );
+    }
+
+    /**
+     * Testa a busca das séries em exibição, considerando séries sem ano de encerramento
+     * e a alteração do ano de encerramento.
+     */
+    @Test
+    void testeSeriesEmExibicao() {
+        List<Serie> series = SerieController.getSeries();
+        Serie friends = series.get(0);
+        Serie simpsons = series.get(1);
+
+        assertAll("Verificação das séries em exibição",
+                () -> assertEquals(List.of(simpsons), SerieController.busca_em_exibicao(1990, series)),
+                () -> assertEquals(List.of(friends, simpsons), SerieController.busca_em_exibicao(2004, series)),
+                () -> assertEquals(List.of(simpsons), SerieController.busca_em_exibicao(2025, series)),
+                () -> assertEquals(List.of(friends, simpsons), SerieController.busca_em_exibicao(2000, new ArrayList<>(series)))
+        );
+
+        SerieController.setAnoEncerramento(simpsons, 2003);
+        assertEquals(List.of(friends), SerieController.busca_em_exibicao(2004, series));
+        assertEquals(SerieController.busca_em_exibicao(2004, new ArrayList<>(series)), SerieController.busca_em_exibicao(2004, series));
+    }
+}
@@ -0,0 +1,141 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Indice.CatalogoIndices;
+import Indice.IndiceAproximado;
+import Model.Livro;
+import Model.Midia;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para a busca tolerante a erros de digitação.
+ * Verifica letras erradas, faltando e trocadas de lugar em títulos e nomes, a ordem
+ * pela proximidade do termo, a atualização do índice e se o índice e a busca linear
+ * sobre uma lista qualquer encontram as mesmas mídias.
+ *
+ * @see IndiceAproximado
+ */
+class testeIndiceAproximado extends TesteEmMemoria {
+
+    private LivroController livroController;
+
+    @BeforeEach
+    void setUp() {
+        livroController = new LivroController();
+        livroController.cadastrarLivro("O Hobbit", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1937, "978-1", false);
+        livroController.cadastrarLivro("O Silmarillion", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1977, "978-2", false);
+        livroController.cadastrarLivro("Torto Arado", "Itamar Vieira Junior", "Todavia", new ArrayList<>(List.of("Romance")), 2019, "978-3", false);
+        livroController.cadastrarLivro("Dom Casmurro", "Machado de Assis", "Garnier", new ArrayList<>(List.of("Romance")), 1899, "978-4", false);
+        livroController.cadastrarLivro("Dom Quixote", "Miguel de Cervantes", "Penguin", new ArrayList<>(List.of("Romance")), 1605, "978-5", false);
+
+        Map<String, List<String>> elenco = new HashMap<>();
+        elenco.put("Ator", new ArrayList<>(List.of("Tom Hanks")));
+        new FilmeController().cadastrarFilme("Forrest Gump", new ArrayList<>(List.of("Drama")), 1994, 142,
+                "Robert Zemeckis", "Eric Roth", elenco, "Forrest Gump", new ArrayList<>());
+    }
+
+    /**
+     * Testa a tolerância conforme o tamanho do termo e a distância entre termo e mídia.
+     */
+    @Test
+    void testeTolerancia() {
+        Livro hobbit = LivroController.getLivros().getFirst();
+
+        assertAll("Verificação da tolerância",
+                () -> assertEquals(0, IndiceAproximado.tolerancia(3)),
+                () -> assertEquals(1, IndiceAproximado.tolerancia(6)),
+                () -> assertEquals(2, IndiceAproximado.tolerancia(12)),
+                () -> assertEquals(0, IndiceAproximado.distancia(hobbit, "hobbit")),
+                () -> assertEquals(1, IndiceAproximado.distancia(hobbit, "hobit")),
+                () -> assertEquals(1, IndiceAproximado.distancia(hobbit, "hobibt")),
+                () -> assertEquals(1, IndiceAproximado.distancia(hobbit, "tolkein"))
+        );
+    }
+
+    /**
+     * Testa se títulos e nomes com erros de digitação são encontrados, e se termos curtos
+     * exigem a grafia exata.
+     */
+    @Test
+    void testeErrosDeDigitacao() {
+        List<Livro> livros = LivroController.getLivros();
+
+        assertAll("Verificação dos erros de digitação",
+                () -> assertEquals(List.of("O Hobbit"), titulos(MidiaController.busca_aproximada("hobit", livros))),
+                () -> assertEquals(List.of("O Hobbit"), titulos(MidiaController.busca_aproximada("Hbobit", livros))),
+                () -> assertEquals(List.of("Torto Arado"), titulos(MidiaController.busca_aproximada("torto arrado", livros))),
+                () -> assertEquals(List.of("O Hobbit", "O Silmarillion"), titulos(MidiaController.busca_aproximada("Tolkein", livros))),
+                () -> assertEquals(List.of("Forrest Gump"), titulos(MidiaController.busca_aproximada("Tom Hnaks", FilmeController.getFilmes()))),
+                () -> assertTrue(MidiaController.busca_aproximada("dim", livros).isEmpty()),
+                () -> assertTrue(MidiaController.busca_aproximada("", livros).isEmpty())
+        );
+    }
+
+    /**
+     * Testa se as mídias mais próximas do termo vêm antes e se o limite é respeitado.
+     */
+    @Test
+    void testeOrdemPorProximidade() {
+        livroController.cadastrarLivro("Hobbits", "Autor Desconhecido", "Editora", new ArrayList<>(List.of("Fantasia")), 2000, "978-6", false);
+
+        assertEquals(List.of("O Hobbit", "Hobbits"), titulos(MidiaController.busca_aproximada("hobbit", LivroController.getLivros())));
+        assertEquals(List.of("Hobbits", "O Hobbit"), titulos(MidiaController.busca_aproximada("hobbits", LivroController.getLivros())));
+        assertEquals(List.of("Hobbits"), titulos(CatalogoIndices.buscarAproximado("hobbits", 1)));
+    }
+
+    /**
+     * Testa se o índice acompanha alterações de título e remoções.
+     */
+    @Test
+    void testeAtualizacaoIncremental() {
+        Livro hobbit = LivroController.getLivros().getFirst();
+
+        MidiaController.setTitulo(hobbit, "Contos Inacabados");
+        assertTrue(MidiaController.busca_aproximada("hobit", LivroController.getLivros()).isEmpty());
+        assertEquals(List.of("Contos Inacabados"), titulos(MidiaController.busca_aproximada("inacabdos", LivroController.getLivros())));
+
+        LivroController.removerMidia(hobbit);
+        assertTrue(MidiaController.busca_aproximada("inacabdos", LivroController.getLivros()).isEmpty());
+        assertEquals(List.of("O Silmarillion"), titulos(MidiaController.busca_aproximada("tolkein", LivroController.getLivros())));
+    }
+
+    /**
+     * Testa se o índice e a busca linear sobre uma cópia da lista encontram as mesmas
+     * mídias, na mesma ordem de proximidade.
+     */
+    @Test
+    void testeIndiceIgualBuscaLinear() {
+        List<Midia> todas = new ArrayList<>(LivroController.getLivros());
+        todas.addAll(FilmeController.getFilmes());
+
+        for (String termo : List.of("hobit", "silmarilion", "tolkein", "dom", "dom casmuro", "zemekis",
+                "roth", "forest gmup", "ezquecido", "arado", "machdo de asis", "o")) {
+            List<? extends Midia> linear = MidiaController.busca_aproximada(termo, todas);
+            List<Midia> indice = CatalogoIndices.buscarAproximado(termo, Integer.MAX_VALUE);
+            assertEquals(linear.stream().map(m -> IndiceAproximado.distancia(m, termo)).toList(),
+                    indice.stream().map(m -> IndiceAproximado.distancia(m, termo)).toList(), termo);
+            assertEquals(new HashMap<>(contagem(linear)), new HashMap<>(contagem(indice)), termo);
+        }
+    }
+
+    private static List<String> titulos(List<? extends Midia> midias) {
+        return midias.stream().map(Midia::getTitulo).toList();
+    }
+
+    private static Map<String, Integer> contagem(List<? extends Midia> midias) {
+        Map<String, Integer> contagem = new HashMap<>();
+        for (Midia midia : midias) {
+            contagem.merge(midia.getTitulo(), 1, Integer::sum);
+        }
+        return contagem;
+    }
+}
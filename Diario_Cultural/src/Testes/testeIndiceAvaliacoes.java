@@ -0,0 +1,179 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Controller.SerieController;
+import Indice.CatalogoIndices;
+import Indice.IndiceAvaliacoes;
+import Indice.IndiceAvaliacoes.AvaliacaoEncontrada;
+import Model.Avaliacao;
+import Model.Filme;
+import Model.Livro;
+import Model.Serie;
+import Model.Temporada;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para a busca no texto das avaliações.
+ * Verifica a divisão dos comentários em termos, a ordem por relevância, a inclusão das
+ * avaliações das temporadas e a atualização do índice quando avaliações são incluídas,
+ * sobrescritas ou removidas.
+ *
+ * @see IndiceAvaliacoes
+ */
+class testeIndiceAvaliacoes extends TesteEmMemoria {
+
+    @BeforeEach
+    void setUp() {
+        new LivroController().cadastrarLivro("Torto Arado", "Itamar Vieira Junior", "Todavia", new ArrayList<>(List.of("Romance")), 2019, "978-1", false);
+        new FilmeController().cadastrarFilme("Central do Brasil", new ArrayList<>(List.of("Drama")), 1998, 113,
+                "Walter Salles", "João Emanuel Carneiro", new HashMap<>(), "Central do Brasil", new ArrayList<>());
+
+        SerieController serieController = new SerieController();
+        serieController.cadastrarSerie("Dark", new ArrayList<>(List.of("Ficção")), 2017, 2020, new HashMap<>(), "Dark", new ArrayList<>());
+        serieController.cadastrarTemporada("Temporada 1", new ArrayList<>(List.of("Ficção")), 2017, new HashMap<>(),
+                "Season 1", new ArrayList<>(), 1, 10, SerieController.getSeries().getFirst());
+
+        MidiaController.setAvaliacao(LivroController.getLivros().getFirst(),
+                new Avaliacao(5, "Personagens marcantes e uma narração emocionante.", null));
+        MidiaController.setAvaliacao(FilmeController.getFilmes().getFirst(),
+                new Avaliacao(4, "A atuação de Fernanda Montenegro é emocionante, a personagem é inesquecível.", null));
+    }
+
+    /**
+     * Testa a divisão em termos: sem acentos nem maiúsculas, sem palavras vazias e no singular.
+     */
+    @Test
+    void testeTermos() {
+        assertAll("Verificação dos termos",
+                () -> assertEquals(List.of("personagem", "emocionante"), IndiceAvaliacoes.termos("Os PERSONAGENS são emocionantes!")),
+                () -> assertEquals(List.of("emocao", "animal", "ator"), IndiceAvaliacoes.termos("emoções, animais e atores")),
+                () -> assertEquals(List.of("onibus", "2019"), IndiceAvaliacoes.termos("ônibus em 2019")),
+                () -> assertTrue(IndiceAvaliacoes.termos("não é de que").isEmpty())
+        );
+    }
+
+    /**
+     * Testa se a busca encontra as avaliações pelo texto, das mais relevantes para as menos relevantes.
+     */
+    @Test
+    void testeBuscaOrdenada() {
+        Livro torto = LivroController.getLivros().getFirst();
+        Filme central = FilmeController.getFilmes().getFirst();
+
+        List<AvaliacaoEncontrada> emocionantes = MidiaController.busca_avaliacoes("emocionante", FilmeController.getFilmes());
+        List<AvaliacaoEncontrada> personagens = MidiaController.busca_avaliacoes("personagem narração", LivroController.getLivros());
+        List<AvaliacaoEncontrada> todas = new ArrayList<>(MidiaController.busca_avaliacoes("Personagens EMOCIONANTES", LivroController.getLivros()));
+        todas.addAll(MidiaController.busca_avaliacoes("Personagens EMOCIONANTES", FilmeController.getFilmes()));
+
+        assertAll("Verificação da busca",
+                () -> assertEquals(1, emocionantes.size()),
+                () -> assertSame(central, emocionantes.getFirst().midia()),
+                () -> assertNull(emocionantes.getFirst().temporada()),
+                () -> assertSame(torto, personagens.getFirst().midia()),
+                () -> assertSame(torto.getAvaliacoes().getFirst(), personagens.getFirst().avaliacao()),
+                () -> assertEquals(2, todas.size()),
+                () -> assertTrue(MidiaController.busca_avaliacoes("Montenegro", LivroController.getLivros()).isEmpty()),
+                () -> assertTrue(MidiaController.busca_avaliacoes("de que", FilmeController.getFilmes()).isEmpty())
+        );
+    }
+
+    /**
+     * Testa se um comentário curto com o termo fica à frente de um comentário longo que o
+     * cita uma única vez.
+     */
+    @Test
+    void testeRelevanciaPorComprimento() {
+        Livro torto = LivroController.getLivros().getFirst();
+        MidiaController.setAvaliacao(torto, new Avaliacao(3, "Final previsível, mas a escrita é bonita, os diálogos são bons e o ritmo é agradável do início ao fim.", null));
+        MidiaController.setAvaliacao(torto, new Avaliacao(2, "Final previsível.", null));
+
+        List<AvaliacaoEncontrada> encontradas = MidiaController.busca_avaliacoes("previsível", LivroController.getLivros());
+
+        assertAll("Verificação da relevância",
+                () -> assertEquals(2, encontradas.size()),
+                () -> assertEquals("Final previsível.", encontradas.getFirst().avaliacao().getAvaliacao()),
+                () -> assertTrue(encontradas.getFirst().relevancia() > encontradas.getLast().relevancia())
+        );
+    }
+
+    /**
+     * Testa se as avaliações das temporadas são encontradas junto com a temporada avaliada.
+     */
+    @Test
+    void testeAvaliacaoTemporada() {
+        Serie dark = SerieController.getSeries().getFirst();
+        Temporada primeira = dark.getTemporadas().getFirst();
+        primeira.setAvaliacao(new Avaliacao(5, "Viagens no tempo muito bem amarradas.", null));
+        MidiaController.marcarAlterado(primeira);
+
+        List<AvaliacaoEncontrada> encontradas = MidiaController.busca_avaliacoes("viagem tempo", SerieController.getSeries());
+
+        assertAll("Verificação da temporada",
+                () -> assertEquals(1, encontradas.size()),
+                () -> assertSame(dark, encontradas.getFirst().midia()),
+                () -> assertSame(primeira, encontradas.getFirst().temporada())
+        );
+    }
+
+    /**
+     * Testa se o índice acompanha avaliações incluídas, sobrescritas e removidas.
+     */
+    @Test
+    void testeAtualizacaoIncremental() {
+        Filme central = FilmeController.getFilmes().getFirst();
+
+        MidiaController.setAvaliacao(central, new Avaliacao(5, "Trilha sonora belíssima.", null));
+        List<AvaliacaoEncontrada> incluida = MidiaController.busca_avaliacoes("trilha", FilmeController.getFilmes());
+
+        central.getAvaliacoes().set(1, new Avaliacao(3, "Fotografia belíssima.", null));
+        MidiaController.marcarAlterado(central);
+        List<AvaliacaoEncontrada> semTrilha = MidiaController.busca_avaliacoes("trilha", FilmeController.getFilmes());
+        List<AvaliacaoEncontrada> fotografia = MidiaController.busca_avaliacoes("fotografias", FilmeController.getFilmes());
+
+        central.getAvaliacoes().removeFirst();
+        MidiaController.marcarAlterado(central);
+        List<AvaliacaoEncontrada> semMontenegro = MidiaController.busca_avaliacoes("Montenegro", FilmeController.getFilmes());
+        List<AvaliacaoEncontrada> fotografiaDeslocada = MidiaController.busca_avaliacoes("fotografia", FilmeController.getFilmes());
+
+        assertAll("Verificação da atualização",
+                () -> assertEquals(1, incluida.size()),
+                () -> assertTrue(semTrilha.isEmpty()),
+                () -> assertEquals(3, fotografia.getFirst().avaliacao().getNota()),
+                () -> assertTrue(semMontenegro.isEmpty()),
+                () -> assertSame(central.getAvaliacoes().getFirst(), fotografiaDeslocada.getFirst().avaliacao())
+        );
+    }
+
+    /**
+     * Testa se avaliações incluídas direto no modelo depois da montagem do índice, como as do
+     * cadastro predefinido e as que repetem a nota anterior, aparecem na busca.
+     */
+    @Test
+    void testeAvaliacoesForaDoControlador() {
+        LivroController.limparLivros();
+        FilmeController.limparFilmes();
+        SerieController.limparSeries();
+        CatalogoIndices.preparar();
+        CadastroPreDefinido.cadastrarMidiasPadrao(new LivroController(), new FilmeController(), new SerieController());
+        Livro livro = LivroController.getLivros().getFirst();
+        livro.setAvaliacao(new Avaliacao(livro.getNotaAtual(), "Final surpreendente.", null));
+
+        List<AvaliacaoEncontrada> perturbador = MidiaController.busca_avaliacoes("perturbador", SerieController.getSeries());
+        List<AvaliacaoEncontrada> surpreendente = MidiaController.busca_avaliacoes("surpreendente", LivroController.getLivros());
+
+        assertAll("Verificação das avaliações fora do controlador",
+                () -> assertEquals(1, perturbador.size()),
+                () -> assertEquals("Black Mirror", perturbador.getFirst().midia().getTitulo()),
+                () -> assertEquals(1, surpreendente.size()),
+                () -> assertSame(livro, surpreendente.getFirst().midia())
+        );
+    }
+}
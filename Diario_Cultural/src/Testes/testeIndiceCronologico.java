@@ -0,0 +1,198 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Controller.SerieController;
+import Indice.CatalogoIndices;
+import Indice.IndiceCronologico;
+import Indice.IndiceCronologico.AvaliacaoDatada;
+import Model.Avaliacao;
+import Model.Filme;
+import Model.Livro;
+import Model.Serie;
+import Model.Temporada;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o índice cronológico das avaliações.
+ * Verifica as consultas por período de consumo, as últimas avaliações, as contagens por
+ * mês e por ano e a atualização do índice quando avaliações são incluídas, sobrescritas
+ * ou removidas.
+ *
+ * @see IndiceCronologico
+ */
+class testeIndiceCronologico extends TesteEmMemoria {
+
+    @BeforeEach
+    void setUp() {
+        new LivroController().cadastrarLivro("Torto Arado", "Itamar Vieira Junior", "Todavia", new ArrayList<>(List.of("Romance")), 2019, "978-1", false);
+        new FilmeController().cadastrarFilme("Central do Brasil", new ArrayList<>(List.of("Drama")), 1998, 113,
+                "Walter Salles", "João Emanuel Carneiro", new HashMap<>(), "Central do Brasil", new ArrayList<>());
+
+        SerieController serieController = new SerieController();
+        serieController.cadastrarSerie("Dark", new ArrayList<>(List.of("Ficção")), 2017, 2020, new HashMap<>(), "Dark", new ArrayList<>());
+        serieController.cadastrarTemporada("Temporada 1", new ArrayList<>(List.of("Ficção")), 2017, new HashMap<>(),
+                "Season 1", new ArrayList<>(), 1, 10, SerieController.getSeries().getFirst());
+
+        Livro torto = LivroController.getLivros().getFirst();
+        MidiaController.setAvaliacao(torto, new Avaliacao(5, "", "12/03/2024 21:00:00", LocalDate.of(2024, 3, 10)));
+        MidiaController.setAvaliacao(torto, new Avaliacao(4, "", "02/04/2024 08:30:00", LocalDate.of(2024, 4, 1)));
+        MidiaController.setAvaliacao(FilmeController.getFilmes().getFirst(),
+                new Avaliacao(3, "", "31/03/2024", LocalDate.of(2024, 3, 31)));
+
+        Temporada primeira = SerieController.getSeries().getFirst().getTemporadas().getFirst();
+        MidiaController.setAvaliacao(primeira, new Avaliacao(4.5f, "", "01/03/2024 10:00:00", LocalDate.of(2024, 3, 1)));
+    }
+
+    /**
+     * Testa a consulta das avaliações consumidas em um mês, incluindo os dias dos extremos
+     * e as avaliações das temporadas.
+     */
+    @Test
+    void testeConsumidasNoMes() {
+        Livro torto = LivroController.getLivros().getFirst();
+        Filme central = FilmeController.getFilmes().getFirst();
+        Serie dark = SerieController.getSeries().getFirst();
+
+        List<AvaliacaoDatada> marco = MidiaController.consumidasNoPeriodo(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        assertAll("Verificação do período",
+                () -> assertEquals(3, marco.size()),
+                () -> assertSame(dark, marco.get(0).midia()),
+                () -> assertSame(dark.getTemporadas().getFirst(), marco.get(0).temporada()),
+                () -> assertSame(torto.getAvaliacoes().getFirst(), marco.get(1).avaliacao()),
+                () -> assertNull(marco.get(1).temporada()),
+                () -> assertSame(central, marco.get(2).midia()),
+                () -> assertTrue(MidiaController.consumidasNoPeriodo(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31)).isEmpty())
+        );
+    }
+
+    /**
+     * Testa as últimas avaliações, ordenadas pela data da avaliação com ou sem horário.
+     */
+    @Test
+    void testeUltimasAvaliacoes() {
+        Livro torto = LivroController.getLivros().getFirst();
+        Filme central = FilmeController.getFilmes().getFirst();
+
+        List<AvaliacaoDatada> ultimas = MidiaController.ultimasAvaliacoes(3);
+        List<AvaliacaoDatada> todas = MidiaController.ultimasAvaliacoes(50);
+
+        assertAll("Verificação das últimas avaliações",
+                () -> assertEquals(3, ultimas.size()),
+                () -> assertSame(torto.getAvaliacoes().get(1), ultimas.get(0).avaliacao()),
+                () -> assertSame(central.getAvaliacoes().getFirst(), ultimas.get(1).avaliacao()),
+                () -> assertSame(torto.getAvaliacoes().getFirst(), ultimas.get(2).avaliacao()),
+                () -> assertEquals(4, todas.size()),
+                () -> assertNotNull(todas.getLast().temporada())
+        );
+    }
+
+    /**
+     * Testa as contagens por mês e por ano, incluindo os períodos sem consumo.
+     */
+    @Test
+    void testeContagemPorPeriodo() {
+        Map<YearMonth, Integer> porMes = MidiaController.consumoPorMes(YearMonth.of(2024, 2), YearMonth.of(2024, 5));
+        Map<Integer, Integer> porAno = MidiaController.consumoPorAno(2023, 2024);
+
+        assertAll("Verificação das contagens",
+                () -> assertEquals(List.of(YearMonth.of(2024, 2), YearMonth.of(2024, 3), YearMonth.of(2024, 4), YearMonth.of(2024, 5)),
+                        List.copyOf(porMes.keySet())),
+                () -> assertEquals(List.of(0, 3, 1, 0), List.copyOf(porMes.values())),
+                () -> assertEquals(Map.of(2023, 0, 2024, 4), porAno),
+                () -> assertTrue(MidiaController.consumoPorAno(2025, 2024).isEmpty())
+        );
+    }
+
+    /**
+     * Testa se o índice acompanha avaliações incluídas, sobrescritas e removidas e mídias removidas.
+     */
+    @Test
+    void testeAtualizacaoIncremental() {
+        Livro torto = LivroController.getLivros().getFirst();
+        Filme central = FilmeController.getFilmes().getFirst();
+
+        MidiaController.setAvaliacao(central, new Avaliacao(2, "", "10/04/2024 12:00:00", LocalDate.of(2024, 3, 15)));
+        List<AvaliacaoDatada> incluida = MidiaController.consumidasNoPeriodo(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        MidiaController.substituirAvaliacao(torto, 0, new Avaliacao(1, "", "11/04/2024 09:00:00", LocalDate.of(2024, 2, 20)));
+        List<AvaliacaoDatada> substituida = MidiaController.consumidasNoPeriodo(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        List<AvaliacaoDatada> ultima = MidiaController.ultimasAvaliacoes(1);
+
+        FilmeController.removerMidia(central);
+        MidiaController.removerAvaliacao(SerieController.getSeries().getFirst().getTemporadas().getFirst(), 0);
+        List<AvaliacaoDatada> removidas = MidiaController.consumidasNoPeriodo(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        assertAll("Verificação da atualização",
+                () -> assertEquals(4, incluida.size()),
+                () -> assertEquals(3, substituida.size()),
+                () -> assertTrue(substituida.stream().allMatch(datada -> datada.midia() != torto)),
+                () -> assertEquals(1, ultima.getFirst().avaliacao().getNota()),
+                () -> assertEquals(2, removidas.size()),
+                () -> assertTrue(removidas.stream().allMatch(datada -> datada.midia() == torto))
+        );
+    }
+
+    /**
+     * Testa se avaliações incluídas fora de ordem, em quantidade maior que a encaixada no
+     * lugar, continuam ordenadas na consulta seguinte.
+     */
+    @Test
+    void testeInclusoesForaDeOrdem() {
+        Livro torto = LivroController.getLivros().getFirst();
+        LocalDate dia = LocalDate.of(2023, 12, 31);
+        for (int i = 0; i < 200; i++) {
+            MidiaController.setAvaliacao(torto, new Avaliacao(3, "", null, dia.minusDays(i)));
+            MidiaController.consumoPorAno(2023, 2023);
+        }
+        for (int i = 0; i < 200; i++) {
+            MidiaController.setAvaliacao(torto, new Avaliacao(3, "", null, dia.minusDays(200 + i)));
+        }
+
+        List<AvaliacaoDatada> consumidas = MidiaController.consumidasNoPeriodo(LocalDate.of(2020, 1, 1), dia);
+        boolean ordenadas = true;
+        for (int i = 1; i < consumidas.size(); i++) {
+            LocalDate anterior = consumidas.get(i - 1).avaliacao().getDataConsumoLocalDate();
+            ordenadas &= !consumidas.get(i).avaliacao().getDataConsumoLocalDate().isBefore(anterior);
+        }
+        boolean ordenadasFinal = ordenadas;
+
+        assertAll("Verificação da ordem",
+                () -> assertEquals(400, consumidas.size()),
+                () -> assertTrue(ordenadasFinal),
+                () -> assertEquals(dia.minusDays(399), consumidas.getFirst().avaliacao().getDataConsumoLocalDate()),
+                () -> assertEquals(Map.of(2023, 365), MidiaController.consumoPorAno(2023, 2023))
+        );
+    }
+
+    /**
+     * Testa se as avaliações do cadastro predefinido, atribuídas direto às mídias depois que
+     * o índice já foi montado, aparecem nas últimas avaliações.
+     */
+    @Test
+    void testeCadastroPredefinidoAposPreparar() {
+        LivroController.limparLivros();
+        FilmeController.limparFilmes();
+        SerieController.limparSeries();
+        CatalogoIndices.preparar();
+        CadastroPreDefinido.cadastrarMidiasPadrao(new LivroController(), new FilmeController(), new SerieController());
+
+        List<AvaliacaoDatada> ultimas = MidiaController.ultimasAvaliacoes(50);
+
+        assertAll("Verificação do cadastro predefinido",
+                () -> assertEquals(11, ultimas.size()),
+                () -> assertEquals(5, ultimas.stream().filter(datada -> datada.temporada() != null).count())
+        );
+    }
+}
@@ -0,0 +1,146 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Controller.SerieController;
+import Indice.IndiceEstatisticas;
+import Indice.IndiceEstatisticas.Distribuicao;
+import Indice.IndiceEstatisticas.Estatisticas;
+import Model.Avaliacao;
+import Model.Filme;
+import Model.Livro;
+import Model.Serie;
+import Model.Temporada;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para as estatísticas das avaliações.
+ * Verifica a média, os percentis e o histograma por grupo, o consumo por mês e se as
+ * distribuições acompanham avaliações incluídas, alteradas e removidas.
+ *
+ * @see IndiceEstatisticas
+ */
+class testeIndiceEstatisticas extends TesteEmMemoria {
+
+    @BeforeEach
+    void setUp() {
+        new LivroController().cadastrarLivro("Torto Arado", "Itamar Vieira Junior", "Todavia", new ArrayList<>(List.of("Romance", "Drama")), 2019, "978-1", false);
+        new FilmeController().cadastrarFilme("Central do Brasil", new ArrayList<>(List.of("Drama")), 1998, 113,
+                "Walter Salles", "João Emanuel Carneiro", new HashMap<>(), "Central do Brasil", new ArrayList<>());
+
+        SerieController serieController = new SerieController();
+        serieController.cadastrarSerie("Dark", new ArrayList<>(List.of("Ficção")), 2017, 2020, new HashMap<>(), "Dark", new ArrayList<>());
+        serieController.cadastrarTemporada("Temporada 1", new ArrayList<>(List.of("Ficção")), 2017, new HashMap<>(),
+                "Season 1", new ArrayList<>(), 1, 10, SerieController.getSeries().getFirst());
+
+        Livro torto = LivroController.getLivros().getFirst();
+        MidiaController.setAvaliacao(torto, new Avaliacao(5, "", null, LocalDate.of(2024, 3, 10)));
+        MidiaController.setAvaliacao(torto, new Avaliacao(4, "", null, LocalDate.of(2024, 3, 25)));
+        MidiaController.setAvaliacao(FilmeController.getFilmes().getFirst(), new Avaliacao(2.5f, "", null, LocalDate.of(2024, 4, 1)));
+
+        Temporada primeira = SerieController.getSeries().getFirst().getTemporadas().getFirst();
+        MidiaController.setAvaliacao(primeira, new Avaliacao(3, "", null));
+    }
+
+    /**
+     * Testa a distribuição de cada grupo, incluindo as avaliações das temporadas.
+     */
+    @Test
+    void testeDistribuicoes() {
+        Estatisticas estatisticas = MidiaController.extrairEstatisticas();
+        Distribuicao geral = estatisticas.geral();
+        Distribuicao drama = estatisticas.porGenero().get("Drama");
+
+        assertAll("Verificação das distribuições",
+                () -> assertEquals(4, geral.quantidade()),
+                () -> assertEquals(3.625, geral.media(), 0.0001),
+                () -> assertEquals(3.0f, geral.mediana()),
+                () -> assertEquals(2.5f, geral.percentil(0)),
+                () -> assertEquals(4.0f, geral.percentil(75)),
+                () -> assertEquals(5.0f, geral.percentil(100)),
+                () -> assertArrayEquals(new int[]{0, 0, 1, 1, 1, 1}, geral.histograma()),
+                () -> assertEquals(Set.of("Livro", "Filme", "Série"), estatisticas.porTipo().keySet()),
+                () -> assertEquals(1, estatisticas.porTipo().get("Série").quantidade()),
+                () -> assertEquals(Set.of("Romance", "Ficção", "Drama"), estatisticas.porGenero().keySet()),
+                () -> assertEquals(3, drama.quantidade()),
+                () -> assertEquals(List.of(1990, 2010), List.copyOf(estatisticas.porDecada().keySet())),
+                () -> assertEquals(3, estatisticas.porDecada().get(2010).quantidade()),
+                () -> assertEquals(Set.of(1998, 2017, 2019), estatisticas.porAno().keySet()),
+                () -> assertSame(estatisticas, MidiaController.extrairEstatisticas())
+        );
+    }
+
+    /**
+     * Testa a contagem do consumo por mês, ignorando avaliações sem data de consumo.
+     */
+    @Test
+    void testeConsumoPorMes() {
+        Map<YearMonth, Integer> consumo = MidiaController.extrairEstatisticas().consumoPorMes();
+
+        assertEquals(Map.of(YearMonth.of(2024, 3), 2, YearMonth.of(2024, 4), 1), consumo);
+    }
+
+    /**
+     * Testa se as distribuições acompanham avaliações substituídas e removidas e mídias removidas.
+     */
+    @Test
+    void testeAtualizacaoIncremental() {
+        Livro torto = LivroController.getLivros().getFirst();
+        Filme central = FilmeController.getFilmes().getFirst();
+        Serie dark = SerieController.getSeries().getFirst();
+
+        MidiaController.substituirAvaliacao(torto, 0, new Avaliacao(1, "", null));
+        MidiaController.setNota(central, 3.5f);
+        Estatisticas alteradas = MidiaController.extrairEstatisticas();
+
+        MidiaController.removerAvaliacao(dark.getTemporadas().getFirst(), 0);
+        FilmeController.removerMidia(central);
+        Estatisticas removidas = MidiaController.extrairEstatisticas();
+
+        assertAll("Verificação da atualização",
+                () -> assertEquals(4, alteradas.geral().quantidade()),
+                () -> assertEquals(2.875, alteradas.geral().media(), 0.0001),
+                () -> assertEquals(Map.of(YearMonth.of(2024, 3), 1, YearMonth.of(2024, 4), 1), alteradas.consumoPorMes()),
+                () -> assertEquals(2, removidas.geral().quantidade()),
+                () -> assertEquals(Set.of("Livro"), removidas.porTipo().keySet()),
+                () -> assertEquals(Set.of("Romance", "Drama"), removidas.porGenero().keySet()),
+                () -> assertEquals(Map.of(YearMonth.of(2024, 3), 1), removidas.consumoPorMes())
+        );
+    }
+
+    /**
+     * Testa se as distribuições acompanham avaliações incluídas direto no modelo, mesmo
+     * quando repetem a nota anterior e não mudam a nota da mídia nem a média da série.
+     */
+    @Test
+    void testeAvaliacoesForaDoControlador() {
+        Filme central = FilmeController.getFilmes().getFirst();
+        Serie dark = SerieController.getSeries().getFirst();
+        Estatisticas anteriores = MidiaController.extrairEstatisticas();
+
+        central.setAvaliacao(new Avaliacao(2.5f, "", null, LocalDate.of(2024, 5, 2)));
+        dark.getTemporadas().getFirst().setAvaliacao(new Avaliacao(3, "", null));
+        Estatisticas atuais = MidiaController.extrairEstatisticas();
+
+        assertAll("Verificação das avaliações fora do controlador",
+                () -> assertNotSame(anteriores, atuais),
+                () -> assertEquals(6, atuais.geral().quantidade()),
+                () -> assertEquals(2, atuais.porTipo().get("Filme").quantidade()),
+                () -> assertEquals(2, atuais.porTipo().get("Série").quantidade()),
+                () -> assertEquals(2, atuais.porAno().get(2017).quantidade()),
+                () -> assertEquals(4, atuais.porGenero().get("Drama").quantidade()),
+                () -> assertEquals(Map.of(YearMonth.of(2024, 3), 2, YearMonth.of(2024, 4), 1, YearMonth.of(2024, 5), 1), atuais.consumoPorMes())
+        );
+    }
+}
@@ -0,0 +1,95 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Indice.IndiceFacetas;
+import Indice.IndiceFacetas.Facetas;
+import Model.Avaliacao;
+import Model.Filme;
+import Model.Livro;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para as contagens usadas nos filtros.
+ * Verifica as contagens por gênero, ano, tipo, plataforma e faixa de nota, e se elas
+ * acompanham cadastros, alterações e remoções sem recontar as listas.
+ *
+ * @see IndiceFacetas
+ */
+class testeIndiceFacetas extends TesteEmMemoria {
+
+    @BeforeEach
+    void setUp() {
+        LivroController livroController = new LivroController();
+        livroController.cadastrarLivro("Torto Arado", "Itamar Vieira Junior", "Todavia", new ArrayList<>(List.of("Romance", "Drama")), 2019, "978-1", false);
+        livroController.cadastrarLivro("Dom Casmurro", "Machado de Assis", "Garnier", new ArrayList<>(List.of("romance")), 1899, "978-2", false);
+
+        new FilmeController().cadastrarFilme("Forrest Gump", new ArrayList<>(List.of("Drama")), 1994, 142,
+                "Robert Zemeckis", "Eric Roth", new HashMap<>(), "Forrest Gump", new ArrayList<>(List.of("Netflix", "Prime Video")));
+        new FilmeController().cadastrarFilme("Central do Brasil", new ArrayList<>(List.of("Drama")), 1998, 113,
+                "Walter Salles", "João Emanuel Carneiro", new HashMap<>(), "Central do Brasil", new ArrayList<>(List.of("netflix")));
+
+        MidiaController.setAvaliacao(LivroController.getLivros().getFirst(), new Avaliacao(4.5f, "", null));
+    }
+
+    /**
+     * Testa as contagens de cada faceta, agrupando valores que diferem apenas em maiúsculas.
+     */
+    @Test
+    void testeContagens() {
+        Facetas facetas = MidiaController.extrairFacetas();
+
+        assertAll("Verificação das contagens",
+                () -> assertEquals(Map.of("Drama", 3, "Romance", 2), facetas.generos()),
+                () -> assertEquals(Map.of(1899, 1, 1994, 1, 1998, 1, 2019, 1), facetas.anos()),
+                () -> assertEquals(Map.of("Livro", 2, "Filme", 2), facetas.tipos()),
+                () -> assertEquals(Map.of("Netflix", 2, "Prime Video", 1), facetas.plataformas()),
+                () -> assertEquals(Map.of(0, 3, 4, 1), facetas.faixasNota()),
+                () -> assertEquals(Set.of("Drama", "Romance"), MidiaController.extrairGeneros()),
+                () -> assertEquals(List.of(1899, 1994, 1998, 2019), new ArrayList<>(MidiaController.extrairAnos())),
+                () -> assertSame(facetas, MidiaController.extrairFacetas())
+        );
+    }
+
+    /**
+     * Testa se as contagens acompanham alterações, cadastros e remoções.
+     */
+    @Test
+    void testeAtualizacaoIncremental() {
+        Livro dom = LivroController.getLivros().getLast();
+        Filme central = FilmeController.getFilmes().getLast();
+
+        MidiaController.setGenero(dom, new ArrayList<>(List.of("Realismo")));
+        MidiaController.setAno(central, 1999);
+        MidiaController.setAvaliacao(dom, new Avaliacao(2, "", null));
+        Facetas alteradas = MidiaController.extrairFacetas();
+
+        assertAll("Verificação após alterações",
+                () -> assertEquals(Map.of("Drama", 3, "Romance", 1, "Realismo", 1), alteradas.generos()),
+                () -> assertFalse(alteradas.anos().containsKey(1998)),
+                () -> assertEquals(1, alteradas.anos().get(1999)),
+                () -> assertEquals(Map.of(0, 2, 2, 1, 4, 1), alteradas.faixasNota())
+        );
+
+        FilmeController.removerMidia(central);
+        new LivroController().cadastrarLivro("Vidas Secas", "Graciliano Ramos", "Record", new ArrayList<>(List.of("Romance")), 1938, "978-3", false);
+        Facetas finais = MidiaController.extrairFacetas();
+
+        assertAll("Verificação após remoção e cadastro",
+                () -> assertEquals(Map.of("Drama", 2, "Romance", 2, "Realismo", 1), finais.generos()),
+                () -> assertEquals(Map.of("Netflix", 1, "Prime Video", 1), finais.plataformas()),
+                () -> assertEquals(Map.of("Livro", 3, "Filme", 1), finais.tipos()),
+                () -> assertEquals(IndiceFacetas.faixaNota(Float.NaN), 0),
+                () -> assertEquals(IndiceFacetas.faixaNota(5.9f), 5)
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Indice.CatalogoIndices;
+import Indice.MapaBits;
+import Model.Livro;
+import Persistencia.ServicoPersistencia.Colecao;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o índice de gêneros e para o mapa de bits compactado que o sustenta.
+ * Verifica as buscas por gênero nos controladores, a combinação com o filtro por tipo
+ * de mídia e as operações do mapa de bits nas duas representações de bloco.
+ *
+ * @see CatalogoIndices
+ * @see MapaBits
+ */
+class testeIndiceGeneros extends TesteEmMemoria {
+
+    private LivroController livroController;
+
+    @BeforeEach
+    void setUp() {
+        livroController = new LivroController();
+        livroController.cadastrarLivro("Duna", "Frank Herbert", "Aleph", new ArrayList<>(List.of("Ficção Científica", "Ficção Política")), 1965, "978-0", false);
+        livroController.cadastrarLivro("O Hobbit", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1937, "978-1", false);
+        livroController.cadastrarLivro("Neuromancer", "William Gibson", "Aleph", new ArrayList<>(List.of("ficcao cientifica")), 1984, "978-2", false);
+        new FilmeController().cadastrarFilme("Blade Runner", new ArrayList<>(List.of("Ficção Científica")), 1982, 117,
+                "Ridley Scott", "Hampton Fancher", new HashMap<>(), "Blade Runner", new ArrayList<>());
+    }
+
+    /**
+     * Testa a busca parcial sem repetições, o filtro exato e o filtro por tipo de mídia.
+     */
+    @Test
+    void testeBuscasPorGenero() {
+        List<Livro> livros = LivroController.getLivros();
+
+        assertAll("Verificação das buscas",
+                () -> assertEquals(List.of(livros.get(0), livros.get(2)), MidiaController.busca_genero("ficção", livros)),
+                () -> assertEquals(List.of(livros.get(0), livros.get(2)), MidiaController.filtrarPorGenero(livros, "FICCAO CIENTIFICA")),
+                () -> assertTrue(MidiaController.filtrarPorGenero(livros, "Ficção").isEmpty()),
+                () -> assertEquals(3, CatalogoIndices.idsGenero("Ficção Científica").quantidade()),
+                () -> assertEquals(1, CatalogoIndices.idsGenero("Ficção Científica", Colecao.FILMES).quantidade()),
+                () -> assertEquals(1, MidiaController.busca_genero("ficção", new ArrayList<>(List.of(livros.get(0)))).size())
+        );
+    }
+
+    /**
+     * Testa se o índice acompanha a alteração de gêneros e a remoção de livros.
+     */
+    @Test
+    void testeAtualizacaoDoIndice() {
+        List<Livro> livros = LivroController.getLivros();
+        Livro hobbit = livros.get(1);
+
+        MidiaController.addGenero(hobbit, List.of("Aventura"));
+        assertEquals(List.of(hobbit), MidiaController.filtrarPorGenero(livros, "aventura"));
+
+        MidiaController.removerGenero(hobbit, "Fantasia");
+        assertTrue(MidiaController.busca_genero("fanta", livros).isEmpty());
+
+        LivroController.removerMidia(hobbit);
+        assertTrue(MidiaController.filtrarPorGenero(livros, "Aventura").isEmpty());
+    }
+
+    /**
+     * Testa as operações do mapa de bits com blocos esparsos e densos, inclusive a
+     * conversão entre as duas representações.
+     */
+    @Test
+    void testeMapaBits() {
+        MapaBits pares = new MapaBits();
+        MapaBits multiplosDeTres = new MapaBits();
+        for (int i = 0; i < 200_000; i++) {
+            if (i % 2 == 0) {
+                pares.adicionar(i);
+            }
+            if (i % 3 == 0) {
+                multiplosDeTres.adicionar(i);
+            }
+        }
+        MapaBits esparso = MapaBits.de(5, 6, 70_000, 199_998);
+
+        assertAll("Verificação das operações",
+                () -> assertEquals(100_000, pares.quantidade()),
+                () -> assertTrue(pares.contem(131_072) && !pares.contem(131_073)),
+                () -> assertEquals(33_334, pares.e(multiplosDeTres).quantidade()),
+                () -> assertEquals(133_333, pares.ou(multiplosDeTres).quantidade()),
+                () -> assertArrayEquals(new int[]{6, 70_000, 199_998}, pares.e(esparso).paraArray()),
+                () -> assertArrayEquals(new int[]{5, 6, 70_000, 199_998}, esparso.ou(MapaBits.de(6)).paraArray())
+        );
+
+        for (int i = 0; i < 65_536; i += 2) {
+            pares.remover(i);
+        }
+        assertEquals(100_000 - 32_768, pares.quantidade());
+        assertFalse(pares.contem(0));
+        assertTrue(pares.contem(65_536));
+    }
+}
@@ -0,0 +1,99 @@
+package Testes;
+
+import Controller.LivroController;
+import Indice.CatalogoIndices;
+import Indice.IndiceIsbn;
+import Model.Livro;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o índice de ISBNs.
+ * Verifica a forma canônica dos códigos, a busca em qualquer formatação e a
+ * verificação de duplicidade, inclusive após alterações e remoções.
+ *
+ * @see IndiceIsbn
+ */
+class testeIndiceIsbn extends TesteEmMemoria {
+
+    @BeforeEach
+    void setUp() {
+        LivroController livroController = new LivroController();
+        livroController.cadastrarLivro("The Art of Computer Programming", "Donald Knuth", "Addison-Wesley", new ArrayList<>(List.of("Computação")), 1968, "978-0-306-40615-7", true);
+        livroController.cadastrarLivro("Dom Casmurro", "Machado de Assis", "Garnier", new ArrayList<>(List.of("Romance")), 1899, "isbn-local-01", false);
+    }
+
+    /**
+     * Testa a conversão de ISBN-10 e de códigos formatados para a forma canônica.
+     */
+    @Test
+    void testeCanonizacao() {
+        assertAll("Verificação da forma canônica",
+                () -> assertEquals("9780306406157", IndiceIsbn.canonizar("978-0-306-40615-7")),
+                () -> assertEquals("9780306406157", IndiceIsbn.canonizar("0 306 40615 2")),
+                () -> assertEquals("9780804429573", IndiceIsbn.canonizar("080442957X")),
+                () -> assertEquals("isbnlocal01", IndiceIsbn.canonizar("ISBN-Local 01")),
+                () -> assertEquals("", IndiceIsbn.canonizar(null))
+        );
+    }
+
+    /**
+     * Testa a busca em diferentes formatações, pelo índice e pela lista informada.
+     */
+    @Test
+    void testeBuscaIsbn() {
+        List<Livro> livros = LivroController.getLivros();
+        Livro knuth = livros.getFirst();
+
+        assertAll("Verificação da busca por ISBN",
+                () -> assertEquals(List.of(knuth), LivroController.busca_isbn("9780306406157", livros)),
+                () -> assertEquals(List.of(knuth), LivroController.busca_isbn("0-306-40615-2", livros)),
+                () -> assertEquals(List.of(knuth), LivroController.busca_isbn("0-306-40615-2", new ArrayList<>(livros))),
+                () -> assertEquals(List.of(livros.get(1)), LivroController.busca_isbn("ISBN LOCAL 01", livros)),
+                () -> assertTrue(LivroController.busca_isbn("0-306-40615-3", livros).isEmpty())
+        );
+    }
+
+    /**
+     * Testa a verificação de duplicidade após alterar o ISBN e remover o livro.
+     */
+    @Test
+    void testeDuplicidade() {
+        Livro knuth = LivroController.getLivros().getFirst();
+        assertTrue(LivroController.existeIsbn("0306406152"));
+
+        LivroController.setIsbn(knuth, "85-359-0277-5");
+        assertFalse(LivroController.existeIsbn("0306406152"));
+        assertTrue(LivroController.existeIsbn("978-85-359-0277-8"));
+
+        LivroController.removerMidia(knuth);
+        assertFalse(LivroController.existeIsbn("8535902775"));
+    }
+
+    /**
+     * Testa a busca pelo início do ISBN, inclusive após alterar o ISBN e remover o livro.
+     */
+    @Test
+    void testeBuscaPrefixo() {
+        Livro knuth = LivroController.getLivros().getFirst();
+        Livro casmurro = LivroController.getLivros().get(1);
+        new LivroController().cadastrarLivro("Memórias Póstumas", "Machado de Assis", "Garnier", new ArrayList<>(List.of("Romance")), 1881, "978-85-359-0277-1", false);
+        Livro memorias = LivroController.getLivros().getLast();
+
+        assertAll("Verificação da busca por prefixo",
+                () -> assertArrayEquals(new int[]{knuth.getId(), memorias.getId()}, CatalogoIndices.idsPrefixoIsbn("978").paraArray()),
+                () -> assertArrayEquals(new int[]{knuth.getId()}, CatalogoIndices.idsPrefixoIsbn("978-0-3").paraArray()),
+                () -> assertArrayEquals(new int[]{casmurro.getId()}, CatalogoIndices.idsPrefixoIsbn("ISBN Local").paraArray()),
+                () -> assertTrue(CatalogoIndices.idsPrefixoIsbn("979").isVazio())
+        );
+
+        LivroController.setIsbn(knuth, "979-10-90636-07-1");
+        LivroController.removerMidia(memorias);
+        assertArrayEquals(new int[]{knuth.getId()}, CatalogoIndices.idsPrefixoIsbn("979").paraArray());
+        assertTrue(CatalogoIndices.idsPrefixoIsbn("978").isVazio());
+    }
+}
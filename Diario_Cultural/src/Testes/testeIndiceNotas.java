@@ -0,0 +1,120 @@
+package Testes;
+
+import Controller.LivroController;
+import Controller.MidiaController;
+import Indice.CatalogoIndices;
+import Model.Avaliacao;
+import Model.Livro;
+import Model.Midia;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o ranking por avaliação.
+ * Verifica se a seleção das melhores e piores mídias por heap e as páginas lidas do
+ * índice de notas equivalem a ordenar a lista inteira, e se o índice acompanha novas
+ * avaliações e remoções.
+ *
+ * @see Indice.IndiceNotas
+ */
+class testeIndiceNotas extends TesteEmMemoria {
+
+    /** Quantidade de livros cadastrados; um em cada cinco fica sem avaliação */
+    private static final int QUANTIDADE = 100;
+
+    private List<Livro> livros;
+
+    @BeforeEach
+    void setUp() {
+        LivroController livroController = new LivroController();
+        Random aleatorio = new Random(42);
+        for (int i = 0; i < QUANTIDADE; i++) {
+            livroController.cadastrarLivro("Livro " + i, "Autor", "Editora", new ArrayList<>(List.of("Romance")), 2000, "isbn-" + i, false);
+            if (i % 5 != 0) {
+                MidiaController.setAvaliacao(LivroController.getLivros().getLast(), new Avaliacao(1 + aleatorio.nextInt(9) / 2f, "", null));
+            }
+        }
+        livros = LivroController.getLivros();
+    }
+
+    /**
+     * Testa se a seleção por heap, sobre uma lista que não é a do controlador, coincide com
+     * o início da ordenação estável da lista inteira.
+     */
+    @Test
+    void testeSelecaoPorHeap() {
+        List<Livro> copia = new ArrayList<>(livros);
+        List<Livro> decrescente = new ArrayList<>(copia);
+        decrescente.sort(Comparator.comparing(MidiaController::extrairNotaMaisRecente, Comparator.reverseOrder()));
+        List<Livro> crescente = new ArrayList<>(copia);
+        crescente.sort(Comparator.comparing(MidiaController::extrairNotaMaisRecente));
+
+        assertEquals(decrescente, MidiaController.ordenarBemAvaliado(copia));
+        assertEquals(crescente, MidiaController.ordenarMalAvaliado(copia));
+        for (int k : new int[]{0, 1, 7, 20, QUANTIDADE, 1000}) {
+            assertEquals(decrescente.subList(0, Math.min(k, QUANTIDADE)), MidiaController.melhoresAvaliados(copia, k), "k = " + k);
+            assertEquals(crescente.subList(0, Math.min(k, QUANTIDADE)), MidiaController.pioresAvaliados(copia, k), "k = " + k);
+        }
+        assertEquals(decrescente.subList(50, 75), MidiaController.paginaPorAvaliacao(copia, true, 50, 25));
+        assertTrue(MidiaController.paginaPorAvaliacao(copia, true, QUANTIDADE, 25).isEmpty());
+    }
+
+    /**
+     * Testa se as páginas lidas do índice de notas, juntas, formam a ordenação completa.
+     */
+    @Test
+    void testePaginasDoIndice() {
+        List<? extends Midia> esperado = MidiaController.ordenarBemAvaliado(new ArrayList<>(livros));
+
+        List<Midia> paginas = new ArrayList<>();
+        for (int inicio = 0; inicio < livros.size(); inicio += 40) {
+            paginas.addAll(MidiaController.paginaPorAvaliacao(livros, true, inicio, 40));
+        }
+
+        assertEquals(esperado, paginas);
+        assertEquals(esperado.subList(0, 10), MidiaController.melhoresAvaliados(livros, 10));
+        assertEquals(MidiaController.ordenarMalAvaliado(new ArrayList<>(livros)).subList(0, 10), MidiaController.pioresAvaliados(livros, 10));
+    }
+
+    /**
+     * Testa se o índice acompanha novas avaliações e remoções feitas pelos controladores.
+     */
+    @Test
+    void testeAtualizacaoIncremental() {
+        Livro ultimo = livros.getLast();
+        MidiaController.setAvaliacao(ultimo, new Avaliacao(5.5f, "", null));
+        assertEquals(ultimo, CatalogoIndices.paginaPorNota(true, 0, 1).getFirst());
+
+        LivroController.removerMidia(ultimo);
+        assertNotEquals(ultimo, MidiaController.melhoresAvaliados(livros, 1).getFirst());
+        assertEquals(QUANTIDADE - 1, CatalogoIndices.paginaPorNota(false, 0, Integer.MAX_VALUE).size());
+    }
+
+    /**
+     * Testa se o índice percebe notas alteradas direto no modelo, sem passar pelo controlador,
+     * depois de já ter sido montado.
+     */
+    @Test
+    void testeAlteracaoForaDoControlador() {
+        CatalogoIndices.preparar();
+        Livro semAvaliacao = livros.get(5);
+        Livro avaliado = livros.get(6);
+
+        semAvaliacao.setAvaliacao(new Avaliacao(5.5f, "", null));
+        avaliado.getAvaliacoes().getLast().setNota(0.5f);
+        avaliado.sincronizarNota();
+
+        List<? extends Midia> esperado = MidiaController.ordenarBemAvaliado(new ArrayList<>(livros));
+        assertAll("Verificação das notas alteradas",
+                () -> assertEquals(semAvaliacao, CatalogoIndices.paginaPorNota(true, 0, 1).getFirst()),
+                () -> assertEquals(avaliado, CatalogoIndices.paginaPorNota(false, QUANTIDADE / 5 - 1, 1).getFirst()),
+                () -> assertEquals(esperado, CatalogoIndices.paginaPorNota(true, 0, Integer.MAX_VALUE))
+        );
+    }
+}
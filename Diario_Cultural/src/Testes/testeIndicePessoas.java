@@ -0,0 +1,95 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Controller.SerieController;
+import Indice.CatalogoIndices;
+import Indice.IndicePessoas.Papel;
+import Indice.IndicePessoas.Participacao;
+import Model.Filme;
+import Model.Serie;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o índice unificado de pessoas.
+ * Verifica a busca de tudo em que uma pessoa trabalhou, as buscas por papel dos
+ * controladores e a inclusão do elenco das temporadas.
+ *
+ * @see CatalogoIndices
+ */
+class testeIndicePessoas extends TesteEmMemoria {
+
+    @BeforeEach
+    void setUp() {
+        Map<String, List<String>> elencoFilme = new HashMap<>();
+        elencoFilme.put("Protagonista", new ArrayList<>(List.of("Stephen King")));
+        new FilmeController().cadastrarFilme("O Iluminado", new ArrayList<>(List.of("Terror")), 1980, 146,
+                "Stanley Kubrick", "Stephen King", elencoFilme, "The Shining", new ArrayList<>());
+        new LivroController().cadastrarLivro("It", "Stephen King", "Suma", new ArrayList<>(List.of("Terror")), 1986, "978-0", false);
+
+        SerieController serieController = new SerieController();
+        serieController.cadastrarSerie("Castle Rock", new ArrayList<>(List.of("Terror")), 2018, 2019, new HashMap<>(), "Castle Rock", new ArrayList<>());
+        Map<String, List<String>> elencoTemporada = new HashMap<>();
+        elencoTemporada.put("Participação Especial", new ArrayList<>(List.of("Stéphen Kíng")));
+        serieController.cadastrarTemporada("Temporada 2", new ArrayList<>(List.of("Terror")), 2019, elencoTemporada,
+                "Season 2", new ArrayList<>(), 2, 10, SerieController.getSeries().getFirst());
+    }
+
+    /**
+     * Testa se uma única consulta retorna todas as participações da pessoa, com seus papéis.
+     */
+    @Test
+    void testeBuscaPorPessoa() {
+        Filme iluminado = FilmeController.getFilmes().getFirst();
+        Serie castleRock = SerieController.getSeries().getFirst();
+
+        List<Participacao> participacoes = MidiaController.busca_pessoa("stephen king");
+
+        assertAll("Verificação das participações",
+                () -> assertEquals(4, participacoes.size()),
+                () -> assertTrue(participacoes.contains(new Participacao(iluminado, null, Papel.ROTEIRO, null))),
+                () -> assertTrue(participacoes.contains(new Participacao(iluminado, null, Papel.ELENCO, "Protagonista"))),
+                () -> assertTrue(participacoes.contains(new Participacao(LivroController.getLivros().getFirst(), null, Papel.AUTORIA, null))),
+                () -> assertTrue(participacoes.contains(new Participacao(castleRock, castleRock.getTemporadas().getFirst(), Papel.ELENCO, "Participação Especial"))),
+                () -> assertEquals(List.of(new Participacao(iluminado, null, Papel.DIRECAO, null)), MidiaController.busca_pessoa("Stanley Kubrick")),
+                () -> assertTrue(MidiaController.busca_pessoa("Ninguém").isEmpty())
+        );
+    }
+
+    /**
+     * Testa as buscas por papel dos controladores, pelo índice e pela lista informada.
+     */
+    @Test
+    void testeBuscasPorPapel() {
+        List<Filme> filmes = FilmeController.getFilmes();
+        List<Serie> series = SerieController.getSeries();
+
+        assertAll("Verificação das buscas por papel",
+                () -> assertEquals(filmes, FilmeController.busca_elenco("protagonista", "Stephen King", filmes)),
+                () -> assertTrue(FilmeController.busca_elenco("Coadjuvante", "Stephen King", filmes).isEmpty()),
+                () -> assertTrue(FilmeController.busca_diretor("Stephen King", filmes).isEmpty()),
+                () -> assertEquals(LivroController.getLivros(), LivroController.busca_autor("STEPHEN KING", LivroController.getLivros())),
+                () -> assertEquals(series, SerieController.busca_elenco(null, "Stephen King", series)),
+                () -> assertEquals(series, SerieController.busca_elenco(null, "Stephen King", new ArrayList<>(series))),
+                () -> assertTrue(SerieController.busca_elenco("Protagonista", "Stephen King", series).isEmpty())
+        );
+    }
+
+    /**
+     * Testa se o índice acompanha a alteração do diretor de um filme.
+     */
+    @Test
+    void testeAtualizacaoDoIndice() {
+        Filme iluminado = FilmeController.getFilmes().getFirst();
+
+        FilmeController.setDirecao(iluminado, "Mike Flanagan");
+
+        assertTrue(MidiaController.busca_pessoa("Stanley Kubrick").isEmpty());
+        assertEquals(List.of(iluminado), FilmeController.busca_diretor("mike flanagan", FilmeController.getFilmes()));
+    }
+}
@@ -0,0 +1,85 @@
+package Testes;
+
+import Controller.LivroController;
+import Controller.MidiaController;
+import Indice.CatalogoIndices;
+import Model.Livro;
+import Model.Midia;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o índice invertido de títulos.
+ * Verifica as buscas exata, por palavras e por prefixo, e se o índice acompanha
+ * cadastros, alterações de título e remoções feitas pelos controladores.
+ *
+ * @see CatalogoIndices
+ */
+class testeIndiceTitulos extends TesteEmMemoria {
+
+    private LivroController livroController;
+
+    @BeforeEach
+    void setUp() {
+        livroController = new LivroController();
+        livroController.cadastrarLivro("O Senhor dos Anéis", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1954, "978-0", false);
+        livroController.cadastrarLivro("O Hobbit", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1937, "978-1", false);
+        livroController.cadastrarLivro("Senhora", "José de Alencar", "Garnier", new ArrayList<>(List.of("Romance")), 1875, "978-2", false);
+    }
+
+    /**
+     * Testa as buscas exata, por palavras e por prefixo sobre a coleção de livros.
+     */
+    @Test
+    void testeTiposDeBusca() {
+        List<Livro> livros = LivroController.getLivros();
+
+        assertAll("Verificação das buscas",
+                () -> assertEquals(List.of(livros.get(0)), MidiaController.busca_titulo("o senhor dos aneis", livros)),
+                () -> assertTrue(MidiaController.busca_titulo("Senhor", livros).isEmpty()),
+                () -> assertEquals(List.of(livros.get(0)), MidiaController.busca_palavras_titulo("anéis senhor", false, livros)),
+                () -> assertTrue(MidiaController.busca_palavras_titulo("senh", false, livros).isEmpty()),
+                () -> assertEquals(List.of(livros.get(0), livros.get(2)), MidiaController.busca_palavras_titulo("SENH", true, livros)),
+                () -> assertEquals(List.of(livros.get(0)), MidiaController.busca_palavras_titulo("o sen", true, livros))
+        );
+    }
+
+    /**
+     * Testa se o índice é atualizado ao alterar o título e ao remover um livro.
+     */
+    @Test
+    void testeAtualizacaoIncremental() {
+        Livro hobbit = LivroController.getLivros().get(1);
+
+        MidiaController.setTitulo(hobbit, "Silmarillion");
+        assertTrue(CatalogoIndices.buscarTitulo("O Hobbit").isEmpty());
+        assertEquals(List.of(hobbit), CatalogoIndices.buscarPrefixo("silm"));
+
+        LivroController.removerMidia(hobbit);
+        assertTrue(CatalogoIndices.buscarPrefixo("silm").isEmpty());
+
+        livroController.cadastrarLivro("O Silmarillion", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1977, "978-3", false);
+        List<Midia> encontrados = CatalogoIndices.buscarPalavras("silmarillion");
+        assertEquals(1, encontrados.size());
+        assertEquals("O Silmarillion", encontrados.getFirst().getTitulo());
+    }
+
+    /**
+     * Testa se o índice percebe alterações feitas diretamente na lista e se buscas em
+     * listas que não são coleções continuam funcionando por varredura.
+     */
+    @Test
+    void testeListaModificadaForaDoControlador() {
+        Livro avulso = new Livro("Senhora do Destino", new ArrayList<>(List.of("Drama")), 2004, "Aguinaldo Silva", "978-4", false, "Globo");
+        LivroController.getLivros().add(avulso);
+        assertEquals(3, CatalogoIndices.buscarPrefixo("senhor").size());
+
+        List<Livro> copia = new ArrayList<>(LivroController.getLivros());
+        assertEquals(List.of(avulso), MidiaController.busca_palavras_titulo("destino", false, copia));
+        assertEquals(List.of(avulso), MidiaController.busca_titulo("Senhora do Destino", copia));
+    }
+}
@@ -0,0 +1,80 @@
+package Testes;
+
+import Model.Filme;
+import Model.Livro;
+import Service.Servicos;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para a normalização de textos e as chaves normalizadas das mídias.
+ * Verifica se a normalização por tabela produz o resultado esperado e se as chaves
+ * guardadas nas mídias acompanham as alterações dos campos.
+ *
+ * @see Servicos#normalizarTitulo(String)
+ */
+class testeNormalizacao {
+
+    /**
+     * Testa a remoção de acentos, espaços e caracteres especiais, inclusive fora dos blocos latinos.
+     */
+    @Test
+    void testeNormalizarTitulo() {
+        assertAll("Verificação da normalização",
+                () -> assertEquals("acaoeaventura", Servicos.normalizarTitulo("Ação e Aventura!")),
+                () -> assertEquals("omundodesofia2", Servicos.normalizarTitulo("O Mundo de Sofia - 2")),
+                () -> assertEquals("coracaodetinta", Servicos.normalizarTitulo("CORAÇÃO de Tinta")),
+                () -> assertEquals("ελληνικα", Servicos.normalizarTitulo("Ελληνικά")),
+                () -> assertEquals("", Servicos.normalizarTitulo(" \t.,;"))
+        );
+    }
+
+    /**
+     * Testa se um texto que já está normalizado é retornado sem nova alocação.
+     */
+    @Test
+    void testeTextoJaNormalizado() {
+        String normalizado = "domcasmurro";
+        assertSame(normalizado, Servicos.normalizarTitulo(normalizado));
+    }
+
+    /**
+     * Testa se as chaves normalizadas são reaproveitadas e recalculadas quando os campos mudam,
+     * inclusive quando a lista de gêneros é alterada diretamente.
+     */
+    @Test
+    void testeChavesAcompanhamAlteracoes() {
+        Livro livro = new Livro("Memórias Póstumas", new ArrayList<>(List.of("Romance")), 1881,
+                "Machado de Assis", "978-85", false, "Garnier");
+
+        String titulo = livro.getTituloNormalizado();
+        assertEquals("memoriaspostumas", titulo);
+        assertSame(titulo, livro.getTituloNormalizado());
+
+        livro.setTitulo("Quincas Borba");
+        assertEquals("quincasborba", livro.getTituloNormalizado());
+
+        livro.getGeneros().add("Ficção Científica");
+        assertEquals(List.of("romance", "ficcaocientifica"), livro.getGenerosNormalizados());
+
+        livro.setAutor("José de Alencar");
+        assertEquals("josedealencar", livro.getAutorNormalizado());
+        assertEquals("97885", livro.getIsbnNormalizado());
+
+        Map<String, List<String>> elenco = new HashMap<>();
+        elenco.put("Protagonista", new ArrayList<>(List.of("Fernanda Montenegro")));
+        Filme filme = new Filme("Central do Brasil", new ArrayList<>(List.of("Drama")), 1998, 115,
+                "Walter Salles", "João Emanuel", elenco, "Central do Brasil", new ArrayList<>());
+        assertEquals(List.of("fernandamontenegro"), filme.getElencoNormalizado().get("protagonista"));
+
+        elenco.get("Protagonista").add("Vinícius de Oliveira");
+        assertEquals(List.of("fernandamontenegro", "viniciusdeoliveira"), filme.getElencoNormalizado().get("protagonista"));
+        assertEquals("waltersalles", filme.getDirecaoNormalizada());
+    }
+}
@@ -0,0 +1,135 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Controller.SerieController;
+import Model.Livro;
+import Model.Serie;
+import Model.Temporada;
+import Persistencia.ServicoPersistencia;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o rastreamento de alterações por coleção.
+ * Verifica se editar uma mídia marca apenas a coleção à qual ela pertence
+ * e se a gravação das alterações limpa a marcação.
+ *
+ * @see MidiaController#marcarAlterado(Model.Midia)
+ */
+class testePersistenciaAlteracoes {
+
+    private long janelaOriginal;
+    private Livro livroCadastrado;
+    private Serie serieCadastrada;
+
+    /**
+     * Impede que o serviço em segundo plano grave durante o teste
+     * e parte de um estado sem alterações pendentes.
+     */
+    @BeforeEach
+    void setUp() {
+        janelaOriginal = ServicoPersistencia.getJanelaMs();
+        ServicoPersistencia.setJanelaMs(60_000);
+        new LivroController();
+        MidiaController.salvarAlteracoes();
+    }
+
+    /**
+     * Remove as mídias cadastradas pelo teste, grava o que tiver ficado pendente
+     * e restaura a janela original.
+     */
+    @AfterEach
+    void tearDown() {
+        if (livroCadastrado != null) {
+            LivroController.removerMidia(livroCadastrado);
+        }
+        if (serieCadastrada != null) {
+            SerieController.removerMidia(serieCadastrada);
+        }
+        MidiaController.salvarAlteracoes();
+        ServicoPersistencia.setJanelaMs(janelaOriginal);
+    }
+
+    /**
+     * Testa se a edição de um livro marca apenas a coleção de livros.
+     */
+    @Test
+    void testeEdicaoMarcaApenasSuaColecao() {
+        new LivroController().cadastrarLivro("Memórias Póstumas", "Machado de Assis", "Garnier",
+                new ArrayList<>(List.of("Romance")), 1881, "9788535911930", false);
+        LivroController.salvarAlteracoes();
+        Livro livro = LivroController.getLivros().getLast();
+        livroCadastrado = livro;
+
+        LivroController.setAutor(livro, "M. de Assis");
+
+        assertTrue(LivroController.isAlterado());
+        assertFalse(FilmeController.isAlterado());
+        assertFalse(SerieController.isAlterado());
+
+        MidiaController.salvarAlteracoes();
+
+        assertFalse(LivroController.isAlterado());
+    }
+
+    /**
+     * Testa se alterar uma temporada marca a série à qual ela pertence.
+     */
+    @Test
+    void testeTemporadaMarcaSerie() {
+        new SerieController().cadastrarSerie("Dark", new ArrayList<>(List.of("Drama")), 2017, 2020,
+                new HashMap<>(), "Dark", new ArrayList<>(List.of("Netflix")));
+        Serie serie = SerieController.getSeries().getLast();
+        serieCadastrada = serie;
+        Temporada temporada = new Temporada("Dark", serie.getGeneros(), 2017, new HashMap<>(), "Dark",
+                new ArrayList<>(List.of("Netflix")), 1, 10);
+        serie.addTemporada(temporada);
+        SerieController.salvarAlteracoes();
+
+        assertSame(serie, temporada.getSerieOrigem());
+
+        MidiaController.setJaConsumiu(temporada, true);
+
+        assertTrue(SerieController.isAlterado());
+        assertFalse(LivroController.isAlterado());
+    }
+
+    /**
+     * Testa se remover uma temporada marca a série à qual ela pertencia.
+     */
+    @Test
+    void testeRemocaoDeTemporadaMarcaSerie() {
+        SerieController serieController = new SerieController();
+        serieController.cadastrarSerie("Dark", new ArrayList<>(List.of("Drama")), 2017, 2020,
+                new HashMap<>(), "Dark", new ArrayList<>(List.of("Netflix")));
+        Serie serie = SerieController.getSeries().getLast();
+        serieCadastrada = serie;
+        serieController.cadastrarTemporada("Dark", serie.getGeneros(), 2017, new HashMap<>(), "Dark",
+                new ArrayList<>(List.of("Netflix")), 1, 10, serie);
+        SerieController.salvarAlteracoes();
+
+        SerieController.removerTemporada(serie, 0);
+
+        assertTrue(serie.getTemporadas().isEmpty());
+        assertTrue(SerieController.isAlterado());
+    }
+
+    /**
+     * Testa se mídias que não pertencem a nenhuma coleção não geram alterações pendentes.
+     */
+    @Test
+    void testeMidiaForaDaColecaoIgnorada() {
+        Livro avulso = new Livro("Avulso", new ArrayList<>(List.of("Drama")), 2000, "Autor", "123", false, "Editora");
+
+        LivroController.setAutor(avulso, "Outro");
+
+        assertFalse(LivroController.isAlterado());
+    }
+}
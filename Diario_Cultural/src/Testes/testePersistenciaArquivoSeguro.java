@@ -0,0 +1,130 @@
+package Testes;
+
+import Persistencia.ArquivoSeguro;
+import Persistencia.ArquivoSeguro.ArquivoCorrompidoException;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para a gravação atômica com cabeçalho e cópia de segurança.
+ * Verifica se o conteúdo gravado é lido de volta, se um arquivo corrompido é
+ * substituído pela versão anterior na leitura e se a corrupção é detectada
+ * quando não há versão anterior.
+ *
+ * @see ArquivoSeguro
+ */
+class testePersistenciaArquivoSeguro {
+
+    private static final File ARQUIVO = new File("src/arquivos/teste_arquivo_seguro.dat");
+
+    /**
+     * Garante que não há arquivos residuais de execuções anteriores.
+     */
+    @BeforeEach
+    void setUp() {
+        new File("src/arquivos").mkdirs();
+        ArquivoSeguro.excluir(ARQUIVO);
+    }
+
+    /**
+     * Remove os arquivos criados pelo teste.
+     */
+    @AfterEach
+    void tearDown() {
+        ArquivoSeguro.excluir(ARQUIVO);
+    }
+
+    private static void gravarTexto(String texto) throws Exception {
+        ArquivoSeguro.gravar(ARQUIVO, out -> out.write(texto.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String lerTexto() throws Exception {
+        return ArquivoSeguro.ler(ARQUIVO, in -> new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Testa se cada gravação substitui o arquivo e guarda a versão anterior como cópia de segurança.
+     */
+    @Test
+    void testeGravarELer() throws Exception {
+        gravarTexto("primeira versão");
+        gravarTexto("segunda versão");
+
+        assertEquals("segunda versão", lerTexto());
+        assertTrue(ArquivoSeguro.backup(ARQUIVO).exists(), "A versão anterior não foi mantida");
+        assertFalse(new File(ARQUIVO.getPath() + ".tmp").exists(), "O arquivo temporário não foi renomeado");
+    }
+
+    /**
+     * Testa se um byte alterado no arquivo principal faz a leitura recorrer à versão anterior.
+     */
+    @Test
+    void testeCorrupcaoUsaVersaoAnterior() throws Exception {
+        gravarTexto("primeira versão");
+        gravarTexto("segunda versão");
+
+        try (RandomAccessFile raf = new RandomAccessFile(ARQUIVO, "rw")) {
+            raf.seek(raf.length() - 1);
+            raf.write('X');
+        }
+
+        assertEquals("primeira versão", lerTexto());
+    }
+
+    /**
+     * Testa se um arquivo atual com um byte alterado, mas com o tamanho correto,
+     * não substitui a cópia de segurança na gravação seguinte.
+     */
+    @Test
+    void testeArquivoCorrompidoNaoSubstituiBackup() throws Exception {
+        gravarTexto("primeira versão");
+        gravarTexto("segunda versão");
+
+        try (RandomAccessFile raf = new RandomAccessFile(ARQUIVO, "rw")) {
+            raf.seek(raf.length() - 1);
+            raf.write('X');
+        }
+        gravarTexto("terceira versão");
+
+        assertEquals("primeira versão", ArquivoSeguro.ler(ArquivoSeguro.backup(ARQUIVO),
+                in -> new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Testa se um arquivo sem cabeçalho, que não pode ser verificado, não substitui
+     * a cópia de segurança na gravação seguinte.
+     */
+    @Test
+    void testeArquivoSemCabecalhoNaoSubstituiBackup() throws Exception {
+        gravarTexto("primeira versão");
+        gravarTexto("segunda versão");
+
+        Files.write(ARQUIVO.toPath(), "lixo sem cabeçalho".getBytes(StandardCharsets.UTF_8));
+        gravarTexto("terceira versão");
+
+        assertEquals("primeira versão", ArquivoSeguro.ler(ArquivoSeguro.backup(ARQUIVO),
+                in -> new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+        assertEquals("terceira versão", lerTexto());
+    }
+
+    /**
+     * Testa se um arquivo truncado, sem versão anterior, é rejeitado antes de ser interpretado.
+     */
+    @Test
+    void testeArquivoTruncadoDetectado() throws Exception {
+        gravarTexto("conteúdo que será truncado");
+
+        try (RandomAccessFile raf = new RandomAccessFile(ARQUIVO, "rw")) {
+            raf.setLength(raf.length() - 5);
+        }
+
+        assertThrows(ArquivoCorrompidoException.class,
+                () -> ArquivoSeguro.ler(ARQUIVO, in -> fail("O conteúdo não deveria ser interpretado")));
+    }
+}
@@ -0,0 +1,279 @@
+package Testes;
+
+import Model.Livro;
+import Model.Midia;
+import Persistencia.ArquivoJournal;
+import Persistencia.ArquivoSeguro;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para verificar o armazenamento com snapshot e journal de alterações.
+ * Testa se inclusões, alterações e remoções registradas no journal são reaplicadas
+ * corretamente sobre o snapshot, se as operações agendadas mantêm a ordem de inclusão e o
+ * estado do momento do agendamento, e se uma entrada corrompida no fim do journal é descartada.
+ *
+ * @see ArquivoJournal
+ */
+class testePersistenciaJournal {
+
+    private static final String CAMINHO_SNAPSHOT = "src/arquivos/teste_journal.dat";
+    private static final String CAMINHO_JOURNAL = "src/arquivos/teste_journal.journal";
+
+    private ArquivoJournal<Livro> armazenamento;
+
+    /**
+     * Configura o ambiente de teste antes de cada execução, garantindo
+     * que não há arquivos residuais de execuções anteriores.
+     */
+    @BeforeEach
+    void setUp() {
+        new File("src/arquivos").mkdirs();
+        limparArquivos();
+        armazenamento = new ArquivoJournal<>(CAMINHO_SNAPSHOT, CAMINHO_JOURNAL);
+    }
+
+    /**
+     * Remove os arquivos criados pelo teste.
+     */
+    @AfterEach
+    void tearDown() {
+        limparArquivos();
+    }
+
+    private void limparArquivos() {
+        ArquivoSeguro.excluir(new File(CAMINHO_SNAPSHOT));
+        new File(CAMINHO_JOURNAL).delete();
+    }
+
+    private Livro novoLivro(String titulo) {
+        return new Livro(titulo, new ArrayList<>(List.of("Ficção")), 2000, "Autor", "0123456789", true, "Editora");
+    }
+
+    /**
+     * Testa se as operações registradas após o snapshot são reaplicadas no carregamento,
+     * preservando a ordem original da coleção.
+     */
+    @Test
+    void testeReaplicarOperacoesDoJournal() throws Exception {
+        List<Livro> livros = new ArrayList<>();
+        Livro primeiro = novoLivro("Primeiro");
+        Livro segundo = novoLivro("Segundo");
+        livros.add(primeiro);
+        livros.add(segundo);
+        armazenamento.salvarSnapshot(livros);
+
+        Livro terceiro = novoLivro("Terceiro");
+        livros.add(terceiro);
+        armazenamento.agendar(ArquivoJournal.Operacao.INCLUSAO, terceiro, livros);
+
+        primeiro.setAutor("Outro Autor");
+        armazenamento.agendar(ArquivoJournal.Operacao.ALTERACAO, primeiro, livros);
+
+        livros.remove(segundo);
+        armazenamento.agendar(ArquivoJournal.Operacao.REMOCAO, segundo, livros);
+        armazenamento.gravarPendentes();
+
+        assertEquals(3, armazenamento.getEntradasNoJournal());
+        assertTrue(new File(CAMINHO_JOURNAL).exists(), "O journal não foi criado");
+
+        List<Livro> carregados = new ArquivoJournal<Livro>(CAMINHO_SNAPSHOT, CAMINHO_JOURNAL).carregar();
+
+        assertAll("Verificação da coleção reconstruída",
+                () -> assertEquals(2, carregados.size()),
+                () -> assertEquals("Primeiro", carregados.get(0).getTitulo()),
+                () -> assertEquals("Outro Autor", carregados.get(0).getAutor()),
+                () -> assertEquals("Terceiro", carregados.get(1).getTitulo())
+        );
+    }
+
+    /**
+     * Testa se operações agendadas sobre a mesma mídia são combinadas antes da gravação:
+     * inclusão seguida de alteração vira uma inclusão, e inclusão seguida de remoção se anula.
+     */
+    @Test
+    void testeCombinarOperacoesAgendadas() throws Exception {
+        List<Livro> livros = new ArrayList<>();
+        armazenamento.salvarSnapshot(livros);
+
+        Livro mantido = novoLivro("Mantido");
+        livros.add(mantido);
+        armazenamento.agendar(ArquivoJournal.Operacao.INCLUSAO, mantido, livros);
+        mantido.setAutor("Autor Revisado");
+        armazenamento.agendar(ArquivoJournal.Operacao.ALTERACAO, mantido, livros);
+
+        Livro descartado = novoLivro("Descartado");
+        livros.add(descartado);
+        armazenamento.agendar(ArquivoJournal.Operacao.INCLUSAO, descartado, livros);
+        livros.remove(descartado);
+        armazenamento.agendar(ArquivoJournal.Operacao.REMOCAO, descartado, livros);
+
+        assertEquals(1, armazenamento.getOperacoesPendentes());
+
+        armazenamento.gravarPendentes();
+
+        assertEquals(0, armazenamento.getOperacoesPendentes());
+        assertEquals(1, armazenamento.getEntradasNoJournal());
+
+        List<Livro> carregados = new ArquivoJournal<Livro>(CAMINHO_SNAPSHOT, CAMINHO_JOURNAL).carregar();
+        assertEquals(1, carregados.size());
+        assertEquals("Autor Revisado", carregados.get(0).getAutor());
+    }
+
+    /**
+     * Testa se uma alteração agendada depois de uma inclusão mantém a inclusão na sua
+     * posição original, e se a gravação usa o estado da mídia no momento do agendamento.
+     */
+    @Test
+    void testeOrdemEEstadoDoAgendamento() throws Exception {
+        List<Livro> livros = new ArrayList<>();
+        armazenamento.salvarSnapshot(livros);
+
+        Livro primeiro = novoLivro("Primeiro");
+        Livro segundo = novoLivro("Segundo");
+        livros.add(primeiro);
+        armazenamento.agendar(ArquivoJournal.Operacao.INCLUSAO, primeiro, livros);
+        livros.add(segundo);
+        armazenamento.agendar(ArquivoJournal.Operacao.INCLUSAO, segundo, livros);
+        primeiro.setAutor("Autor Agendado");
+        armazenamento.agendar(ArquivoJournal.Operacao.ALTERACAO, primeiro, livros);
+        primeiro.setAutor("Autor Sem Agendamento");
+        armazenamento.gravarPendentes();
+
+        List<Livro> carregados = new ArquivoJournal<Livro>(CAMINHO_SNAPSHOT, CAMINHO_JOURNAL).carregar();
+
+        assertAll("Verificação da ordem e do estado",
+                () -> assertEquals(List.of("Primeiro", "Segundo"), carregados.stream().map(Livro::getTitulo).toList()),
+                () -> assertEquals("Autor Agendado", carregados.get(0).getAutor())
+        );
+    }
+
+    /**
+     * Testa se uma entrada incompleta no fim do journal, como a deixada por uma
+     * gravação interrompida, é ignorada e truncada sem afetar as entradas anteriores.
+     */
+    @Test
+    void testeEntradaIncompletaDescartada() throws Exception {
+        List<Livro> livros = new ArrayList<>();
+        armazenamento.salvarSnapshot(livros);
+
+        Livro livro = novoLivro("Único");
+        livros.add(livro);
+        armazenamento.agendar(ArquivoJournal.Operacao.INCLUSAO, livro, livros);
+        armazenamento.gravarPendentes();
+
+        long tamanhoValido = new File(CAMINHO_JOURNAL).length();
+        try (RandomAccessFile raf = new RandomAccessFile(CAMINHO_JOURNAL, "rw")) {
+            raf.seek(tamanhoValido);
+            raf.write(new byte[] {1, 0, 0});
+        }
+
+        ArquivoJournal<Livro> recarregado = new ArquivoJournal<>(CAMINHO_SNAPSHOT, CAMINHO_JOURNAL);
+        List<Livro> carregados = recarregado.carregar();
+
+        assertEquals(1, carregados.size());
+        assertEquals("Único", carregados.get(0).getTitulo());
+        assertEquals(1, recarregado.getEntradasNoJournal());
+        assertEquals(tamanhoValido, new File(CAMINHO_JOURNAL).length(), "O trecho inválido não foi truncado");
+    }
+
+    /**
+     * Testa se, durante cargas paralelas, mídias lidas sem id continuam sem id e só
+     * recebem um depois que as cargas terminam, acima de qualquer id lido nesse meio tempo.
+     */
+    @Test
+    void testeIdsAdiadosDuranteCargas() throws Exception {
+        List<Livro> livros = new ArrayList<>();
+        Livro antigo = novoLivro("Sem Id");
+        antigo.restaurarId(0);
+        livros.add(antigo);
+        armazenamento.salvarSnapshot(livros);
+
+        Midia.iniciarCarga();
+        Livro semId;
+        Thread atribuicao;
+        int idDeOutraColecao = Midia.ultimoId() + 1000;
+        try {
+            semId = new ArquivoJournal<Livro>(CAMINHO_SNAPSHOT, CAMINHO_JOURNAL).carregar().get(0);
+            assertEquals(0, semId.getId(), "O id foi atribuído antes do fim das cargas");
+
+            atribuicao = Thread.ofVirtual().start(semId::garantirId);
+            Thread.sleep(50);
+            assertTrue(atribuicao.isAlive(), "O id foi atribuído antes do fim das cargas");
+            novoLivro("Outra Coleção").restaurarId(idDeOutraColecao);
+        } finally {
+            Midia.concluirCarga();
+        }
+        atribuicao.join(5000);
+
+        assertTrue(semId.getId() > idDeOutraColecao, "O id atribuído repete um id lido durante as cargas");
+    }
+
+    /**
+     * Testa se bytes deixados por um acréscimo interrompido são truncados antes do
+     * próximo lote, para que as entradas gravadas depois deles não sejam descartadas.
+     */
+    @Test
+    void testeAcrescimoInterrompidoTruncadoAntesDaNovaGravacao() throws Exception {
+        List<Livro> livros = new ArrayList<>();
+        armazenamento.salvarSnapshot(livros);
+
+        Livro primeiro = novoLivro("Primeiro");
+        livros.add(primeiro);
+        armazenamento.agendar(ArquivoJournal.Operacao.INCLUSAO, primeiro, livros);
+        armazenamento.gravarPendentes();
+
+        try (RandomAccessFile raf = new RandomAccessFile(CAMINHO_JOURNAL, "rw")) {
+            raf.seek(raf.length());
+            raf.write(new byte[] {1, 0, 0});
+        }
+
+        Livro segundo = novoLivro("Segundo");
+        livros.add(segundo);
+        armazenamento.agendar(ArquivoJournal.Operacao.INCLUSAO, segundo, livros);
+        armazenamento.gravarPendentes();
+
+        List<Livro> carregados = new ArquivoJournal<Livro>(CAMINHO_SNAPSHOT, CAMINHO_JOURNAL).carregar();
+
+        assertEquals(2, carregados.size(), "A entrada gravada depois do trecho incompleto foi descartada");
+        assertEquals("Segundo", carregados.get(1).getTitulo());
+    }
+
+    /**
+     * Testa se um journal que sobreviveu à gravação de um snapshot mais novo, como após
+     * uma queda entre a troca do snapshot e a exclusão do journal, é descartado em vez
+     * de desfazer as alterações contidas no snapshot.
+     */
+    @Test
+    void testeJournalAnteriorAoSnapshotDescartado() throws Exception {
+        List<Livro> livros = new ArrayList<>();
+        Livro livro = novoLivro("Original");
+        livros.add(livro);
+        armazenamento.salvarSnapshot(livros);
+
+        livro.setAutor("Autor do Journal");
+        armazenamento.agendar(ArquivoJournal.Operacao.ALTERACAO, livro, livros);
+        armazenamento.gravarPendentes();
+        byte[] journalAntigo = Files.readAllBytes(Path.of(CAMINHO_JOURNAL));
+
+        livro.setAutor("Autor do Snapshot");
+        livros.remove(livro);
+        armazenamento.salvarSnapshot(livros);
+        Files.write(Path.of(CAMINHO_JOURNAL), journalAntigo);
+
+        ArquivoJournal<Livro> recarregado = new ArquivoJournal<>(CAMINHO_SNAPSHOT, CAMINHO_JOURNAL);
+        List<Livro> carregados = recarregado.carregar();
+
+        assertTrue(carregados.isEmpty(), "O journal antigo foi reaplicado sobre o snapshot mais novo");
+        assertEquals(0, recarregado.getEntradasNoJournal());
+        assertFalse(new File(CAMINHO_JOURNAL).exists(), "O journal antigo não foi descartado");
+    }
+}
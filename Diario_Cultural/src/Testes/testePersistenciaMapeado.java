@@ -0,0 +1,186 @@
+package Testes;
+
+import Model.Filme;
+import Model.Livro;
+import Persistencia.ArquivoJournal.Operacao;
+import Persistencia.ArquivoMapeado;
+import Persistencia.ListaMapeada;
+import Persistencia.RepositorioMapeado;
+import Persistencia.ServicoPersistencia.Colecao;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o armazenamento em arquivo único mapeado em memória.
+ * Verifica se as mídias são decodificadas apenas quando acessadas, se coleções
+ * não lidas sobrevivem à gravação de outra coleção, se apenas as alterações
+ * registradas são regravadas, se uma gravação que falhou é refeita e se um
+ * registro corrompido é detectado pelo CRC.
+ *
+ * @see ArquivoMapeado
+ * @see RepositorioMapeado
+ */
+class testePersistenciaMapeado {
+
+    private static final String CAMINHO_ARQUIVO = "src/arquivos/teste_mapeado.mmap";
+
+    private RepositorioMapeado<Livro> livros;
+    private RepositorioMapeado<Filme> filmes;
+
+    /**
+     * Parte de um arquivo inexistente e de coleções vazias.
+     */
+    @BeforeEach
+    void setUp() {
+        new File("src/arquivos").mkdirs();
+        limparArquivos();
+        ArquivoMapeado arquivo = ArquivoMapeado.de(CAMINHO_ARQUIVO);
+        livros = new RepositorioMapeado<>(arquivo, Colecao.LIVROS);
+        filmes = new RepositorioMapeado<>(arquivo, Colecao.FILMES);
+        livros.getMidias().clear();
+        filmes.getMidias().clear();
+    }
+
+    /**
+     * Remove os arquivos criados pelo teste.
+     */
+    @AfterEach
+    void tearDown() {
+        livros.getMidias().clear();
+        filmes.getMidias().clear();
+        limparArquivos();
+    }
+
+    private void limparArquivos() {
+        new File(CAMINHO_ARQUIVO).delete();
+        File temporario = new File(CAMINHO_ARQUIVO + ".tmp");
+        if (temporario.isDirectory()) {
+            new File(temporario, "bloqueio").delete();
+        }
+        temporario.delete();
+    }
+
+    private Livro novoLivro(String titulo) {
+        return new Livro(titulo, new ArrayList<>(List.of("Ficção")), 2000, "Autor", "0123456789", true, "Editora");
+    }
+
+    /**
+     * Testa se o carregamento não decodifica nenhuma mídia e se apenas a mídia acessada é decodificada.
+     */
+    @Test
+    void testeDecodificacaoSobDemanda() throws Exception {
+        livros.getMidias().addAll(List.of(novoLivro("Primeiro"), novoLivro("Segundo"), novoLivro("Terceiro")));
+        livros.salvar();
+
+        livros.carregar();
+        ListaMapeada<Livro> lista = (ListaMapeada<Livro>) livros.getMidias();
+
+        assertEquals(3, lista.size());
+        assertEquals(0, lista.getDecodificadas());
+        assertEquals("Segundo", lista.get(1).getTitulo());
+        assertEquals(1, lista.getDecodificadas());
+    }
+
+    /**
+     * Testa se gravar uma coleção preserva as demais, inclusive mídias que não foram decodificadas.
+     */
+    @Test
+    void testeGravacaoPreservaOutrasColecoes() throws Exception {
+        livros.getMidias().add(novoLivro("Livro"));
+        filmes.getMidias().add(new Filme("Filme", new ArrayList<>(List.of("Drama")), 2010, 120, "Diretor", "Roteirista",
+                new HashMap<>(), "Filme", new ArrayList<>(List.of("Cinema"))));
+        livros.salvar();
+
+        livros.carregar();
+        filmes.carregar();
+        livros.getMidias().add(novoLivro("Novo Livro"));
+        livros.salvar();
+
+        assertEquals("Filme", filmes.getMidias().getFirst().getTitulo(), "Registro não lido deveria continuar acessível");
+
+        filmes.carregar();
+        livros.carregar();
+        assertEquals(1, filmes.getMidias().size());
+        assertEquals(List.of("Livro", "Novo Livro"), livros.getMidias().stream().map(Livro::getTitulo).toList());
+    }
+
+    /**
+     * Testa se a gravação das pendentes usa a mídia codificada no registro da operação e
+     * copia as demais do arquivo, mesmo as que foram decodificadas e modificadas sem registro.
+     */
+    @Test
+    void testeGravaApenasAlteracoesRegistradas() throws Exception {
+        livros.getMidias().addAll(List.of(novoLivro("Primeiro"), novoLivro("Segundo")));
+        livros.salvar();
+        livros.carregar();
+
+        Livro primeiro = livros.getMidias().get(0);
+        Livro segundo = livros.getMidias().get(1);
+        primeiro.setTitulo("Sem registro");
+        segundo.setTitulo("Registrado");
+        livros.registrar(Operacao.ALTERACAO, segundo);
+        segundo.setTitulo("Depois do registro");
+        livros.getMidias().add(novoLivro("Terceiro"));
+        livros.registrar(Operacao.INCLUSAO, livros.getMidias().getLast());
+        livros.gravarPendentes();
+
+        livros.carregar();
+        assertEquals(List.of("Primeiro", "Registrado", "Terceiro"), livros.getMidias().stream().map(Livro::getTitulo).toList());
+        assertEquals(0, livros.getOperacoesPendentes());
+    }
+
+    /**
+     * Testa se as alterações de uma gravação que falhou continuam pendentes e são
+     * gravadas na tentativa seguinte.
+     */
+    @Test
+    void testeGravacaoComFalhaMantemAlteracoes() throws Exception {
+        livros.getMidias().add(novoLivro("Primeiro"));
+        livros.salvar();
+
+        livros.getMidias().add(novoLivro("Segundo"));
+        livros.registrar(Operacao.INCLUSAO, livros.getMidias().getLast());
+        File bloqueio = new File(CAMINHO_ARQUIVO + ".tmp", "bloqueio");
+        bloqueio.getParentFile().mkdirs();
+        bloqueio.createNewFile();
+
+        assertThrows(IOException.class, () -> livros.gravarPendentes());
+        assertEquals(1, livros.getOperacoesPendentes());
+
+        bloqueio.delete();
+        bloqueio.getParentFile().delete();
+        livros.gravarPendentes();
+
+        livros.carregar();
+        assertEquals(List.of("Primeiro", "Segundo"), livros.getMidias().stream().map(Livro::getTitulo).toList());
+    }
+
+    /**
+     * Testa se um byte alterado nos dados de um registro é detectado ao decodificá-lo.
+     */
+    @Test
+    void testeRegistroCorrompido() throws Exception {
+        livros.getMidias().add(novoLivro("Corrompido"));
+        livros.salvar();
+
+        try (RandomAccessFile raf = new RandomAccessFile(CAMINHO_ARQUIVO, "rw")) {
+            long posicao = 32 + 16 + 8;
+            raf.seek(posicao);
+            int original = raf.read();
+            raf.seek(posicao);
+            raf.write(original ^ 0xFF);
+        }
+
+        livros.carregar();
+        assertThrows(UncheckedIOException.class, () -> livros.getMidias().get(0));
+    }
+}
@@ -0,0 +1,111 @@
+package Testes;
+
+import Controller.LivroController;
+import Model.Livro;
+import Persistencia.ArquivoJournal.Operacao;
+import Persistencia.ArquivoSeguro;
+import Persistencia.MidiaRepository;
+import Persistencia.RepositorioMemoria;
+import Persistencia.RepositorioSerializado;
+import Persistencia.Repositorios;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para os repositórios de mídias.
+ * Verifica se o controlador funciona com um repositório trocado em tempo de execução
+ * e se as implementações gravam e recuperam a coleção.
+ *
+ * @see MidiaRepository
+ * @see Repositorios
+ */
+class testePersistenciaRepositorios {
+
+    private static final String CAMINHO_ARQUIVO = "src/arquivos/teste_repositorio.dat";
+
+    private MidiaRepository<Livro> repositorioOriginal;
+
+    /**
+     * Guarda o repositório original dos livros, que alguns testes substituem.
+     */
+    @BeforeEach
+    void setUp() {
+        new File("src/arquivos").mkdirs();
+        repositorioOriginal = LivroController.getRepositorio();
+    }
+
+    /**
+     * Restaura o repositório original e remove os arquivos criados pelo teste.
+     */
+    @AfterEach
+    void tearDown() {
+        LivroController.setRepositorio(repositorioOriginal);
+        ArquivoSeguro.excluir(new File(CAMINHO_ARQUIVO));
+    }
+
+    private Livro novoLivro(String titulo) {
+        return new Livro(titulo, new ArrayList<>(List.of("Ficção")), 2000, "Autor", "0123456789", true, "Editora");
+    }
+
+    /**
+     * Testa o ciclo de cadastro, gravação e carregamento do controlador
+     * usando um repositório em memória, sem acesso ao disco.
+     */
+    @Test
+    void testeControladorComRepositorioEmMemoria() {
+        LivroController.setRepositorio(Repositorios.criar(Repositorios.Tipo.MEMORIA, "livros"));
+
+        new LivroController().cadastrarLivro("Dom Casmurro", "Machado de Assis", "Garnier",
+                new ArrayList<>(List.of("Romance")), 1899, "9788535910663", true);
+        assertTrue(LivroController.isAlterado());
+
+        LivroController.salvarAlteracoes();
+        assertFalse(LivroController.isAlterado());
+
+        LivroController.limparLivros();
+        assertTrue(LivroController.carregarLivros());
+        assertEquals(1, LivroController.getLivros().size());
+        assertEquals("Dom Casmurro", LivroController.getLivros().getFirst().getTitulo());
+    }
+
+    /**
+     * Testa se o repositório serializado regrava a coleção completa
+     * apenas quando há operações pendentes.
+     */
+    @Test
+    void testeRepositorioSerializado() throws Exception {
+        MidiaRepository<Livro> repositorio = new RepositorioSerializado<>(CAMINHO_ARQUIVO);
+        repositorio.gravarPendentes();
+        assertFalse(new File(CAMINHO_ARQUIVO).exists(), "Sem operações pendentes nada deveria ser gravado");
+
+        for (String titulo : List.of("Primeiro", "Segundo")) {
+            Livro livro = novoLivro(titulo);
+            repositorio.getMidias().add(livro);
+            repositorio.registrar(Operacao.INCLUSAO, livro);
+        }
+        assertEquals(2, repositorio.getOperacoesPendentes());
+
+        repositorio.gravarPendentes();
+        assertEquals(0, repositorio.getOperacoesPendentes());
+
+        MidiaRepository<Livro> recarregado = new RepositorioSerializado<>(CAMINHO_ARQUIVO);
+        recarregado.carregar();
+        assertEquals(List.of("Primeiro", "Segundo"),
+                recarregado.getMidias().stream().map(Livro::getTitulo).toList());
+    }
+
+    /**
+     * Testa se carregar um repositório em memória que nunca foi gravado falha,
+     * como acontece com um arquivo inexistente.
+     */
+    @Test
+    void testeCarregarSemGravacao() {
+        assertThrows(IOException.class, () -> new RepositorioMemoria<Livro>().carregar());
+    }
+}
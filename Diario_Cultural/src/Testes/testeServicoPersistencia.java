@@ -0,0 +1,129 @@
+package Testes;
+
+import Persistencia.ServicoPersistencia;
+import Persistencia.ServicoPersistencia.Colecao;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para o serviço de gravação em segundo plano.
+ * Verifica se alterações seguidas em uma coleção são agrupadas em uma única
+ * gravação, se o descarregamento grava imediatamente o que estiver pendente e se
+ * uma gravação que falhou continua agendada.
+ *
+ * @see ServicoPersistencia
+ */
+class testeServicoPersistencia {
+
+    private long janelaOriginal;
+
+    /**
+     * Guarda a janela configurada e garante que não há gravações agendadas.
+     */
+    @BeforeEach
+    void setUp() {
+        janelaOriginal = ServicoPersistencia.getJanelaMs();
+        ServicoPersistencia.descarregar();
+    }
+
+    /**
+     * Restaura a janela original.
+     */
+    @AfterEach
+    void tearDown() {
+        ServicoPersistencia.setJanelaMs(janelaOriginal);
+    }
+
+    /**
+     * Testa se vários avisos dentro da janela resultam em uma única gravação,
+     * executada apenas no descarregamento.
+     */
+    @Test
+    void testeAgruparAlteracoes() {
+        ServicoPersistencia.setJanelaMs(60_000);
+        AtomicInteger gravacoes = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            ServicoPersistencia.marcarAlterado(Colecao.LIVROS, gravacoes::incrementAndGet);
+        }
+
+        assertTrue(ServicoPersistencia.isAgendado(Colecao.LIVROS));
+        assertEquals(0, gravacoes.get(), "A gravação não deveria ocorrer antes do fim da janela");
+
+        ServicoPersistencia.descarregar();
+
+        assertEquals(1, gravacoes.get());
+        assertFalse(ServicoPersistencia.isAgendado(Colecao.LIVROS));
+    }
+
+    /**
+     * Testa se cada coleção recebe sua própria gravação.
+     */
+    @Test
+    void testeGravacaoPorColecao() {
+        ServicoPersistencia.setJanelaMs(60_000);
+        AtomicInteger livros = new AtomicInteger();
+        AtomicInteger series = new AtomicInteger();
+
+        ServicoPersistencia.marcarAlterado(Colecao.LIVROS, livros::incrementAndGet);
+        ServicoPersistencia.marcarAlterado(Colecao.SERIES, series::incrementAndGet);
+        ServicoPersistencia.marcarAlterado(Colecao.SERIES, series::incrementAndGet);
+        ServicoPersistencia.descarregar();
+
+        assertEquals(1, livros.get());
+        assertEquals(1, series.get());
+    }
+
+    /**
+     * Testa se uma gravação que falha é informada, continua agendada e é concluída
+     * na tentativa seguinte.
+     */
+    @Test
+    void testeFalhaMantemGravacaoAgendada() {
+        ServicoPersistencia.setJanelaMs(60_000);
+        AtomicInteger tentativas = new AtomicInteger();
+
+        ServicoPersistencia.marcarAlterado(Colecao.SERIES, () -> {
+            if (tentativas.incrementAndGet() == 1) {
+                throw new IOException("Disco cheio");
+            }
+        });
+
+        assertFalse(ServicoPersistencia.descarregar());
+        assertTrue(ServicoPersistencia.isAgendado(Colecao.SERIES));
+        assertEquals("Disco cheio", ServicoPersistencia.getFalha(Colecao.SERIES).getMessage());
+
+        assertTrue(ServicoPersistencia.descarregar());
+        assertEquals(2, tentativas.get());
+        assertFalse(ServicoPersistencia.isAgendado(Colecao.SERIES));
+        assertNull(ServicoPersistencia.getFalha(Colecao.SERIES));
+    }
+
+    /**
+     * Testa se a gravação ocorre sozinha ao fim da janela, fora da thread que avisou.
+     */
+    @Test
+    void testeGravarAoFimDaJanela() throws Exception {
+        ServicoPersistencia.setJanelaMs(10);
+        AtomicInteger gravacoes = new AtomicInteger();
+        Thread chamadora = Thread.currentThread();
+        Thread[] executora = new Thread[1];
+
+        ServicoPersistencia.marcarAlterado(Colecao.FILMES, () -> {
+            executora[0] = Thread.currentThread();
+            gravacoes.incrementAndGet();
+        });
+
+        long limite = System.currentTimeMillis() + 5_000;
+        while (gravacoes.get() == 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(1, gravacoes.get());
+        assertNotSame(chamadora, executora[0]);
+    }
+}
@@ -0,0 +1,110 @@
+package Testes;
+
+import Controller.FilmeController;
+import Controller.LivroController;
+import Controller.MidiaController;
+import Indice.CatalogoIndices;
+import Indice.Digitacao;
+import Indice.TrieSugestoes;
+import Indice.TrieSugestoes.Sugestao;
+import Model.Livro;
+import Model.Midia;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Classe de teste para as sugestões da caixa de busca.
+ * Verifica a ordem das sugestões, a busca pelo início de qualquer palavra de títulos
+ * e nomes, e se a sessão de digitação produz o mesmo resultado de uma busca nova
+ * enquanto reaproveita a busca anterior.
+ *
+ * @see TrieSugestoes
+ * @see Digitacao
+ */
+class testeTrieSugestoes {
+
+    private LivroController livroController;
+
+    @BeforeEach
+    void setUp() {
+        LivroController.limparLivros();
+        FilmeController.limparFilmes();
+        livroController = new LivroController();
+        livroController.cadastrarLivro("O Hobbit", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1937, "978-1", false);
+        livroController.cadastrarLivro("O Silmarillion", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1977, "978-2", false);
+        livroController.cadastrarLivro("Torto Arado", "Itamar Vieira Junior", "Todavia", new ArrayList<>(List.of("Romance")), 2019, "978-3", false);
+
+        Map<String, List<String>> elenco = new HashMap<>();
+        elenco.put("Ator", new ArrayList<>(List.of("Tom Hanks")));
+        new FilmeController().cadastrarFilme("Forrest Gump", new ArrayList<>(List.of("Drama")), 1994, 142,
+                "Robert Zemeckis", "Eric Roth", elenco, "Forrest Gump", new ArrayList<>());
+    }
+
+    @AfterEach
+    void tearDown() {
+        LivroController.limparLivros();
+        FilmeController.limparFilmes();
+    }
+
+    /**
+     * Testa se as sugestões são ordenadas pela quantidade de mídias e depois alfabeticamente,
+     * e se o prefixo é procurado no início de cada palavra.
+     */
+    @Test
+    void testeOrdemDasSugestoes() {
+        List<Sugestao> sugestoes = CatalogoIndices.sugerir("to", 10);
+
+        assertAll("Verificação das sugestões",
+                () -> assertEquals(new Sugestao("J.R.R. Tolkien", TrieSugestoes.Tipo.PESSOA, 2), sugestoes.getFirst()),
+                () -> assertEquals(List.of("J.R.R. Tolkien", "Tom Hanks", "Torto Arado"),
+                        sugestoes.stream().map(Sugestao::texto).toList()),
+                () -> assertEquals(1, CatalogoIndices.sugerir("to", 1).size()),
+                () -> assertEquals(List.of("O Silmarillion"), CatalogoIndices.sugerir("silma", 5).stream().map(Sugestao::texto).toList()),
+                () -> assertTrue(CatalogoIndices.sugerir("xyz", 5).isEmpty())
+        );
+    }
+
+    /**
+     * Testa se as sugestões acompanham alterações de título e remoções.
+     */
+    @Test
+    void testeAtualizacaoIncremental() {
+        Livro hobbit = LivroController.getLivros().getFirst();
+
+        MidiaController.setTitulo(hobbit, "Contos Inacabados");
+        assertTrue(CatalogoIndices.sugerir("hobb", 5).isEmpty());
+        assertEquals("Contos Inacabados", CatalogoIndices.sugerir("inaca", 5).getFirst().texto());
+
+        LivroController.removerMidia(hobbit);
+        assertTrue(CatalogoIndices.sugerir("inaca", 5).isEmpty());
+        assertEquals(1, CatalogoIndices.sugerir("tolk", 5).getFirst().quantidade());
+    }
+
+    /**
+     * Testa se a sessão de digitação, ao estender o texto, chega ao mesmo resultado de uma
+     * busca nova, e se percebe mídias cadastradas entre uma tecla e outra.
+     */
+    @Test
+    void testeSessaoDeDigitacao() {
+        Digitacao digitacao = CatalogoIndices.novaDigitacao();
+        List<String> digitados = List.of("t", "to", "tol", "tolk");
+
+        for (String texto : digitados) {
+            List<Midia> reaproveitado = digitacao.buscar(texto);
+            List<Midia> novo = CatalogoIndices.novaDigitacao().buscar(texto);
+            assertEquals(novo, reaproveitado, texto);
+            assertEquals(CatalogoIndices.sugerir(texto, 3), digitacao.sugerir(texto, 3), texto);
+        }
+        assertEquals(2, digitacao.buscar("tolk").size());
+
+        livroController.cadastrarLivro("A Sociedade do Anel", "J.R.R. Tolkien", "Martins Fontes", new ArrayList<>(List.of("Fantasia")), 1954, "978-4", false);
+        assertEquals(3, digitacao.buscar("tolki").size());
+        assertEquals(3, digitacao.sugerir("tolkie", 3).getFirst().quantidade());
+    }
+}
@@ -48,6 +48,7 @@ class teste_midiaController {
         @Override
         public void setAvaliacao(Avaliacao avaliacao) {
             avaliacoes.add(avaliacao);
+            sincronizarNota();
         }
 
         @Override
@@ -212,5 +213,38 @@ class teste_midiaController {
             MidiaController.removerGenero(midia1, "Crime");
             assertFalse(midia1.getGeneros().contains("Crime"));
         }
+
+        /**
+         * Testa se a nota mais recente e a sua versão acompanham a alteração da nota,
+         * a inclusão e a remoção de avaliações.
+         */
+        @Test
+        void testNotaAtual() {
+            int versaoInicial = midia1.getVersaoNota();
+
+            MidiaController.setNota(midia1, 2.0f);
+            float alterada = MidiaController.extrairNotaMaisRecente(midia1);
+            int versaoAlterada = midia1.getVersaoNota();
+
+            MidiaController.setNota(midia1, 2.0f);
+            int versaoRepetida = midia1.getVersaoNota();
+
+            MidiaController.setAvaliacao(midia1, new Avaliacao(3.0f, "Revisto", "02/01/2024"));
+            float incluida = MidiaController.extrairNotaMaisRecente(midia1);
+
+            MidiaController.removerAvaliacao(midia1, 1);
+            float removida = MidiaController.extrairNotaMaisRecente(midia1);
+
+            MidiaController.removerAvaliacao(midia1, 0);
+
+            assertAll("Verificação da nota mais recente",
+                    () -> assertEquals(2.0f, alterada),
+                    () -> assertTrue(versaoAlterada > versaoInicial),
+                    () -> assertEquals(versaoAlterada, versaoRepetida),
+                    () -> assertEquals(3.0f, incluida),
+                    () -> assertEquals(2.0f, removida),
+                    () -> assertEquals(0.0f, MidiaController.extrairNotaMaisRecente(midia1))
+            );
+        }
     }
 }
\ No newline at end of file
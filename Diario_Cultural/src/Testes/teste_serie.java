@@ -121,6 +121,90 @@ public class teste_serie {
         assertEquals(4.75f, serie.getNota(), 0.01);
     }
 
+    /**
+     * Verifica se a nota média acompanha avaliações incluídas, substituídas e removidas
+     * nas temporadas, sem recalcular a série.
+     */
+    @Test
+    public void testNotaIncremental() {
+        Temporada temp1 = criarTemporada(1, 7);
+        Temporada temp2 = criarTemporada(2, 13);
+        serie.addTemporada(temp1);
+        serie.addTemporada(temp2);
+        float semAvaliacoes = serie.getNota();
+
+        temp1.setAvaliacao(new Avaliacao(4.0f, "Bom", "25/07/2020"));
+        float umaTemporada = serie.getNota();
+
+        temp2.setAvaliacao(new Avaliacao(5.0f, "Ótima", "25/07/2020"));
+        temp1.setAvaliacao(new Avaliacao(3.0f, "Revendo, cansativa", "26/07/2020"));
+        float ultimasAvaliacoes = serie.getNota();
+
+        temp2.substituirAvaliacao(0, new Avaliacao(2.0f, "Fraca", "25/07/2020"));
+        float substituida = serie.getNota();
+
+        temp1.removerAvaliacao(1);
+        float removida = serie.getNota();
+
+        temp1.removerAvaliacao(0);
+        temp2.removerAvaliacao(0);
+
+        assertAll("Verificação da nota média",
+                () -> assertEquals(0.0f, semAvaliacoes),
+                () -> assertEquals(4.0f, umaTemporada, 0.01),
+                () -> assertEquals(4.0f, ultimasAvaliacoes, 0.01),
+                () -> assertEquals(2.5f, substituida, 0.01),
+                () -> assertEquals(3.0f, removida, 0.01),
+                () -> assertEquals(0.0f, serie.getNota())
+        );
+    }
+
+    /**
+     * Verifica se a nota média considera as temporadas já avaliadas ao serem adicionadas
+     * e se a alteração direta de uma nota é refletida após a sincronização.
+     */
+    @Test
+    public void testNotaAoAdicionarTemporada() {
+        Temporada temp1 = criarTemporada(1, 7);
+        temp1.setAvaliacao(new Avaliacao(4.5f, "Excelente início!", "25/07/2020"));
+        serie.addTemporada(temp1);
+        float adicionada = serie.getNota();
+
+        temp1.getAvaliacoes().getLast().setNota(3.5f);
+        temp1.sincronizarNota();
+
+        assertAll("Verificação da nota ao adicionar",
+                () -> assertEquals(4.5f, adicionada, 0.01),
+                () -> assertEquals(3.5f, serie.getNota(), 0.01)
+        );
+    }
+
+    /**
+     * Verifica se remover uma temporada avaliada a retira da nota média da série
+     * e se a lista de temporadas não aceita alterações diretas.
+     */
+    @Test
+    public void testRemoverTemporada() {
+        Temporada temp1 = criarTemporada(1, 7);
+        Temporada temp2 = criarTemporada(2, 8);
+        temp1.setAvaliacao(new Avaliacao(4.0f, "Bom", "25/07/2020"));
+        temp2.setAvaliacao(new Avaliacao(2.0f, "Fraca", "25/07/2021"));
+        serie.addTemporada(temp1);
+        serie.addTemporada(temp2);
+        float media = serie.getNota();
+
+        Temporada removida = serie.removerTemporada(1);
+
+        assertAll("Verificação da remoção",
+                () -> assertEquals(3.0f, media, 0.01),
+                () -> assertSame(temp2, removida),
+                () -> assertNull(removida.getSerieOrigem()),
+                () -> assertEquals(4.0f, serie.getNota(), 0.01),
+                () -> assertEquals(List.of(temp1), serie.getTemporadas()),
+                () -> assertThrows(UnsupportedOperationException.class, () -> serie.getTemporadas().remove(0))
+        );
+    }
+
     /**
      * Verifica se a ordenação das temporadas funciona corretamente.
      */
@@ -4,8 +4,11 @@ import Controller.FilmeController;
 import Controller.LivroController;
 import Controller.SerieController;
 
+import Persistencia.ServicoPersistencia;
+import Service.CarregadorInicial;
 import Testes.CadastroPreDefinido;
 
+import java.util.Map;
 import java.util.Scanner;
 
 /**
@@ -33,8 +36,10 @@ public class Main {
      * <ol>
      *     <li>Inicializa o scanner para entrada de dados</li>
      *     <li>Cria as instâncias dos controllers necessários</li>
+     *     <li>Carrega em paralelo os livros, filmes e séries salvos</li>
      *     <li>Carrega dados predefinidos para teste (Para facilitar os testes)</li>
      *     <li>Inicia o menu principal do sistema</li>
+     *     <li>Grava as alterações pendentes ao sair</li>
      * </ol>
      *
      * @param args argumentos da linha de comando (não utilizados)
@@ -47,17 +52,19 @@ public class Main {
         final FilmeController filmeController = new FilmeController();
         final SerieController serieController = new SerieController();
 
-        boolean livrosCarregados = livroController.carregarLivros();
-        boolean filmesCarregados = filmeController.carregarFilmes();
-        boolean seriesCarregados = serieController.carregarSeries();
+        Map<ServicoPersistencia.Colecao, CarregadorInicial.ResultadoCarga> resultados = CarregadorInicial.iniciar().getPronto().join();
+        System.out.println(CarregadorInicial.relatorio(resultados));
 
-        if (!livrosCarregados && !filmesCarregados && !seriesCarregados) {
+        if (CarregadorInicial.nenhumaCarregada(resultados)) {
             CadastroPreDefinido.cadastrarMidiasPadrao(livroController, filmeController, serieController);
         }
 
         MenuPrincipal menu = new MenuPrincipal(scanner, livroController, filmeController, serieController);
         menu.iniciar();
 
+        if (!ServicoPersistencia.descarregar()) {
+            System.out.println("Não foi possível gravar todas as alterações antes de sair.");
+        }
         scanner.close();
 
     }
@@ -76,7 +76,8 @@ public class MenuPrincipal {
         System.out.println("[7] Sobreescrever Avaliação");
         System.out.println("[8] Deletar Avaliação");
         System.out.println("[9] Buscar Mídia");
-        System.out.println("[10] Sair");
+        System.out.println("[10] Estatísticas das Avaliações");
+        System.out.println("[11] Sair");
         System.out.print("\nEscolha uma opção: ");
 
         String opcao = scanner.nextLine();
@@ -94,6 +95,7 @@ public class MenuPrincipal {
      *     <li>Remoção de mídias</li>
      *     <li>Gerenciamento de avaliações</li>
      *     <li>Busca de mídias</li>
+     *     <li>Estatísticas das avaliações</li>
      * </ul>
      *
      * @param opcao String contendo a opção escolhida pelo usuário
@@ -167,6 +169,13 @@ public class MenuPrincipal {
 
             case "10" -> {
 
+                ViewEstatisticas.processarEstatisticas(scanner);
+                yield true;
+
+            }
+
+            case "11" -> {
+
                 System.out.println("\nAté a próxima!");
                 yield false;
 
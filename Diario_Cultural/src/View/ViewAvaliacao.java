@@ -82,7 +82,7 @@ public class ViewAvaliacao {
             System.out.print("Já consumiu essa obra? (sim / não) ");
             String resposta = scanner.nextLine();
             boolean consumiu = resposta.equalsIgnoreCase("sim");
-            midiaSelecionada.setJaConsumiu(consumiu);
+            MidiaController.setJaConsumiu(midiaSelecionada, consumiu);
 
             if (!consumiu) {
 
@@ -117,8 +117,7 @@ public class ViewAvaliacao {
 
                 if (temp.getNumeroTemporada() == temporada) {
 
-                    temp.setAvaliacao(configurandoAvaliacao(nota, comentario, scanner));
-                    serie.setNota();
+                    MidiaController.setAvaliacao(temp, configurandoAvaliacao(nota, comentario, scanner));
                     System.out.printf("Avaliação adicionada com sucesso para \"%s\"!\n", midiaSelecionada.getTitulo());
                     Servicos.salvandoSeries();
                     return;
@@ -131,7 +130,7 @@ public class ViewAvaliacao {
 
         } else {
 
-            midiaSelecionada.setAvaliacao(configurandoAvaliacao(nota, comentario, scanner));
+            MidiaController.setAvaliacao(midiaSelecionada, configurandoAvaliacao(nota, comentario, scanner));
             System.out.printf("Avaliação adicionada com sucesso para \"%s\"!\n", midiaSelecionada.getTitulo());
 
             if (midiaSelecionada.getTipoMidia().equals("Filme")) {
@@ -407,8 +406,7 @@ public class ViewAvaliacao {
                     String comentario = scanner.nextLine();
 
                     Avaliacao novaAvaliacao = configurandoAvaliacao(nota, comentario, scanner);
-                    temp.getAvaliacoes().set(indiceAvaliacao, novaAvaliacao);
-                    serie.setNota();
+                    MidiaController.substituirAvaliacao(temp, indiceAvaliacao, novaAvaliacao);
                     System.out.println("Avaliação sobreescrita com sucesso!");
                     Servicos.salvandoSeries();
                     return;
@@ -429,7 +427,7 @@ public class ViewAvaliacao {
             String comentario = scanner.nextLine();
 
             Avaliacao novaAvaliacao = configurandoAvaliacao(nota, comentario, scanner);
-            midia.getAvaliacoes().set(indiceAvaliacao, novaAvaliacao);
+            MidiaController.substituirAvaliacao(midia, indiceAvaliacao, novaAvaliacao);
             System.out.println("Avaliação sobreescrita com sucesso!");
 
             if (midia.getTipoMidia().equals("Filme")) {
@@ -490,8 +488,7 @@ public class ViewAvaliacao {
                     String confirmacao = scanner.nextLine().trim().toLowerCase();
 
                     if (confirmacao.equals("sim")) {
-                        temp.getAvaliacoes().remove(indiceAvaliacao);
-                        serie.setNota();
+                        MidiaController.removerAvaliacao(temp, indiceAvaliacao);
                         System.out.println("Avaliação removida com sucesso!");
                         Servicos.salvandoSeries();
                         return;
@@ -514,7 +511,7 @@ public class ViewAvaliacao {
 
             if (confirmacao.equals("sim")) {
 
-                midia.getAvaliacoes().remove(indiceAvaliacao);
+                MidiaController.removerAvaliacao(midia, indiceAvaliacao);
                 System.out.println("Avaliação removida com sucesso!");
                 if (midia.getTipoMidia().equals("Filme")) {
                     Servicos.salvandoFilmes();
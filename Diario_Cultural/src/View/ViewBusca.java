@@ -1,10 +1,13 @@
 package View;
 
+import Controller.ConsultaMidias;
 import Controller.FilmeController;
 import Controller.LivroController;
 import Controller.MidiaController;
 import Controller.SerieController;
 
+import Indice.IndiceAvaliacoes.AvaliacaoEncontrada;
+
 import Model.Filme;
 import Model.Livro;
 import Model.Midia;
@@ -52,6 +55,9 @@ public class ViewBusca {
 
         }
 
+        System.out.println("[6] Busca Combinada");
+        System.out.println("[7] Buscar nas Avaliações");
+
         System.out.print("\nEscolha uma opção: ");
 
         String opcao = scanner.nextLine();
@@ -148,6 +154,22 @@ public class ViewBusca {
 
             }
 
+            case "6" -> {
+
+                List<? extends Midia> resultadosBusca = ViewBusca.buscaCombinada(midiaLista, scanner);
+
+                if (resultadosBusca.isEmpty()) return;
+
+                String resposta = "não";
+
+                resposta = serieVerificacao(scanner, resultadosBusca, resposta);
+
+                if (! resposta.equalsIgnoreCase("sim")) resultadosBusca.forEach(System.out::println);
+
+            }
+
+            case "7" -> ViewBusca.buscarNasAvaliacoes(midiaLista, scanner);
+
             default -> System.out.println("\nOpção inválida. Voltando ao menu principal...");
 
         }
@@ -244,6 +266,94 @@ public class ViewBusca {
 
     }
 
+    /**
+     * Realiza uma busca combinando vários critérios em uma lista de mídias.
+     * Cada critério deixado em branco é ignorado.
+     *
+     * @param midiaLista lista de mídias a serem pesquisadas
+     * @param scanner objeto para leitura de entrada do usuário
+     * @return lista de mídias que atendem a todos os critérios informados
+     * @see ConsultaMidias
+     */
+    public static List<? extends Midia> buscaCombinada(List<? extends Midia> midiaLista, Scanner scanner) {
+
+        ConsultaMidias consulta = new ConsultaMidias(midiaLista);
+
+        System.out.print("\nTítulo ou nome (Enter para ignorar): ");
+        consulta.setTexto(scanner.nextLine());
+
+        System.out.print("Gênero (Enter para ignorar): ");
+        consulta.setGenero(scanner.nextLine());
+
+        System.out.print("Ano inicial (Enter para ignorar): ");
+        Integer anoInicio = lerInteiroOpcional(scanner);
+
+        System.out.print("Ano final (Enter para ignorar): ");
+        consulta.setIntervaloAnos(anoInicio, lerInteiroOpcional(scanner));
+
+        System.out.print("Já consumida? (sim / não / Enter para ignorar): ");
+        String consumiu = scanner.nextLine().strip();
+        if (consumiu.equalsIgnoreCase("sim")) consulta.setJaConsumiu(true);
+        else if (consumiu.equalsIgnoreCase("não") || consumiu.equalsIgnoreCase("nao")) consulta.setJaConsumiu(false);
+
+        System.out.print("Nota mínima (Enter para ignorar): ");
+        String nota = scanner.nextLine().strip();
+        if (MidiaController.checkFloat(nota)) consulta.setIntervaloNota(Float.parseFloat(nota), null);
+
+        consulta.setOrdenacao(ConsultaMidias.Ordenacao.BEM_AVALIADOS);
+
+        List<Midia> resultados_da_busca = consulta.executar();
+
+        if (resultados_da_busca.isEmpty()) System.out.println("\nNenhum item encontrado para a busca.");
+
+        return resultados_da_busca;
+
+    }
+
+    /**
+     * Busca palavras nos comentários das avaliações das mídias e temporadas da lista e exibe
+     * as avaliações encontradas, das mais relevantes para as menos relevantes.
+     *
+     * @param midiaLista lista de mídias cujas avaliações são pesquisadas
+     * @param scanner objeto para leitura de entrada do usuário
+     */
+    public static void buscarNasAvaliacoes(List<? extends Midia> midiaLista, Scanner scanner) {
+
+        System.out.print("\nDigite as palavras a serem buscadas nas avaliações: ");
+
+        List<AvaliacaoEncontrada> encontradas = MidiaController.busca_avaliacoes(scanner.nextLine(), midiaLista);
+
+        if (encontradas.isEmpty()) {
+            System.out.println("\nNenhuma avaliação encontrada para a busca.");
+            return;
+        }
+
+        for (AvaliacaoEncontrada encontrada : encontradas) {
+
+            String origem = MidiaController.getTitulo(encontrada.midia());
+            if (encontrada.temporada() != null) origem += " - Temporada " + encontrada.temporada().getNumeroTemporada();
+
+            System.out.println("\n=== " + origem + " ===");
+            System.out.println(encontrada.avaliacao());
+
+        }
+
+    }
+
+    /**
+     * Lê um número inteiro opcional.
+     *
+     * @param scanner objeto para leitura de entrada do usuário
+     * @return número lido, ou {@code null} se a entrada não for um número inteiro
+     */
+    private static Integer lerInteiroOpcional(Scanner scanner) {
+
+        String entrada = scanner.nextLine().strip();
+
+        return MidiaController.checkInteiro(entrada) ? Integer.valueOf(entrada) : null;
+
+    }
+
     /**
      * Realiza busca por autor em uma lista de livros.
      *
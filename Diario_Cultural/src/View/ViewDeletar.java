@@ -142,7 +142,7 @@ public class ViewDeletar {
 
         if (confirmacao) {
 
-            serie.getTemporadas().remove(escolha - 1);
+            SerieController.removerTemporada(serie, escolha - 1);
             System.out.println("\nTemporada removida com sucesso!");
 
         } else {
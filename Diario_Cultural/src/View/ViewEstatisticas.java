@@ -0,0 +1,163 @@
+package View;
+
+import Controller.MidiaController;
+
+import Indice.IndiceCronologico.AvaliacaoDatada;
+import Indice.IndiceEstatisticas.Distribuicao;
+import Indice.IndiceEstatisticas.Estatisticas;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+/**
+ * Classe responsável por exibir as estatísticas das avaliações.
+ * Mostra a média, a mediana, os percentis e o histograma das notas agrupadas por
+ * tipo de mídia, gênero, década ou ano, a quantidade de avaliações com data de consumo em cada mês,
+ * as avaliações consumidas em um mês e as avaliações mais recentes.
+ */
+public class ViewEstatisticas {
+
+    /** Quantidade de avaliações exibidas na opção de últimas avaliações */
+    private static final int QUANTIDADE_ULTIMAS = 50;
+
+    /**
+     * Apresenta as opções de agrupamento e exibe as estatísticas escolhidas.
+     *
+     * @param scanner objeto para leitura de entrada do usuário
+     */
+    public static void processarEstatisticas(Scanner scanner) {
+
+        Estatisticas estatisticas = MidiaController.extrairEstatisticas();
+
+        if (estatisticas.geral().quantidade() == 0) {
+            System.out.println("\nNenhuma avaliação cadastrada.");
+            return;
+        }
+
+        System.out.println("\n=== Todas as avaliações ===");
+        exibirDistribuicao("Geral", estatisticas.geral());
+
+        System.out.println("\n[1] Por Tipo de Mídia");
+        System.out.println("[2] Por Gênero");
+        System.out.println("[3] Por Década");
+        System.out.println("[4] Por Ano de Lançamento");
+        System.out.println("[5] Consumo por Mês");
+        System.out.println("[6] Consumidas em um Mês");
+        System.out.println("[7] Últimas Avaliações");
+        System.out.print("\nEscolha uma opção: ");
+
+        String opcao = scanner.nextLine();
+
+        switch (opcao) {
+
+            case "1" -> exibirGrupos("Tipo de Mídia", estatisticas.porTipo());
+
+            case "2" -> exibirGrupos("Gênero", estatisticas.porGenero());
+
+            case "3" -> exibirGrupos("Década", estatisticas.porDecada());
+
+            case "4" -> exibirGrupos("Ano de Lançamento", estatisticas.porAno());
+
+            case "5" -> {
+
+                System.out.println("\n=== Consumo por Mês ===");
+
+                if (estatisticas.consumoPorMes().isEmpty()) System.out.println("Nenhuma avaliação com data de consumo.");
+
+                for (Map.Entry<YearMonth, Integer> mes : estatisticas.consumoPorMes().entrySet()) {
+                    System.out.printf("%02d/%d: %d\n", mes.getKey().getMonthValue(), mes.getKey().getYear(), mes.getValue());
+                }
+
+            }
+
+            case "6" -> {
+
+                System.out.print("\nDigite o mês (MM/AAAA): ");
+
+                try {
+
+                    YearMonth mes = YearMonth.parse(scanner.nextLine(), DateTimeFormatter.ofPattern("MM/yyyy"));
+                    exibirAvaliacoes("Consumidas em " + mes.format(DateTimeFormatter.ofPattern("MM/yyyy")),
+                            MidiaController.consumidasNoPeriodo(mes.atDay(1), mes.atEndOfMonth()));
+
+                } catch (DateTimeParseException e) {
+
+                    System.out.println("Formato inválido! Use MM/AAAA.");
+
+                }
+
+            }
+
+            case "7" -> exibirAvaliacoes("Últimas Avaliações", MidiaController.ultimasAvaliacoes(QUANTIDADE_ULTIMAS));
+
+            default -> System.out.println("\nOpção inválida. Voltando ao menu principal...");
+
+        }
+
+    }
+
+    /**
+     * Exibe as avaliações encontradas por uma consulta cronológica, com a mídia ou temporada avaliada.
+     *
+     * @param titulo descrição da consulta
+     * @param datadas avaliações encontradas
+     */
+    private static void exibirAvaliacoes(String titulo, List<AvaliacaoDatada> datadas) {
+
+        System.out.println("\n=== " + titulo + " ===");
+
+        if (datadas.isEmpty()) {
+            System.out.println("Nenhuma avaliação encontrada.");
+            return;
+        }
+
+        for (AvaliacaoDatada datada : datadas) {
+
+            String origem = MidiaController.getTitulo(datada.midia());
+            if (datada.temporada() != null) origem += " - Temporada " + datada.temporada().getNumeroTemporada();
+
+            System.out.println("\n--- " + origem + " ---");
+            System.out.println(datada.avaliacao());
+
+        }
+
+    }
+
+    /**
+     * Exibe a distribuição das notas de cada grupo.
+     *
+     * @param titulo nome do agrupamento
+     * @param grupos valor do grupo para a distribuição das notas
+     */
+    private static void exibirGrupos(String titulo, Map<?, Distribuicao> grupos) {
+
+        System.out.println("\n=== Avaliações por " + titulo + " ===");
+
+        grupos.forEach((grupo, distribuicao) -> exibirDistribuicao(String.valueOf(grupo), distribuicao));
+
+    }
+
+    /**
+     * Exibe a quantidade, a média, a mediana, os percentis e o histograma de uma distribuição.
+     *
+     * @param nome nome do grupo
+     * @param distribuicao distribuição das notas do grupo
+     */
+    private static void exibirDistribuicao(String nome, Distribuicao distribuicao) {
+
+        System.out.printf("\n%s: %d avaliação(ões)\n", nome, distribuicao.quantidade());
+        System.out.printf("  Média: %.2f | Mediana: %.1f | P25: %.1f | P75: %.1f | P90: %.1f\n",
+                distribuicao.media(), distribuicao.mediana(), distribuicao.percentil(25),
+                distribuicao.percentil(75), distribuicao.percentil(90));
+
+        int[] histograma = distribuicao.histograma();
+        for (int faixa = 0; faixa < histograma.length; faixa++) {
+            System.out.printf("  %d estrela(s): %d\n", faixa, histograma[faixa]);
+        }
+
+    }
+}
@@ -1,14 +1,13 @@
 package View;
 
+import Controller.ConsultaMidias;
 import Controller.FilmeController;
 import Controller.LivroController;
-import Controller.MidiaController;
 import Controller.SerieController;
 
 import Model.*;
 import Service.Servicos;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
@@ -43,7 +42,7 @@ public class ViewLista {
             case "2" -> {
 
                 List<? extends Midia> midiaLista = selecionarLista(livroController, filmeController, serieController, scanner);
-                escolhaOrdenacao(midiaLista, scanner);
+                escolhaOrdenacao(new ConsultaMidias(midiaLista), scanner);
 
             }
 
@@ -54,12 +53,12 @@ public class ViewLista {
     }
 
     /**
-     * Apresenta opções de ordenação para uma lista de mídias.
+     * Apresenta opções de ordenação para a consulta de mídias.
      *
-     * @param midiaLista lista de mídias a ser ordenada
+     * @param consulta consulta sobre as mídias a serem listadas
      * @param scanner objeto para leitura de entrada do usuário
      */
-    private static void escolhaOrdenacao(List<? extends Midia> midiaLista, Scanner scanner) {
+    private static void escolhaOrdenacao(ConsultaMidias consulta, Scanner scanner) {
 
         System.out.println("\n--- Ordenar Lista ---");
         System.out.println("\n[1] Ordenar por bem avaliados");
@@ -70,13 +69,9 @@ public class ViewLista {
 
         switch (opcao) {
 
-            case "1" -> {
-                midiaLista = MidiaController.ordenarBemAvaliado(midiaLista);
-            }
+            case "1" -> consulta.setOrdenacao(ConsultaMidias.Ordenacao.BEM_AVALIADOS);
 
-            case "2" -> {
-                midiaLista = MidiaController.ordenarMalAvaliado(midiaLista);
-            }
+            case "2" -> consulta.setOrdenacao(ConsultaMidias.Ordenacao.MAL_AVALIADOS);
 
             default -> {
                 System.out.println("\nOpção inválida. Voltando ao menu principal...");
@@ -85,17 +80,17 @@ public class ViewLista {
 
         }
 
-        escolhaFiltragem(midiaLista, scanner);
+        escolhaFiltragem(consulta, scanner);
 
     }
 
     /**
-     * Apresenta opções de filtragem para uma lista de mídias.
+     * Apresenta opções de filtragem para a consulta de mídias e lista o resultado.
      *
-     * @param midiaLista lista de mídias a ser filtrada
+     * @param consulta consulta sobre as mídias a serem listadas
      * @param scanner objeto para leitura de entrada do usuário
      */
-    private static void escolhaFiltragem(List<? extends Midia> midiaLista, Scanner scanner) {
+    private static void escolhaFiltragem(ConsultaMidias consulta, Scanner scanner) {
 
         System.out.println("\n--- Filtragem Lista ---");
         System.out.println("\n[1] Filtrar por Gênero");
@@ -110,9 +105,9 @@ public class ViewLista {
             case "1" -> {
 
                 System.out.print("\nGênero para Filtrar: ");
-                String genero = scanner.nextLine();
+                consulta.setGenero(scanner.nextLine());
 
-                listarIndividual(MidiaController.filtrarPorGenero(midiaLista, genero));
+                listarIndividual(consulta.executar());
 
             }
 
@@ -120,11 +115,13 @@ public class ViewLista {
 
                 System.out.print("\nAno para Filtrar: ");
                 int anoLancamento = (int) Servicos.getValidarEntrada("int");
-                listarIndividual(MidiaController.filtrarPorAno(midiaLista, anoLancamento));
+                consulta.setIntervaloAnos(anoLancamento, anoLancamento);
+
+                listarIndividual(consulta.executar());
 
             }
 
-            case "3" -> listarIndividual(midiaLista);
+            case "3" -> listarIndividual(consulta.executar());
 
             default -> System.out.println("\nOpção inválida. Voltando ao menu principal...");
 
@@ -244,13 +241,7 @@ public class ViewLista {
 
         }
 
-        List<Midia> todasMidias = new ArrayList<>();
-
-        if (!livros.isEmpty()) todasMidias.addAll(livros);
-        if (!filmes.isEmpty()) todasMidias.addAll(filmes);
-        if (!series.isEmpty()) todasMidias.addAll(series);
-
-        escolhaOrdenacao(todasMidias, scanner);
+        escolhaOrdenacao(new ConsultaMidias(), scanner);
 
     }
 
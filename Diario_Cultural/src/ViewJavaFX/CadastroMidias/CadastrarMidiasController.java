@@ -1,5 +1,6 @@
 package ViewJavaFX.CadastroMidias;
 
+import Controller.LivroController;
 import Controller.SerieController;
 
 import Model.Serie;
@@ -141,7 +142,7 @@ public class CadastrarMidiasController {
      *   <li>Limpa todas as mensagens de status anteriores</li>
      *   <li>Valida o formulário de livro</li>
      *   <li>Cadastra o livro através do controlador</li>
-     *   <li>Salva os livros no repositório</li>
+     *   <li>Registra o livro no journal de alterações</li>
      *   <li>Limpa o formulário após o cadastro</li>
      * </ul>
      *
@@ -160,7 +161,6 @@ public class CadastrarMidiasController {
                     isbnLivro.getText(),
                     possuiExemplar.isSelected()
             );
-            RegistroControladores.getLivroController().salvarLivros();
             limparFormularioLivro();
         }
     }
@@ -174,7 +174,7 @@ public class CadastrarMidiasController {
      *   <li>Limpa mensagens de status anteriores</li>
      *   <li>Valida o formulário de filme</li>
      *   <li>Cadastra o filme através do controlador</li>
-     *   <li>Salva os filmes no repositório</li>
+     *   <li>Registra o filme no journal de alterações</li>
      *   <li>Limpa o formulário após o cadastro</li>
      * </ul>
      *
@@ -195,7 +195,6 @@ public class CadastrarMidiasController {
                     tituloOriginalFilme.getText(),
                     separacaoLista(ondeAssistirFilme)
             );
-            RegistroControladores.getFilmeController().salvarFilmes();
             limparFormularioFilme();
         }
     }
@@ -208,7 +207,7 @@ public class CadastrarMidiasController {
      *   <li>Limpa todas as mensagens de status anteriores</li>
      *   <li>Valida o formulário de série</li>
      *   <li>Cadastra a série através do controlador</li>
-     *   <li>Salva as séries no repositório</li>
+     *   <li>Registra a série no journal de alterações</li>
      *   <li>Limpa o formulário após o cadastro</li>
      *   <li>Atualiza a choice box de séries</li>
      * </ul>
@@ -228,7 +227,6 @@ public class CadastrarMidiasController {
                     tituloOriginalFilme.getText(),
                     separacaoLista(ondeAssistirSerie)
             );
-            RegistroControladores.getSerieController().salvarSeries();
             limparFormularioSerie();
             popularSeriesChoiceBox();
         }
@@ -242,7 +240,7 @@ public class CadastrarMidiasController {
      *   <li>Limpa mensagens de status anteriores</li>
      *   <li>Valida o formulário de temporada</li>
      *   <li>Cadastra a temporada para a série selecionada</li>
-     *   <li>Salva as séries no repositório</li>
+     *   <li>Registra a série no journal de alterações</li>
      *   <li>Limpa o formulário após o cadastro</li>
      * </ul>
      *
@@ -263,7 +261,6 @@ public class CadastrarMidiasController {
                     Integer.parseInt(quantidadeEpisodiosTemporada.getText()),
                     serieSelecionada.getValue()
             );
-            RegistroControladores.getSerieController().salvarSeries();
             limparFormularioTemporada();
         }
     }
@@ -355,13 +352,14 @@ public class CadastrarMidiasController {
      *   <li>Editora</li>
      *   <li>Gêneros</li>
      *   <li>Ano de publicação</li>
-     *   <li>ISBN</li>
+     *   <li>ISBN (que não pode pertencer a um livro já cadastrado)</li>
      * </ul>
      *
      * @return {@code true} se todos os campos forem válidos, {@code false} caso contrário
      *
      * @see #validarCampo(TextField, Label, String)
      * @see #validarCampoInteiro(TextField, Label, String)
+     * @see LivroController#existeIsbn(String)
      */
     private boolean isFormularioLivroValido() {
         boolean isValido = true;
@@ -370,7 +368,12 @@ public class CadastrarMidiasController {
         if (!validarCampo(nomeEditora, editoraError, "Editora é obrigatória.")) isValido = false;
         if (!validarCampo(caixaGeneroLivro, generosLivroError, "Gênero(s) são obrigatórios.")) isValido = false;
         if (!validarCampoInteiro(anoPublicacaoLivro, anoLivroError, "Ano inválido.")) isValido = false;
-        if (!validarCampo(isbnLivro, isbnError, "ISBN é obrigatório.")) isValido = false;
+        if (!validarCampo(isbnLivro, isbnError, "ISBN é obrigatório.")) {
+            isValido = false;
+        } else if (LivroController.existeIsbn(isbnLivro.getText())) {
+            isbnError.setText("Já existe um livro com este ISBN.");
+            isValido = false;
+        }
         return isValido;
     }
 
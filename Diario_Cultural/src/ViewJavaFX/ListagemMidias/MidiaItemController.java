@@ -455,19 +455,13 @@ import java.util.function.Function;
 
     /**
      * Salva os dados da mídia atual no controlador correspondente de acordo com o tipo de mídia.
-     * Utiliza um switch para determinar o tipo de mídia e chama o método de salvamento apropriado.
+     * Apenas a mídia editada é marcada como alterada, de modo que somente a sua
+     * coleção é gravada, sem regravar as demais.
      *
-     * Os tipos de mídia suportados são:
-     * - Livro: chama LivroController.salvarLivros()
-     * - Filme: chama FilmeController.salvarFilmes()
-     * - Série: chama SerieController.salvarSeries()
+     * @see MidiaController#marcarAlterado(Midia)
      */
     void salvarDados() {
-        switch (midiaOriginal.getTipoMidia()){
-            case "Livro" -> LivroController.salvarLivros();
-            case "Filme" -> FilmeController.salvarFilmes();
-            case "Série" -> SerieController.salvarSeries();
-        }
+        MidiaController.marcarAlterado(midiaOriginal);
     }
 
     /**
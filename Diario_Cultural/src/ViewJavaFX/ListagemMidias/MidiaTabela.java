@@ -26,8 +26,11 @@ public class MidiaTabela {
     /** Tipo da mídia (ex: Livro, Filme, Série) */
     private final String tipoMidia;
 
-    /** Nota ou avaliação da mídia */
-    private final float nota;
+    /** Nota ou avaliação da mídia, relida da mídia original quando a versão da nota muda */
+    private float nota;
+
+    /** Versão da nota da mídia original quando a nota foi lida */
+    private int versaoNota;
 
     /** Ano de lançamento ou publicação da mídia */
     private final int anoLancamento;
@@ -49,6 +52,7 @@ public class MidiaTabela {
         this.anoLancamento = ano;
         this.midiaOriginal = midiaOriginal;
         this.controller = controller;
+        this.versaoNota = midiaOriginal != null ? midiaOriginal.getVersaoNota() : 0;
     }
 
     /**
@@ -66,11 +70,17 @@ public class MidiaTabela {
     public String getTipoMidia() { return tipoMidia; }
 
     /**
-     * Obtém a nota da mídia.
+     * Obtém a nota da mídia, acompanhando alterações feitas após a criação da linha.
      *
      * @return Nota ou avaliação da mídia
      */
-    public float getNota() { return nota; }
+    public float getNota() {
+        if (midiaOriginal != null && midiaOriginal.getVersaoNota() != versaoNota) {
+            nota = midiaOriginal.getNotaAtual();
+            versaoNota = midiaOriginal.getVersaoNota();
+        }
+        return nota;
+    }
 
     /**
      * Obtém o ano de lançamento da mídia.
@@ -1,34 +1,53 @@
 package ViewJavaFX.MenuPrincipal;
 
+import Controller.ConsultaMidias;
 import Controller.FilmeController;
 import Controller.LivroController;
 import Controller.MidiaController;
 import Controller.SerieController;
 
+import Indice.CatalogoIndices;
+import Indice.Digitacao;
+import Indice.IndiceFacetas.Facetas;
+import Indice.TrieSugestoes;
+import Indice.TrieSugestoes.Sugestao;
+
 import Model.Filme;
 import Model.Livro;
 import Model.Midia;
 import Model.Serie;
 
-import Service.Servicos;
+import Persistencia.ServicoPersistencia;
+import Persistencia.ServicoPersistencia.Colecao;
+
+import Service.CarregadorInicial;
 
 import ViewJavaFX.ListagemMidias.CelulaLista;
 import ViewJavaFX.ListagemMidias.MidiaTabela;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
 import javafx.scene.control.Button;
 import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import javafx.util.StringConverter;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Classe que representa a interface principal do menu de gerenciamento de mídias.
@@ -37,7 +56,7 @@ import java.util.stream.Collectors;
  * de mídias como livros, filmes e séries em uma interface JavaFX.
  *
  * Fornece funcionalidades como:
- * - Carregamento de mídias de diferentes controllers
+ * - Carregamento progressivo de mídias de diferentes controllers
  * - Filtragem de mídias por gênero, ano e termo de busca
  * - Ordenação de mídias por avaliação
  * - Remoção de mídias
@@ -57,42 +76,189 @@ public class InterfaceMenuPrincipal {
     @FXML private ChoiceBox<String> filtroGenero;
     @FXML private ChoiceBox<Object> filtroAno;
 
+    /** Quantidade de mídias adicionadas à lista a cada atualização da tela */
+    private static final int TAMANHO_BLOCO = 200;
+
     private final List<MidiaTabela> listaMestraCompleta = new ArrayList<>();
 
+    /** Coleções já adicionadas à lista mestra (acessado apenas na thread do JavaFX) */
+    private final Set<Colecao> colecoesExibidas = EnumSet.noneOf(Colecao.class);
+
+    /**
+     * Verdadeiro até todas as coleções estarem na lista mestra e os índices prontos.
+     * Enquanto isso, filtros e sugestões não consultam o catálogo, cujo bloqueio é
+     * mantido pela montagem dos índices, e são aplicados uma única vez ao final.
+     */
+    private boolean carregando = true;
+
+    /** Verdadeiro quando a inicialização dos dados terminou */
+    private boolean inicializacaoConcluida = false;
+
+    /** Coleções cujas linhas ainda estão sendo adicionadas em blocos */
+    private int exibicoesEmAndamento = 0;
+
     private ObservableList<MidiaTabela> dadosLista;
 
+    /** Número máximo de sugestões exibidas abaixo da caixa de busca */
+    private static final int LIMITE_SUGESTOES = 8;
+
+    /** Início das opções do filtro de ano que selecionam uma década inteira */
+    private static final String PREFIXO_DECADA = "Década de ";
+
+    /** Sessão de busca da caixa de texto, que reaproveita o resultado da tecla anterior */
+    private final Digitacao digitacao = CatalogoIndices.novaDigitacao();
+
+    private final ContextMenu menuSugestoes = new ContextMenu();
+
+    /** Contagens exibidas ao lado das opções de gênero e ano, e a quantidade de mídias de cada década */
+    private Facetas facetas;
+    private final Map<Integer, Integer> quantidadesDecadas = new HashMap<>();
+
+    /** Linha da lista mestra de cada mídia, para exibir o resultado das consultas */
+    private final Map<Midia, MidiaTabela> linhaDaMidia = new IdentityHashMap<>();
+
     /**
-     * Inicializa a interface principal, carregando a lista mestra de mídias
-     * e configurando os componentes da interface.
+     * Inicializa a interface principal e configura os componentes da interface,
+     * sem esperar a carga dos dados.
      *
      * Configura:
-     * - Lista de mídias
+     * - Lista de mídias, exibindo um aviso enquanto os dados carregam
      * - Célula personalizada para lista
      * - Filtros de ordenação, gênero e ano
+     *
+     * Cada coleção é adicionada à lista assim que termina de carregar, e as opções
+     * de gênero e ano são preenchidas quando todas as coleções estão prontas.
      */
     @FXML
     public void initialize() {
-        carregarListaMestra();
-
-        dadosLista = FXCollections.observableArrayList(listaMestraCompleta);
+        dadosLista = FXCollections.observableArrayList();
 
         listView.setCellFactory(lv -> new CelulaLista(this::removerMidia));
         listView.setItems(dadosLista);
+        listView.setPlaceholder(new Label("Carregando mídias..."));
 
         configurarFiltros();
+
+        CarregadorInicial carga = RegistroControladores.getCarregadorInicial();
+        if (carga == null) {
+            concluirCarregamento();
+            return;
+        }
+
+        for (Colecao colecao : Colecao.values()) {
+            carga.getCarga(colecao).thenAccept(resultado -> {
+                if (resultado.sucesso()) {
+                    List<MidiaTabela> linhas = criarLinhas(colecao);
+                    Platform.runLater(() -> exibirColecao(colecao, linhas));
+                }
+            });
+        }
+
+        RegistroControladores.getInicializacao().whenComplete((resultado, erro) -> {
+            if (erro != null) {
+                erro.printStackTrace();
+            }
+            Platform.runLater(this::concluirCarregamento);
+        });
     }
 
     /**
-     * Carrega todos os dados dos controllers para a lista mestra.
+     * Monta as linhas da lista para todas as mídias de uma coleção.
      *
-     * Adiciona mídias de diferentes tipos (Livro, Filme, Série)
-     * a uma lista unificada para exibição e manipulação.
+     * @param colecao coleção de mídias
+     * @return linhas da tabela de mídias
      */
-    private void carregarListaMestra() {
-        listaMestraCompleta.clear();
-        adicionarMidias(listaMestraCompleta, livroController.getLivros(), "Livro", livroController);
-        adicionarMidias(listaMestraCompleta, filmeController.getFilmes(), "Filme", filmeController);
-        adicionarMidias(listaMestraCompleta, serieController.getSeries(), "Série", serieController);
+    private List<MidiaTabela> criarLinhas(Colecao colecao) {
+        List<MidiaTabela> linhas = new ArrayList<>();
+        switch (colecao) {
+            case LIVROS -> adicionarMidias(linhas, livroController.getLivros(), "Livro", livroController);
+            case FILMES -> adicionarMidias(linhas, filmeController.getFilmes(), "Filme", filmeController);
+            case SERIES -> adicionarMidias(linhas, serieController.getSeries(), "Série", serieController);
+        }
+        return linhas;
+    }
+
+    /**
+     * Adiciona uma coleção à lista mestra, caso ainda não tenha sido adicionada.
+     *
+     * @param colecao coleção de mídias
+     * @param linhas linhas da tabela já montadas para a coleção
+     */
+    private void exibirColecao(Colecao colecao, List<MidiaTabela> linhas) {
+        if (colecoesExibidas.add(colecao)) {
+            exibicoesEmAndamento++;
+            adicionarEmBlocos(linhas, 0);
+        }
+    }
+
+    /**
+     * Adiciona as linhas à lista em blocos de {@link #TAMANHO_BLOCO}, liberando a
+     * thread do JavaFX entre um bloco e outro para que a janela continue respondendo.
+     * Com filtros ativos, os blocos entram apenas na lista mestra; a lista exibida é
+     * filtrada uma única vez, ao fim do carregamento.
+     *
+     * @param linhas linhas a serem adicionadas
+     * @param inicio posição do primeiro item do bloco atual
+     */
+    private void adicionarEmBlocos(List<MidiaTabela> linhas, int inicio) {
+        int fim = Math.min(inicio + TAMANHO_BLOCO, linhas.size());
+        List<MidiaTabela> bloco = linhas.subList(inicio, fim);
+        listaMestraCompleta.addAll(bloco);
+        bloco.forEach(linha -> linhaDaMidia.put(linha.getMidiaOriginal(), linha));
+
+        if (isSemFiltros()) {
+            dadosLista.addAll(bloco);
+        }
+
+        if (fim < linhas.size()) {
+            Platform.runLater(() -> adicionarEmBlocos(linhas, fim));
+        } else {
+            exibicoesEmAndamento--;
+            finalizarCarregamento();
+        }
+    }
+
+    /**
+     * Chamado quando a inicialização dos dados termina: adiciona as coleções que ainda
+     * não foram exibidas (como as mídias predefinidas).
+     */
+    private void concluirCarregamento() {
+        inicializacaoConcluida = true;
+        for (Colecao colecao : Colecao.values()) {
+            exibirColecao(colecao, criarLinhas(colecao));
+        }
+        finalizarCarregamento();
+    }
+
+    /**
+     * Depois que a inicialização terminou e todas as linhas foram adicionadas, preenche
+     * as opções dos filtros e aplica os filtros escolhidos durante o carregamento.
+     */
+    private void finalizarCarregamento() {
+        if (!carregando || !inicializacaoConcluida || exibicoesEmAndamento > 0) {
+            return;
+        }
+        carregando = false;
+        atualizarFiltros();
+        listView.setPlaceholder(new Label("Nenhuma mídia encontrada."));
+        if (!isSemFiltros()) {
+            aplicarTodosOsFiltros();
+        }
+    }
+
+    /**
+     * Verifica se nenhum filtro, busca ou ordenação está ativo.
+     *
+     * @return {@code true} se a lista exibida deve conter todas as mídias, na ordem original
+     */
+    private boolean isSemFiltros() {
+        String genero = filtroGenero.getValue();
+        Object ano = filtroAno.getValue();
+        String termoBusca = caixaBusca.getText();
+        return (termoBusca == null || termoBusca.isBlank())
+                && (genero == null || genero.equals("Todos os Gêneros"))
+                && (ano == null || ano.equals("Todos os Anos"))
+                && filtroOrdenacao.getValue() == null;
     }
 
     /**
@@ -103,99 +269,215 @@ public class InterfaceMenuPrincipal {
      * - Filtragem por gênero
      * - Filtragem por ano
      * - Busca por texto
+     *
+     * Os gêneros e anos disponíveis são adicionados depois, por {@link #atualizarFiltros()},
+     * e cada opção é exibida com a quantidade de mídias correspondente.
      */
     private void configurarFiltros() {
         filtroOrdenacao.getItems().addAll("Bem Avaliados", "Mal Avaliados");
         filtroOrdenacao.getSelectionModel().selectedItemProperty().addListener((obs, old, val) -> aplicarTodosOsFiltros());
 
         filtroGenero.getItems().add("Todos os Gêneros");
-        filtroGenero.getItems().addAll(MidiaController.extrairGeneros(livroController, filmeController, serieController));
         filtroGenero.getSelectionModel().selectFirst();
+        filtroGenero.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(String genero) {
+                return comQuantidade(genero, facetas == null ? null : facetas.generos().get(genero));
+            }
+
+            @Override
+            public String fromString(String texto) {
+                return texto;
+            }
+        });
         filtroGenero.getSelectionModel().selectedItemProperty().addListener((obs, old, val) -> aplicarTodosOsFiltros());
 
         filtroAno.getItems().add("Todos os Anos");
-        filtroAno.getItems().addAll(MidiaController.extrairAnos(livroController, filmeController, serieController));
         filtroAno.getSelectionModel().selectFirst();
+        filtroAno.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Object opcao) {
+                Integer quantidade = null;
+                if (facetas != null && opcao instanceof Integer ano) {
+                    quantidade = facetas.anos().get(ano);
+                } else if (opcao instanceof String texto && texto.startsWith(PREFIXO_DECADA)) {
+                    quantidade = quantidadesDecadas.get(Integer.parseInt(texto.substring(PREFIXO_DECADA.length())));
+                }
+                return comQuantidade(opcao == null ? null : opcao.toString(), quantidade);
+            }
+
+            @Override
+            public Object fromString(String texto) {
+                return texto;
+            }
+        });
         filtroAno.getSelectionModel().selectedItemProperty().addListener((obs, old, val) -> aplicarTodosOsFiltros());
 
-        caixaBusca.textProperty().addListener((obs, old, val) -> aplicarTodosOsFiltros());
+        caixaBusca.textProperty().addListener((obs, old, val) -> {
+            aplicarTodosOsFiltros();
+            atualizarSugestoes(val);
+        });
+        caixaBusca.focusedProperty().addListener((obs, old, focado) -> {
+            if (!focado) {
+                menuSugestoes.hide();
+            }
+        });
+    }
+
+    /**
+     * Exibe abaixo da caixa de busca os títulos e nomes de pessoas que completam o texto
+     * digitado. Escolher uma sugestão a coloca na caixa de busca.
+     *
+     * @param texto texto atual da caixa de busca
+     */
+    private void atualizarSugestoes(String texto) {
+        if (carregando || texto == null || texto.isBlank() || !caixaBusca.isFocused()) {
+            menuSugestoes.hide();
+            return;
+        }
+
+        List<MenuItem> itens = new ArrayList<>();
+        for (Sugestao sugestao : digitacao.sugerir(texto, LIMITE_SUGESTOES)) {
+            if (sugestao.texto().equalsIgnoreCase(texto.strip())) {
+                continue;
+            }
+            String descricao = sugestao.tipo() == TrieSugestoes.Tipo.PESSOA
+                    ? sugestao.texto() + " (" + sugestao.quantidade() + (sugestao.quantidade() == 1 ? " mídia)" : " mídias)")
+                    : sugestao.texto();
+            MenuItem item = new MenuItem(descricao);
+            item.setOnAction(e -> {
+                caixaBusca.setText(sugestao.texto());
+                caixaBusca.positionCaret(sugestao.texto().length());
+            });
+            itens.add(item);
+        }
+
+        menuSugestoes.getItems().setAll(itens);
+        if (itens.isEmpty()) {
+            menuSugestoes.hide();
+        } else if (!menuSugestoes.isShowing()) {
+            menuSugestoes.show(caixaBusca, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * Preenche os filtros de gênero e ano com os valores presentes nas mídias, a partir das
+     * contagens mantidas pelo catálogo. O filtro de ano recebe também uma opção para cada
+     * década com mídias. Chamado ao concluir a carga e após cada remoção; a opção
+     * selecionada é mantida enquanto ainda existir.
+     */
+    private void atualizarFiltros() {
+        facetas = MidiaController.extrairFacetas();
+        quantidadesDecadas.clear();
+        facetas.anos().forEach((ano, quantidade) -> quantidadesDecadas.merge(Math.floorDiv(ano, 10) * 10, quantidade, Integer::sum));
+
+        List<String> generos = new ArrayList<>();
+        generos.add("Todos os Gêneros");
+        generos.addAll(facetas.generos().keySet());
+        substituirOpcoes(filtroGenero, generos);
+
+        List<Object> anos = new ArrayList<>();
+        anos.add("Todos os Anos");
+        quantidadesDecadas.keySet().forEach(decada -> anos.add(PREFIXO_DECADA + decada));
+        anos.addAll(facetas.anos().keySet());
+        substituirOpcoes(filtroAno, anos);
+    }
+
+    /**
+     * Troca as opções de um filtro, mantendo a selecionada se ela continuar entre as novas.
+     *
+     * @param <T> tipo das opções
+     * @param filtro filtro atualizado
+     * @param opcoes novas opções, sendo a primeira a que desativa o filtro
+     */
+    private static <T> void substituirOpcoes(ChoiceBox<T> filtro, List<T> opcoes) {
+        T selecionada = filtro.getValue();
+        filtro.getItems().setAll(opcoes);
+        if (selecionada != null && opcoes.contains(selecionada)) {
+            filtro.setValue(selecionada);
+        } else {
+            filtro.getSelectionModel().selectFirst();
+        }
+    }
+
+    /**
+     * Monta o texto exibido de uma opção de filtro, com a quantidade de mídias entre parênteses.
+     *
+     * @param opcao texto da opção
+     * @param quantidade quantidade de mídias, ou {@code null} para opções sem contagem
+     * @return texto exibido
+     */
+    private static String comQuantidade(String opcao, Integer quantidade) {
+        return quantidade == null ? opcao : opcao + " (" + quantidade + ")";
     }
 
     /**
      * Aplica todos os filtros definidos pelo usuário na lista de mídias.
      *
-     * Realiza filtragem com base em:
-     * - Termo de busca (título, autor, diretor, etc)
+     * Monta uma {@link ConsultaMidias} com:
+     * - Termo de busca (início do título, autor, diretor, roteirista, elenco ou ISBN)
      * - Gênero selecionado
-     * - Ano selecionado
+     * - Ano ou década selecionados
      * - Ordenação por avaliação
+     *
+     * e exibe, na ordem do resultado, as linhas das mídias encontradas que já estão na lista mestra.
+     *
+     * Durante o carregamento, o catálogo não é consultado: a lista exibe todas as mídias
+     * já carregadas se não houver filtros, ou fica vazia até o fim do carregamento.
      */
     private void aplicarTodosOsFiltros() {
-        String generoSelecionado = filtroGenero.getValue();
-        Object anoSelecionadoObj = filtroAno.getValue();
-        String termoBusca = caixaBusca.getText();
+        if (carregando) {
+            if (isSemFiltros()) {
+                dadosLista.setAll(listaMestraCompleta);
+            } else {
+                dadosLista.clear();
+            }
+            return;
+        }
 
-        List<MidiaTabela> listaFiltrada = listaMestraCompleta.stream().filter(midiaTabela -> {
-                    if (termoBusca == null || termoBusca.isBlank()) {
-                        return true;
-                    }
-
-                    String termoBuscaNormalizado = Servicos.normalizarTitulo(termoBusca);
-                    Midia midiaOriginal = midiaTabela.getMidiaOriginal();
-
-                    if (Servicos.normalizarTitulo(midiaOriginal.getTitulo()).contains(termoBuscaNormalizado)) {
-                        return true;
-                    }
-
-                    if (midiaOriginal instanceof Livro) {
-                        Livro livro = (Livro) midiaOriginal;
-                        if (livro.getAutor() != null && Servicos.normalizarTitulo(livro.getAutor()).contains(termoBuscaNormalizado)) {
-                            return true;
-                        }
-                        if (livro.getIsbn() != null && Servicos.normalizarTitulo(livro.getIsbn()).equalsIgnoreCase(termoBuscaNormalizado)) {
-                            return true;
-                        }
-                    }
-                    else if (midiaOriginal instanceof Filme) {
-                        Filme filme = (Filme) midiaOriginal;
-                        if (filme.getDirecao() != null && Servicos.normalizarTitulo(filme.getDirecao()).contains(termoBuscaNormalizado)) {
-                            return true;
-                        }
-                        if (filme.getElenco() != null) {
-                            for (List<String> nomes : filme.getElenco().values()) {
-                                for (String nome : nomes) {
-                                    if (Servicos.normalizarTitulo(nome).contains(termoBuscaNormalizado)) {
-                                        return true;
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    return false;
-                }).filter(midiaTabela -> {
-                    if (generoSelecionado == null || generoSelecionado.equals("Todos os Gêneros")) {
-                        return true;
-                    }
-                    return MidiaController.filtrarPorGenero(List.of(midiaTabela.getMidiaOriginal()), generoSelecionado).size() > 0;
-                }).filter(midiaTabela -> {
-                    if (anoSelecionadoObj == null || anoSelecionadoObj.equals("Todos os Anos")) {
-                        return true;
-                    }
-                    return MidiaController.filtrarPorAno(List.of(midiaTabela.getMidiaOriginal()), (Integer) anoSelecionadoObj).size() > 0;
-                }).collect(Collectors.toList());
+        ConsultaMidias consulta = new ConsultaMidias();
+        consulta.setTexto(caixaBusca.getText());
+        consulta.setDigitacao(digitacao);
+
+        String generoSelecionado = filtroGenero.getValue();
+        if (generoSelecionado != null && !generoSelecionado.equals("Todos os Gêneros")) {
+            consulta.setGenero(generoSelecionado);
+        }
+        definirFiltroAno(consulta, filtroAno.getValue());
 
         String ordenacao = filtroOrdenacao.getValue();
-        if (ordenacao != null) {
-            if (ordenacao.equals("Bem Avaliados")) {
-                listaFiltrada.sort(Comparator.comparing(MidiaTabela::getNota).reversed());
-            } else if (ordenacao.equals("Mal Avaliados")) {
-                listaFiltrada.sort(Comparator.comparing(MidiaTabela::getNota));
+        if ("Bem Avaliados".equals(ordenacao)) {
+            consulta.setOrdenacao(ConsultaMidias.Ordenacao.BEM_AVALIADOS);
+        } else if ("Mal Avaliados".equals(ordenacao)) {
+            consulta.setOrdenacao(ConsultaMidias.Ordenacao.MAL_AVALIADOS);
+        }
+
+        List<MidiaTabela> listaFiltrada = new ArrayList<>();
+        for (Midia midia : consulta.executar()) {
+            MidiaTabela linha = linhaDaMidia.get(midia);
+            if (linha != null) {
+                listaFiltrada.add(linha);
             }
         }
 
         dadosLista.setAll(listaFiltrada);
     }
 
+    /**
+     * Restringe a consulta à opção escolhida no filtro de ano, que pode ser um ano ou uma década.
+     *
+     * @param consulta consulta sendo montada
+     * @param selecionado opção escolhida no filtro
+     */
+    private void definirFiltroAno(ConsultaMidias consulta, Object selecionado) {
+        if (selecionado instanceof Integer ano) {
+            consulta.setIntervaloAnos(ano, ano);
+        } else if (selecionado instanceof String texto && texto.startsWith(PREFIXO_DECADA)) {
+            int decada = Integer.parseInt(texto.substring(PREFIXO_DECADA.length()));
+            consulta.setIntervaloAnos(decada, decada + 9);
+        }
+    }
+
     /**
      * Adiciona mídias de um tipo específico à lista mestra.
      *
@@ -221,33 +503,23 @@ public class InterfaceMenuPrincipal {
      * - Remove mídia da lista mestra
      * - Remove mídia do controlador correspondente
      * - Reaplica filtros
-     * - Salva alterações
+     *
+     * A remoção é gravada em segundo plano pelo controlador correspondente.
      *
      * @param midiaParaRemover Mídia a ser removida
      */
     private void removerMidia(MidiaTabela midiaParaRemover) {
         listaMestraCompleta.remove(midiaParaRemover);
+        linhaDaMidia.remove(midiaParaRemover.getMidiaOriginal());
         switch (midiaParaRemover.getTipoMidia()) {
             case "Livro" -> { livroController.removerMidia((Livro) midiaParaRemover.getMidiaOriginal()); }
             case "Filme" -> { filmeController.removerMidia((Filme) midiaParaRemover.getMidiaOriginal()); }
             case "Série" -> { serieController.removerMidia((Serie) midiaParaRemover.getMidiaOriginal());}
         }
+        if (!carregando) {
+            atualizarFiltros();
+        }
         aplicarTodosOsFiltros();
-        salvarDados();
-    }
-
-    /**
-     * Salva os dados de todos os controllers.
-     *
-     * Persiste as alterações para:
-     * - Livros
-     * - Filmes
-     * - Séries
-     */
-    void salvarDados() {
-            LivroController.salvarLivros();
-            FilmeController.salvarFilmes();
-            SerieController.salvarSeries();
     }
 
     /**
@@ -272,10 +544,13 @@ public class InterfaceMenuPrincipal {
     }
 
     /**
-     * Encerra a aplicação.
+     * Encerra a aplicação, gravando antes as alterações pendentes.
      */
     @FXML
     private void sair() {
+        if (!ServicoPersistencia.descarregar()) {
+            System.err.println("Não foi possível gravar todas as alterações antes de sair.");
+        }
         System.exit(0);
     }
 }
\ No newline at end of file
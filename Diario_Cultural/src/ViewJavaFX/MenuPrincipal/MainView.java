@@ -1,14 +1,19 @@
 package ViewJavaFX.MenuPrincipal;
 
+import Persistencia.ServicoPersistencia;
+import Service.CarregadorInicial;
 import Testes.CadastroPreDefinido;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Classe principal que inicializa a aplicação JavaFX do Diário Cultural.
@@ -45,12 +50,17 @@ public class MainView extends Application {
      * Realiza as seguintes tarefas:
      * <ul>
      *   <li>Inicializa os controladores do sistema</li>
-     *   <li>Tenta carregar livros, filmes e séries existentes</li>
+     *   <li>Inicia a carga paralela de livros, filmes e séries existentes</li>
      *   <li>Cadastra mídias predefinidas se nenhum dado for carregado</li>
      *   <li>Carrega o layout FXML da tela principal</li>
      *   <li>Configura e exibe o palco principal da aplicação</li>
      * </ul>
      *
+     * A janela é exibida sem esperar a carga terminar; a tela principal
+     * preenche a lista conforme cada coleção fica pronta. As mídias predefinidas
+     * são cadastradas na thread do JavaFX, a mesma das edições feitas pela janela,
+     * para que as duas não alterem as coleções ao mesmo tempo.
+     *
      * @param palcoPrimario O palco principal da aplicação JavaFX
      * @throws IOException Se houver erro ao carregar o arquivo FXML
      */
@@ -59,13 +69,26 @@ public class MainView extends Application {
 
         RegistroControladores.initialize();
 
-        boolean livrosCarregados = RegistroControladores.getLivroController().carregarLivros();
-        boolean filmesCarregados = RegistroControladores.getFilmeController().carregarFilmes();
-        boolean seriesCarregados = RegistroControladores.getSerieController().carregarSeries();
+        CarregadorInicial carga = CarregadorInicial.iniciar();
+        CompletableFuture<Map<ServicoPersistencia.Colecao, CarregadorInicial.ResultadoCarga>> inicializacao = carga.getPronto().thenCompose(resultados -> {
+            System.out.println(CarregadorInicial.relatorio(resultados));
 
-        if (!livrosCarregados && !filmesCarregados && !seriesCarregados) {
-            CadastroPreDefinido.cadastrarMidiasPadrao(RegistroControladores.getLivroController(), RegistroControladores.getFilmeController(), RegistroControladores.getSerieController());
-        }
+            CompletableFuture<Map<ServicoPersistencia.Colecao, CarregadorInicial.ResultadoCarga>> cadastro = new CompletableFuture<>();
+            if (!CarregadorInicial.nenhumaCarregada(resultados)) {
+                cadastro.complete(resultados);
+                return cadastro;
+            }
+            Platform.runLater(() -> {
+                try {
+                    CadastroPreDefinido.cadastrarMidiasPadrao(RegistroControladores.getLivroController(), RegistroControladores.getFilmeController(), RegistroControladores.getSerieController());
+                    cadastro.complete(resultados);
+                } catch (RuntimeException e) {
+                    cadastro.completeExceptionally(e);
+                }
+            });
+            return cadastro;
+        });
+        RegistroControladores.setCarregamento(carga, inicializacao);
 
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/ViewJavaFX/CenasFXML/MenuPrincipal.fxml"));
         Parent root = loader.load();
@@ -75,4 +98,17 @@ public class MainView extends Application {
         palcoPrimario.setScene(cena);
         palcoPrimario.show();
     }
+
+    /**
+     * Método chamado pelo JavaFX ao encerrar a aplicação.
+     *
+     * Grava imediatamente as alterações que ainda estiverem aguardando
+     * o serviço de persistência em segundo plano.
+     */
+    @Override
+    public void stop() {
+        if (!ServicoPersistencia.descarregar()) {
+            System.err.println("Não foi possível gravar todas as alterações antes de sair.");
+        }
+    }
 }
@@ -3,6 +3,9 @@ package ViewJavaFX.MenuPrincipal;
 import Controller.FilmeController;
 import Controller.LivroController;
 import Controller.SerieController;
+import Service.CarregadorInicial;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Classe utilitária responsável por gerenciar e fornecer acesso centralizado
@@ -36,6 +39,18 @@ public class RegistroControladores {
      */
     private static SerieController serieController = new SerieController();
 
+    /**
+     * Carga paralela das coleções iniciada na abertura da aplicação.
+     * Permanece nula quando os dados são carregados de forma síncrona.
+     */
+    private static CarregadorInicial carregadorInicial;
+
+    /**
+     * Sinal de que a inicialização dos dados terminou, incluindo o cadastro
+     * das mídias predefinidas quando nenhuma coleção pôde ser carregada.
+     */
+    private static CompletableFuture<?> inicializacao = CompletableFuture.completedFuture(null);
+
     /**
      * Inicializa ou reinicializa todos os controladores do sistema.
      *
@@ -75,4 +90,34 @@ public class RegistroControladores {
         return serieController;
     }
 
+    /**
+     * Registra a carga em andamento, para que as telas possam exibir cada coleção
+     * assim que ela terminar de carregar.
+     *
+     * @param carregador carga paralela das coleções
+     * @param concluida sinal de conclusão de toda a inicialização dos dados
+     */
+    public static void setCarregamento(CarregadorInicial carregador, CompletableFuture<?> concluida) {
+        carregadorInicial = carregador;
+        inicializacao = concluida;
+    }
+
+    /**
+     * Obtém a carga paralela das coleções.
+     *
+     * @return carga iniciada na abertura da aplicação, ou null se não houver
+     */
+    public static CarregadorInicial getCarregadorInicial() {
+        return carregadorInicial;
+    }
+
+    /**
+     * Obtém o sinal de conclusão da inicialização dos dados.
+     *
+     * @return futuro concluído quando todas as coleções estiverem prontas
+     */
+    public static CompletableFuture<?> getInicializacao() {
+        return inicializacao;
+    }
+
 }